@@ -0,0 +1,77 @@
+package org.scarlet.benchmark;
+
+import org.scarlet.vulkan.Scene;
+import org.scarlet.vulkan.model.MeshData;
+import org.scarlet.vulkan.model.ModelData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the models drawn by the benchmarks: a square grid of quads in the XY plane, one model per quad.
+ * Every quad has its own vertices, so the mesh registry shares none of them.
+ */
+public final class BenchmarkModels {
+    /**
+     * The distance between the centers of neighbouring quads.
+     */
+    private static final float SPACING = 1.5f;
+
+    /**
+     * Private constructor.
+     */
+    private BenchmarkModels() {
+        // Do nothing.
+    }
+
+    /**
+     * Create the models of the grid.
+     * @param numberOfModels The number of models.
+     * @return List&lt;ModelData&gt; - The model data.
+     */
+    public static List<ModelData> create(int numberOfModels) {
+        int side = getSide(numberOfModels);
+        List<ModelData> modelDataList = new ArrayList<>(numberOfModels);
+        for (int i = 0; i < numberOfModels; i++) {
+            float x = (i % side - side / 2.0f) * SPACING;
+            float y = (i / side - side / 2.0f) * SPACING;
+            MeshData meshData = new MeshData(new float[] {
+                    x - 0.5f, y - 0.5f, 0.0f,
+                    x - 0.5f, y + 0.5f, 0.0f,
+                    x + 0.5f, y + 0.5f, 0.0f,
+                    x + 0.5f, y - 0.5f, 0.0f},
+                    new int[] {0, 1, 2, 2, 3, 0});
+            List<MeshData> meshDataList = new ArrayList<>();
+            meshDataList.add(meshData);
+            modelDataList.add(new ModelData(getModelID(i), meshDataList));
+        }
+        return modelDataList;
+    }
+
+    /**
+     * Place the camera in front of the grid, far enough to see all of it.
+     * @param scene The scene.
+     * @param numberOfModels The number of models of the grid.
+     */
+    public static void placeCamera(Scene scene, int numberOfModels) {
+        scene.getCamera().setPosition(0.0f, 0.0f, getSide(numberOfModels) * SPACING);
+    }
+
+    /**
+     * Get the ID of a model of the grid.
+     * @param model The index of the model.
+     * @return String - The model ID.
+     */
+    public static String getModelID(int model) {
+        return "BenchmarkModel" + model;
+    }
+
+    /**
+     * Get the number of quads on a side of the grid.
+     * @param numberOfModels The number of models of the grid.
+     * @return int - The number of quads.
+     */
+    private static int getSide(int numberOfModels) {
+        return Math.max(1, (int) Math.ceil(Math.sqrt(numberOfModels)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package org.scarlet.benchmark;
+
+import org.scarlet.ApplicationProperties;
+
+/**
+ * Implements the application properties for the benchmarks.
+ */
+public class BenchmarkProperties implements ApplicationProperties {
+    /**
+     * The application name.
+     */
+    private static final String NAME = "Scarlet Vulkan Benchmark";
+
+    /**
+     * The variant number.
+     */
+    private static final int VARIANT_NUMBER = 0;
+
+    /**
+     * The major version number.
+     */
+    private static final int MAJOR_VERSION_NUMBER = 0;
+
+    /**
+     * The minor version number.
+     */
+    private static final int MINOR_VERSION_NUMBER = 2;
+
+    /**
+     * The patch version number.
+     */
+    private static final int PATCH_VERSION_NUMBER = 1;
+
+    /**
+     * The window title.
+     */
+    private static final String WINDOW_TITLE = "Scarlet Vulkan Benchmark";
+
+    @Override
+    public String getApplicationName() {
+        return NAME;
+    }
+
+    @Override
+    public int getVariant() {
+        return VARIANT_NUMBER;
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return MAJOR_VERSION_NUMBER;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return MINOR_VERSION_NUMBER;
+    }
+
+    @Override
+    public int getPatchVersion() {
+        return PATCH_VERSION_NUMBER;
+    }
+
+    @Override
+    public String getWindowTitle() {
+        return WINDOW_TITLE;
+    }
+}
\ No newline at end of file
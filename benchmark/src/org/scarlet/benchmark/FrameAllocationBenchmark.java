@@ -0,0 +1,156 @@
+package org.scarlet.benchmark;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.Window;
+import org.scarlet.vulkan.Renderer;
+import org.scarlet.vulkan.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+
+/**
+ * Measures the heap memory allocated per frame by the rendering thread and every other thread of the engine, the
+ * recording workers included, once submitting the recorded commands again and once recording the commands of every
+ * frame. With instancing enabled, instances of the first model are added to every frame, so the instanced path is
+ * measured too. Every run renders warm-up frames first, so only the steady state is measured.
+ * Usage: FrameAllocationBenchmark [models] [instances] [frames]
+ */
+public class FrameAllocationBenchmark {
+    /**
+     * The default number of models.
+     */
+    private static final int DEFAULT_MODELS = 1_000;
+
+    /**
+     * The default number of instances added to every frame.
+     */
+    private static final int DEFAULT_INSTANCES = 1_000;
+
+    /**
+     * The default number of measured frames of every run.
+     */
+    private static final int DEFAULT_FRAMES = 1_000;
+
+    /**
+     * The number of frames rendered before measuring the allocations, letting the JIT compile the frame path.
+     */
+    private static final int WARMUP_FRAMES = 1_000;
+
+    /**
+     * The distance the camera is moved by on every other recorded frame, so the view projection matrix changes.
+     */
+    private static final float CAMERA_NUDGE = 0.001f;
+
+    /**
+     * Run the benchmark.
+     * @param args The optional number of models, number of instances and number of measured frames.
+     */
+    public static void main(String[] args) {
+        int numberOfModels = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MODELS;
+        int numberOfInstances = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_INSTANCES;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FRAMES;
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean)
+                || !threadMXBean.isThreadAllocatedMemorySupported()) {
+            throw new RuntimeException("The JVM does not measure the memory allocated by a thread.");
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        if (!EngineProperties.getInstance().isInstancing()) {
+            numberOfInstances = 0;
+        }
+
+        BenchmarkProperties benchmarkProperties = new BenchmarkProperties();
+        Window window = new Window(benchmarkProperties.getWindowTitle());
+        Scene scene = new Scene(window);
+        BenchmarkModels.placeCamera(scene, numberOfModels);
+        Renderer renderer = new Renderer(benchmarkProperties, window, scene);
+        renderer.loadModels(BenchmarkModels.create(numberOfModels));
+        Matrix4f[] transforms = new Matrix4f[numberOfInstances];
+        for (int i = 0; i < numberOfInstances; i++) {
+            transforms[i] = new Matrix4f().translation(i % 100 * 1.5f, i / 100 * 1.5f, 1.0f);
+        }
+        Vector4f color = new Vector4f(1.0f, 0.5f, 0.25f, 1.0f);
+        String modelID = BenchmarkModels.getModelID(0);
+
+        long cachedBytes = measure(threadMXBean, renderer, window, scene, modelID, transforms, color, frames, false);
+        long recordedBytes = measure(threadMXBean, renderer, window, scene, modelID, transforms, color, frames, true);
+        EngineLogger.getInstance().log(cachedBytes == 0 && recordedBytes == 0 ? Level.INFO : Level.WARNING,
+                "Allocated [%.1f] bytes per frame reusing the recorded commands, [%.1f] bytes per frame recording them, over [%d] frames with [%d] instance(s).",
+                cachedBytes / (double) frames, recordedBytes / (double) frames, frames, numberOfInstances);
+
+        renderer.cleanup();
+        window.cleanup();
+    }
+
+    /**
+     * Measure the heap memory allocated by the threads of the engine while rendering frames.
+     * @param threadMXBean The thread management interface.
+     * @param renderer The renderer.
+     * @param window The window.
+     * @param scene The scene.
+     * @param modelID The ID of the instanced model.
+     * @param transforms The transforms of the instances added to every frame.
+     * @param color The color of the instances.
+     * @param frames The number of measured frames.
+     * @param record Flag indicating if every frame records its commands.
+     * @return long - The number of bytes allocated.
+     */
+    private static long measure(com.sun.management.ThreadMXBean threadMXBean, Renderer renderer, Window window,
+                                Scene scene, String modelID, Matrix4f[] transforms, Vector4f color, int frames,
+                                boolean record) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            renderFrame(renderer, window, scene, modelID, transforms, color, record, i);
+        }
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        // Measuring twice back to back gives the bytes allocated by the measure itself.
+        long baseline = getAllocatedBytes(threadMXBean, threadIds);
+        long startBytes = getAllocatedBytes(threadMXBean, threadIds);
+        for (int i = 0; i < frames; i++) {
+            renderFrame(renderer, window, scene, modelID, transforms, color, record, i);
+        }
+        long endBytes = getAllocatedBytes(threadMXBean, threadIds);
+        return Math.max(0, endBytes - startBytes - (startBytes - baseline));
+    }
+
+    /**
+     * Get the heap memory allocated by threads so far.
+     * @param threadMXBean The thread management interface.
+     * @param threadIds The IDs of the threads.
+     * @return long - The number of bytes allocated, summed over the threads still alive.
+     */
+    private static long getAllocatedBytes(com.sun.management.ThreadMXBean threadMXBean, long[] threadIds) {
+        long allocatedBytes = 0;
+        for (long threadId : threadIds) {
+            allocatedBytes += Math.max(0, threadMXBean.getThreadAllocatedBytes(threadId));
+        }
+        return allocatedBytes;
+    }
+
+    /**
+     * Add the instances of the frame and render it.
+     * @param renderer The renderer.
+     * @param window The window.
+     * @param scene The scene.
+     * @param modelID The ID of the instanced model.
+     * @param transforms The transforms of the instances.
+     * @param color The color of the instances.
+     * @param record Flag indicating if the frame records its commands.
+     * @param frame The index of the frame in the run.
+     */
+    private static void renderFrame(Renderer renderer, Window window, Scene scene, String modelID,
+                                    Matrix4f[] transforms, Vector4f color, boolean record, int frame) {
+        if (record) {
+            // Moving the camera changes the view projection matrix, so the commands are recorded again.
+            Vector3f position = scene.getCamera().getPosition();
+            float nudge = frame % 2 == 0 ? CAMERA_NUDGE : -CAMERA_NUDGE;
+            scene.getCamera().setPosition(position.x, position.y, position.z + nudge);
+        }
+        for (Matrix4f transform : transforms) {
+            renderer.addInstance(modelID, transform, color);
+        }
+        renderer.render(window, scene);
+    }
+}
\ No newline at end of file
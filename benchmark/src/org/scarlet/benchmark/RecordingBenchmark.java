@@ -0,0 +1,189 @@
+package org.scarlet.benchmark;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.Window;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.Instance;
+import org.scarlet.vulkan.Scene;
+import org.scarlet.vulkan.buffer.InheritanceInformation;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.device.PhysicalDevice;
+import org.scarlet.vulkan.device.PhysicalDeviceFactory;
+import org.scarlet.vulkan.model.GeometryArena;
+import org.scarlet.vulkan.model.MeshRegistry;
+import org.scarlet.vulkan.model.ModelLoader;
+import org.scarlet.vulkan.model.QuantizedVertexBufferStructure;
+import org.scarlet.vulkan.model.VertexBufferStructure;
+import org.scarlet.vulkan.model.VulkanModel;
+import org.scarlet.vulkan.pipeline.PipelineCache;
+import org.scarlet.vulkan.queue.GraphicsQueue;
+import org.scarlet.vulkan.queue.TransferQueue;
+import org.scarlet.vulkan.render.ClusterCuller;
+import org.scarlet.vulkan.render.DirectDrawRecorder;
+import org.scarlet.vulkan.render.DrawState;
+import org.scarlet.vulkan.render.FrameRetirementQueue;
+import org.scarlet.vulkan.render.IndirectDrawBuffer;
+import org.scarlet.vulkan.render.IndirectDrawRecorder;
+import org.scarlet.vulkan.render.LodSelector;
+import org.scarlet.vulkan.render.MeshQueue;
+import org.scarlet.vulkan.render.ReloadablePipeline;
+import org.scarlet.vulkan.render.SecondaryCommandRecorder;
+import org.scarlet.vulkan.render.SliceRecorder;
+import org.scarlet.vulkan.render.SwapChainRenderPass;
+import org.scarlet.vulkan.surface.Surface;
+import org.scarlet.vulkan.surface.SwapChain;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+
+/**
+ * Measures the time to record the draws of a grid of models into secondary command buffers, for every number of
+ * recording threads up to a maximum, with direct and with indirect draws. The buffers are recorded but never
+ * submitted. Usage: RecordingBenchmark [models] [maxThreads] [iterations]
+ */
+public class RecordingBenchmark {
+    /**
+     * The default number of models.
+     */
+    private static final int DEFAULT_MODELS = 10_000;
+
+    /**
+     * The default number of measured recordings of every number of threads.
+     */
+    private static final int DEFAULT_ITERATIONS = 100;
+
+    /**
+     * The number of recordings before measuring, letting the JIT compile the recording.
+     */
+    private static final int WARMUP_ITERATIONS = 16;
+
+    /**
+     * Forward vertex shader location.
+     */
+    private static final String VERTEX_SHADER_FILE_GLSL = "resources/shaders/fwd_vertex.glsl";
+
+    /**
+     * Forward fragment shader location.
+     */
+    private static final String FRAGMENT_SHADER_FILE_GLSL = "resources/shaders/fwd_fragment.glsl";
+
+    /**
+     * Run the benchmark.
+     * @param args The optional number of models, largest number of recording threads and number of measured
+     *             recordings.
+     */
+    public static void main(String[] args) {
+        int numberOfModels = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MODELS;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ITERATIONS;
+        EngineProperties engineProperties = EngineProperties.getInstance();
+        BenchmarkProperties benchmarkProperties = new BenchmarkProperties();
+
+        Window window = new Window(benchmarkProperties.getWindowTitle());
+        Scene scene = new Scene(window);
+        BenchmarkModels.placeCamera(scene, numberOfModels);
+        Instance instance = new Instance(benchmarkProperties, engineProperties);
+        PhysicalDevice physicalDevice = PhysicalDeviceFactory.create(instance, engineProperties.getDeviceName());
+        LogicalDevice logicalDevice = new LogicalDevice(physicalDevice);
+        Surface surface = new Surface(physicalDevice, window.getWindowHandle());
+        GraphicsQueue graphicsQueue = new GraphicsQueue(logicalDevice, 0);
+        SwapChain swapChain = new SwapChain(logicalDevice, surface, window, engineProperties);
+        TransferQueue transferQueue = new TransferQueue(logicalDevice, 0);
+        PipelineCache pipelineCache = new PipelineCache(logicalDevice);
+        FrameRetirementQueue frameRetirementQueue = new FrameRetirementQueue(1);
+        int[] sharedQueueFamilies = transferQueue.isDedicated()
+                ? new int[]{graphicsQueue.getQueueFamilyIndex(), transferQueue.getQueueFamilyIndex()}
+                : null;
+        int vertexStride = engineProperties.isVertexQuantization()
+                ? QuantizedVertexBufferStructure.VERTEX_STRIDE
+                : VertexBufferStructure.VERTEX_STRIDE;
+        GeometryArena geometryArena = new GeometryArena(logicalDevice, vertexStride,
+                engineProperties.getGeometryPageSize() * Constants.MEBIBYTE, sharedQueueFamilies);
+        ModelLoader modelLoader = new ModelLoader(logicalDevice, transferQueue, geometryArena, new MeshRegistry(),
+                engineProperties.getStagingBufferSize() * Constants.MEBIBYTE);
+        List<VulkanModel> vulkanModelList = modelLoader.loadModelsAsync(BenchmarkModels.create(numberOfModels)).join();
+
+        SwapChainRenderPass renderPass = new SwapChainRenderPass(swapChain);
+        InheritanceInformation inheritanceInformation = new InheritanceInformation(renderPass.getRenderPass(),
+                VK_NULL_HANDLE, 0);
+        ReloadablePipeline pipeline = new ReloadablePipeline(logicalDevice, pipelineCache, frameRetirementQueue,
+                renderPass.getRenderPass(), VERTEX_SHADER_FILE_GLSL, FRAGMENT_SHADER_FILE_GLSL,
+                () -> engineProperties.isVertexQuantization()
+                        ? new QuantizedVertexBufferStructure()
+                        : new VertexBufferStructure(),
+                DrawState.PUSH_CONSTANTS_SIZE);
+        DrawState drawState = new DrawState(swapChain);
+        drawState.update(scene);
+        LodSelector lodSelector = new LodSelector(engineProperties.getLodPixelError());
+        lodSelector.update(scene);
+        ClusterCuller clusterCuller = new ClusterCuller(engineProperties.isClusterCulling(),
+                engineProperties.isBackfaceCulling());
+        clusterCuller.update(drawState.getViewProjectionMatrix(), scene.getCamera().getPosition());
+        MeshQueue meshQueue = new MeshQueue();
+        meshQueue.prepare(vulkanModelList, scene.getCamera().getPosition());
+        DirectDrawRecorder directDrawRecorder = new DirectDrawRecorder(meshQueue, lodSelector, clusterCuller,
+                drawState, pipeline);
+        IndirectDrawBuffer indirectDrawBuffer = new IndirectDrawBuffer(logicalDevice,
+                engineProperties.getIndirectDrawCapacity(), 1);
+        IndirectDrawRecorder indirectDrawRecorder = new IndirectDrawRecorder(meshQueue, lodSelector, clusterCuller,
+                drawState, pipeline, indirectDrawBuffer);
+        indirectDrawRecorder.setFrame(0);
+
+        double singleThreadTime = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            SecondaryCommandRecorder recorder = new SecondaryCommandRecorder(logicalDevice,
+                    graphicsQueue.getQueueFamilyIndex(), threads, 1);
+            double directTime = measure(recorder, inheritanceInformation, meshQueue.size(), directDrawRecorder,
+                    iterations);
+            if (threads == 1) {
+                singleThreadTime = directTime;
+            }
+            double indirectTime = measure(recorder, inheritanceInformation, meshQueue.size(), indirectDrawRecorder,
+                    iterations);
+            EngineLogger.getInstance().log(Level.INFO, "Recorded [%d] mesh(es) with [%d] thread(s) in [%.3f] ms, [%.2f]x speedup, and indirectly in [%.3f] ms.",
+                    meshQueue.size(), threads, directTime, singleThreadTime / directTime, indirectTime);
+            recorder.cleanup();
+        }
+
+        indirectDrawBuffer.cleanup();
+        drawState.cleanup();
+        pipeline.cleanup();
+        renderPass.cleanup();
+        vulkanModelList.forEach(VulkanModel::cleanup);
+        modelLoader.cleanup();
+        transferQueue.waitIdle();
+        geometryArena.cleanup();
+        pipelineCache.cleanup();
+        swapChain.cleanup();
+        surface.cleanup();
+        logicalDevice.cleanup();
+        physicalDevice.cleanup();
+        instance.cleanup();
+        window.cleanup();
+    }
+
+    /**
+     * Measure the average time to record the draws of the frame into secondary command buffers.
+     * @param recorder The recorder of the secondary command buffers.
+     * @param inheritanceInformation The render pass the buffers are recorded for.
+     * @param numberOfMeshes The number of meshes of the frame.
+     * @param sliceRecorder The recorder of the slices.
+     * @param iterations The number of measured recordings.
+     * @return double - The average time, in milliseconds.
+     */
+    private static double measure(SecondaryCommandRecorder recorder, InheritanceInformation inheritanceInformation,
+                                  int numberOfMeshes, SliceRecorder sliceRecorder, int iterations) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            recorder.recordSecondaries(0, inheritanceInformation, numberOfMeshes, sliceRecorder);
+        }
+        long recordingTime = 0;
+        for (int i = 0; i < iterations; i++) {
+            recorder.recordSecondaries(0, inheritanceInformation, numberOfMeshes, sliceRecorder);
+            recordingTime += recorder.getRecordingTime();
+        }
+        return recordingTime / (double) iterations / 1_000_000d;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package org.scarlet.benchmark;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.render.RenderQueue;
+
+import java.util.Random;
+import java.util.logging.Level;
+
+/**
+ * Measures the time to fill and sort a render queue at several draw counts.
+ * The keys mimic a scene with a few layers and pipelines, a few hundred materials and geometry pages, and random
+ * depths. Usage: RenderQueueBenchmark [iterations]
+ */
+public class RenderQueueBenchmark {
+    /**
+     * The benchmarked draw counts.
+     */
+    private static final int[] DRAW_COUNTS = {10_000, 100_000, 1_000_000};
+
+    /**
+     * The default number of measured iterations of every draw count.
+     */
+    private static final int DEFAULT_ITERATIONS = 50;
+
+    /**
+     * The number of iterations run before measuring, letting the JIT compile the sort.
+     */
+    private static final int WARMUP_ITERATIONS = 20;
+
+    /**
+     * Run the benchmark.
+     * @param args The optional number of measured iterations.
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        Random random = new Random(42);
+        for (int drawCount : DRAW_COUNTS) {
+            long[] keys = new long[drawCount];
+            for (int i = 0; i < drawCount; i++) {
+                keys[i] = RenderQueue.createKey(random.nextInt(2), random.nextInt(4), random.nextInt(256),
+                        random.nextInt(64), random.nextFloat() * 1000.0f);
+            }
+            RenderQueue renderQueue = new RenderQueue();
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                run(renderQueue, keys);
+            }
+            long totalTime = 0;
+            long bestTime = Long.MAX_VALUE;
+            for (int i = 0; i < iterations; i++) {
+                long time = run(renderQueue, keys);
+                totalTime += time;
+                bestTime = Math.min(bestTime, time);
+            }
+            verify(renderQueue);
+            double averageTime = totalTime / (double) iterations;
+            EngineLogger.getInstance().log(Level.INFO, "Sorted [%d] draws in [%.3f] ms on average, [%.3f] ms best, [%.2f] ns per draw.",
+                    drawCount, averageTime / 1_000_000d, bestTime / 1_000_000d, averageTime / drawCount);
+        }
+    }
+
+    /**
+     * Fill the render queue with the keys and sort it.
+     * @param renderQueue The render queue.
+     * @param keys The sort keys.
+     * @return long - The elapsed time, in nanoseconds.
+     */
+    private static long run(RenderQueue renderQueue, long[] keys) {
+        long startTime = System.nanoTime();
+        renderQueue.clear();
+        for (int i = 0; i < keys.length; i++) {
+            renderQueue.add(keys[i], i);
+        }
+        renderQueue.sort();
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Check the render queue is sorted.
+     * @param renderQueue The render queue.
+     */
+    private static void verify(RenderQueue renderQueue) {
+        for (int i = 1; i < renderQueue.size(); i++) {
+            if (Long.compareUnsigned(renderQueue.getKey(i - 1), renderQueue.getKey(i)) > 0) {
+                throw new RuntimeException("Render queue not sorted at draw " + i + ".");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -39,6 +39,7 @@ public class Main implements ApplicationLogic {
         List<ModelData> modelDataList = new ArrayList<>();
         modelDataList.add(modelData);
         renderer.loadModels(modelDataList);
+        scene.getCamera().setPosition(0.0f, 0.0f, 2.0f);
     }
 
     @Override
@@ -1,8 +1,11 @@
 package org.scarlet;
 
+import org.scarlet.asset.VirtualFileSystem;
 import org.scarlet.vulkan.Renderer;
 import org.scarlet.vulkan.Scene;
 
+import java.nio.file.Path;
+
 /**
  * Scarlet Vulkan engine class.
  */
@@ -21,12 +24,24 @@ public class Engine {
     public Engine(ApplicationProperties applicationProperties, ApplicationLogic applicationLogic) {
         isRunning = false;
         this.applicationLogic = applicationLogic;
+        mountAssetPacks();
         window = new Window(applicationProperties.getWindowTitle());
         scene = new Scene(window);
         renderer = new Renderer(applicationProperties, window, scene);
         this.applicationLogic.initialize(window, scene, renderer);
     }
 
+    /**
+     * Mount the configured pack files into the virtual file system.
+     */
+    private void mountAssetPacks() {
+        for (String assetPack : EngineProperties.getInstance().getAssetPacks().split(",")) {
+            if (!assetPack.isBlank()) {
+                VirtualFileSystem.getInstance().mount(Path.of(assetPack.strip()));
+            }
+        }
+    }
+
     /**
      * Cleans up engine resources.
      */
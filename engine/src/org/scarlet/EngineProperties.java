@@ -71,6 +71,116 @@ public class EngineProperties {
      */
     private static final boolean DEFAULT_SHADER_RECOMPILATION = true;
 
+    /**
+     * Default device memory block size in mebibytes.
+     */
+    private static final int DEFAULT_MEMORY_BLOCK_SIZE = 64;
+
+    /**
+     * Default staging ring buffer size in mebibytes.
+     */
+    private static final int DEFAULT_STAGING_BUFFER_SIZE = 16;
+
+    /**
+     * Default geometry page size in mebibytes.
+     */
+    private static final int DEFAULT_GEOMETRY_PAGE_SIZE = 16;
+
+    /**
+     * Default number of kibibytes streamed per frame.
+     */
+    private static final int DEFAULT_STREAMING_FRAME_BYTES = 4096;
+
+    /**
+     * Default time spent streaming per frame in microseconds.
+     */
+    private static final int DEFAULT_STREAMING_FRAME_TIME = 2000;
+
+    /**
+     * Default mesh optimization setting.
+     */
+    private static final boolean DEFAULT_MESH_OPTIMIZATION = true;
+
+    /**
+     * Default vertex quantization setting.
+     */
+    private static final boolean DEFAULT_VERTEX_QUANTIZATION = false;
+
+    /**
+     * Default number of simplified levels of detail per mesh.
+     */
+    private static final int DEFAULT_LOD_LEVELS = 3;
+
+    /**
+     * Default fraction of the triangles kept from one level of detail to the next.
+     */
+    private static final float DEFAULT_LOD_REDUCTION = 0.5f;
+
+    /**
+     * Default screen space error allowed when selecting a level of detail, in pixels.
+     */
+    private static final float DEFAULT_LOD_PIXEL_ERROR = 1.0f;
+
+    /**
+     * Default flag indicating if meshes are split into clusters culled on the CPU.
+     */
+    private static final boolean DEFAULT_CLUSTER_CULLING = true;
+
+    /**
+     * Default flag indicating if back facing triangles are culled.
+     */
+    private static final boolean DEFAULT_BACKFACE_CULLING = false;
+
+    /**
+     * Default device memory budget of the streamed textures, in megabytes.
+     */
+    private static final int DEFAULT_TEXTURE_BUDGET = 256;
+
+    /**
+     * Default largest width or height of the texture mip levels that stay resident.
+     */
+    private static final int DEFAULT_TEXTURE_TAIL_SIZE = 128;
+
+    /**
+     * Default hot reload setting.
+     */
+    private static final boolean DEFAULT_HOT_RELOAD = false;
+
+    /**
+     * Default pack files to mount, none.
+     */
+    private static final String DEFAULT_ASSET_PACKS = "";
+
+    /**
+     * Default number of threads recording the draws of a frame.
+     */
+    private static final int DEFAULT_RECORDING_THREADS = 1;
+
+    /**
+     * Default indirect draw setting.
+     */
+    private static final boolean DEFAULT_INDIRECT_DRAWS = false;
+
+    /**
+     * Default number of indirect draw commands of a frame.
+     */
+    private static final int DEFAULT_INDIRECT_DRAW_CAPACITY = 65536;
+
+    /**
+     * Default GPU culling setting.
+     */
+    private static final boolean DEFAULT_GPU_CULLING = false;
+
+    /**
+     * Default instancing setting.
+     */
+    private static final boolean DEFAULT_INSTANCING = false;
+
+    /**
+     * Default number of instances of a frame.
+     */
+    private static final int DEFAULT_INSTANCE_CAPACITY = 65536;
+
     /**
      * Single instance of the engine properties class.
      */
@@ -136,6 +246,117 @@ public class EngineProperties {
      */
     private boolean shaderRecompilation;
 
+    /**
+     * The device memory block size in mebibytes.
+     */
+    private int memoryBlockSize;
+
+    /**
+     * The staging ring buffer size in mebibytes.
+     */
+    private int stagingBufferSize;
+
+    /**
+     * The geometry page size in mebibytes.
+     */
+    private int geometryPageSize;
+
+    /**
+     * The number of kibibytes streamed per frame.
+     */
+    private int streamingFrameBytes;
+
+    /**
+     * The time spent streaming per frame in microseconds.
+     */
+    private int streamingFrameTime;
+
+    /**
+     * The mesh optimization setting.
+     */
+    private boolean meshOptimization;
+
+    /**
+     * The vertex quantization setting.
+     */
+    private boolean vertexQuantization;
+
+    /**
+     * The number of simplified levels of detail per mesh.
+     */
+    private int lodLevels;
+
+    /**
+     * The fraction of the triangles kept from one level of detail to the next.
+     */
+    private float lodReduction;
+
+    /**
+     * The screen space error allowed when selecting a level of detail, in pixels.
+     */
+    private float lodPixelError;
+
+    /**
+     * Flag indicating if meshes are split into clusters culled on the CPU.
+     */
+    private boolean clusterCulling;
+
+    /**
+     * Flag indicating if back facing triangles are culled.
+     */
+    private boolean backfaceCulling;
+
+    /**
+     * The device memory budget of the streamed textures, in megabytes.
+     */
+    private int textureBudget;
+
+    /**
+     * The largest width or height of the texture mip levels that stay resident.
+     */
+    private int textureTailSize;
+
+    /**
+     * The hot reload setting.
+     */
+    private boolean hotReload;
+
+    /**
+     * The comma separated pack files to mount, the last taking precedence.
+     */
+    private String assetPacks;
+
+    /**
+     * The number of threads recording the draws of a frame into secondary command buffers, 1 to record them directly
+     * into the primary command buffer.
+     */
+    private int recordingThreads;
+
+    /**
+     * Flag indicating if the draws are written to a buffer of indirect draw commands, submitted in batches.
+     */
+    private boolean indirectDraws;
+
+    /**
+     * The number of indirect draw commands a frame can hold, the draws beyond it being recorded directly.
+     */
+    private int indirectDrawCapacity;
+
+    /**
+     * Flag indicating if the meshes are culled and their levels of detail selected by a compute shader.
+     */
+    private boolean gpuCulling;
+
+    /**
+     * Flag indicating if the instances added to the renderer are drawn with hardware instancing.
+     */
+    private boolean instancing;
+
+    /**
+     * The number of instances a frame can hold, the instances beyond it being dropped.
+     */
+    private int instanceCapacity;
+
     /**
      * Retrieves the instance of the singleton class.
      * @return EngineProperties - Single instance of the class.
@@ -179,6 +400,28 @@ public class EngineProperties {
         imageCount = Integer.parseInt(properties.getOrDefault("imageCount", DEFAULT_IMAGE_COUNT).toString());
         deviceName = properties.getOrDefault("deviceName", DEFAULT_DEVICE_NAME).toString();
         shaderRecompilation = Boolean.parseBoolean(properties.getOrDefault("shaderRecompilation", DEFAULT_SHADER_RECOMPILATION).toString());
+        memoryBlockSize = Integer.parseInt(properties.getOrDefault("memoryBlockSize", DEFAULT_MEMORY_BLOCK_SIZE).toString());
+        stagingBufferSize = Integer.parseInt(properties.getOrDefault("stagingBufferSize", DEFAULT_STAGING_BUFFER_SIZE).toString());
+        geometryPageSize = Integer.parseInt(properties.getOrDefault("geometryPageSize", DEFAULT_GEOMETRY_PAGE_SIZE).toString());
+        streamingFrameBytes = Integer.parseInt(properties.getOrDefault("streamingFrameBytes", DEFAULT_STREAMING_FRAME_BYTES).toString());
+        streamingFrameTime = Integer.parseInt(properties.getOrDefault("streamingFrameTime", DEFAULT_STREAMING_FRAME_TIME).toString());
+        meshOptimization = Boolean.parseBoolean(properties.getOrDefault("meshOptimization", DEFAULT_MESH_OPTIMIZATION).toString());
+        vertexQuantization = Boolean.parseBoolean(properties.getOrDefault("vertexQuantization", DEFAULT_VERTEX_QUANTIZATION).toString());
+        lodLevels = Integer.parseInt(properties.getOrDefault("lodLevels", DEFAULT_LOD_LEVELS).toString());
+        lodReduction = Float.parseFloat(properties.getOrDefault("lodReduction", DEFAULT_LOD_REDUCTION).toString());
+        lodPixelError = Float.parseFloat(properties.getOrDefault("lodPixelError", DEFAULT_LOD_PIXEL_ERROR).toString());
+        clusterCulling = Boolean.parseBoolean(properties.getOrDefault("clusterCulling", DEFAULT_CLUSTER_CULLING).toString());
+        backfaceCulling = Boolean.parseBoolean(properties.getOrDefault("backfaceCulling", DEFAULT_BACKFACE_CULLING).toString());
+        textureBudget = Integer.parseInt(properties.getOrDefault("textureBudget", DEFAULT_TEXTURE_BUDGET).toString());
+        textureTailSize = Integer.parseInt(properties.getOrDefault("textureTailSize", DEFAULT_TEXTURE_TAIL_SIZE).toString());
+        hotReload = Boolean.parseBoolean(properties.getOrDefault("hotReload", DEFAULT_HOT_RELOAD).toString());
+        assetPacks = properties.getOrDefault("assetPacks", DEFAULT_ASSET_PACKS).toString();
+        recordingThreads = Integer.parseInt(properties.getOrDefault("recordingThreads", DEFAULT_RECORDING_THREADS).toString());
+        indirectDraws = Boolean.parseBoolean(properties.getOrDefault("indirectDraws", DEFAULT_INDIRECT_DRAWS).toString());
+        indirectDrawCapacity = Integer.parseInt(properties.getOrDefault("indirectDrawCapacity", DEFAULT_INDIRECT_DRAW_CAPACITY).toString());
+        gpuCulling = Boolean.parseBoolean(properties.getOrDefault("gpuCulling", DEFAULT_GPU_CULLING).toString());
+        instancing = Boolean.parseBoolean(properties.getOrDefault("instancing", DEFAULT_INSTANCING).toString());
+        instanceCapacity = Integer.parseInt(properties.getOrDefault("instanceCapacity", DEFAULT_INSTANCE_CAPACITY).toString());
     }
 
     /**
@@ -276,4 +519,180 @@ public class EngineProperties {
     public boolean isShaderRecompilation() {
         return shaderRecompilation;
     }
+
+    /**
+     * Getter for the device memory block size.
+     * @return int - The device memory block size in mebibytes.
+     */
+    public int getMemoryBlockSize() {
+        return memoryBlockSize;
+    }
+
+    /**
+     * Getter for the staging ring buffer size.
+     * @return int - The staging ring buffer size in mebibytes.
+     */
+    public int getStagingBufferSize() {
+        return stagingBufferSize;
+    }
+
+    /**
+     * Getter for the geometry page size.
+     * @return int - The size of the vertex and index buffers of a geometry page in mebibytes.
+     */
+    public int getGeometryPageSize() {
+        return geometryPageSize;
+    }
+
+    /**
+     * Getter for the streaming byte budget.
+     * @return int - The number of kibibytes streamed per frame.
+     */
+    public int getStreamingFrameBytes() {
+        return streamingFrameBytes;
+    }
+
+    /**
+     * Getter for the streaming time budget.
+     * @return int - The time spent streaming per frame in microseconds.
+     */
+    public int getStreamingFrameTime() {
+        return streamingFrameTime;
+    }
+
+    /**
+     * Getter for the mesh optimization setting.
+     * @return boolean - The flag indicating if meshes are reordered for the vertex cache before upload.
+     */
+    public boolean isMeshOptimization() {
+        return meshOptimization;
+    }
+
+    /**
+     * Getter for the vertex quantization setting.
+     * @return boolean - The flag indicating if vertices are uploaded in the quantized vertex format.
+     */
+    public boolean isVertexQuantization() {
+        return vertexQuantization;
+    }
+
+    /**
+     * Getter for the number of levels of detail.
+     * @return int - The number of simplified levels of detail generated per mesh.
+     */
+    public int getLodLevels() {
+        return lodLevels;
+    }
+
+    /**
+     * Getter for the level of detail reduction.
+     * @return float - The fraction of the triangles kept from one level of detail to the next.
+     */
+    public float getLodReduction() {
+        return lodReduction;
+    }
+
+    /**
+     * Getter for the level of detail pixel error.
+     * @return float - The screen space error allowed when selecting a level of detail, in pixels.
+     */
+    public float getLodPixelError() {
+        return lodPixelError;
+    }
+
+    /**
+     * Getter for the cluster culling flag.
+     * @return boolean - The flag indicating if meshes are split into clusters culled on the CPU.
+     */
+    public boolean isClusterCulling() {
+        return clusterCulling;
+    }
+
+    /**
+     * Getter for the back face culling flag.
+     * @return boolean - The flag indicating if back facing triangles are culled.
+     */
+    public boolean isBackfaceCulling() {
+        return backfaceCulling;
+    }
+
+    /**
+     * Getter for the texture budget.
+     * @return int - The device memory budget of the streamed textures, in megabytes.
+     */
+    public int getTextureBudget() {
+        return textureBudget;
+    }
+
+    /**
+     * Getter for the texture tail size.
+     * @return int - The largest width or height of the texture mip levels that stay resident.
+     */
+    public int getTextureTailSize() {
+        return textureTailSize;
+    }
+
+    /**
+     * Getter for the hot reload setting.
+     * @return boolean - The flag indicating if changed shader and model files are reloaded while running.
+     */
+    public boolean isHotReload() {
+        return hotReload;
+    }
+
+    /**
+     * Get the pack files to mount.
+     * @return String - The comma separated pack files, the last taking precedence.
+     */
+    public String getAssetPacks() {
+        return assetPacks;
+    }
+
+    /**
+     * Get the number of threads recording the draws of a frame.
+     * @return int - The number of threads, 1 if the draws are recorded directly into the primary command buffer.
+     */
+    public int getRecordingThreads() {
+        return recordingThreads;
+    }
+
+    /**
+     * Get the indirect draw setting.
+     * @return boolean - True if the draws are written to a buffer of indirect draw commands.
+     */
+    public boolean isIndirectDraws() {
+        return indirectDraws;
+    }
+
+    /**
+     * Get the number of indirect draw commands of a frame.
+     * @return int - The number of commands.
+     */
+    public int getIndirectDrawCapacity() {
+        return indirectDrawCapacity;
+    }
+
+    /**
+     * Get the GPU culling setting.
+     * @return boolean - True if the meshes are culled by a compute shader.
+     */
+    public boolean isGpuCulling() {
+        return gpuCulling;
+    }
+
+    /**
+     * Get the instancing setting.
+     * @return boolean - True if the instances are drawn with hardware instancing.
+     */
+    public boolean isInstancing() {
+        return instancing;
+    }
+
+    /**
+     * Get the number of instances of a frame.
+     * @return int - The number of instances.
+     */
+    public int getInstanceCapacity() {
+        return instanceCapacity;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.scarlet.asset;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locates the elements of a glTF accessor inside its buffer.
+ */
+class AccessorView {
+    /**
+     * The buffer holding the elements.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The offset of the first element in the buffer.
+     */
+    private final int baseOffset;
+
+    /**
+     * The distance between two elements.
+     */
+    private final int stride;
+
+    /**
+     * Constructor.
+     * @param root The glTF root object.
+     * @param buffers The buffers.
+     * @param accessor The accessor.
+     * @param elementSize The size of an element, used when the buffer view is tightly packed.
+     */
+    AccessorView(Map<String, Object> root, List<ByteBuffer> buffers, Map<String, Object> accessor, int elementSize) {
+        if (accessor.containsKey("sparse")) {
+            throw new RuntimeException("Sparse accessors are not supported.");
+        }
+        Map<String, Object> bufferView = GltfLoader.asObject(
+                GltfLoader.asList(root.get("bufferViews")).get(GltfLoader.getInt(accessor, "bufferView", -1)));
+        buffer = buffers.get(GltfLoader.getInt(bufferView, "buffer", -1));
+        baseOffset = GltfLoader.getInt(bufferView, "byteOffset", 0) + GltfLoader.getInt(accessor, "byteOffset", 0);
+        stride = GltfLoader.getInt(bufferView, "byteStride", elementSize);
+
+        int count = GltfLoader.getInt(accessor, "count", 0);
+        if (count > 0 && (long) baseOffset + (long) (count - 1) * stride + elementSize > buffer.limit()) {
+            throw new RuntimeException("Accessor exceeds its buffer.");
+        }
+    }
+
+    /**
+     * Get the offset of an element.
+     * @param index The element index.
+     * @return int - The offset in the buffer.
+     */
+    int offset(int index) {
+        return baseOffset + index * stride;
+    }
+
+    /**
+     * Get the buffer holding the elements.
+     * @return ByteBuffer - The buffer.
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,176 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watches files for changes on a background thread.
+ * The directories of the watched files are registered with a WatchService. The changes are collected until the files
+ * stay untouched for a short delay, since editors often write a file in several steps, and every changed file is
+ * then passed to its listener on the watcher thread.
+ */
+public class FileWatcher {
+    /**
+     * The time without change after which the collected changes are dispatched, in milliseconds.
+     */
+    private static final long SETTLE_TIME = 100;
+
+    /**
+     * The watch service.
+     */
+    private final WatchService watchService;
+
+    /**
+     * The listener of every watched file, by absolute path.
+     */
+    private final Map<Path, Consumer<Path>> listeners;
+
+    /**
+     * The watched directories.
+     */
+    private final Set<Path> directories;
+
+    /**
+     * The thread waiting for the changes and running the listeners.
+     */
+    private final Thread watcherThread;
+
+    /**
+     * Constructor.
+     */
+    public FileWatcher() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to create the file watch service.", ex);
+        }
+        listeners = new ConcurrentHashMap<>();
+        directories = ConcurrentHashMap.newKeySet();
+        watcherThread = new Thread(this::run, "file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stop watching, waiting for the listener being run to return.
+     */
+    public void cleanup() {
+        try {
+            watchService.close();
+            watcherThread.join();
+        }
+        catch (IOException ex) {
+            EngineLogger.getInstance().log(Level.WARNING, "Failed to close the file watch service.", ex);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Watch a file, replacing its previous listener.
+     * @param file The file.
+     * @param listener The listener, called on the watcher thread with the file path every time the file changes.
+     */
+    public void watch(Path file, Consumer<Path> listener) {
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        Path directory = absoluteFile.getParent();
+        if (directories.add(directory)) {
+            try {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+            catch (IOException ex) {
+                directories.remove(directory);
+                throw new RuntimeException("Failed to watch [" + directory + "].", ex);
+            }
+        }
+        listeners.put(absoluteFile, listener);
+        EngineLogger.getInstance().log(Level.FINE, "Watching [%s].", absoluteFile);
+    }
+
+    /**
+     * Stop watching a file. Its directory stays registered.
+     * @param file The file.
+     */
+    public void unwatch(Path file) {
+        listeners.remove(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Wait for changes and dispatch them until the watch service is closed.
+     */
+    private void run() {
+        try {
+            Set<Path> changedFiles = new LinkedHashSet<>();
+            while (true) {
+                collectChanges(watchService.take(), changedFiles);
+                WatchKey watchKey;
+                while ((watchKey = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS)) != null) {
+                    collectChanges(watchKey, changedFiles);
+                }
+                for (Path changedFile : changedFiles) {
+                    dispatch(changedFile);
+                }
+                changedFiles.clear();
+            }
+        }
+        catch (ClosedWatchServiceException | InterruptedException ex) {
+            EngineLogger.getInstance().log(Level.FINE, "File watcher stopped.");
+        }
+    }
+
+    /**
+     * Collect the watched files changed in the events of a watch key.
+     * @param watchKey The watch key.
+     * @param changedFiles The changed files.
+     */
+    private void collectChanges(WatchKey watchKey, Set<Path> changedFiles) {
+        Path directory = (Path) watchKey.watchable();
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.context() instanceof Path fileName) {
+                Path file = directory.resolve(fileName);
+                if (listeners.containsKey(file)) {
+                    changedFiles.add(file);
+                }
+            }
+        }
+        watchKey.reset();
+    }
+
+    /**
+     * Pass a changed file to its listener.
+     * A failing listener is logged, so a file saved with errors does not stop the watcher.
+     * @param file The changed file.
+     */
+    private void dispatch(Path file) {
+        Consumer<Path> listener = listeners.get(file);
+        if (listener == null) {
+            return;
+        }
+        EngineLogger.getInstance().log(Level.INFO, "Detected a change of [%s].", file);
+        try {
+            listener.accept(file);
+        }
+        catch (RuntimeException ex) {
+            EngineLogger.getInstance().log(Level.SEVERE, "Failed to reload [%s].", file, ex);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package org.scarlet.asset;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive floats.
+ */
+class FloatList {
+    /**
+     * The elements.
+     */
+    private float[] elements;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     * @param initialCapacity The initial capacity.
+     */
+    FloatList(int initialCapacity) {
+        elements = new float[Math.max(initialCapacity, 4)];
+    }
+
+    /**
+     * Append an element.
+     * @param value The element.
+     */
+    void add(float value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Get an element.
+     * @param index The position of the element.
+     * @return float - The element.
+     */
+    float get(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Get the number of elements.
+     * @return int - The size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copy the elements into an array at a position.
+     * @param destination The destination array.
+     * @param destinationOffset The position in the destination array.
+     */
+    void copyTo(float[] destination, int destinationOffset) {
+        System.arraycopy(elements, 0, destination, destinationOffset, size);
+    }
+
+    /**
+     * Copy the elements into an array of the exact size.
+     * @return float[] - The elements.
+     */
+    float[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,300 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.model.MeshData;
+import org.scarlet.vulkan.model.ModelData;
+
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Loads glTF 2.0 files, both JSON (.gltf) with embedded or external buffers, and binary (.glb).
+ * Every triangle primitive becomes a mesh; primitives are built in parallel.
+ * Only vertex positions are imported, matching the vertex layout, and node transforms are not applied.
+ */
+public class GltfLoader {
+    /**
+     * The binary glTF signature, "glTF".
+     */
+    private static final int GLB_MAGIC = 0x46546C67;
+
+    /**
+     * The type of the JSON chunk of a binary glTF file.
+     */
+    private static final int GLB_CHUNK_JSON = 0x4E4F534A;
+
+    /**
+     * The type of the binary chunk of a binary glTF file.
+     */
+    private static final int GLB_CHUNK_BIN = 0x004E4942;
+
+    /**
+     * The triangle list primitive mode.
+     */
+    private static final int MODE_TRIANGLES = 4;
+
+    /**
+     * The unsigned byte component type.
+     */
+    private static final int UNSIGNED_BYTE = 5121;
+
+    /**
+     * The unsigned short component type.
+     */
+    private static final int UNSIGNED_SHORT = 5123;
+
+    /**
+     * The unsigned int component type.
+     */
+    private static final int UNSIGNED_INT = 5125;
+
+    /**
+     * The float component type.
+     */
+    private static final int FLOAT = 5126;
+
+    /**
+     * The number of position components.
+     */
+    private static final int POSITION_COMPONENTS = 3;
+
+    /**
+     * Load a glTF file.
+     * @param path The file path.
+     * @return ModelData - The model data, identified by the file name.
+     */
+    public static ModelData load(Path path) {
+        long startTime = System.nanoTime();
+        byte[] data = VirtualFileSystem.getInstance().readAllBytes(path.toString());
+        long readTime = System.nanoTime();
+
+        // Split binary files into their JSON and binary chunks.
+        String json;
+        ByteBuffer binaryChunk = null;
+        ByteBuffer file = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.length >= 12 && file.getInt(0) == GLB_MAGIC) {
+            json = null;
+            int offset = 12;
+            while (offset + 8 <= data.length) {
+                int chunkLength = file.getInt(offset);
+                int chunkType = file.getInt(offset + 4);
+                if (chunkType == GLB_CHUNK_JSON) {
+                    json = new String(data, offset + 8, chunkLength, StandardCharsets.UTF_8);
+                }
+                else if (chunkType == GLB_CHUNK_BIN) {
+                    binaryChunk = file.slice(offset + 8, chunkLength).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                offset += 8 + chunkLength;
+            }
+            if (json == null) {
+                throw new RuntimeException("[" + path + "] has no JSON chunk.");
+            }
+        }
+        else {
+            json = new String(data, StandardCharsets.UTF_8);
+        }
+        Map<String, Object> root = asObject(JsonParser.parse(json));
+        List<ByteBuffer> buffers = loadBuffers(root, path, binaryChunk);
+        long parseTime = System.nanoTime();
+
+        // Collect the primitives of every mesh.
+        List<Map<String, Object>> primitives = new ArrayList<>();
+        for (Object mesh : asList(root.get("meshes"))) {
+            for (Object primitive : asList(asObject(mesh).get("primitives"))) {
+                Map<String, Object> primitiveObject = asObject(primitive);
+                int mode = getInt(primitiveObject, "mode", MODE_TRIANGLES);
+                if (mode != MODE_TRIANGLES) {
+                    EngineLogger.getInstance().log(Level.WARNING, "Skipping primitive with mode [%d] in [%s].", mode, path);
+                    continue;
+                }
+                primitives.add(primitiveObject);
+            }
+        }
+        List<MeshData> meshDataList = primitives.parallelStream()
+                .map(primitive -> buildMesh(root, buffers, primitive))
+                .toList();
+        long buildTime = System.nanoTime();
+
+        EngineLogger.getInstance().log(Level.INFO,
+                "Loaded [%s]: [%d] mesh(es). Read [%.2f] ms, parse [%.2f] ms, build [%.2f] ms.",
+                path, meshDataList.size(),
+                (readTime - startTime) / 1_000_000d, (parseTime - readTime) / 1_000_000d,
+                (buildTime - parseTime) / 1_000_000d);
+        return new ModelData(ModelImporter.getModelID(path), meshDataList);
+    }
+
+    /**
+     * Load the buffers, from data URIs, files next to the glTF file, or the binary chunk.
+     * @param root The glTF root object.
+     * @param path The glTF file path.
+     * @param binaryChunk The binary chunk of a binary glTF file, or null.
+     * @return List&lt;ByteBuffer&gt; - The buffers.
+     */
+    private static List<ByteBuffer> loadBuffers(Map<String, Object> root, Path path, ByteBuffer binaryChunk) {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (Object buffer : asList(root.get("buffers"))) {
+            Object uri = asObject(buffer).get("uri");
+            byte[] bytes;
+            if (uri == null) {
+                if (binaryChunk == null) {
+                    throw new RuntimeException("[" + path + "] has a buffer without URI and no binary chunk.");
+                }
+                buffers.add(binaryChunk);
+                continue;
+            }
+            String uriString = uri.toString();
+            if (uriString.startsWith("data:")) {
+                bytes = Base64.getDecoder().decode(uriString.substring(uriString.indexOf(',') + 1));
+            }
+            else {
+                Path bufferPath = path.resolveSibling(URLDecoder.decode(uriString, StandardCharsets.UTF_8));
+                bytes = VirtualFileSystem.getInstance().readAllBytes(bufferPath.toString());
+            }
+            buffers.add(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        return buffers;
+    }
+
+    /**
+     * Build a mesh from a primitive, merging identical vertices.
+     * @param root The glTF root object.
+     * @param buffers The buffers.
+     * @param primitive The primitive.
+     * @return MeshData - The mesh data.
+     */
+    private static MeshData buildMesh(Map<String, Object> root, List<ByteBuffer> buffers, Map<String, Object> primitive) {
+        Map<String, Object> attributes = asObject(primitive.get("attributes"));
+        if (!attributes.containsKey("POSITION")) {
+            throw new RuntimeException("Primitive without POSITION attribute.");
+        }
+        float[] positions = readPositions(root, buffers, getInt(attributes, "POSITION", -1));
+        int numberOfVertices = positions.length / POSITION_COMPONENTS;
+        int[] corners;
+        if (primitive.containsKey("indices")) {
+            corners = readIndices(root, buffers, getInt(primitive, "indices", -1));
+        }
+        else {
+            corners = new int[numberOfVertices];
+            for (int i = 0; i < numberOfVertices; i++) {
+                corners[i] = i;
+            }
+        }
+
+        VertexDeduplicator deduplicator = new VertexDeduplicator(POSITION_COMPONENTS, numberOfVertices);
+        int[] remap = new int[numberOfVertices];
+        for (int i = 0; i < numberOfVertices; i++) {
+            remap[i] = deduplicator.add(positions, i * POSITION_COMPONENTS);
+        }
+        int[] indices = new int[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            if (corners[i] < 0 || corners[i] >= numberOfVertices) {
+                throw new RuntimeException("Primitive references undefined vertex " + corners[i] + ".");
+            }
+            indices[i] = remap[corners[i]];
+        }
+        return new MeshData(deduplicator.toArray(), indices);
+    }
+
+    /**
+     * Read a VEC3 float accessor.
+     * @param root The glTF root object.
+     * @param buffers The buffers.
+     * @param accessorIndex The accessor index.
+     * @return float[] - The positions.
+     */
+    private static float[] readPositions(Map<String, Object> root, List<ByteBuffer> buffers, int accessorIndex) {
+        Map<String, Object> accessor = asObject(asList(root.get("accessors")).get(accessorIndex));
+        if (getInt(accessor, "componentType", -1) != FLOAT || !"VEC3".equals(accessor.get("type"))) {
+            throw new RuntimeException("POSITION accessor must be a float VEC3.");
+        }
+        int count = getInt(accessor, "count", 0);
+        float[] positions = new float[count * POSITION_COMPONENTS];
+        AccessorView view = new AccessorView(root, buffers, accessor, POSITION_COMPONENTS * Float.BYTES);
+        for (int i = 0; i < count; i++) {
+            int offset = view.offset(i);
+            for (int j = 0; j < POSITION_COMPONENTS; j++) {
+                positions[i * POSITION_COMPONENTS + j] = view.getBuffer().getFloat(offset + j * Float.BYTES);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Read a scalar index accessor.
+     * @param root The glTF root object.
+     * @param buffers The buffers.
+     * @param accessorIndex The accessor index.
+     * @return int[] - The indices.
+     */
+    private static int[] readIndices(Map<String, Object> root, List<ByteBuffer> buffers, int accessorIndex) {
+        Map<String, Object> accessor = asObject(asList(root.get("accessors")).get(accessorIndex));
+        int componentType = getInt(accessor, "componentType", -1);
+        int componentSize = switch (componentType) {
+            case UNSIGNED_BYTE -> 1;
+            case UNSIGNED_SHORT -> 2;
+            case UNSIGNED_INT -> 4;
+            default -> throw new RuntimeException("Unsupported index component type " + componentType + ".");
+        };
+        int count = getInt(accessor, "count", 0);
+        int[] indices = new int[count];
+        AccessorView view = new AccessorView(root, buffers, accessor, componentSize);
+        for (int i = 0; i < count; i++) {
+            int offset = view.offset(i);
+            indices[i] = switch (componentSize) {
+                case 1 -> view.getBuffer().get(offset) & 0xFF;
+                case 2 -> view.getBuffer().getShort(offset) & 0xFFFF;
+                default -> view.getBuffer().getInt(offset);
+            };
+        }
+        return indices;
+    }
+
+    /**
+     * Get an integer member.
+     * @param object The object.
+     * @param name The member name.
+     * @param defaultValue The value if the member is missing.
+     * @return int - The member value.
+     */
+    static int getInt(Map<String, Object> object, String name, int defaultValue) {
+        Object value = object.get(name);
+        return value instanceof Number number ? number.intValue() : defaultValue;
+    }
+
+    /**
+     * Cast a JSON value to an object.
+     * @param value The value.
+     * @return Map&lt;String, Object&gt; - The object.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> asObject(Object value) {
+        if (!(value instanceof Map)) {
+            throw new RuntimeException("Expected a JSON object.");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Cast a JSON value to an array, a missing value being an empty array.
+     * @param value The value.
+     * @return List&lt;Object&gt; - The array.
+     */
+    @SuppressWarnings("unchecked")
+    static List<Object> asList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List)) {
+            throw new RuntimeException("Expected a JSON array.");
+        }
+        return (List<Object>) value;
+    }
+}
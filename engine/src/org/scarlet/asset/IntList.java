@@ -0,0 +1,69 @@
+package org.scarlet.asset;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints.
+ */
+class IntList {
+    /**
+     * The elements.
+     */
+    private int[] elements;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     * @param initialCapacity The initial capacity.
+     */
+    IntList(int initialCapacity) {
+        elements = new int[Math.max(initialCapacity, 4)];
+    }
+
+    /**
+     * Append an element.
+     * @param value The element.
+     */
+    void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Get an element.
+     * @param index The position of the element.
+     * @return int - The element.
+     */
+    int get(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Remove all elements.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Get the number of elements.
+     * @return int - The size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copy the elements into an array of the exact size.
+     * @return int[] - The elements.
+     */
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,228 @@
+package org.scarlet.asset;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser.
+ * Objects become maps, arrays become lists, numbers become doubles, and literals become booleans or null.
+ */
+public class JsonParser {
+    /**
+     * The JSON text.
+     */
+    private final String text;
+
+    /**
+     * The position of the next character.
+     */
+    private int position;
+
+    /**
+     * Parse a JSON document.
+     * @param text The JSON text.
+     * @return Object - The root value.
+     */
+    public static Object parse(String text) {
+        JsonParser parser = new JsonParser(text);
+        Object value = parser.parseValue();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Private constructor.
+     * @param text The JSON text.
+     */
+    private JsonParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse any value.
+     * @return Object - The value.
+     */
+    private Object parseValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return switch (text.charAt(position)) {
+            case '{' -> parseObject();
+            case '[' -> parseArray();
+            case '"' -> parseString();
+            case 't' -> {
+                expect("true");
+                yield Boolean.TRUE;
+            }
+            case 'f' -> {
+                expect("false");
+                yield Boolean.FALSE;
+            }
+            case 'n' -> {
+                expect("null");
+                yield null;
+            }
+            default -> parseNumber();
+        };
+    }
+
+    /**
+     * Parse an object.
+     * @return Map&lt;String, Object&gt; - The members.
+     */
+    private Map<String, Object> parseObject() {
+        Map<String, Object> members = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected member name");
+            }
+            String name = parseString();
+            skipWhitespace();
+            if (peek() != ':') {
+                throw error("Expected ':'");
+            }
+            position++;
+            members.put(name, parseValue());
+            skipWhitespace();
+            char c = peek();
+            position++;
+            if (c == '}') {
+                return members;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Parse an array.
+     * @return List&lt;Object&gt; - The elements.
+     */
+    private List<Object> parseArray() {
+        List<Object> elements = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return elements;
+        }
+        while (true) {
+            elements.add(parseValue());
+            skipWhitespace();
+            char c = peek();
+            position++;
+            if (c == ']') {
+                return elements;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Parse a string.
+     * @return String - The string.
+     */
+    private String parseString() {
+        StringBuilder builder = new StringBuilder();
+        position++;
+        while (true) {
+            char c = peek();
+            position++;
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            char escape = peek();
+            position++;
+            switch (escape) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> builder.append(escape);
+            }
+        }
+    }
+
+    /**
+     * Parse a number.
+     * @return Double - The number.
+     */
+    private Double parseNumber() {
+        int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Unexpected character '" + text.charAt(position) + "'");
+        }
+        return Double.parseDouble(text.substring(start, position));
+    }
+
+    /**
+     * Consume a literal.
+     * @param literal The literal.
+     */
+    private void expect(String literal) {
+        if (!text.startsWith(literal, position)) {
+            throw error("Expected '" + literal + "'");
+        }
+        position += literal.length();
+    }
+
+    /**
+     * Skip whitespace.
+     */
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    /**
+     * Get the next character without consuming it.
+     * @return char - The next character.
+     */
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(position);
+    }
+
+    /**
+     * Create a parse error.
+     * @param message The error message.
+     * @return IllegalArgumentException - The error.
+     */
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + ".");
+    }
+}
@@ -0,0 +1,240 @@
+package org.scarlet.asset;
+
+import org.lwjgl.system.MemoryUtil;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.model.MeshData;
+import org.scarlet.vulkan.model.ModelData;
+import org.scarlet.vulkan.model.VertexBufferStructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Binary mesh cache file.
+ * The file is memory mapped when read, so mesh data goes from the page cache into staging memory without a heap copy.
+ * <p>
+ * Layout, little endian:
+ * <pre>
+ * int magic, int version
+ * int vertexStride, int attributeCount, attributeCount * {int format, int offset}
+ * int modelIDLength, byte[modelIDLength] modelID (UTF-8)
+ * int meshCount, meshCount * {long vertexOffset, long vertexSize, long indexOffset, long indexSize, float[6] bounds}
+ * vertex and index blobs, each aligned to BLOB_ALIGNMENT bytes
+ * </pre>
+ */
+public class MeshCache {
+    /**
+     * The file signature, "SMSH".
+     */
+    public static final int MAGIC = 0x48534D53;
+
+    /**
+     * The format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The alignment of the vertex and index blobs.
+     */
+    private static final int BLOB_ALIGNMENT = 16;
+
+    /**
+     * The size of a mesh entry in the header.
+     */
+    private static final int MESH_ENTRY_SIZE = 4 * Long.BYTES + 6 * Float.BYTES;
+
+    /**
+     * Convert a model file into a cache file, offline.
+     * Usage: MeshCache &lt;model file&gt; &lt;cache file&gt;
+     * @param args The model file and the cache file paths.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: MeshCache <model file> <cache file>");
+        }
+        write(Path.of(args[1]), ModelImporter.importModel(Path.of(args[0])));
+    }
+
+    /**
+     * Write a model to a cache file.
+     * @param path The file path.
+     * @param modelData The model data.
+     */
+    public static void write(Path path, ModelData modelData) {
+        if (ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+            throw new UnsupportedOperationException("Mesh cache files require a little endian platform.");
+        }
+        int vertexStride = VertexBufferStructure.VERTEX_STRIDE;
+        int[] formats = VertexBufferStructure.getAttributeFormats();
+        int[] offsets = VertexBufferStructure.getAttributeOffsets();
+        byte[] modelID = modelData.getModelID().getBytes(StandardCharsets.UTF_8);
+        List<MeshData> meshDataList = modelData.getMeshDataList();
+
+        int headerSize = getHeaderSize(formats.length, modelID.length, meshDataList.size());
+        ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(vertexStride).putInt(formats.length);
+        for (int i = 0; i < formats.length; i++) {
+            header.putInt(formats[i]).putInt(offsets[i]);
+        }
+        header.putInt(modelID.length).put(modelID).putInt(meshDataList.size());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long blobOffset = alignUp(headerSize);
+            for (MeshData meshData : meshDataList) {
+                long vertexOffset = blobOffset;
+                long vertexSize = meshData.getVerticesSize();
+                long indexOffset = alignUp(vertexOffset + vertexSize);
+                long indexSize = meshData.getIndicesSize();
+                blobOffset = alignUp(indexOffset + indexSize);
+
+                ByteBuffer vertexBlob = MemoryUtil.memAlloc((int) vertexSize);
+                ByteBuffer indexBlob = MemoryUtil.memAlloc((int) indexSize);
+                try {
+                    meshData.writeVertices(MemoryUtil.memAddress(vertexBlob), 0, vertexSize);
+                    meshData.writeIndices(MemoryUtil.memAddress(indexBlob), 0, indexSize);
+                    float[] bounds = computeBounds(vertexBlob, vertexStride);
+                    header.putLong(vertexOffset).putLong(vertexSize).putLong(indexOffset).putLong(indexSize);
+                    for (float bound : bounds) {
+                        header.putFloat(bound);
+                    }
+                    writeFully(channel, vertexBlob, vertexOffset);
+                    writeFully(channel, indexBlob, indexOffset);
+                }
+                finally {
+                    MemoryUtil.memFree(vertexBlob);
+                    MemoryUtil.memFree(indexBlob);
+                }
+            }
+            header.flip();
+            writeFully(channel, header, 0);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to write mesh cache [" + path + "].", ex);
+        }
+        EngineLogger.getInstance().log(Level.INFO, "Wrote mesh cache [%s] with [%d] mesh(es).", path, meshDataList.size());
+    }
+
+    /**
+     * Read a model from a cache file.
+     * The mesh data of the model is backed by the memory mapped file.
+     * @param path The file path.
+     * @return ModelData - The model data.
+     */
+    public static ModelData read(Path path) {
+        if (ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+            throw new UnsupportedOperationException("Mesh cache files require a little endian platform.");
+        }
+        ByteBuffer mappedFile = VirtualFileSystem.getInstance().read(path.toString());
+        ByteBuffer header = mappedFile.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (header.getInt() != MAGIC) {
+            throw new RuntimeException("[" + path + "] is not a mesh cache file.");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new RuntimeException("Mesh cache [" + path + "] has version " + version + ", expected " + VERSION + ".");
+        }
+
+        // The cache is only valid for the vertex layout it was written with.
+        int vertexStride = header.getInt();
+        int[] formats = new int[header.getInt()];
+        int[] offsets = new int[formats.length];
+        for (int i = 0; i < formats.length; i++) {
+            formats[i] = header.getInt();
+            offsets[i] = header.getInt();
+        }
+        if (vertexStride != VertexBufferStructure.VERTEX_STRIDE
+                || !Arrays.equals(formats, VertexBufferStructure.getAttributeFormats())
+                || !Arrays.equals(offsets, VertexBufferStructure.getAttributeOffsets())) {
+            throw new RuntimeException("Mesh cache [" + path + "] was written with a different vertex layout.");
+        }
+
+        byte[] modelID = new byte[header.getInt()];
+        header.get(modelID);
+        int meshCount = header.getInt();
+        List<MeshData> meshDataList = new ArrayList<>(meshCount);
+        for (int i = 0; i < meshCount; i++) {
+            int vertexOffset = (int) header.getLong();
+            int vertexSize = (int) header.getLong();
+            int indexOffset = (int) header.getLong();
+            int indexSize = (int) header.getLong();
+            float[] bounds = new float[6];
+            for (int j = 0; j < bounds.length; j++) {
+                bounds[j] = header.getFloat();
+            }
+            MeshData meshData = new MeshData(
+                    mappedFile.slice(vertexOffset, vertexSize),
+                    mappedFile.slice(indexOffset, indexSize));
+            meshData.setBounds(bounds);
+            meshDataList.add(meshData);
+        }
+        return new ModelData(new String(modelID, StandardCharsets.UTF_8), meshDataList);
+    }
+
+    /**
+     * Get the size of the header, following its layout.
+     * @param attributeCount The number of vertex attributes.
+     * @param modelIDLength The length of the UTF-8 model ID.
+     * @param meshCount The number of meshes.
+     * @return int - The header size, in bytes.
+     */
+    private static int getHeaderSize(int attributeCount, int modelIDLength, int meshCount) {
+        return 2 * Integer.BYTES
+                + 2 * Integer.BYTES + attributeCount * 2 * Integer.BYTES
+                + Integer.BYTES + modelIDLength
+                + Integer.BYTES + meshCount * MESH_ENTRY_SIZE;
+    }
+
+    /**
+     * Compute the axis aligned bounds of the vertex positions.
+     * @param vertexData The vertex data.
+     * @param vertexStride The size of a vertex in bytes.
+     * @return float[] - The bounds as {minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    private static float[] computeBounds(ByteBuffer vertexData, int vertexStride) {
+        float[] bounds = {
+                Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE,
+                -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        ByteBuffer data = vertexData.duplicate().order(ByteOrder.nativeOrder());
+        for (int vertex = 0; vertex + vertexStride <= data.limit(); vertex += vertexStride) {
+            for (int axis = 0; axis < 3; axis++) {
+                float value = data.getFloat(vertex + axis * Float.BYTES);
+                bounds[axis] = Math.min(bounds[axis], value);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], value);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Write a whole buffer at a file position.
+     * @param channel The file channel.
+     * @param buffer The buffer.
+     * @param position The file position.
+     * @throws IOException If writing fails.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Round an offset up to the blob alignment.
+     * @param offset The offset.
+     * @return long - The aligned offset.
+     */
+    private static long alignUp(long offset) {
+        return (offset + BLOB_ALIGNMENT - 1) & -BLOB_ALIGNMENT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.model.ModelData;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Imports model files into model data, ready for Renderer.loadModels.
+ * Supports Wavefront OBJ (.obj), glTF 2.0 (.gltf, .glb) and mesh cache (.smsh) files.
+ */
+public class ModelImporter {
+    /**
+     * Import model files in parallel.
+     * @param paths The file paths.
+     * @return List&lt;ModelData&gt; - The model data, in the order of the paths.
+     */
+    public static List<ModelData> importModels(List<Path> paths) {
+        long startTime = System.nanoTime();
+        List<ModelData> modelDataList = paths.parallelStream()
+                .map(ModelImporter::importModel)
+                .toList();
+        EngineLogger.getInstance().log(Level.INFO, "Imported [%d] model(s) in [%.2f] ms.",
+                modelDataList.size(), (System.nanoTime() - startTime) / 1_000_000d);
+        return modelDataList;
+    }
+
+    /**
+     * Import a model file.
+     * @param path The file path.
+     * @return ModelData - The model data, identified by the file name.
+     */
+    public static ModelData importModel(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".obj")) {
+            return ObjLoader.load(path);
+        }
+        if (fileName.endsWith(".gltf") || fileName.endsWith(".glb")) {
+            return GltfLoader.load(path);
+        }
+        if (fileName.endsWith(".smsh")) {
+            return MeshCache.read(path);
+        }
+        throw new IllegalArgumentException("Unsupported model file [" + path + "].");
+    }
+
+    /**
+     * Get the model ID of a file, its name without extension.
+     * @param path The file path.
+     * @return String - The model ID.
+     */
+    static String getModelID(Path path) {
+        String fileName = path.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+}
@@ -0,0 +1,281 @@
+package org.scarlet.asset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of parsing a range of lines of a Wavefront OBJ file.
+ * Face corners referring to vertices by relative (negative) index are stored as their index inside the chunk minus
+ * RELATIVE_ORIGIN, to be resolved once the number of vertices in the preceding chunks is known.
+ */
+class ObjChunk {
+    /**
+     * Subtracted from the chunk index of relative corners, so they are negative while absolute corners are not.
+     */
+    static final int RELATIVE_ORIGIN = 1 << 30;
+
+    /**
+     * The number of position components.
+     */
+    private static final int POSITION_COMPONENTS = 3;
+
+    /**
+     * Powers of ten for fast float parsing.
+     */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * The file content.
+     */
+    private final byte[] data;
+
+    /**
+     * The end of the range.
+     */
+    private final int end;
+
+    /**
+     * The position of the next byte.
+     */
+    private int position;
+
+    /**
+     * The vertex positions defined in the chunk.
+     */
+    private final FloatList positions;
+
+    /**
+     * The triangle corners, three per triangle.
+     */
+    private final IntList corners;
+
+    /**
+     * The triangle at which each group defined in the chunk starts.
+     */
+    private final IntList groupStarts;
+
+    /**
+     * The names of the groups defined in the chunk.
+     */
+    private final List<String> groupNames;
+
+    /**
+     * The corners of the face being parsed.
+     */
+    private final IntList faceCorners;
+
+    /**
+     * Parse a range of lines.
+     * @param data The file content.
+     * @param start The start of the range, at the start of a line.
+     * @param end The end of the range, at the start of a line or at the end of the file.
+     */
+    ObjChunk(byte[] data, int start, int end) {
+        this.data = data;
+        this.end = end;
+        position = start;
+        int expectedLines = Math.max((end - start) / 32, 16);
+        positions = new FloatList(expectedLines);
+        corners = new IntList(expectedLines);
+        groupStarts = new IntList(4);
+        groupNames = new ArrayList<>();
+        faceCorners = new IntList(8);
+        while (position < end) {
+            parseLine();
+        }
+    }
+
+    /**
+     * Parse a line.
+     */
+    private void parseLine() {
+        skipSpaces();
+        if (position + 1 < end && data[position + 1] <= ' ') {
+            switch (data[position]) {
+                case 'v' -> {
+                    position++;
+                    for (int i = 0; i < POSITION_COMPONENTS; i++) {
+                        positions.add(parseFloat());
+                    }
+                }
+                case 'f' -> {
+                    position++;
+                    parseFace();
+                }
+                case 'o', 'g' -> {
+                    position++;
+                    skipSpaces();
+                    int nameStart = position;
+                    skipToEndOfLine();
+                    groupStarts.add(corners.size() / 3);
+                    groupNames.add(new String(data, nameStart, position - nameStart).trim());
+                }
+                default -> {
+                    // Ignored statement.
+                }
+            }
+        }
+        skipToEndOfLine();
+        position++;
+    }
+
+    /**
+     * Parse the corners of a face and triangulate it as a fan.
+     */
+    private void parseFace() {
+        int localPositions = positions.size() / POSITION_COMPONENTS;
+        faceCorners.clear();
+        while (true) {
+            skipSpaces();
+            if (position >= end || data[position] == '\n' || data[position] == '\r') {
+                break;
+            }
+            int index = parseInt();
+            if (index < 0) {
+                // Relative to the vertices defined so far, which may span earlier chunks.
+                faceCorners.add(localPositions + index - RELATIVE_ORIGIN);
+            }
+            else {
+                faceCorners.add(index - 1);
+            }
+            // Skip the texture coordinate and normal indices, the vertex layout only holds positions.
+            while (position < end && data[position] > ' ') {
+                position++;
+            }
+        }
+        for (int i = 2; i < faceCorners.size(); i++) {
+            corners.add(faceCorners.get(0));
+            corners.add(faceCorners.get(i - 1));
+            corners.add(faceCorners.get(i));
+        }
+    }
+
+    /**
+     * Parse a signed integer.
+     * @return int - The integer.
+     */
+    private int parseInt() {
+        boolean negative = false;
+        if (data[position] == '-') {
+            negative = true;
+            position++;
+        }
+        int value = 0;
+        while (position < end && data[position] >= '0' && data[position] <= '9') {
+            value = value * 10 + (data[position++] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a float.
+     * Plain decimal and exponent notations are parsed directly, anything else falls back to Float.parseFloat.
+     * @return float - The float.
+     */
+    private float parseFloat() {
+        skipSpaces();
+        int start = position;
+        boolean negative = false;
+        if (position < end && (data[position] == '-' || data[position] == '+')) {
+            negative = data[position] == '-';
+            position++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean valid = false;
+        while (position < end && data[position] >= '0' && data[position] <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (data[position] - '0');
+                digits += mantissa != 0 ? 1 : 0;
+            }
+            else {
+                exponent++;
+            }
+            position++;
+            valid = true;
+        }
+        if (position < end && data[position] == '.') {
+            position++;
+            while (position < end && data[position] >= '0' && data[position] <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (data[position] - '0');
+                    digits += mantissa != 0 ? 1 : 0;
+                    exponent--;
+                }
+                position++;
+                valid = true;
+            }
+        }
+        if (valid && position < end && (data[position] == 'e' || data[position] == 'E')) {
+            position++;
+            exponent += parseInt();
+        }
+        if (!valid || (position < end && data[position] > ' ') || Math.abs(exponent) >= POWERS_OF_TEN.length) {
+            position = start;
+            while (position < end && data[position] > ' ') {
+                position++;
+            }
+            return Float.parseFloat(new String(data, start, position - start));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return (float) (negative ? -value : value);
+    }
+
+    /**
+     * Skip spaces and tabs.
+     */
+    private void skipSpaces() {
+        while (position < end && (data[position] == ' ' || data[position] == '\t')) {
+            position++;
+        }
+    }
+
+    /**
+     * Move to the line feed ending the current line.
+     */
+    private void skipToEndOfLine() {
+        while (position < end && data[position] != '\n') {
+            position++;
+        }
+    }
+
+    /**
+     * Get the vertex positions defined in the chunk.
+     * @return FloatList - The positions.
+     */
+    FloatList getPositions() {
+        return positions;
+    }
+
+    /**
+     * Get the triangle corners.
+     * @return IntList - The corners, three per triangle.
+     */
+    IntList getCorners() {
+        return corners;
+    }
+
+    /**
+     * Get the triangle at which each group defined in the chunk starts.
+     * @return IntList - The group starts.
+     */
+    IntList getGroupStarts() {
+        return groupStarts;
+    }
+
+    /**
+     * Get the names of the groups defined in the chunk.
+     * @return List&lt;String&gt; - The group names.
+     */
+    List<String> getGroupNames() {
+        return groupNames;
+    }
+}
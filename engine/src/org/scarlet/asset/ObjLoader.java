@@ -0,0 +1,131 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.model.MeshData;
+import org.scarlet.vulkan.model.ModelData;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
+
+/**
+ * Loads Wavefront OBJ files.
+ * The file is parsed in parallel chunks, then every group ("o" or "g" statement) becomes a mesh.
+ * Only vertex positions are imported, matching the vertex layout.
+ */
+public class ObjLoader {
+    /**
+     * The number of position components.
+     */
+    private static final int POSITION_COMPONENTS = 3;
+
+    /**
+     * Load an OBJ file.
+     * @param path The file path.
+     * @return ModelData - The model data, identified by the file name.
+     */
+    public static ModelData load(Path path) {
+        long startTime = System.nanoTime();
+        byte[] data = VirtualFileSystem.getInstance().readAllBytes(path.toString());
+        long readTime = System.nanoTime();
+
+        List<ObjChunk> chunks = ForkJoinPool.commonPool().invoke(new ObjParseTask(data, 0, data.length));
+        long parseTime = System.nanoTime();
+
+        // Concatenate the positions and resolve the corners against them.
+        int[] positionStarts = new int[chunks.size()];
+        int numberOfComponents = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            positionStarts[i] = numberOfComponents / POSITION_COMPONENTS;
+            numberOfComponents += chunks.get(i).getPositions().size();
+        }
+        float[] positions = new float[numberOfComponents];
+        for (int i = 0; i < chunks.size(); i++) {
+            chunks.get(i).getPositions().copyTo(positions, positionStarts[i] * POSITION_COMPONENTS);
+        }
+        List<int[]> groups = collectGroups(chunks, positionStarts, positions.length / POSITION_COMPONENTS, path);
+        long resolveTime = System.nanoTime();
+
+        List<MeshData> meshDataList = IntStream.range(0, groups.size()).parallel()
+                .mapToObj(i -> buildMesh(positions, groups.get(i)))
+                .toList();
+        long buildTime = System.nanoTime();
+
+        EngineLogger.getInstance().log(Level.INFO,
+                "Loaded [%s]: [%d] chunk(s), [%d] mesh(es). Read [%.2f] ms, parse [%.2f] ms, resolve [%.2f] ms, build [%.2f] ms.",
+                path, chunks.size(), meshDataList.size(),
+                (readTime - startTime) / 1_000_000d, (parseTime - readTime) / 1_000_000d,
+                (resolveTime - parseTime) / 1_000_000d, (buildTime - resolveTime) / 1_000_000d);
+        return new ModelData(ModelImporter.getModelID(path), meshDataList);
+    }
+
+    /**
+     * Split the resolved corners of all chunks into groups, dropping empty groups.
+     * @param chunks The parsed chunks.
+     * @param positionStarts The index of the first position of each chunk.
+     * @param numberOfPositions The total number of positions.
+     * @param path The file path, for error messages.
+     * @return List&lt;int[]&gt; - The absolute position index of every corner, per group.
+     */
+    private static List<int[]> collectGroups(List<ObjChunk> chunks, int[] positionStarts, int numberOfPositions, Path path) {
+        List<int[]> groups = new ArrayList<>();
+        IntList group = new IntList(1024);
+        for (int i = 0; i < chunks.size(); i++) {
+            ObjChunk chunk = chunks.get(i);
+            IntList corners = chunk.getCorners();
+            IntList groupStarts = chunk.getGroupStarts();
+            int nextGroup = 0;
+            for (int corner = 0; corner < corners.size(); corner++) {
+                while (nextGroup < groupStarts.size() && groupStarts.get(nextGroup) * 3 == corner) {
+                    addGroup(groups, group);
+                    group = new IntList(1024);
+                    nextGroup++;
+                }
+                int index = corners.get(corner);
+                if (index < 0) {
+                    index = positionStarts[i] + index + ObjChunk.RELATIVE_ORIGIN;
+                }
+                if (index < 0 || index >= numberOfPositions) {
+                    throw new RuntimeException("[" + path + "] references undefined vertex " + (index + 1) + ".");
+                }
+                group.add(index);
+            }
+            // Groups declared after the last face of the chunk.
+            if (nextGroup < groupStarts.size()) {
+                addGroup(groups, group);
+                group = new IntList(1024);
+            }
+        }
+        addGroup(groups, group);
+        return groups;
+    }
+
+    /**
+     * Add a group if it has triangles.
+     * @param groups The groups.
+     * @param group The group.
+     */
+    private static void addGroup(List<int[]> groups, IntList group) {
+        if (group.size() > 0) {
+            groups.add(group.toArray());
+        }
+    }
+
+    /**
+     * Build a mesh from the corners of a group, merging identical vertices.
+     * @param positions All positions of the file.
+     * @param corners The absolute position index of every corner.
+     * @return MeshData - The mesh data.
+     */
+    private static MeshData buildMesh(float[] positions, int[] corners) {
+        VertexDeduplicator deduplicator = new VertexDeduplicator(POSITION_COMPONENTS, corners.length / 2);
+        int[] indices = new int[corners.length];
+        for (int i = 0; i < corners.length; i++) {
+            indices[i] = deduplicator.add(positions, corners[i] * POSITION_COMPONENTS);
+        }
+        return new MeshData(deduplicator.toArray(), indices);
+    }
+}
@@ -0,0 +1,75 @@
+package org.scarlet.asset;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task parsing a range of an OBJ file.
+ * The range is split in two at a line boundary until it is small enough to be parsed by a single task.
+ */
+class ObjParseTask extends RecursiveTask<List<ObjChunk>> {
+    /**
+     * The serialization version, fork/join tasks being serializable.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The size under which a range is parsed without splitting it.
+     */
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * The file content.
+     */
+    private final byte[] data;
+
+    /**
+     * The start of the range, at the start of a line.
+     */
+    private final int start;
+
+    /**
+     * The end of the range, at the start of a line or at the end of the file.
+     */
+    private final int end;
+
+    /**
+     * Constructor.
+     * @param data The file content.
+     * @param start The start of the range.
+     * @param end The end of the range.
+     */
+    ObjParseTask(byte[] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parse the range.
+     * @return List&lt;ObjChunk&gt; - The parsed chunks, in file order.
+     */
+    @Override
+    protected List<ObjChunk> compute() {
+        if (end - start > CHUNK_SIZE) {
+            int middle = start + (end - start) / 2;
+            while (middle < end && data[middle - 1] != '\n') {
+                middle++;
+            }
+            if (middle < end) {
+                ObjParseTask first = new ObjParseTask(data, start, middle);
+                ObjParseTask second = new ObjParseTask(data, middle, end);
+                first.fork();
+                List<ObjChunk> chunks = new ArrayList<>(second.compute());
+                chunks.addAll(0, first.join());
+                return chunks;
+            }
+        }
+        List<ObjChunk> chunks = new ArrayList<>(1);
+        chunks.add(new ObjChunk(data, start, end));
+        return chunks;
+    }
+}
@@ -0,0 +1,255 @@
+package org.scarlet.asset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only asset archive.
+ * The whole archive is memory mapped once. The entry table is searched in place, and stored entries are returned as
+ * slices of the mapping, so reading an asset costs no system call and no copy, only the page faults of its bytes.
+ * <p>
+ * Layout, little endian:
+ * <pre>
+ * int magic, int version, int entryCount, int reserved
+ * entryCount * {long nameHash, long offset, int storedSize, int size, int compression, int nameOffset, int nameLength,
+ *               int reserved}, sorted by name hash then name
+ * names (UTF-8)
+ * entry blobs, each aligned to BLOB_ALIGNMENT bytes
+ * </pre>
+ * Entry names are normalized relative paths using '/' as separator, hashed with 64-bit FNV-1a.
+ */
+public class PackFile {
+    /**
+     * The file signature, "SPAK".
+     */
+    public static final int MAGIC = 0x4B415053;
+
+    /**
+     * The format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The compression of an entry stored as is.
+     */
+    public static final int COMPRESSION_NONE = 0;
+
+    /**
+     * The compression of an entry compressed with deflate.
+     */
+    public static final int COMPRESSION_DEFLATE = 1;
+
+    /**
+     * The size of the header.
+     */
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * The size of an entry of the entry table.
+     */
+    static final int ENTRY_SIZE = 2 * Long.BYTES + 6 * Integer.BYTES;
+
+    /**
+     * The alignment of the entry blobs.
+     */
+    static final int BLOB_ALIGNMENT = 16;
+
+    /**
+     * The FNV-1a offset basis.
+     */
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+
+    /**
+     * The FNV-1a prime.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * The archive path.
+     */
+    private final Path path;
+
+    /**
+     * The memory mapped archive.
+     */
+    private final MappedByteBuffer mappedFile;
+
+    /**
+     * Little endian view of the archive, for the header and the entry table.
+     */
+    private final ByteBuffer table;
+
+    /**
+     * The number of entries.
+     */
+    private final int numberOfEntries;
+
+    /**
+     * The last modification time of the archive, in milliseconds since the epoch.
+     */
+    private final long lastModified;
+
+    /**
+     * Constructor, mapping the archive.
+     * @param path The archive path.
+     */
+    public PackFile(Path path) {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mappedFile = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            lastModified = path.toFile().lastModified();
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to map pack file [" + path + "].", ex);
+        }
+        table = mappedFile.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (mappedFile.capacity() < HEADER_SIZE || table.getInt(0) != MAGIC) {
+            throw new RuntimeException("[" + path + "] is not a pack file.");
+        }
+        int version = table.getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new RuntimeException("Pack file [" + path + "] has version " + version + ", expected " + VERSION + ".");
+        }
+        numberOfEntries = table.getInt(2 * Integer.BYTES);
+    }
+
+    /**
+     * Hash an entry name.
+     * @param name The UTF-8 encoded entry name.
+     * @return long - The 64-bit FNV-1a hash.
+     */
+    static long hash(byte[] name) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte value : name) {
+            hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Check if the archive holds an entry.
+     * @param name The normalized entry name.
+     * @return boolean - True if the entry exists.
+     */
+    public boolean contains(String name) {
+        return find(name.getBytes(StandardCharsets.UTF_8)) >= 0;
+    }
+
+    /**
+     * Read an entry.
+     * @param name The normalized entry name.
+     * @return ByteBuffer - A read-only direct buffer holding the entry, a slice of the mapping if it is stored
+     * uncompressed, or null if the archive has no such entry.
+     */
+    public ByteBuffer read(String name) {
+        int entry = find(name.getBytes(StandardCharsets.UTF_8));
+        if (entry < 0) {
+            return null;
+        }
+        int entryOffset = HEADER_SIZE + entry * ENTRY_SIZE;
+        int offset = (int) table.getLong(entryOffset + Long.BYTES);
+        int storedSize = table.getInt(entryOffset + 2 * Long.BYTES);
+        int size = table.getInt(entryOffset + 2 * Long.BYTES + Integer.BYTES);
+        int compression = table.getInt(entryOffset + 2 * Long.BYTES + 2 * Integer.BYTES);
+        ByteBuffer storedData = mappedFile.slice(offset, storedSize);
+        if (compression == COMPRESSION_NONE) {
+            return storedData.asReadOnlyBuffer();
+        }
+        if (compression != COMPRESSION_DEFLATE) {
+            throw new RuntimeException("Entry [" + name + "] of [" + path + "] uses the unknown compression "
+                    + compression + ".");
+        }
+        ByteBuffer data = ByteBuffer.allocateDirect(size);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(storedData);
+            while (data.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(data) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+        }
+        catch (DataFormatException ex) {
+            throw new RuntimeException("Entry [" + name + "] of [" + path + "] is corrupted.", ex);
+        }
+        finally {
+            inflater.end();
+        }
+        if (data.hasRemaining()) {
+            throw new RuntimeException("Entry [" + name + "] of [" + path + "] is truncated.");
+        }
+        return data.flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Find an entry by binary search of the entry table, then compare the names of the entries sharing its hash.
+     * @param name The UTF-8 encoded normalized entry name.
+     * @return int - The entry index, or -1 if the archive has no such entry.
+     */
+    private int find(byte[] name) {
+        long hash = hash(name);
+        int low = 0;
+        int high = numberOfEntries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = table.getLong(HEADER_SIZE + middle * ENTRY_SIZE);
+            if (middleHash < hash) {
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        for (int entry = low; entry < numberOfEntries && table.getLong(HEADER_SIZE + entry * ENTRY_SIZE) == hash; entry++) {
+            if (hasName(entry, name)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compare the name of an entry.
+     * @param entry The entry index.
+     * @param name The UTF-8 encoded name.
+     * @return boolean - True if the entry has the name.
+     */
+    private boolean hasName(int entry, byte[] name) {
+        int entryOffset = HEADER_SIZE + entry * ENTRY_SIZE;
+        int nameOffset = table.getInt(entryOffset + 2 * Long.BYTES + 3 * Integer.BYTES);
+        int nameLength = table.getInt(entryOffset + 2 * Long.BYTES + 4 * Integer.BYTES);
+        return nameLength == name.length && mappedFile.slice(nameOffset, nameLength).equals(ByteBuffer.wrap(name));
+    }
+
+    /**
+     * Get the archive path.
+     * @return Path - The archive path.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the number of entries.
+     * @return int - The number of entries.
+     */
+    public int getNumberOfEntries() {
+        return numberOfEntries;
+    }
+
+    /**
+     * Get the last modification time of the archive, which stands for the time of all its entries.
+     * @return long - The time, in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the files of a directory into a pack file.
+ * Every file is compressed with deflate, and stored as is unless compression saves at least an eighth of its size,
+ * since stored entries are read straight from the mapping.
+ */
+public class PackFileWriter {
+    /**
+     * Pack a directory.
+     * Usage: PackFileWriter &lt;directory&gt; &lt;pack file&gt;
+     * @param args The directory and the pack file path.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: PackFileWriter <directory> <pack file>");
+        }
+        write(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Write every regular file under a directory into a pack file, named by its path relative to the directory.
+     * @param directory The directory.
+     * @param packFile The pack file path.
+     */
+    public static void write(Path directory, Path packFile) {
+        long startTime = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> !file.toAbsolutePath().equals(packFile.toAbsolutePath()))
+                    .toList();
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to list [" + directory + "].", ex);
+        }
+
+        // Sort the entries by name hash, then by name, as the reader searches them.
+        int numberOfEntries = files.size();
+        byte[][] names = new byte[numberOfEntries][];
+        long[] hashes = new long[numberOfEntries];
+        Integer[] order = new Integer[numberOfEntries];
+        for (int i = 0; i < numberOfEntries; i++) {
+            names[i] = VirtualFileSystem.normalize(directory.relativize(files.get(i)).toString())
+                    .getBytes(StandardCharsets.UTF_8);
+            hashes[i] = PackFile.hash(names[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> hashes[i])
+                .thenComparing(i -> names[i], Arrays::compare));
+
+        int namesOffset = PackFile.HEADER_SIZE + numberOfEntries * PackFile.ENTRY_SIZE;
+        int namesSize = Arrays.stream(names).mapToInt(name -> name.length).sum();
+        ByteBuffer table = ByteBuffer.allocate(namesOffset + namesSize).order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(PackFile.MAGIC).putInt(PackFile.VERSION).putInt(numberOfEntries).putInt(0);
+
+        long storedBytes = 0;
+        long originalBytes = 0;
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = table.capacity();
+            int nameOffset = namesOffset;
+            for (int i : order) {
+                byte[] data = Files.readAllBytes(files.get(i));
+                byte[] compressedData = deflate(data);
+                boolean compressed = compressedData.length < data.length - data.length / 8;
+                ByteBuffer storedData = ByteBuffer.wrap(compressed ? compressedData : data);
+                // Empty entries point at the table, so that no entry ends past the end of the file.
+                if (storedData.hasRemaining()) {
+                    offset = alignUp(offset);
+                }
+                table.putLong(hashes[i])
+                        .putLong(storedData.hasRemaining() ? offset : 0)
+                        .putInt(storedData.remaining())
+                        .putInt(data.length)
+                        .putInt(compressed ? PackFile.COMPRESSION_DEFLATE : PackFile.COMPRESSION_NONE)
+                        .putInt(nameOffset)
+                        .putInt(names[i].length)
+                        .putInt(0);
+                table.put(nameOffset, names[i]);
+                nameOffset += names[i].length;
+                storedBytes += storedData.remaining();
+                originalBytes += data.length;
+                while (storedData.hasRemaining()) {
+                    offset += channel.write(storedData, offset);
+                }
+            }
+            table.clear();
+            while (table.hasRemaining()) {
+                channel.write(table, table.position());
+            }
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to write pack file [" + packFile + "].", ex);
+        }
+        EngineLogger.getInstance().log(Level.INFO, "Packed [%d] file(s) of [%d] bytes into [%s] as [%d] bytes in [%.2f] ms.",
+                numberOfEntries, originalBytes, packFile, storedBytes, (System.nanoTime() - startTime) / 1_000_000d);
+    }
+
+    /**
+     * Compress data with deflate.
+     * @param data The data.
+     * @return byte[] - The compressed data.
+     */
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[data.length + 64];
+            int size = 0;
+            while (!deflater.finished()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                size += deflater.deflate(buffer, size, buffer.length - size);
+            }
+            return Arrays.copyOf(buffer, size);
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Align an offset to the blob alignment.
+     * @param offset The offset.
+     * @return long - The aligned offset.
+     */
+    private static long alignUp(long offset) {
+        return (offset + PackFile.BLOB_ALIGNMENT - 1) & -PackFile.BLOB_ALIGNMENT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package org.scarlet.asset;
+
+import java.util.Arrays;
+
+/**
+ * Builds a vertex list without duplicates.
+ * Vertices are hashed on the bits of their components into an open addressing table of primitive ints,
+ * so no key or value is boxed.
+ */
+public class VertexDeduplicator {
+    /**
+     * Marks an empty table slot.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The number of components per vertex.
+     */
+    private final int components;
+
+    /**
+     * The unique vertices.
+     */
+    private final FloatList vertices;
+
+    /**
+     * The open addressing table of vertex indices.
+     */
+    private int[] table;
+
+    /**
+     * The number of unique vertices.
+     */
+    private int numberOfVertices;
+
+    /**
+     * Constructor.
+     * @param components The number of components per vertex.
+     * @param expectedVertices The expected number of unique vertices.
+     */
+    public VertexDeduplicator(int components, int expectedVertices) {
+        this.components = components;
+        vertices = new FloatList(expectedVertices * components);
+        table = new int[Integer.highestOneBit(Math.max(expectedVertices, 8) * 2) * 2];
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * Add a vertex, or find the identical vertex added before.
+     * @param source The array holding the vertex components.
+     * @param offset The position of the first component.
+     * @return int - The index of the vertex.
+     */
+    public int add(float[] source, int offset) {
+        int mask = table.length - 1;
+        int slot = hash(source, offset) & mask;
+        while (table[slot] != EMPTY) {
+            if (matches(table[slot], source, offset)) {
+                return table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int index = numberOfVertices++;
+        for (int i = 0; i < components; i++) {
+            vertices.add(source[offset + i]);
+        }
+        table[slot] = index;
+        if (numberOfVertices * 2 > table.length) {
+            grow();
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of unique vertices.
+     * @return int - The number of vertices.
+     */
+    public int getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    /**
+     * Get the components of the unique vertices.
+     * @return float[] - The vertex components.
+     */
+    public float[] toArray() {
+        return vertices.toArray();
+    }
+
+    /**
+     * Hash the bits of the components of a vertex.
+     * @param source The array holding the vertex components.
+     * @param offset The position of the first component.
+     * @return int - The hash.
+     */
+    private int hash(float[] source, int offset) {
+        int hash = 0;
+        for (int i = 0; i < components; i++) {
+            hash = hash * 31 + Float.floatToIntBits(source[offset + i]);
+        }
+        // Spread the bits, since the table size is a power of two.
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Check if a unique vertex has the same components as a vertex.
+     * @param index The index of the unique vertex.
+     * @param source The array holding the vertex components.
+     * @param offset The position of the first component.
+     * @return boolean - True if the vertices are identical, false otherwise.
+     */
+    private boolean matches(int index, float[] source, int offset) {
+        for (int i = 0; i < components; i++) {
+            if (Float.floatToIntBits(vertices.get(index * components + i))
+                    != Float.floatToIntBits(source[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Double the table size and re-insert the vertices.
+     */
+    private void grow() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, EMPTY);
+        int mask = table.length - 1;
+        float[] vertex = new float[components];
+        for (int index = 0; index < numberOfVertices; index++) {
+            for (int i = 0; i < components; i++) {
+                vertex[i] = vertices.get(index * components + i);
+            }
+            int slot = hash(vertex, 0) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.scarlet.asset;
+
+import org.scarlet.EngineLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * Read-only view over the mounted pack files and asset directories.
+ * Assets are looked up by their normalized path, first in the pack files, the last mounted first, then in the
+ * directories, the working directory being mounted by default. During development no pack is mounted, so edited loose
+ * files are picked up by hot reload.
+ * Every read returns a read-only direct buffer, memory mapped whenever the asset is stored uncompressed.
+ */
+public final class VirtualFileSystem {
+    /**
+     * Single instance of the class.
+     */
+    private static VirtualFileSystem instance;
+
+    /**
+     * The mounted pack files, the last mounted first.
+     */
+    private final List<PackFile> packFiles;
+
+    /**
+     * The mounted directories, the last mounted first.
+     */
+    private final List<Path> directories;
+
+    /**
+     * Retrieves the instance of the singleton class.
+     * @return VirtualFileSystem - Single instance of the class.
+     */
+    public static synchronized VirtualFileSystem getInstance() {
+        if (instance == null) {
+            instance = new VirtualFileSystem();
+        }
+        return instance;
+    }
+
+    /**
+     * Private constructor, mounting the working directory.
+     */
+    private VirtualFileSystem() {
+        packFiles = new CopyOnWriteArrayList<>();
+        directories = new CopyOnWriteArrayList<>();
+        directories.add(Path.of(""));
+    }
+
+    /**
+     * Normalize an asset path into the name of its pack file entry.
+     * @param path The asset path.
+     * @return String - The path with '/' separators, without "." and ".." elements nor leading "./".
+     */
+    public static String normalize(String path) {
+        return Path.of(path).normalize().toString().replace('\\', '/');
+    }
+
+    /**
+     * Mount a pack file, taking precedence over the pack files mounted before.
+     * @param path The pack file path.
+     */
+    public void mount(Path path) {
+        PackFile packFile = new PackFile(path);
+        packFiles.add(0, packFile);
+        EngineLogger.getInstance().log(Level.INFO, "Mounted pack file [%s] with [%d] entries.",
+                path, packFile.getNumberOfEntries());
+    }
+
+    /**
+     * Mount a directory, taking precedence over the directories mounted before.
+     * @param directory The directory.
+     */
+    public void mountDirectory(Path directory) {
+        directories.add(0, directory);
+    }
+
+    /**
+     * Check if an asset exists.
+     * @param path The asset path.
+     * @return boolean - True if a mounted pack file or directory holds the asset.
+     */
+    public boolean exists(String path) {
+        String name = normalize(path);
+        for (PackFile packFile : packFiles) {
+            if (packFile.contains(name)) {
+                return true;
+            }
+        }
+        return findFile(name) != null;
+    }
+
+    /**
+     * Read an asset.
+     * @param path The asset path.
+     * @return ByteBuffer - A read-only direct buffer holding the asset.
+     */
+    public ByteBuffer read(String path) {
+        String name = normalize(path);
+        for (PackFile packFile : packFiles) {
+            ByteBuffer data = packFile.read(name);
+            if (data != null) {
+                return data;
+            }
+        }
+        Path file = findFile(name);
+        if (file == null) {
+            throw new RuntimeException("Asset [" + path + "] not found.");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read [" + file + "].", ex);
+        }
+    }
+
+    /**
+     * Read an asset into a byte array.
+     * @param path The asset path.
+     * @return byte[] - The asset.
+     */
+    public byte[] readAllBytes(String path) {
+        ByteBuffer data = read(path);
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read a UTF-8 text asset.
+     * @param path The asset path.
+     * @return String - The text.
+     */
+    public String readString(String path) {
+        return StandardCharsets.UTF_8.decode(read(path)).toString();
+    }
+
+    /**
+     * Get the last modification time of an asset, the time of its pack file for a packed asset.
+     * @param path The asset path.
+     * @return long - The time in milliseconds since the epoch, or 0 if the asset does not exist.
+     */
+    public long getLastModified(String path) {
+        String name = normalize(path);
+        for (PackFile packFile : packFiles) {
+            if (packFile.contains(name)) {
+                return packFile.getLastModified();
+            }
+        }
+        Path file = findFile(name);
+        return file != null ? file.toFile().lastModified() : 0;
+    }
+
+    /**
+     * Find a loose asset in the mounted directories.
+     * @param name The normalized asset path.
+     * @return Path - The file, or null if no directory holds it.
+     */
+    private Path findFile(String name) {
+        for (Path directory : directories) {
+            Path file = directory.resolve(name);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package org.scarlet.vulkan;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * First person camera of a scene.
+ */
+public class Camera {
+    /**
+     * The camera position.
+     */
+    private final Vector3f position;
+
+    /**
+     * The rotation around the X axis (pitch) and the Y axis (yaw), in radians.
+     */
+    private final Vector2f rotation;
+
+    /**
+     * The view matrix.
+     */
+    private final Matrix4f viewMatrix;
+
+    /**
+     * Constructor.
+     */
+    public Camera() {
+        position = new Vector3f();
+        rotation = new Vector2f();
+        viewMatrix = new Matrix4f();
+    }
+
+    /**
+     * Set the camera position.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @param z The Z coordinate.
+     */
+    public void setPosition(float x, float y, float z) {
+        position.set(x, y, z);
+        recalculate();
+    }
+
+    /**
+     * Set the camera rotation.
+     * @param pitch The rotation around the X axis in radians.
+     * @param yaw The rotation around the Y axis in radians.
+     */
+    public void setRotation(float pitch, float yaw) {
+        rotation.set(pitch, yaw);
+        recalculate();
+    }
+
+    /**
+     * Get the camera position.
+     * @return Vector3f - The position.
+     */
+    public Vector3f getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the view matrix.
+     * @return Matrix4f - The view matrix.
+     */
+    public Matrix4f getViewMatrix() {
+        return viewMatrix;
+    }
+
+    /**
+     * Rebuild the view matrix.
+     */
+    private void recalculate() {
+        viewMatrix.identity()
+                .rotateX(rotation.x)
+                .rotateY(rotation.y)
+                .translate(-position.x, -position.y, -position.z);
+    }
+}
\ No newline at end of file
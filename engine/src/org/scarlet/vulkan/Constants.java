@@ -13,4 +13,9 @@ public class Constants {
      * Length of an integer.
      */
     public static final int INT_LENGTH = 4;
+
+    /**
+     * The number of bytes in a mebibyte.
+     */
+    public static final long MEBIBYTE = 1024L * 1024L;
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package org.scarlet.vulkan;
+
+import org.joml.Matrix4f;
+
+/**
+ * Perspective projection of a scene.
+ */
+public class Projection {
+    /**
+     * The default vertical field of view in radians.
+     */
+    private static final float DEFAULT_FOV = (float) Math.toRadians(60.0);
+
+    /**
+     * The default distance to the near plane.
+     */
+    private static final float DEFAULT_Z_NEAR = 0.01f;
+
+    /**
+     * The default distance to the far plane.
+     */
+    private static final float DEFAULT_Z_FAR = 1000.0f;
+
+    /**
+     * The projection matrix.
+     */
+    private final Matrix4f projectionMatrix;
+
+    /**
+     * The vertical field of view in radians.
+     */
+    private float fov;
+
+    /**
+     * The distance to the near plane.
+     */
+    private float zNear;
+
+    /**
+     * The distance to the far plane.
+     */
+    private float zFar;
+
+    /**
+     * The width of the viewport.
+     */
+    private int width;
+
+    /**
+     * The height of the viewport.
+     */
+    private int height;
+
+    /**
+     * Constructor.
+     * @param width The width of the viewport.
+     * @param height The height of the viewport.
+     */
+    public Projection(int width, int height) {
+        projectionMatrix = new Matrix4f();
+        fov = DEFAULT_FOV;
+        zNear = DEFAULT_Z_NEAR;
+        zFar = DEFAULT_Z_FAR;
+        resize(width, height);
+    }
+
+    /**
+     * Update the projection for a new viewport size.
+     * @param width The width of the viewport.
+     * @param height The height of the viewport.
+     */
+    public void resize(int width, int height) {
+        this.width = Math.max(width, 1);
+        this.height = Math.max(height, 1);
+        recalculate();
+    }
+
+    /**
+     * Set the vertical field of view.
+     * @param fov The vertical field of view in radians.
+     */
+    public void setFov(float fov) {
+        this.fov = fov;
+        recalculate();
+    }
+
+    /**
+     * Set the distances to the clipping planes.
+     * @param zNear The distance to the near plane.
+     * @param zFar The distance to the far plane.
+     */
+    public void setClippingPlanes(float zNear, float zFar) {
+        this.zNear = zNear;
+        this.zFar = zFar;
+        recalculate();
+    }
+
+    /**
+     * Get the projection matrix.
+     * @return Matrix4f - The projection matrix, mapping depth to [0, 1].
+     */
+    public Matrix4f getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    /**
+     * Get the vertical field of view.
+     * @return float - The vertical field of view in radians.
+     */
+    public float getFov() {
+        return fov;
+    }
+
+    /**
+     * Get the distance to the near plane.
+     * @return float - The distance to the near plane.
+     */
+    public float getZNear() {
+        return zNear;
+    }
+
+    /**
+     * Get the distance to the far plane.
+     * @return float - The distance to the far plane.
+     */
+    public float getZFar() {
+        return zFar;
+    }
+
+    /**
+     * Get the height of the viewport.
+     * @return int - The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the width of the viewport.
+     * @return int - The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the number of pixels covered by one unit at a distance of one unit from the camera.
+     * @return float - The projection scale.
+     */
+    public float getPixelScale() {
+        return height / (2.0f * (float) Math.tan(fov / 2.0f));
+    }
+
+    /**
+     * Rebuild the projection matrix.
+     */
+    private void recalculate() {
+        projectionMatrix.setPerspective(fov, (float) width / height, zNear, zFar, true);
+    }
+}
\ No newline at end of file
@@ -1,26 +1,51 @@
 package org.scarlet.vulkan;
 
+import org.joml.Matrix4fc;
+import org.joml.Vector4fc;
 import org.scarlet.ApplicationProperties;
 import org.scarlet.EngineLogger;
 import org.scarlet.EngineProperties;
 import org.scarlet.Window;
-import org.scarlet.vulkan.buffer.CommandPool;
+import org.scarlet.asset.FileWatcher;
+import org.scarlet.asset.ModelImporter;
+import org.scarlet.vulkan.buffer.FrameCommandAllocator;
 import org.scarlet.vulkan.device.LogicalDevice;
 import org.scarlet.vulkan.device.PhysicalDevice;
 import org.scarlet.vulkan.device.PhysicalDeviceFactory;
+import org.scarlet.vulkan.model.GeometryArena;
+import org.scarlet.vulkan.model.MeshRegistry;
 import org.scarlet.vulkan.model.ModelData;
+import org.scarlet.vulkan.model.ModelLoader;
+import org.scarlet.vulkan.model.QuantizedVertexBufferStructure;
+import org.scarlet.vulkan.model.StreamingUploadScheduler;
+import org.scarlet.vulkan.model.VertexBufferStructure;
 import org.scarlet.vulkan.model.VulkanModel;
 import org.scarlet.vulkan.pipeline.PipelineCache;
 import org.scarlet.vulkan.queue.GraphicsQueue;
 import org.scarlet.vulkan.queue.PresentQueue;
+import org.scarlet.vulkan.queue.TransferQueue;
 import org.scarlet.vulkan.render.ForwardRenderActivity;
+import org.scarlet.vulkan.render.FrameRetirementQueue;
+import org.scarlet.vulkan.render.InstanceBatcher;
 import org.scarlet.vulkan.surface.Surface;
 import org.scarlet.vulkan.surface.SwapChain;
+import org.scarlet.vulkan.texture.KtxLoader;
+import org.scarlet.vulkan.texture.Texture;
+import org.scarlet.vulkan.texture.TextureLoader;
+import org.scarlet.vulkan.texture.TextureSampler;
+import org.scarlet.vulkan.texture.TextureStreamer;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.logging.Level;
 
+import static org.lwjgl.vulkan.VK10.VK_SAMPLER_ADDRESS_MODE_REPEAT;
+
 /**
  * Handles rendering.
  */
@@ -56,9 +81,9 @@ public class Renderer {
     private final SwapChain swapChain;
 
     /**
-     * The command pool.
+     * The allocator of the command buffers of the frames in flight.
      */
-    private final CommandPool commandPool;
+    private final FrameCommandAllocator frameCommandAllocator;
 
     /**
      * The presentation queue.
@@ -70,16 +95,86 @@ public class Renderer {
      */
     private final PipelineCache pipelineCache;
 
+    /**
+     * The transfer queue.
+     */
+    private final TransferQueue transferQueue;
+
+    /**
+     * The geometry arena storing the vertex and index data of all models.
+     */
+    private final GeometryArena geometryArena;
+
+    /**
+     * The registry sharing identical meshes between models.
+     */
+    private final MeshRegistry meshRegistry;
+
+    /**
+     * The model loader.
+     */
+    private final ModelLoader modelLoader;
+
+    /**
+     * The scheduler streaming models over several frames.
+     */
+    private final StreamingUploadScheduler streamingUploadScheduler;
+
+    /**
+     * The streamer of the texture mip levels.
+     */
+    private final TextureStreamer textureStreamer;
+
+    /**
+     * The loader of the KTX2 textures.
+     */
+    private final KtxLoader ktxLoader;
+
+    /**
+     * The sampler of the streamed textures.
+     */
+    private final TextureSampler textureSampler;
+
+    /**
+     * The queue destroying the replaced resources once the frames in flight retired.
+     */
+    private final FrameRetirementQueue frameRetirementQueue;
+
     /**
      * The forward render activity.
      */
     private final ForwardRenderActivity forwardRenderActivity;
 
+    /**
+     * The watcher of the shader and model files, or null if hot reload is disabled.
+     */
+    private final FileWatcher fileWatcher;
+
+    /**
+     * The watched model files, by model ID.
+     */
+    private final Map<String, Path> modelFiles;
+
     /**
      * The list of Vulkan models.
      */
     private final List<VulkanModel> vulkanModels;
 
+    /**
+     * The models whose upload completed, waiting to be added to the list of Vulkan models.
+     */
+    private final ConcurrentLinkedQueue<VulkanModel> loadedModels;
+
+    /**
+     * The generation of the list of Vulkan models, incremented whenever a model is added, replaced or removed.
+     */
+    private long modelGeneration;
+
+    /**
+     * The batcher of the instances added for the next frame.
+     */
+    private final InstanceBatcher instanceBatcher;
+
     /**
      * Constructor.
      * @param window The application window.
@@ -93,24 +188,71 @@ public class Renderer {
         graphicsQueue = new GraphicsQueue(logicalDevice, 0);
         swapChain = new SwapChain(logicalDevice, surface, window, EngineProperties.getInstance());
         presentQueue = new PresentQueue(logicalDevice, surface, 0);
-        commandPool = new CommandPool(logicalDevice, graphicsQueue.getQueueFamilyIndex());
+        frameCommandAllocator = new FrameCommandAllocator(logicalDevice, graphicsQueue.getQueueFamilyIndex(),
+                swapChain.getImageViews().length);
         pipelineCache = new PipelineCache(logicalDevice);
-        forwardRenderActivity = new ForwardRenderActivity(swapChain, commandPool, pipelineCache);
+        transferQueue = new TransferQueue(logicalDevice, 0);
+        int[] sharedQueueFamilies = transferQueue.isDedicated()
+                ? new int[]{graphicsQueue.getQueueFamilyIndex(), transferQueue.getQueueFamilyIndex()}
+                : null;
+        int vertexStride = EngineProperties.getInstance().isVertexQuantization()
+                ? QuantizedVertexBufferStructure.VERTEX_STRIDE
+                : VertexBufferStructure.VERTEX_STRIDE;
+        geometryArena = new GeometryArena(logicalDevice, vertexStride,
+                EngineProperties.getInstance().getGeometryPageSize() * Constants.MEBIBYTE, sharedQueueFamilies);
+        meshRegistry = new MeshRegistry();
+        modelLoader = new ModelLoader(logicalDevice, transferQueue, geometryArena, meshRegistry,
+                EngineProperties.getInstance().getStagingBufferSize() * Constants.MEBIBYTE);
+        streamingUploadScheduler = new StreamingUploadScheduler(logicalDevice, transferQueue, geometryArena, meshRegistry,
+                EngineProperties.getInstance().getStagingBufferSize() * Constants.MEBIBYTE,
+                EngineProperties.getInstance().getStreamingFrameBytes() * 1024L,
+                EngineProperties.getInstance().getStreamingFrameTime() * 1000L);
+        textureStreamer = new TextureStreamer(logicalDevice, transferQueue, sharedQueueFamilies,
+                EngineProperties.getInstance().getStagingBufferSize() * Constants.MEBIBYTE,
+                EngineProperties.getInstance().getTextureBudget() * Constants.MEBIBYTE,
+                EngineProperties.getInstance().getStreamingFrameBytes() * 1024L,
+                EngineProperties.getInstance().getTextureTailSize(),
+                swapChain.getImageViews().length);
+        ktxLoader = new KtxLoader(physicalDevice.getDeviceFeatures().textureCompressionBC());
+        textureSampler = new TextureSampler(logicalDevice, VK_SAMPLER_ADDRESS_MODE_REPEAT);
+        frameRetirementQueue = new FrameRetirementQueue(swapChain.getImageViews().length);
+        forwardRenderActivity = new ForwardRenderActivity(swapChain, frameCommandAllocator, pipelineCache, frameRetirementQueue);
         vulkanModels = new ArrayList<>();
+        loadedModels = new ConcurrentLinkedQueue<>();
+        instanceBatcher = new InstanceBatcher();
+        modelFiles = new ConcurrentHashMap<>();
+        if (EngineProperties.getInstance().isHotReload()) {
+            fileWatcher = new FileWatcher();
+            forwardRenderActivity.watchShaders(fileWatcher);
+        }
+        else {
+            fileWatcher = null;
+        }
     }
 
     /**
      * Cleanup resources.
      */
     public void cleanup() {
+        if (fileWatcher != null) {
+            fileWatcher.cleanup();
+        }
+        modelLoader.cleanup();
+        streamingUploadScheduler.cleanup();
+        addLoadedModels();
+        transferQueue.waitIdle();
         presentQueue.waitIdle();
         graphicsQueue.waitIdle();
         logicalDevice.waitIdle();
 
         vulkanModels.forEach(VulkanModel::cleanup);
+        frameRetirementQueue.cleanup();
+        geometryArena.cleanup();
+        textureStreamer.cleanup();
+        textureSampler.cleanup();
         pipelineCache.cleanup();
         forwardRenderActivity.cleanup();
-        commandPool.cleanup();
+        frameCommandAllocator.cleanup();
         swapChain.cleanup();
         surface.cleanup();
         logicalDevice.cleanup();
@@ -119,13 +261,194 @@ public class Renderer {
     }
 
     /**
-     * Load the model data.
+     * Load the model data, blocking until the models are uploaded.
      * @param modelDataList - List of model data.
      */
     public void loadModels(List<ModelData> modelDataList) {
+        loadModelsAsync(modelDataList).join();
+        addLoadedModels();
+    }
+
+    /**
+     * Import model files and load them, blocking until the models are uploaded.
+     * With hot reload enabled, a changed file is re-imported and uploaded on the watcher thread, and its model is
+     * replaced at the next frame boundary.
+     * @param paths The model file paths.
+     */
+    public void loadModelFiles(List<Path> paths) {
+        List<ModelData> modelDataList = ModelImporter.importModels(paths);
+        loadModels(modelDataList);
+        if (fileWatcher != null) {
+            for (int i = 0; i < paths.size(); i++) {
+                modelFiles.put(modelDataList.get(i).getModelID(), paths.get(i));
+                fileWatcher.watch(paths.get(i), this::reloadModelFile);
+            }
+        }
+    }
+
+    /**
+     * Re-import a changed model file and upload it, the model being replaced at the next frame boundary.
+     * @param path The model file path.
+     */
+    private void reloadModelFile(Path path) {
+        long startTime = System.nanoTime();
+        ModelData modelData = ModelImporter.importModel(path);
+        modelLoader.loadModelsAsync(List.of(modelData)).thenAccept(loadedModels::addAll).join();
+        EngineLogger.getInstance().log(Level.INFO, "Reloaded model [%s] in [%.2f] ms.",
+                modelData.getModelID(), (System.nanoTime() - startTime) / 1_000_000d);
+    }
+
+    /**
+     * Load the model data without blocking.
+     * The models are drawn from the first frame after their upload completed.
+     * @param modelDataList - List of model data.
+     * @return CompletableFuture&lt;List&lt;VulkanModel&gt;&gt; - The Vulkan models.
+     */
+    public CompletableFuture<List<VulkanModel>> loadModelsAsync(List<ModelData> modelDataList) {
         EngineLogger.getInstance().log(Level.INFO, "Loading %d model(s).", modelDataList.size());
-        vulkanModels.addAll(VulkanModel.transformModels(modelDataList, commandPool, graphicsQueue));
-        EngineLogger.getInstance().log(Level.INFO, "Loaded %d model(s).", modelDataList.size());
+        return modelLoader.loadModelsAsync(modelDataList).thenApply(models -> {
+            loadedModels.addAll(models);
+            EngineLogger.getInstance().log(Level.INFO, "Loaded %d model(s).", models.size());
+            return models;
+        });
+    }
+
+    /**
+     * Stream a model over the next frames, within the per frame upload budget.
+     * The model is drawn from the frame its upload completes.
+     * @param modelData The model data.
+     * @param urgent Flag indicating the model must be uploaded before regular requests.
+     * @return CompletableFuture&lt;VulkanModel&gt; - The Vulkan model.
+     */
+    public CompletableFuture<VulkanModel> streamModel(ModelData modelData, boolean urgent) {
+        return streamingUploadScheduler.submit(modelData, urgent).thenApply(vulkanModel -> {
+            loadedModels.add(vulkanModel);
+            return vulkanModel;
+        });
+    }
+
+    /**
+     * Get the streaming upload scheduler, for its queue depth and per frame statistics.
+     * @return StreamingUploadScheduler - The scheduler.
+     */
+    public StreamingUploadScheduler getStreamingUploadScheduler() {
+        return streamingUploadScheduler;
+    }
+
+    /**
+     * Load an image file as a streamed texture.
+     * The smallest mip levels are uploaded first. The finer ones are streamed while the texture is marked visible
+     * through the texture streamer.
+     * @param path The path to the image file.
+     * @param srgb Flag indicating if the image holds sRGB encoded colours rather than linear data.
+     * @return Texture - The texture.
+     */
+    public Texture loadTexture(String path, boolean srgb) {
+        return textureStreamer.load(TextureLoader.load(path, srgb));
+    }
+
+    /**
+     * Load a KTX2 file as a streamed texture.
+     * BC compressed data stays compressed when the device supports it, and is decoded otherwise.
+     * @param path The path to the KTX2 file.
+     * @return Texture - The texture.
+     */
+    public Texture loadKtxTexture(String path) {
+        return textureStreamer.load(ktxLoader.load(path));
+    }
+
+    /**
+     * Load KTX2 files as streamed textures, decoding them in parallel.
+     * @param paths The paths to the KTX2 files.
+     * @return List&lt;Texture&gt; - The textures, in the order of the paths.
+     */
+    public List<Texture> loadKtxTextures(List<String> paths) {
+        return ktxLoader.loadAll(paths).stream().map(textureStreamer::load).toList();
+    }
+
+    /**
+     * Get the loader of the KTX2 textures, to read its decode throughput.
+     * @return KtxLoader - The KTX2 loader.
+     */
+    public KtxLoader getKtxLoader() {
+        return ktxLoader;
+    }
+
+    /**
+     * Get the texture streamer, to mark textures visible and read its statistics.
+     * @return TextureStreamer - The texture streamer.
+     */
+    public TextureStreamer getTextureStreamer() {
+        return textureStreamer;
+    }
+
+    /**
+     * Get the sampler of the streamed textures.
+     * @return TextureSampler - The sampler.
+     */
+    public TextureSampler getTextureSampler() {
+        return textureSampler;
+    }
+
+    /**
+     * Unload a model. Its geometry is returned to the arena once the frames in flight retired.
+     * @param modelID The model ID.
+     */
+    public void unloadModel(String modelID) {
+        Path modelFile = modelFiles.remove(modelID);
+        if (modelFile != null) {
+            fileWatcher.unwatch(modelFile);
+        }
+        addLoadedModels();
+        if (vulkanModels.removeIf(vulkanModel -> {
+            if (vulkanModel.getModelID().equals(modelID)) {
+                // The ranges may still be read by frames in flight.
+                frameRetirementQueue.retire(vulkanModel::cleanup);
+                return true;
+            }
+            return false;
+        })) {
+            modelGeneration++;
+        }
+    }
+
+    /**
+     * Add an instance of a loaded model to the next rendered frame. The instances of a model are drawn together with
+     * hardware instancing, a draw per mesh of the model, and a model with instances is only drawn through them.
+     * Instances must be added again for every frame, from the rendering thread.
+     * @param modelID The model ID.
+     * @param transform The transform of the instance.
+     * @param color The color of the instance.
+     */
+    public void addInstance(String modelID, Matrix4fc transform, Vector4fc color) {
+        if (!EngineProperties.getInstance().isInstancing()) {
+            throw new RuntimeException("Instancing is disabled.");
+        }
+        instanceBatcher.add(modelID, transform, color);
+    }
+
+    /**
+     * Get the number of frames that submitted the command buffer recorded for a previous frame, as nothing changed.
+     * @return long - The number of command buffer cache hits.
+     */
+    public long getCommandBufferHits() {
+        return forwardRenderActivity.getCommandBufferHits();
+    }
+
+    /**
+     * Get the number of frames that recorded their command buffer.
+     * @return long - The number of command buffer cache misses.
+     */
+    public long getCommandBufferMisses() {
+        return forwardRenderActivity.getCommandBufferMisses();
+    }
+
+    /**
+     * Get the number of redundant binds and dynamic state changes skipped while recording the last recorded frame.
+     * @return int - The number of skipped calls.
+     */
+    public int getSkippedCalls() {
+        return forwardRenderActivity.getSkippedCalls();
     }
 
     /**
@@ -134,9 +457,38 @@ public class Renderer {
      * @param scene The scene.
      */
     public void render(Window window, Scene scene) {
+        frameRetirementQueue.processFrame();
+        streamingUploadScheduler.processFrame();
+        textureStreamer.processFrame();
+        addLoadedModels();
+        forwardRenderActivity.swapReloadedPipeline();
         swapChain.acquireNextImage();
-        forwardRenderActivity.recordCommandBuffer(vulkanModels);
+        forwardRenderActivity.recordCommandBuffer(vulkanModels, modelGeneration, instanceBatcher, scene);
         forwardRenderActivity.submit(presentQueue);
         swapChain.presentImage(graphicsQueue);
+        instanceBatcher.clear();
+    }
+
+    /**
+     * Add the models whose upload completed to the list of Vulkan models.
+     * A model with the ID of a listed model replaces it, the replaced model being destroyed once the frames in flight
+     * retired.
+     */
+    private void addLoadedModels() {
+        VulkanModel vulkanModel;
+        while ((vulkanModel = loadedModels.poll()) != null) {
+            int index = 0;
+            while (index < vulkanModels.size() && !vulkanModels.get(index).getModelID().equals(vulkanModel.getModelID())) {
+                index++;
+            }
+            if (index < vulkanModels.size()) {
+                VulkanModel replacedModel = vulkanModels.set(index, vulkanModel);
+                frameRetirementQueue.retire(replacedModel::cleanup);
+            }
+            else {
+                vulkanModels.add(vulkanModel);
+            }
+            modelGeneration++;
+        }
     }
 }
\ No newline at end of file
@@ -6,11 +6,38 @@ import org.scarlet.Window;
  * Represents a scene to render.
  */
 public class Scene {
+    /**
+     * The projection.
+     */
+    private final Projection projection;
+
+    /**
+     * The camera.
+     */
+    private final Camera camera;
+
     /**
      * Constructor.
      * @param window The application window.
      */
     public Scene(Window window) {
-        // To be implemented.
+        projection = new Projection(window.getWidth(), window.getHeight());
+        camera = new Camera();
+    }
+
+    /**
+     * Get the projection.
+     * @return Projection - The projection.
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Get the camera.
+     * @return Camera - The camera.
+     */
+    public Camera getCamera() {
+        return camera;
     }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+package org.scarlet.vulkan.buffer;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkBufferCopy;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.concurrent.Fence;
+import org.scarlet.vulkan.queue.Queue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.vkCmdCopyBuffer;
+
+/**
+ * Uploads data into device local buffers through a staging ring buffer.
+ * An upload is a copy into the mapped ring plus a recorded copy command.
+ */
+public class BufferUploader {
+    /**
+     * The alignment of the staging regions.
+     */
+    private static final long STAGING_ALIGNMENT = 16;
+
+    /**
+     * The command pool.
+     */
+    private final CommandPool commandPool;
+
+    /**
+     * The queue to submit the copies to.
+     */
+    private final Queue queue;
+
+    /**
+     * The staging ring buffer.
+     */
+    private final StagingRingBuffer stagingRingBuffer;
+
+    /**
+     * The command buffers that were submitted.
+     */
+    private final Deque<CommandBuffer> submittedCommandBuffers;
+
+    /**
+     * The fences of the submitted command buffers.
+     */
+    private final Deque<Fence> submittedFences;
+
+    /**
+     * The command buffer being recorded, or null if none.
+     */
+    private CommandBuffer commandBuffer;
+
+    /**
+     * The number of submissions made.
+     */
+    private long submissionCount;
+
+    /**
+     * The number of submissions known to be complete.
+     */
+    private long completedCount;
+
+    /**
+     * The number of bytes uploaded since the last finish.
+     */
+    private long uploadedBytes;
+
+    /**
+     * The time of the first upload since the last finish.
+     */
+    private long startTime;
+
+    /**
+     * The throughput of the last finished upload batch in MB/s.
+     */
+    private double throughput;
+
+    /**
+     * Constructor.
+     * @param commandPool The command pool.
+     * @param queue The queue to submit the copies to.
+     * @param stagingRingBuffer The staging ring buffer.
+     */
+    public BufferUploader(CommandPool commandPool, Queue queue, StagingRingBuffer stagingRingBuffer) {
+        this.commandPool = commandPool;
+        this.queue = queue;
+        this.stagingRingBuffer = stagingRingBuffer;
+        submittedCommandBuffers = new ArrayDeque<>();
+        submittedFences = new ArrayDeque<>();
+    }
+
+    /**
+     * Copy data into a buffer.
+     * Data larger than the staging ring is split into several copies.
+     * @param destination The destination buffer.
+     * @param destinationOffset The offset in the destination buffer.
+     * @param size The number of bytes to copy.
+     * @param source The source of the data.
+     */
+    public void upload(VulkanBuffer destination, long destinationOffset, long size, UploadSource source) {
+        if (uploadedBytes == 0) {
+            startTime = System.nanoTime();
+        }
+        long maxChunkSize = stagingRingBuffer.getCapacity() & -STAGING_ALIGNMENT;
+        long written = 0;
+        while (written < size) {
+            long chunkSize = Math.min(size - written, maxChunkSize);
+            long stagingOffset = allocateStaging(chunkSize);
+            source.write(stagingRingBuffer.getMappedMemory() + stagingOffset, written, chunkSize);
+            recordCopy(stagingOffset, destination, destinationOffset + written, chunkSize);
+            written += chunkSize;
+        }
+        uploadedBytes += size;
+    }
+
+    /**
+     * Copy data into a buffer without waiting for earlier copies.
+     * @param destination The destination buffer.
+     * @param destinationOffset The offset in the destination buffer.
+     * @param size The number of bytes to copy. Must not exceed the staging ring capacity.
+     * @param source The source of the data.
+     * @return boolean - True if the copy was recorded, false if the staging ring has no room for it.
+     */
+    public boolean tryUpload(VulkanBuffer destination, long destinationOffset, long size, UploadSource source) {
+        long stagingOffset = tryStage(size, source);
+        if (stagingOffset == StagingRingBuffer.NO_SPACE) {
+            return false;
+        }
+        recordCopy(stagingOffset, destination, destinationOffset, size);
+        return true;
+    }
+
+    /**
+     * Copy data into the staging ring without waiting for earlier copies, for a copy recorded by the caller.
+     * @param size The number of bytes to copy. Must not exceed the staging ring capacity.
+     * @param source The source of the data.
+     * @return long - The offset of the data in the staging buffer, or StagingRingBuffer.NO_SPACE if the staging ring
+     * has no room for it.
+     */
+    public long tryStage(long size, UploadSource source) {
+        stagingRingBuffer.reclaim();
+        long stagingOffset = stagingRingBuffer.allocate(size, STAGING_ALIGNMENT);
+        if (stagingOffset == StagingRingBuffer.NO_SPACE) {
+            return StagingRingBuffer.NO_SPACE;
+        }
+        if (uploadedBytes == 0) {
+            startTime = System.nanoTime();
+        }
+        source.write(stagingRingBuffer.getMappedMemory() + stagingOffset, 0, size);
+        uploadedBytes += size;
+        return stagingOffset;
+    }
+
+    /**
+     * Get the command buffer recording the copies, starting it if needed.
+     * Commands recorded by the caller are submitted with the copies.
+     * @return CommandBuffer - The command buffer being recorded.
+     */
+    public CommandBuffer getRecordingCommandBuffer() {
+        if (commandBuffer == null) {
+            commandBuffer = new CommandBuffer(commandPool, true, true);
+            commandBuffer.beginRecording();
+        }
+        return commandBuffer;
+    }
+
+    /**
+     * Get the staging buffer the copies are read from.
+     * @return VulkanBuffer - The staging buffer.
+     */
+    public VulkanBuffer getStagingBuffer() {
+        return stagingRingBuffer.getBuffer();
+    }
+
+    /**
+     * Submit the recorded copies without waiting for them.
+     */
+    public void flush() {
+        if (commandBuffer == null) {
+            return;
+        }
+        commandBuffer.endRecording();
+        Fence fence = new Fence(commandPool.getDevice(), false);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            queue.submit(stack.pointers(commandBuffer.getCommandBuffer()), null, null, null, fence);
+        }
+        stagingRingBuffer.submit(fence);
+        submittedCommandBuffers.addLast(commandBuffer);
+        submittedFences.addLast(fence);
+        commandBuffer = null;
+        submissionCount++;
+    }
+
+    /**
+     * Release the submissions that completed, without waiting.
+     * @return long - The number of submissions known to be complete.
+     */
+    public long poll() {
+        while (!submittedFences.isEmpty() && submittedFences.peekFirst().isSignaled()) {
+            stagingRingBuffer.reclaim();
+            submittedFences.removeFirst().cleanup();
+            submittedCommandBuffers.removeFirst().cleanup();
+            completedCount++;
+        }
+        return completedCount;
+    }
+
+    /**
+     * Get the number of the submission that will hold the copies recorded now.
+     * The copies are complete once poll returns at least this number.
+     * @return long - The submission number.
+     */
+    public long getRecordingSubmission() {
+        return submissionCount + 1;
+    }
+
+    /**
+     * Submit the recorded copies and wait for every submission to complete.
+     */
+    public void finish() {
+        flush();
+        submittedFences.forEach(Fence::fenceWait);
+        stagingRingBuffer.reclaim();
+        submittedFences.forEach(Fence::cleanup);
+        submittedCommandBuffers.forEach(CommandBuffer::cleanup);
+        submittedFences.clear();
+        submittedCommandBuffers.clear();
+        completedCount = submissionCount;
+
+        // Report the throughput.
+        if (uploadedBytes > 0) {
+            double elapsedMillis = (System.nanoTime() - startTime) / 1_000_000d;
+            throughput = (uploadedBytes / (double) Constants.MEBIBYTE) / Math.max(elapsedMillis / 1000d, 1e-9);
+            EngineLogger.getInstance().log(Level.INFO, "Uploaded [%d] bytes in [%.2f] ms ([%.2f] MB/s).",
+                    uploadedBytes, elapsedMillis, throughput);
+        }
+        uploadedBytes = 0;
+    }
+
+    /**
+     * Get the throughput of the last finished upload batch.
+     * @return double - The throughput in MB/s.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Get the number of bytes uploaded since the last finish.
+     * @return long - The number of bytes.
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    /**
+     * Allocate a staging region, submitting or waiting for earlier copies when the ring is full.
+     * @param size The region size.
+     * @return long - The offset of the region in the staging ring.
+     */
+    private long allocateStaging(long size) {
+        stagingRingBuffer.reclaim();
+        long offset = stagingRingBuffer.allocate(size, STAGING_ALIGNMENT);
+        while (offset == StagingRingBuffer.NO_SPACE) {
+            if (stagingRingBuffer.hasUnsubmittedRegions()) {
+                // The ring is filled by copies that were not submitted yet.
+                flush();
+            }
+            else if (!stagingRingBuffer.waitOldest()) {
+                throw new RuntimeException("Staging ring buffer cannot hold " + size + " bytes.");
+            }
+            offset = stagingRingBuffer.allocate(size, STAGING_ALIGNMENT);
+        }
+        return offset;
+    }
+
+    /**
+     * Record a copy from the staging ring into a buffer.
+     * @param stagingOffset The offset in the staging ring.
+     * @param destination The destination buffer.
+     * @param destinationOffset The offset in the destination buffer.
+     * @param size The number of bytes to copy.
+     */
+    private void recordCopy(long stagingOffset, VulkanBuffer destination, long destinationOffset, long size) {
+        getRecordingCommandBuffer();
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkBufferCopy.Buffer copyRegion = VkBufferCopy.calloc(1, stack)
+                    .srcOffset(stagingOffset)
+                    .dstOffset(destinationOffset)
+                    .size(size);
+            vkCmdCopyBuffer(commandBuffer.getCommandBuffer(),
+                    stagingRingBuffer.getBuffer().getBuffer(),
+                    destination.getBuffer(),
+                    copyRegion);
+        }
+    }
+}
@@ -3,9 +3,6 @@ package org.scarlet.vulkan.buffer;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.*;
-import org.scarlet.EngineLogger;
-
-import java.util.logging.Level;
 
 import static org.lwjgl.vulkan.VK10.*;
 import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
@@ -34,6 +31,16 @@ public class CommandBuffer {
      */
     private boolean primary;
 
+    /**
+     * The begin information, allocated once and reused by every recording.
+     */
+    private final VkCommandBufferBeginInfo commandBufferBeginInfo;
+
+    /**
+     * The inheritance information of a secondary level command buffer, patched by every recording, or null.
+     */
+    private final VkCommandBufferInheritanceInfo inheritanceInfo;
+
     /**
      * Constructor.
      * @param commandPool The command pool.
@@ -41,8 +48,6 @@ public class CommandBuffer {
      * @param oneTimeSubmit Flag indicating one time submission.
      */
     public CommandBuffer(CommandPool commandPool, boolean primary, boolean oneTimeSubmit) {
-        EngineLogger.getInstance().log(Level.INFO, "Creating command buffer.");
-
         this.commandPool = commandPool;
         this.primary = primary;
         this.oneTimeSubmit = oneTimeSubmit;
@@ -58,6 +63,18 @@ public class CommandBuffer {
                     "Failed to allocate render command buffer.");
             commandBuffer = new VkCommandBuffer(pointerBuffer.get(0), device);
         }
+        commandBufferBeginInfo = VkCommandBufferBeginInfo.calloc()
+                .sType(VK_STRUCTURE_TYPE_COMMAND_BUFFER_BEGIN_INFO)
+                .flags(oneTimeSubmit ? VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT : 0);
+        if (primary) {
+            inheritanceInfo = null;
+        }
+        else {
+            inheritanceInfo = VkCommandBufferInheritanceInfo.calloc()
+                    .sType(VK_STRUCTURE_TYPE_COMMAND_BUFFER_INHERITANCE_INFO);
+            commandBufferBeginInfo.pInheritanceInfo(inheritanceInfo);
+            commandBufferBeginInfo.flags(commandBufferBeginInfo.flags() | VK_COMMAND_BUFFER_USAGE_RENDER_PASS_CONTINUE_BIT);
+        }
     }
 
     /**
@@ -72,35 +89,27 @@ public class CommandBuffer {
      * @param inheritanceInformation The inheritance information for secondary buffers.
      */
     public void beginRecording(InheritanceInformation inheritanceInformation) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            VkCommandBufferBeginInfo commandBufferBeginInfo = VkCommandBufferBeginInfo.calloc(stack)
-                    .sType(VK_STRUCTURE_TYPE_COMMAND_BUFFER_BEGIN_INFO);
-            if (oneTimeSubmit) {
-                commandBufferBeginInfo.flags(VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT);
-            }
-            if (!primary) {
-                if (inheritanceInformation == null) {
-                    throw new RuntimeException("Secondary buffers must declare inheritance information.");
-                }
-                VkCommandBufferInheritanceInfo inheritanceInfo = VkCommandBufferInheritanceInfo.calloc(stack)
-                        .sType(VK_STRUCTURE_TYPE_COMMAND_BUFFER_INHERITANCE_INFO)
-                        .renderPass(inheritanceInformation.getRenderPass())
-                        .subpass(inheritanceInformation.getSubPass())
-                        .framebuffer(inheritanceInformation.getFrameBuffer());
-                commandBufferBeginInfo.pInheritanceInfo(inheritanceInfo);
-                commandBufferBeginInfo.flags(VK_COMMAND_BUFFER_USAGE_RENDER_PASS_CONTINUE_BIT);
+        if (!primary) {
+            if (inheritanceInformation == null) {
+                throw new RuntimeException("Secondary buffers must declare inheritance information.");
             }
-            vkCheck(vkBeginCommandBuffer(commandBuffer, commandBufferBeginInfo),
-                    "Failed to begin command buffer.");
+            inheritanceInfo.renderPass(inheritanceInformation.getRenderPass())
+                    .subpass(inheritanceInformation.getSubPass())
+                    .framebuffer(inheritanceInformation.getFrameBuffer());
         }
+        vkCheck(vkBeginCommandBuffer(commandBuffer, commandBufferBeginInfo),
+                "Failed to begin command buffer.");
     }
 
     /**
      * Free resources.
      */
     public void cleanup() {
-        EngineLogger.getInstance().log(Level.INFO, "Destroying command buffer.");
         vkFreeCommandBuffers(commandPool.getDevice().getDevice(), commandPool.getCommandPool(), commandBuffer);
+        commandBufferBeginInfo.free();
+        if (inheritanceInfo != null) {
+            inheritanceInfo.free();
+        }
     }
 
     /**
@@ -120,9 +129,10 @@ public class CommandBuffer {
     }
 
     /**
-     * Reset the command buffer.
+     * Reset the command buffer, keeping its memory for the next recording.
+     * The pool must allow resetting its command buffers one by one.
      */
     public void reset() {
-        vkResetCommandBuffer(commandBuffer, VK_COMMAND_BUFFER_RESET_RELEASE_RESOURCES_BIT);
+        vkResetCommandBuffer(commandBuffer, 0);
     }
 }
\ No newline at end of file
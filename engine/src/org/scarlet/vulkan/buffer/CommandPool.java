@@ -26,18 +26,35 @@ public class CommandPool {
     private final long commandPool;
 
     /**
-     * Constructor.
+     * The queue family index.
+     */
+    private final int queueFamilyIndex;
+
+    /**
+     * Constructor, for a pool whose command buffers can be reset one by one.
      * @param logicalDevice The logical device.
      * @param queueFamilyIndex The queue family index.
      */
     public CommandPool(LogicalDevice logicalDevice, int queueFamilyIndex) {
+        this(logicalDevice, queueFamilyIndex, true);
+    }
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queueFamilyIndex The queue family index.
+     * @param resetCommandBuffers Flag indicating if the command buffers can be reset one by one, rather than only
+     *                            all together by resetting the pool.
+     */
+    public CommandPool(LogicalDevice logicalDevice, int queueFamilyIndex, boolean resetCommandBuffers) {
         EngineLogger.getInstance().log(Level.INFO, "Creating Vulkan command pool.");
 
         this.logicalDevice = logicalDevice;
+        this.queueFamilyIndex = queueFamilyIndex;
         try (MemoryStack stack = MemoryStack.stackPush()) {
             VkCommandPoolCreateInfo commandPoolInfo = VkCommandPoolCreateInfo.calloc(stack)
                     .sType(VK_STRUCTURE_TYPE_COMMAND_POOL_CREATE_INFO)
-                    .flags(VK_COMMAND_POOL_CREATE_RESET_COMMAND_BUFFER_BIT)
+                    .flags(resetCommandBuffers ? VK_COMMAND_POOL_CREATE_RESET_COMMAND_BUFFER_BIT : 0)
                     .queueFamilyIndex(queueFamilyIndex);
 
             LongBuffer longBuffer = stack.mallocLong(1);
@@ -54,6 +71,15 @@ public class CommandPool {
         vkDestroyCommandPool(logicalDevice.getDevice(), commandPool, null);
     }
 
+    /**
+     * Reset every command buffer allocated from the pool to the initial state, keeping their memory for the next
+     * recordings. None of them may be pending execution.
+     */
+    public void reset() {
+        vkCheck(vkResetCommandPool(logicalDevice.getDevice(), commandPool, 0),
+                "Failed to reset command pool.");
+    }
+
     /**
      * Gets the logical device.
      * @return LogicalDevice - The logical device.
@@ -69,4 +95,12 @@ public class CommandPool {
     public long getCommandPool() {
         return commandPool;
     }
+
+    /**
+     * Gets the queue family index.
+     * @return int - The index of the queue family the command buffers are submitted to.
+     */
+    public int getQueueFamilyIndex() {
+        return queueFamilyIndex;
+    }
 }
\ No newline at end of file
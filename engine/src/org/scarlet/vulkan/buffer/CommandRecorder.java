@@ -0,0 +1,367 @@
+package org.scarlet.vulkan.buffer;
+
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkExtent2D;
+import org.lwjgl.vulkan.VkOffset2D;
+import org.lwjgl.vulkan.VkRect2D;
+import org.lwjgl.vulkan.VkViewport;
+import org.scarlet.vulkan.pipeline.Pipeline;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+import static org.lwjgl.vulkan.KHRDrawIndirectCount.vkCmdDrawIndexedIndirectCountKHR;
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Records commands into a command buffer, dropping the binds and dynamic states that are already current.
+ * The recorder tracks the bound graphics pipeline, vertex buffers, index buffer, descriptor sets, viewport and scissor
+ * since the command buffer began, and counts the calls it skipped. A recorder is used by one thread at a time, and is
+ * reused from frame to frame by beginning it on the command buffer being recorded.
+ * The structures and arrays passed to the commands are allocated once with the recorder and patched by every call, so
+ * recording allocates nothing.
+ */
+public class CommandRecorder {
+    /**
+     * The number of tracked vertex buffer bindings.
+     */
+    public static final int MAX_VERTEX_BINDINGS = 4;
+
+    /**
+     * The number of tracked descriptor sets.
+     */
+    public static final int MAX_DESCRIPTOR_SETS = 4;
+
+    /**
+     * The handle standing for no bound object.
+     */
+    private static final long NONE = VK_NULL_HANDLE;
+
+    /**
+     * The command buffer handle being recorded.
+     */
+    private VkCommandBuffer commandBuffer;
+
+    /**
+     * The bound graphics pipeline.
+     */
+    private long pipeline;
+
+    /**
+     * The layout of the bound graphics pipeline.
+     */
+    private long pipelineLayout;
+
+    /**
+     * The bound vertex buffers, by binding.
+     */
+    private final long[] vertexBuffers;
+
+    /**
+     * The offsets of the bound vertex buffers, by binding.
+     */
+    private final long[] vertexBufferOffsets;
+
+    /**
+     * The bound index buffer.
+     */
+    private long indexBuffer;
+
+    /**
+     * The offset of the bound index buffer.
+     */
+    private long indexBufferOffset;
+
+    /**
+     * The index type of the bound index buffer.
+     */
+    private int indexType;
+
+    /**
+     * The bound descriptor sets, by set number.
+     */
+    private final long[] descriptorSets;
+
+    /**
+     * The viewport, as {x, y, width, height, minDepth, maxDepth}.
+     */
+    private final float[] viewport;
+
+    /**
+     * The scissor, as {x, y, width, height}.
+     */
+    private final int[] scissor;
+
+    /**
+     * Flag indicating if a viewport was set.
+     */
+    private boolean viewportSet;
+
+    /**
+     * Flag indicating if a scissor was set.
+     */
+    private boolean scissorSet;
+
+    /**
+     * The number of calls skipped since the recorder began.
+     */
+    private int skippedCalls;
+
+    /**
+     * The handle passed to the commands taking an array of buffers or descriptor sets.
+     */
+    private final LongBuffer handles;
+
+    /**
+     * The offset passed to the commands taking an array of offsets.
+     */
+    private final LongBuffer offsets;
+
+    /**
+     * The viewport passed to the viewport command.
+     */
+    private final VkViewport.Buffer viewports;
+
+    /**
+     * The scissor passed to the scissor command.
+     */
+    private final VkRect2D.Buffer scissors;
+
+    /**
+     * The offset of the scissor passed to the scissor command.
+     */
+    private final VkOffset2D scissorOffset;
+
+    /**
+     * The extent of the scissor passed to the scissor command.
+     */
+    private final VkExtent2D scissorExtent;
+
+    /**
+     * Constructor.
+     */
+    public CommandRecorder() {
+        vertexBuffers = new long[MAX_VERTEX_BINDINGS];
+        vertexBufferOffsets = new long[MAX_VERTEX_BINDINGS];
+        descriptorSets = new long[MAX_DESCRIPTOR_SETS];
+        viewport = new float[6];
+        scissor = new int[4];
+        handles = MemoryUtil.memAllocLong(1);
+        offsets = MemoryUtil.memAllocLong(1);
+        viewports = VkViewport.calloc(1);
+        scissors = VkRect2D.calloc(1);
+        scissorOffset = scissors.offset();
+        scissorExtent = scissors.extent();
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        MemoryUtil.memFree(handles);
+        MemoryUtil.memFree(offsets);
+        viewports.free();
+        scissors.free();
+    }
+
+    /**
+     * Start tracking a command buffer that just began recording, where nothing is bound yet.
+     * @param commandBuffer The command buffer.
+     */
+    public void begin(CommandBuffer commandBuffer) {
+        this.commandBuffer = commandBuffer.getCommandBuffer();
+        pipeline = NONE;
+        pipelineLayout = NONE;
+        Arrays.fill(vertexBuffers, NONE);
+        indexBuffer = NONE;
+        Arrays.fill(descriptorSets, NONE);
+        viewportSet = false;
+        scissorSet = false;
+        skippedCalls = 0;
+    }
+
+    /**
+     * Bind a graphics pipeline.
+     * A pipeline with another layout invalidates the tracked descriptor sets.
+     * @param pipeline The pipeline.
+     */
+    public void bindPipeline(Pipeline pipeline) {
+        if (pipeline.getPipeline() == this.pipeline) {
+            skippedCalls++;
+            return;
+        }
+        vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_GRAPHICS, pipeline.getPipeline());
+        this.pipeline = pipeline.getPipeline();
+        if (pipeline.getPipelineLayout() != pipelineLayout) {
+            pipelineLayout = pipeline.getPipelineLayout();
+            Arrays.fill(descriptorSets, NONE);
+        }
+    }
+
+    /**
+     * Bind a vertex buffer.
+     * @param binding The binding.
+     * @param buffer The buffer handle.
+     * @param offset The offset in the buffer, in bytes.
+     */
+    public void bindVertexBuffer(int binding, long buffer, long offset) {
+        if (vertexBuffers[binding] == buffer && vertexBufferOffsets[binding] == offset) {
+            skippedCalls++;
+            return;
+        }
+        vkCmdBindVertexBuffers(commandBuffer, binding, handles.put(0, buffer), offsets.put(0, offset));
+        vertexBuffers[binding] = buffer;
+        vertexBufferOffsets[binding] = offset;
+    }
+
+    /**
+     * Bind an index buffer.
+     * @param buffer The buffer handle.
+     * @param offset The offset in the buffer, in bytes.
+     * @param indexType The index type.
+     */
+    public void bindIndexBuffer(long buffer, long offset, int indexType) {
+        if (indexBuffer == buffer && indexBufferOffset == offset && this.indexType == indexType) {
+            skippedCalls++;
+            return;
+        }
+        vkCmdBindIndexBuffer(commandBuffer, buffer, offset, indexType);
+        indexBuffer = buffer;
+        indexBufferOffset = offset;
+        this.indexType = indexType;
+    }
+
+    /**
+     * Bind a descriptor set to the layout of the bound graphics pipeline.
+     * @param set The set number.
+     * @param descriptorSet The descriptor set handle.
+     */
+    public void bindDescriptorSet(int set, long descriptorSet) {
+        if (descriptorSets[set] == descriptorSet) {
+            skippedCalls++;
+            return;
+        }
+        vkCmdBindDescriptorSets(commandBuffer, VK_PIPELINE_BIND_POINT_GRAPHICS, pipelineLayout, set,
+                handles.put(0, descriptorSet), null);
+        descriptorSets[set] = descriptorSet;
+    }
+
+    /**
+     * Set the viewport.
+     * @param x The x coordinate of the origin.
+     * @param y The y coordinate of the origin.
+     * @param width The width.
+     * @param height The height, negative to flip.
+     * @param minDepth The minimum depth.
+     * @param maxDepth The maximum depth.
+     */
+    public void setViewport(float x, float y, float width, float height, float minDepth, float maxDepth) {
+        if (viewportSet && viewport[0] == x && viewport[1] == y && viewport[2] == width && viewport[3] == height
+                && viewport[4] == minDepth && viewport[5] == maxDepth) {
+            skippedCalls++;
+            return;
+        }
+        viewports.x(x)
+                .y(y)
+                .width(width)
+                .height(height)
+                .minDepth(minDepth)
+                .maxDepth(maxDepth);
+        vkCmdSetViewport(commandBuffer, 0, viewports);
+        viewport[0] = x;
+        viewport[1] = y;
+        viewport[2] = width;
+        viewport[3] = height;
+        viewport[4] = minDepth;
+        viewport[5] = maxDepth;
+        viewportSet = true;
+    }
+
+    /**
+     * Set the scissor.
+     * @param x The x offset.
+     * @param y The y offset.
+     * @param width The width.
+     * @param height The height.
+     */
+    public void setScissor(int x, int y, int width, int height) {
+        if (scissorSet && scissor[0] == x && scissor[1] == y && scissor[2] == width && scissor[3] == height) {
+            skippedCalls++;
+            return;
+        }
+        scissorOffset.set(x, y);
+        scissorExtent.set(width, height);
+        vkCmdSetScissor(commandBuffer, 0, scissors);
+        scissor[0] = x;
+        scissor[1] = y;
+        scissor[2] = width;
+        scissor[3] = height;
+        scissorSet = true;
+    }
+
+    /**
+     * Update push constants of the bound graphics pipeline. Never skipped.
+     * @param stageFlags The shader stages reading the constants.
+     * @param offset The offset of the constants, in bytes.
+     * @param values The values.
+     */
+    public void pushConstants(int stageFlags, int offset, ByteBuffer values) {
+        vkCmdPushConstants(commandBuffer, pipelineLayout, stageFlags, offset, values);
+    }
+
+    /**
+     * Record an indexed draw. Never skipped.
+     * @param indexCount The number of indices.
+     * @param instanceCount The number of instances.
+     * @param firstIndex The first index.
+     * @param vertexOffset The value added to every index before fetching a vertex.
+     * @param firstInstance The first instance.
+     */
+    public void drawIndexed(int indexCount, int instanceCount, int firstIndex, int vertexOffset, int firstInstance) {
+        vkCmdDrawIndexed(commandBuffer, indexCount, instanceCount, firstIndex, vertexOffset, firstInstance);
+    }
+
+    /**
+     * Record indexed draws whose parameters are read from a buffer of indirect draw commands. Never skipped.
+     * @param buffer The buffer handle.
+     * @param offset The offset of the first command in the buffer, in bytes.
+     * @param drawCount The number of commands.
+     * @param stride The distance between two commands, in bytes.
+     */
+    public void drawIndexedIndirect(long buffer, long offset, int drawCount, int stride) {
+        vkCmdDrawIndexedIndirect(commandBuffer, buffer, offset, drawCount, stride);
+    }
+
+    /**
+     * Record indexed draws whose parameters are read from a buffer of indirect draw commands, and whose number is
+     * read from another buffer. The device must enable the KHR draw indirect count extension. Never skipped.
+     * @param buffer The buffer handle.
+     * @param offset The offset of the first command in the buffer, in bytes.
+     * @param countBuffer The handle of the buffer holding the number of commands.
+     * @param countOffset The offset of the number of commands in the count buffer, in bytes.
+     * @param maxDrawCount The largest number of commands.
+     * @param stride The distance between two commands, in bytes.
+     */
+    public void drawIndexedIndirectCount(long buffer, long offset, long countBuffer, long countOffset,
+                                         int maxDrawCount, int stride) {
+        vkCmdDrawIndexedIndirectCountKHR(commandBuffer, buffer, offset, countBuffer, countOffset, maxDrawCount, stride);
+    }
+
+    /**
+     * Get the command buffer handle being recorded.
+     * @return VkCommandBuffer - The command buffer handle, for the commands the recorder does not wrap.
+     */
+    public VkCommandBuffer getCommandBuffer() {
+        return commandBuffer;
+    }
+
+    /**
+     * Get the number of calls skipped since the recorder began, as they would have bound the current state again.
+     * @return int - The number of skipped calls.
+     */
+    public int getSkippedCalls() {
+        return skippedCalls;
+    }
+}
\ No newline at end of file
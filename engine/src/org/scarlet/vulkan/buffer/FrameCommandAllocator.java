@@ -0,0 +1,106 @@
+package org.scarlet.vulkan.buffer;
+
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hands out the command buffers of the frames in flight, from one command pool per frame.
+ * Starting a frame resets its pool with a single call once the previous submission of the frame completed, rather
+ * than every command buffer releasing its memory on its own. The command buffers already allocated from the pool
+ * stay on a free list and are handed out again, so a frame allocates nothing once it reached its largest number of
+ * command buffers. A frame is allocated from by one thread at a time.
+ */
+public class FrameCommandAllocator {
+    /**
+     * The command pools, by frame in flight.
+     */
+    private final CommandPool[] commandPools;
+
+    /**
+     * The primary command buffers allocated from every pool, by frame in flight.
+     */
+    private final List<List<CommandBuffer>> primaryCommandBuffers;
+
+    /**
+     * The secondary command buffers allocated from every pool, by frame in flight.
+     */
+    private final List<List<CommandBuffer>> secondaryCommandBuffers;
+
+    /**
+     * The number of primary command buffers handed out since every frame started, the others being free.
+     */
+    private final int[] usedPrimaryCommandBuffers;
+
+    /**
+     * The number of secondary command buffers handed out since every frame started, the others being free.
+     */
+    private final int[] usedSecondaryCommandBuffers;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queueFamilyIndex The queue family index the command buffers are submitted to.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public FrameCommandAllocator(LogicalDevice logicalDevice, int queueFamilyIndex, int framesInFlight) {
+        commandPools = new CommandPool[framesInFlight];
+        primaryCommandBuffers = new ArrayList<>(framesInFlight);
+        secondaryCommandBuffers = new ArrayList<>(framesInFlight);
+        for (int i = 0; i < framesInFlight; i++) {
+            commandPools[i] = new CommandPool(logicalDevice, queueFamilyIndex, false);
+            primaryCommandBuffers.add(new ArrayList<>());
+            secondaryCommandBuffers.add(new ArrayList<>());
+        }
+        usedPrimaryCommandBuffers = new int[framesInFlight];
+        usedSecondaryCommandBuffers = new int[framesInFlight];
+    }
+
+    /**
+     * Free the command buffers and pools. The device must not use them anymore.
+     */
+    public void cleanup() {
+        primaryCommandBuffers.forEach(commandBuffers -> commandBuffers.forEach(CommandBuffer::cleanup));
+        secondaryCommandBuffers.forEach(commandBuffers -> commandBuffers.forEach(CommandBuffer::cleanup));
+        Arrays.stream(commandPools).forEach(CommandPool::cleanup);
+    }
+
+    /**
+     * Start a frame, resetting every command buffer of its pool to the initial state and making them free.
+     * The previous submission of the frame must have completed.
+     * @param frame The frame in flight.
+     */
+    public void beginFrame(int frame) {
+        commandPools[frame].reset();
+        usedPrimaryCommandBuffers[frame] = 0;
+        usedSecondaryCommandBuffers[frame] = 0;
+    }
+
+    /**
+     * Hand out a command buffer of a frame, in the initial state, allocating it only if none is free.
+     * The command buffer is valid until the frame starts again.
+     * @param frame The frame in flight.
+     * @param primary Flag indicating primary level.
+     * @return CommandBuffer - The command buffer.
+     */
+    public CommandBuffer allocate(int frame, boolean primary) {
+        List<CommandBuffer> commandBuffers = primary
+                ? primaryCommandBuffers.get(frame)
+                : secondaryCommandBuffers.get(frame);
+        int used = primary ? usedPrimaryCommandBuffers[frame]++ : usedSecondaryCommandBuffers[frame]++;
+        if (used == commandBuffers.size()) {
+            commandBuffers.add(new CommandBuffer(commandPools[frame], primary, false));
+        }
+        return commandBuffers.get(used);
+    }
+
+    /**
+     * Get the queue family index.
+     * @return int - The index of the queue family the command buffers are submitted to.
+     */
+    public int getQueueFamilyIndex() {
+        return commandPools[0].getQueueFamilyIndex();
+    }
+}
\ No newline at end of file
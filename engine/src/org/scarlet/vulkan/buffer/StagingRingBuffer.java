@@ -0,0 +1,204 @@
+package org.scarlet.vulkan.buffer;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.concurrent.Fence;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.memory.TlsfAllocator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Long-lived, persistently mapped staging buffer used as a ring.
+ * Regions are handed out at the head and reclaimed at the tail once the fence of the submission that read them signals.
+ * A ring belongs to a single producer, since every region handed out before a submission is attributed to it.
+ */
+public class StagingRingBuffer {
+    /**
+     * Returned offset when the ring has no room for an allocation.
+     */
+    public static final long NO_SPACE = -1L;
+
+    /**
+     * The host visible staging buffer.
+     */
+    private final VulkanBuffer buffer;
+
+    /**
+     * The address of the persistently mapped memory.
+     */
+    private final long mappedMemory;
+
+    /**
+     * The ring capacity.
+     */
+    private final long capacity;
+
+    /**
+     * The fences of the submissions that are still reading from the ring.
+     */
+    private final Deque<Fence> pendingFences;
+
+    /**
+     * The head offset at the time of each pending submission.
+     */
+    private final Deque<Long> pendingEnds;
+
+    /**
+     * The next offset to hand out.
+     */
+    private long head;
+
+    /**
+     * The start of the oldest region still in use.
+     */
+    private long tail;
+
+    /**
+     * Flag indicating if no region is in use.
+     */
+    private boolean empty;
+
+    /**
+     * Flag indicating if regions were handed out since the last submission.
+     */
+    private boolean open;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param capacity The ring capacity in bytes.
+     */
+    public StagingRingBuffer(LogicalDevice logicalDevice, long capacity) {
+        EngineLogger.getInstance().log(Level.INFO, "Creating staging ring buffer of [%d] bytes.", capacity);
+        this.capacity = capacity;
+        buffer = new VulkanBuffer(logicalDevice, capacity,
+                VK_BUFFER_USAGE_TRANSFER_SRC_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        mappedMemory = buffer.map();
+        pendingFences = new ArrayDeque<>();
+        pendingEnds = new ArrayDeque<>();
+        empty = true;
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        buffer.unMap();
+        buffer.cleanup();
+    }
+
+    /**
+     * Hand out a region of the ring.
+     * @param size The region size.
+     * @param alignment The region alignment. Must be a power of two.
+     * @return long - The offset of the region, or NO_SPACE if the ring has no room.
+     */
+    public long allocate(long size, long alignment) {
+        if (size > capacity) {
+            return NO_SPACE;
+        }
+        if (empty) {
+            head = 0;
+            tail = 0;
+        }
+
+        long offset = TlsfAllocator.alignUp(head, alignment);
+        if (empty || tail < head) {
+            // The used regions are [tail, head), so there is room at the end and, after wrapping, before the tail.
+            if (offset + size > capacity) {
+                if (empty || size <= tail) {
+                    offset = 0;
+                }
+                else {
+                    return NO_SPACE;
+                }
+            }
+        }
+        else if (offset + size > tail) {
+            // The used regions wrapped around, so the only room is between the head and the tail.
+            return NO_SPACE;
+        }
+
+        head = offset + size;
+        empty = false;
+        open = true;
+        return offset;
+    }
+
+    /**
+     * Mark every region handed out since the last submission as read by a submission.
+     * @param fence The fence signaled when the submission completes.
+     */
+    public void submit(Fence fence) {
+        if (open) {
+            pendingFences.addLast(fence);
+            pendingEnds.addLast(head);
+            open = false;
+        }
+    }
+
+    /**
+     * Reclaim the regions of every completed submission.
+     */
+    public void reclaim() {
+        while (!pendingFences.isEmpty() && pendingFences.peekFirst().isSignaled()) {
+            pendingFences.removeFirst();
+            tail = pendingEnds.removeFirst();
+        }
+        if (pendingFences.isEmpty() && !open) {
+            empty = true;
+        }
+    }
+
+    /**
+     * Wait for the oldest pending submission and reclaim its regions.
+     * @return boolean - True if a submission was waited on, false if nothing is pending.
+     */
+    public boolean waitOldest() {
+        Fence fence = pendingFences.peekFirst();
+        if (fence == null) {
+            return false;
+        }
+        fence.fenceWait();
+        reclaim();
+        return true;
+    }
+
+    /**
+     * Check if regions were handed out since the last submission.
+     * @return boolean - True if there are unsubmitted regions, false otherwise.
+     */
+    public boolean hasUnsubmittedRegions() {
+        return open;
+    }
+
+    /**
+     * Get the staging buffer.
+     * @return VulkanBuffer - The staging buffer.
+     */
+    public VulkanBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get the address of the mapped memory.
+     * @return long - The address of the start of the ring.
+     */
+    public long getMappedMemory() {
+        return mappedMemory;
+    }
+
+    /**
+     * Get the ring capacity.
+     * @return long - The capacity in bytes.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,15 @@
+package org.scarlet.vulkan.buffer;
+
+/**
+ * Source of data copied into staging memory.
+ */
+@FunctionalInterface
+public interface UploadSource {
+    /**
+     * Write a range of the source data to an address.
+     * @param address The destination address.
+     * @param offset The offset of the range in the source data, in bytes.
+     * @param length The length of the range, in bytes.
+     */
+    void write(long address, long offset, long length);
+}
@@ -1,13 +1,10 @@
 package org.scarlet.vulkan.buffer;
 
-import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
-import org.lwjgl.system.MemoryUtil;
 import org.lwjgl.vulkan.VkBufferCreateInfo;
-import org.lwjgl.vulkan.VkMemoryAllocateInfo;
 import org.lwjgl.vulkan.VkMemoryRequirements;
-import org.scarlet.vulkan.VulkanUtilities;
 import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.memory.MemoryAllocation;
 
 import java.nio.LongBuffer;
 
@@ -29,25 +26,15 @@ public class VulkanBuffer {
      */
     private final long requestedSize;
 
-    /**
-     * The allocated buffer size.
-     */
-    private final long allocationSize;
-
     /**
      * The handle to the buffer.
      */
     private final long buffer;
 
     /**
-     * The handle to the memory allocation.
+     * The memory allocation backing the buffer.
      */
-    private final long memory;
-
-    /**
-     * The pointer buffer.
-     */
-    private final PointerBuffer pointerBuffer;
+    private final MemoryAllocation memoryAllocation;
 
     /**
      * The handle to the mapped memory.
@@ -58,9 +45,22 @@ public class VulkanBuffer {
      * Constructor.
      * @param logicalDevice The logical device.
      * @param size The requested buffer size.
-     * @param usage
+     * @param usage The buffer usage flags.
+     * @param reqMask The required memory property flags.
      */
     public VulkanBuffer(LogicalDevice logicalDevice, long size, int usage, int reqMask) {
+        this(logicalDevice, size, usage, reqMask, null);
+    }
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param size The requested buffer size.
+     * @param usage The buffer usage flags.
+     * @param reqMask The required memory property flags.
+     * @param queueFamilyIndices The queue families accessing the buffer concurrently, or null for exclusive access.
+     */
+    public VulkanBuffer(LogicalDevice logicalDevice, long size, int usage, int reqMask, int[] queueFamilyIndices) {
         this.logicalDevice = logicalDevice;
         requestedSize = size;
         try (MemoryStack stack = MemoryStack.stackPush()) {
@@ -69,6 +69,10 @@ public class VulkanBuffer {
                     .size(size)
                     .usage(usage)
                     .sharingMode(VK_SHARING_MODE_EXCLUSIVE);
+            if (queueFamilyIndices != null && queueFamilyIndices.length > 1) {
+                bufferCreateInfo.sharingMode(VK_SHARING_MODE_CONCURRENT)
+                        .pQueueFamilyIndices(stack.ints(queueFamilyIndices));
+            }
             LongBuffer longBuffer = stack.mallocLong(1);
             vkCheck(vkCreateBuffer(logicalDevice.getDevice(), bufferCreateInfo, null, longBuffer),
                     "Failed to create buffer.");
@@ -77,32 +81,21 @@ public class VulkanBuffer {
             VkMemoryRequirements memoryRequirements = VkMemoryRequirements.malloc(stack);
             vkGetBufferMemoryRequirements(logicalDevice.getDevice(), buffer, memoryRequirements);
 
-            VkMemoryAllocateInfo memoryAllocateInfo = VkMemoryAllocateInfo.calloc(stack)
-                    .sType(VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO)
-                    .allocationSize(memoryRequirements.size())
-                    .memoryTypeIndex(VulkanUtilities.memoryTypeFromProperties(
-                            logicalDevice.getPhysicalDevice(),
-                            memoryRequirements.memoryTypeBits(),
-                            reqMask));
-
-            vkCheck(vkAllocateMemory(logicalDevice.getDevice(), memoryAllocateInfo, null, longBuffer),
-                    "Failed to allocate memory.");
-            allocationSize = memoryAllocateInfo.allocationSize();
-            memory = longBuffer.get(0);
-            pointerBuffer = MemoryUtil.memAllocPointer(1);
-
-            vkCheck(vkBindBufferMemory(logicalDevice.getDevice(), buffer, memory, 0),
+            memoryAllocation = logicalDevice.getMemoryAllocator().allocate(memoryRequirements, reqMask, true);
+
+            vkCheck(vkBindBufferMemory(logicalDevice.getDevice(), buffer,
+                            memoryAllocation.getMemory(), memoryAllocation.getOffset()),
                     "Failed to bind the buffer memory.");
         }
     }
 
     /**
      * Release the resources.
+     * The memory range is returned to the allocator.
      */
     public void cleanup() {
-        MemoryUtil.memFree(pointerBuffer);
         vkDestroyBuffer(logicalDevice.getDevice(), buffer, null);
-        vkFreeMemory(logicalDevice.getDevice(), memory, null);
+        memoryAllocation.free();
     }
 
     /**
@@ -111,9 +104,7 @@ public class VulkanBuffer {
      */
     public long map() {
         if (mappedMemory == NULL) {
-            vkCheck(vkMapMemory(logicalDevice.getDevice(), memory, 0, allocationSize, 0, pointerBuffer),
-                    "Failed to map the buffer.");
-            mappedMemory = pointerBuffer.get(0);
+            mappedMemory = memoryAllocation.map();
         }
         return mappedMemory;
     }
@@ -123,7 +114,7 @@ public class VulkanBuffer {
      */
     public void unMap() {
         if (mappedMemory != NULL) {
-            vkUnmapMemory(logicalDevice.getDevice(), memory);
+            memoryAllocation.unMap();
             mappedMemory = NULL;
         }
     }
@@ -1,6 +1,7 @@
 package org.scarlet.vulkan.concurrent;
 
 import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
 import org.lwjgl.vulkan.VkFenceCreateInfo;
 import org.scarlet.vulkan.device.LogicalDevice;
 
@@ -23,6 +24,11 @@ public class Fence {
      */
     private final long fence;
 
+    /**
+     * The handle to the fence, in native memory, passed to the calls taking an array of fences without allocating.
+     */
+    private final LongBuffer fences;
+
     /**
      * Constructor.
      * @param logicalDevice The logical device.
@@ -40,6 +46,7 @@ public class Fence {
                     "Failed to create fence.");
             fence = longBuffer.get(0);
         }
+        fences = MemoryUtil.memAllocLong(1).put(0, fence);
     }
 
     /**
@@ -47,13 +54,22 @@ public class Fence {
      */
     public void cleanup() {
         vkDestroyFence(logicalDevice.getDevice(), fence, null);
+        MemoryUtil.memFree(fences);
     }
 
     /**
      * Wait for the fence.
      */
     public void fenceWait() {
-        vkWaitForFences(logicalDevice.getDevice(), fence, true, Long.MAX_VALUE);
+        vkWaitForFences(logicalDevice.getDevice(), fences, true, Long.MAX_VALUE);
+    }
+
+    /**
+     * Check if the fence is signaled without waiting.
+     * @return boolean - True if the fence is signaled, false otherwise.
+     */
+    public boolean isSignaled() {
+        return vkGetFenceStatus(logicalDevice.getDevice(), fence) == VK_SUCCESS;
     }
 
     /**
@@ -68,6 +84,6 @@ public class Fence {
      * Reset the fence.
      */
     public void reset() {
-        vkResetFences(logicalDevice.getDevice(), fence);
+        vkResetFences(logicalDevice.getDevice(), fences);
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.scarlet.vulkan.descriptor;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDescriptorPoolCreateInfo;
+import org.lwjgl.vulkan.VkDescriptorPoolSize;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Pool of descriptor sets of a single descriptor type. The sets are freed with the pool.
+ */
+public class DescriptorPool {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * Handle to the descriptor pool.
+     */
+    private final long descriptorPool;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param descriptorType The type of the descriptors.
+     * @param numberOfDescriptors The number of descriptors of all the sets.
+     * @param maxSets The number of sets.
+     */
+    public DescriptorPool(LogicalDevice logicalDevice, int descriptorType, int numberOfDescriptors, int maxSets) {
+        this.logicalDevice = logicalDevice;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkDescriptorPoolSize.Buffer poolSizes = VkDescriptorPoolSize.calloc(1, stack)
+                    .type(descriptorType)
+                    .descriptorCount(numberOfDescriptors);
+            VkDescriptorPoolCreateInfo poolCreateInfo = VkDescriptorPoolCreateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
+                    .pPoolSizes(poolSizes)
+                    .maxSets(maxSets);
+
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkCreateDescriptorPool(logicalDevice.getDevice(), poolCreateInfo, null, longBuffer),
+                    "Failed to create descriptor pool.");
+            descriptorPool = longBuffer.get(0);
+        }
+    }
+
+    /**
+     * Release resources, freeing the sets allocated from the pool.
+     */
+    public void cleanup() {
+        vkDestroyDescriptorPool(logicalDevice.getDevice(), descriptorPool, null);
+    }
+
+    /**
+     * Get the logical device.
+     * @return LogicalDevice - The logical device.
+     */
+    public LogicalDevice getLogicalDevice() {
+        return logicalDevice;
+    }
+
+    /**
+     * Get the descriptor pool.
+     * @return long - The handle to the descriptor pool.
+     */
+    public long getDescriptorPool() {
+        return descriptorPool;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.scarlet.vulkan.descriptor;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDescriptorBufferInfo;
+import org.lwjgl.vulkan.VkDescriptorSetAllocateInfo;
+import org.lwjgl.vulkan.VkWriteDescriptorSet;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Descriptor set allocated from a descriptor pool, freed with the pool.
+ */
+public class DescriptorSet {
+    /**
+     * The descriptor pool.
+     */
+    private final DescriptorPool descriptorPool;
+
+    /**
+     * Handle to the descriptor set.
+     */
+    private final long descriptorSet;
+
+    /**
+     * Constructor.
+     * @param descriptorPool The descriptor pool.
+     * @param descriptorSetLayout The layout of the set.
+     */
+    public DescriptorSet(DescriptorPool descriptorPool, DescriptorSetLayout descriptorSetLayout) {
+        this.descriptorPool = descriptorPool;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkDescriptorSetAllocateInfo allocateInfo = VkDescriptorSetAllocateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO)
+                    .descriptorPool(descriptorPool.getDescriptorPool())
+                    .pSetLayouts(stack.longs(descriptorSetLayout.getDescriptorSetLayout()));
+
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkAllocateDescriptorSets(descriptorPool.getLogicalDevice().getDevice(), allocateInfo, longBuffer),
+                    "Failed to allocate descriptor set.");
+            descriptorSet = longBuffer.get(0);
+        }
+    }
+
+    /**
+     * Point a binding to a whole buffer. The set must not be used by a pending command buffer.
+     * @param binding The binding.
+     * @param descriptorType The type of the descriptor of the binding.
+     * @param buffer The buffer.
+     */
+    public void updateBuffer(int binding, int descriptorType, VulkanBuffer buffer) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkDescriptorBufferInfo.Buffer bufferInfo = VkDescriptorBufferInfo.calloc(1, stack)
+                    .buffer(buffer.getBuffer())
+                    .offset(0)
+                    .range(VK_WHOLE_SIZE);
+            VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(1, stack)
+                    .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                    .dstSet(descriptorSet)
+                    .dstBinding(binding)
+                    .descriptorType(descriptorType)
+                    .descriptorCount(1)
+                    .pBufferInfo(bufferInfo);
+            vkUpdateDescriptorSets(descriptorPool.getLogicalDevice().getDevice(), writes, null);
+        }
+    }
+
+    /**
+     * Get the descriptor set.
+     * @return long - The handle to the descriptor set.
+     */
+    public long getDescriptorSet() {
+        return descriptorSet;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package org.scarlet.vulkan.descriptor;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDescriptorSetLayoutBinding;
+import org.lwjgl.vulkan.VkDescriptorSetLayoutCreateInfo;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Layout of a descriptor set whose bindings all hold a single descriptor of the same type.
+ */
+public class DescriptorSetLayout {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * Handle to the descriptor set layout.
+     */
+    private final long descriptorSetLayout;
+
+    /**
+     * The number of bindings.
+     */
+    private final int numberOfBindings;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param descriptorType The type of the descriptor of every binding.
+     * @param numberOfBindings The number of bindings, numbered from 0.
+     * @param stageFlags The shader stages accessing the bindings.
+     */
+    public DescriptorSetLayout(LogicalDevice logicalDevice, int descriptorType, int numberOfBindings, int stageFlags) {
+        this.logicalDevice = logicalDevice;
+        this.numberOfBindings = numberOfBindings;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkDescriptorSetLayoutBinding.Buffer bindings = VkDescriptorSetLayoutBinding.calloc(numberOfBindings, stack);
+            for (int i = 0; i < numberOfBindings; i++) {
+                bindings.get(i)
+                        .binding(i)
+                        .descriptorType(descriptorType)
+                        .descriptorCount(1)
+                        .stageFlags(stageFlags);
+            }
+            VkDescriptorSetLayoutCreateInfo layoutCreateInfo = VkDescriptorSetLayoutCreateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_LAYOUT_CREATE_INFO)
+                    .pBindings(bindings);
+
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkCreateDescriptorSetLayout(logicalDevice.getDevice(), layoutCreateInfo, null, longBuffer),
+                    "Failed to create descriptor set layout.");
+            descriptorSetLayout = longBuffer.get(0);
+        }
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        vkDestroyDescriptorSetLayout(logicalDevice.getDevice(), descriptorSetLayout, null);
+    }
+
+    /**
+     * Get the descriptor set layout.
+     * @return long - The handle to the descriptor set layout.
+     */
+    public long getDescriptorSetLayout() {
+        return descriptorSetLayout;
+    }
+
+    /**
+     * Get the number of bindings.
+     * @return int - The number of bindings.
+     */
+    public int getNumberOfBindings() {
+        return numberOfBindings;
+    }
+}
\ No newline at end of file
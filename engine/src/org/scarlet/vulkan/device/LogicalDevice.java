@@ -4,6 +4,7 @@ import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.*;
 import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.memory.MemoryAllocator;
 
 import java.nio.FloatBuffer;
 import java.util.logging.Level;
@@ -26,6 +27,16 @@ public class LogicalDevice {
      */
     private final VkDevice device;
 
+    /**
+     * The device memory allocator.
+     */
+    private final MemoryAllocator memoryAllocator;
+
+    /**
+     * Flag indicating if the KHR draw indirect count extension is enabled.
+     */
+    private final boolean drawIndirectCount;
+
     /**
      * Constructor.
      * @param physicalDevice The physical hardware device.
@@ -34,12 +45,20 @@ public class LogicalDevice {
         EngineLogger.getInstance().log(Level.INFO, "Creating Logical Device.");
         this.physicalDevice = physicalDevice;
         try (MemoryStack stack = MemoryStack.stackPush()) {
-            // Define the required extensions.
-            PointerBuffer requiredExtensions = stack.mallocPointer(1);
+            // Define the required extensions, and the optional ones the device supports.
+            drawIndirectCount = physicalDevice.hasKHRDrawIndirectCountExtension();
+            PointerBuffer requiredExtensions = stack.mallocPointer(drawIndirectCount ? 2 : 1);
             requiredExtensions.put(0, stack.ASCII(KHRSwapchain.VK_KHR_SWAPCHAIN_EXTENSION_NAME));
+            if (drawIndirectCount) {
+                requiredExtensions.put(1, stack.ASCII(KHRDrawIndirectCount.VK_KHR_DRAW_INDIRECT_COUNT_EXTENSION_NAME));
+            }
 
             // Set up the required features.
-            VkPhysicalDeviceFeatures features = VkPhysicalDeviceFeatures.calloc(stack);
+            VkPhysicalDeviceFeatures supportedFeatures = physicalDevice.getDeviceFeatures();
+            VkPhysicalDeviceFeatures features = VkPhysicalDeviceFeatures.calloc(stack)
+                    .textureCompressionBC(supportedFeatures.textureCompressionBC())
+                    .multiDrawIndirect(supportedFeatures.multiDrawIndirect())
+                    .drawIndirectFirstInstance(supportedFeatures.drawIndirectFirstInstance());
 
             // Enable the queue families.
             VkQueueFamilyProperties.Buffer queueFamilyProperties = physicalDevice.getQueueFamilyProperties();
@@ -64,6 +83,7 @@ public class LogicalDevice {
                     "Failed to create logical device.");
             device = new VkDevice(pointerBuffer.get(0), physicalDevice.getDevice(), deviceCreateInformation);
         }
+        memoryAllocator = new MemoryAllocator(this);
     }
 
     /**
@@ -71,6 +91,7 @@ public class LogicalDevice {
      */
     public void cleanup() {
         EngineLogger.getInstance().log(Level.INFO, "Destroying Vulkan logical device.");
+        memoryAllocator.cleanup();
         vkDestroyDevice(device, null);
     }
 
@@ -90,6 +111,22 @@ public class LogicalDevice {
         return device;
     }
 
+    /**
+     * Retrieve the device memory allocator.
+     * @return MemoryAllocator - The memory allocator.
+     */
+    public MemoryAllocator getMemoryAllocator() {
+        return memoryAllocator;
+    }
+
+    /**
+     * Check if the draws can read their count from a buffer.
+     * @return boolean - True if the KHR draw indirect count extension is enabled, false otherwise.
+     */
+    public boolean isDrawIndirectCount() {
+        return drawIndirectCount;
+    }
+
     /**
      * Wait for the logical device to become idle.
      * The logical device becomes idle when all pending operations on any queue completes.
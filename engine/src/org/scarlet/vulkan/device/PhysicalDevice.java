@@ -168,6 +168,23 @@ public class PhysicalDevice {
      * @return boolean - True if KHR swapchain extension is supported, false otherwise.
      */
     public boolean hasKHRSwapChainExtension() {
+        return hasExtension(KHRSwapchain.VK_KHR_SWAPCHAIN_EXTENSION_NAME);
+    }
+
+    /**
+     * Checks if the physical device supports the KHR draw indirect count extension.
+     * @return boolean - True if KHR draw indirect count extension is supported, false otherwise.
+     */
+    public boolean hasKHRDrawIndirectCountExtension() {
+        return hasExtension(KHRDrawIndirectCount.VK_KHR_DRAW_INDIRECT_COUNT_EXTENSION_NAME);
+    }
+
+    /**
+     * Checks if the physical device supports an extension.
+     * @param name The extension name.
+     * @return boolean - True if the extension is supported, false otherwise.
+     */
+    private boolean hasExtension(String name) {
         // Get the number of extensions.
         int numberOfExtensions = 0;
         if (deviceExtensions != null) {
@@ -177,7 +194,7 @@ public class PhysicalDevice {
         // Check each extension.
         for (int i = 0; i < numberOfExtensions; i++) {
             String extensionName = deviceExtensions.get(i).extensionNameString();
-            if (KHRSwapchain.VK_KHR_SWAPCHAIN_EXTENSION_NAME.equals(extensionName)) {
+            if (name.equals(extensionName)) {
                 return true;
             }
         }
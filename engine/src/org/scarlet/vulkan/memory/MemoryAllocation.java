@@ -0,0 +1,121 @@
+package org.scarlet.vulkan.memory;
+
+/**
+ * A range of device memory handed out by the memory allocator.
+ */
+public class MemoryAllocation {
+    /**
+     * The allocator that owns the allocation.
+     */
+    private final MemoryAllocator memoryAllocator;
+
+    /**
+     * The block the range belongs to.
+     */
+    private final MemoryBlock memoryBlock;
+
+    /**
+     * The range inside the block.
+     */
+    private final MemoryRange memoryRange;
+
+    /**
+     * The requested size.
+     */
+    private final long size;
+
+    /**
+     * Flag indicating if the allocation currently maps its block.
+     */
+    private boolean mapped;
+
+    /**
+     * Package-private constructor.
+     * @param memoryAllocator The owning allocator.
+     * @param memoryBlock The memory block.
+     * @param memoryRange The range inside the block.
+     * @param size The requested size.
+     */
+    MemoryAllocation(MemoryAllocator memoryAllocator, MemoryBlock memoryBlock, MemoryRange memoryRange, long size) {
+        this.memoryAllocator = memoryAllocator;
+        this.memoryBlock = memoryBlock;
+        this.memoryRange = memoryRange;
+        this.size = size;
+    }
+
+    /**
+     * Return the range to the allocator.
+     */
+    public void free() {
+        unMap();
+        memoryAllocator.free(this);
+    }
+
+    /**
+     * Map the allocation into the application address space.
+     * @return long - The address of the start of the allocation.
+     */
+    public long map() {
+        synchronized (memoryAllocator) {
+            long address = memoryBlock.map();
+            if (mapped) {
+                // Only hold a single mapping reference per allocation.
+                memoryBlock.unMap();
+            }
+            mapped = true;
+            return address + memoryRange.getOffset();
+        }
+    }
+
+    /**
+     * Release the mapping of the allocation.
+     */
+    public void unMap() {
+        synchronized (memoryAllocator) {
+            if (mapped) {
+                memoryBlock.unMap();
+                mapped = false;
+            }
+        }
+    }
+
+    /**
+     * Get the handle to the device memory.
+     * @return long - The device memory handle.
+     */
+    public long getMemory() {
+        return memoryBlock.getMemory();
+    }
+
+    /**
+     * Get the offset of the allocation inside the device memory.
+     * @return long - The offset.
+     */
+    public long getOffset() {
+        return memoryRange.getOffset();
+    }
+
+    /**
+     * Get the requested size.
+     * @return long - The size.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the block the allocation belongs to.
+     * @return MemoryBlock - The memory block.
+     */
+    MemoryBlock getMemoryBlock() {
+        return memoryBlock;
+    }
+
+    /**
+     * Get the range inside the block.
+     * @return MemoryRange - The memory range.
+     */
+    MemoryRange getMemoryRange() {
+        return memoryRange;
+    }
+}
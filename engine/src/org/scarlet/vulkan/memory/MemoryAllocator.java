@@ -0,0 +1,205 @@
+package org.scarlet.vulkan.memory;
+
+import org.lwjgl.vulkan.VkMemoryRequirements;
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.VulkanUtilities;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.VK_MAX_MEMORY_TYPES;
+
+/**
+ * Engine level device memory allocator.
+ * Allocates large blocks per memory type and sub-allocates them, instead of calling vkAllocateMemory per resource.
+ */
+public class MemoryAllocator {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The size of a memory block.
+     */
+    private final long blockSize;
+
+    /**
+     * The granularity at which linear and non-linear resources may not share memory.
+     */
+    private final long bufferImageGranularity;
+
+    /**
+     * The memory blocks per memory type.
+     */
+    private final List<List<MemoryBlock>> memoryBlocks;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     */
+    public MemoryAllocator(LogicalDevice logicalDevice) {
+        this.logicalDevice = logicalDevice;
+        blockSize = EngineProperties.getInstance().getMemoryBlockSize() * Constants.MEBIBYTE;
+        bufferImageGranularity = logicalDevice.getPhysicalDevice().getDeviceProperties().limits().bufferImageGranularity();
+        memoryBlocks = new ArrayList<>(VK_MAX_MEMORY_TYPES);
+        for (int i = 0; i < VK_MAX_MEMORY_TYPES; i++) {
+            memoryBlocks.add(new ArrayList<>());
+        }
+        EngineLogger.getInstance().log(Level.INFO, "Creating memory allocator. Block size: [%d] bytes, buffer image granularity: [%d].",
+                blockSize, bufferImageGranularity);
+    }
+
+    /**
+     * Free all memory blocks.
+     */
+    public synchronized void cleanup() {
+        logStatistics();
+        for (List<MemoryBlock> blocks : memoryBlocks) {
+            for (MemoryBlock block : blocks) {
+                if (!block.getAllocator().isEmpty()) {
+                    EngineLogger.getInstance().log(Level.WARNING, "Freeing memory block with [%d] live allocation(s).",
+                            block.getAllocator().getNumberOfAllocations());
+                }
+                block.cleanup();
+            }
+            blocks.clear();
+        }
+    }
+
+    /**
+     * Allocate memory for a resource.
+     * @param memoryRequirements The memory requirements of the resource.
+     * @param reqMask The required memory property flags.
+     * @param linear Flag indicating a linear resource (buffers, linear images) rather than an optimal tiling image.
+     * @return MemoryAllocation - The allocation.
+     */
+    public synchronized MemoryAllocation allocate(VkMemoryRequirements memoryRequirements, int reqMask, boolean linear) {
+        int memoryTypeIndex = VulkanUtilities.memoryTypeFromProperties(
+                logicalDevice.getPhysicalDevice(),
+                memoryRequirements.memoryTypeBits(),
+                reqMask);
+        long size = memoryRequirements.size();
+        long alignment = memoryRequirements.alignment();
+
+        // Non-linear resources own whole granularity pages, so they can never share a page with a linear resource.
+        long allocationSize = size;
+        if (!linear && bufferImageGranularity > 1) {
+            alignment = Math.max(alignment, bufferImageGranularity);
+            allocationSize = TlsfAllocator.alignUp(size, bufferImageGranularity);
+        }
+
+        // Large resources get their own device memory.
+        if (allocationSize > blockSize / 2) {
+            MemoryBlock block = new MemoryBlock(logicalDevice, memoryTypeIndex, allocationSize, true);
+            memoryBlocks.get(memoryTypeIndex).add(block);
+            return new MemoryAllocation(this, block, block.allocate(allocationSize, 1), size);
+        }
+
+        // Sub-allocate from an existing block.
+        List<MemoryBlock> blocks = memoryBlocks.get(memoryTypeIndex);
+        for (MemoryBlock block : blocks) {
+            if (!block.isDedicated()) {
+                MemoryRange range = block.allocate(allocationSize, alignment);
+                if (range != null) {
+                    return new MemoryAllocation(this, block, range, size);
+                }
+            }
+        }
+
+        // Create a new block.
+        EngineLogger.getInstance().log(Level.FINE, "Allocating memory block for memory type [%d].", memoryTypeIndex);
+        MemoryBlock block = new MemoryBlock(logicalDevice, memoryTypeIndex, blockSize, false);
+        blocks.add(block);
+        return new MemoryAllocation(this, block, block.allocate(allocationSize, alignment), size);
+    }
+
+    /**
+     * Return an allocation to its block.
+     * Empty blocks are released, except for the last regular block of a memory type.
+     * @param memoryAllocation The allocation.
+     */
+    synchronized void free(MemoryAllocation memoryAllocation) {
+        MemoryBlock block = memoryAllocation.getMemoryBlock();
+        block.free(memoryAllocation.getMemoryRange());
+        if (!block.getAllocator().isEmpty()) {
+            return;
+        }
+
+        List<MemoryBlock> blocks = memoryBlocks.get(block.getMemoryTypeIndex());
+        long numberOfRegularBlocks = blocks.stream().filter(b -> !b.isDedicated()).count();
+        if (block.isDedicated() || numberOfRegularBlocks > 1) {
+            blocks.remove(block);
+            block.cleanup();
+        }
+    }
+
+    /**
+     * Get the number of device memory allocations.
+     * @return int - The number of blocks.
+     */
+    public synchronized int getNumberOfBlocks() {
+        return memoryBlocks.stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Get the total size of the device memory allocated.
+     * @return long - The allocated size.
+     */
+    public synchronized long getAllocatedSize() {
+        return memoryBlocks.stream()
+                .flatMap(List::stream)
+                .mapToLong(block -> block.getAllocator().getSize())
+                .sum();
+    }
+
+    /**
+     * Get the total size handed out to resources.
+     * @return long - The used size.
+     */
+    public synchronized long getUsedSize() {
+        return memoryBlocks.stream()
+                .flatMap(List::stream)
+                .mapToLong(block -> block.getAllocator().getUsedSize())
+                .sum();
+    }
+
+    /**
+     * Get the fragmentation over all blocks, weighted by the free size of each block.
+     * @return double - 0 when the free space of every block is contiguous, approaching 1 when it is scattered.
+     */
+    public synchronized double getFragmentation() {
+        long freeSize = 0;
+        double weightedFragmentation = 0;
+        for (List<MemoryBlock> blocks : memoryBlocks) {
+            for (MemoryBlock block : blocks) {
+                TlsfAllocator allocator = block.getAllocator();
+                freeSize += allocator.getFreeSize();
+                weightedFragmentation += allocator.getFragmentation() * allocator.getFreeSize();
+            }
+        }
+        return freeSize == 0 ? 0.0 : weightedFragmentation / freeSize;
+    }
+
+    /**
+     * Log the utilization and fragmentation of every block.
+     */
+    public synchronized void logStatistics() {
+        EngineLogger.getInstance().log(Level.INFO, "Memory allocator: [%d] block(s), [%d] of [%d] bytes used, fragmentation [%.3f].",
+                getNumberOfBlocks(), getUsedSize(), getAllocatedSize(), getFragmentation());
+        for (List<MemoryBlock> blocks : memoryBlocks) {
+            for (MemoryBlock block : blocks) {
+                TlsfAllocator allocator = block.getAllocator();
+                EngineLogger.getInstance().log(Level.INFO,
+                        "Memory block type [%d]%s: [%d] allocation(s), utilization [%.3f], fragmentation [%.3f], free ranges [%d].",
+                        block.getMemoryTypeIndex(), block.isDedicated() ? " (dedicated)" : "",
+                        allocator.getNumberOfAllocations(), allocator.getUtilization(),
+                        allocator.getFragmentation(), allocator.getNumberOfFreeRanges());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.scarlet.vulkan.memory;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkMemoryAllocateInfo;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * A single device memory allocation that is sub-allocated into smaller ranges.
+ */
+public class MemoryBlock {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The memory type index of the block.
+     */
+    private final int memoryTypeIndex;
+
+    /**
+     * The handle to the device memory.
+     */
+    private final long memory;
+
+    /**
+     * The sub-allocator bookkeeping.
+     */
+    private final TlsfAllocator allocator;
+
+    /**
+     * Flag indicating if the block holds a single dedicated allocation.
+     */
+    private final boolean dedicated;
+
+    /**
+     * The number of allocations that currently map the block.
+     */
+    private int mapCount;
+
+    /**
+     * The handle to the mapped memory.
+     */
+    private long mappedMemory;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param memoryTypeIndex The memory type index.
+     * @param size The block size.
+     * @param dedicated Flag indicating a dedicated allocation.
+     */
+    public MemoryBlock(LogicalDevice logicalDevice, int memoryTypeIndex, long size, boolean dedicated) {
+        this.logicalDevice = logicalDevice;
+        this.memoryTypeIndex = memoryTypeIndex;
+        this.dedicated = dedicated;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkMemoryAllocateInfo memoryAllocateInfo = VkMemoryAllocateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO)
+                    .allocationSize(size)
+                    .memoryTypeIndex(memoryTypeIndex);
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkAllocateMemory(logicalDevice.getDevice(), memoryAllocateInfo, null, longBuffer),
+                    "Failed to allocate memory.");
+            memory = longBuffer.get(0);
+        }
+        allocator = new TlsfAllocator(size);
+    }
+
+    /**
+     * Free the device memory.
+     */
+    public void cleanup() {
+        if (mappedMemory != NULL) {
+            vkUnmapMemory(logicalDevice.getDevice(), memory);
+            mappedMemory = NULL;
+        }
+        vkFreeMemory(logicalDevice.getDevice(), memory, null);
+    }
+
+    /**
+     * Sub-allocate a range of the block.
+     * @param size The size.
+     * @param alignment The alignment.
+     * @return MemoryRange - The range, or null if the block cannot hold it.
+     */
+    MemoryRange allocate(long size, long alignment) {
+        return allocator.allocate(size, alignment);
+    }
+
+    /**
+     * Return a range to the block.
+     * @param range The range.
+     */
+    void free(MemoryRange range) {
+        allocator.free(range);
+    }
+
+    /**
+     * Map the block into the application address space.
+     * The whole block is mapped once and shared by all of its allocations.
+     * @return long - The address of the start of the block.
+     */
+    long map() {
+        if (mappedMemory == NULL) {
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                PointerBuffer pointerBuffer = stack.mallocPointer(1);
+                vkCheck(vkMapMemory(logicalDevice.getDevice(), memory, 0, VK_WHOLE_SIZE, 0, pointerBuffer),
+                        "Failed to map the memory block.");
+                mappedMemory = pointerBuffer.get(0);
+            }
+        }
+        mapCount++;
+        return mappedMemory;
+    }
+
+    /**
+     * Release a mapping of the block. The block is unmapped when the last mapping is released.
+     */
+    void unMap() {
+        if (mapCount > 0 && --mapCount == 0) {
+            vkUnmapMemory(logicalDevice.getDevice(), memory);
+            mappedMemory = NULL;
+        }
+    }
+
+    /**
+     * Get the handle to the device memory.
+     * @return long - The device memory handle.
+     */
+    public long getMemory() {
+        return memory;
+    }
+
+    /**
+     * Get the memory type index.
+     * @return int - The memory type index.
+     */
+    public int getMemoryTypeIndex() {
+        return memoryTypeIndex;
+    }
+
+    /**
+     * Check if the block is a dedicated allocation.
+     * @return boolean - True if dedicated, false otherwise.
+     */
+    public boolean isDedicated() {
+        return dedicated;
+    }
+
+    /**
+     * Get the sub-allocator bookkeeping.
+     * @return TlsfAllocator - The sub-allocator.
+     */
+    public TlsfAllocator getAllocator() {
+        return allocator;
+    }
+}
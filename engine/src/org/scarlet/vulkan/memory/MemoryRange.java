@@ -0,0 +1,77 @@
+package org.scarlet.vulkan.memory;
+
+/**
+ * A contiguous range of a memory block handed out by the TLSF allocator.
+ * Ranges are linked to their physical neighbours so free ranges can be merged.
+ */
+public class MemoryRange {
+    /**
+     * The offset of the range inside the block.
+     */
+    long offset;
+
+    /**
+     * The size of the range.
+     */
+    long size;
+
+    /**
+     * Flag indicating if the range is free.
+     */
+    boolean free;
+
+    /**
+     * The physically preceding range.
+     */
+    MemoryRange previousPhysical;
+
+    /**
+     * The physically following range.
+     */
+    MemoryRange nextPhysical;
+
+    /**
+     * The previous range in the same free list.
+     */
+    MemoryRange previousFree;
+
+    /**
+     * The next range in the same free list.
+     */
+    MemoryRange nextFree;
+
+    /**
+     * Package-private constructor.
+     * @param offset The offset of the range.
+     * @param size The size of the range.
+     */
+    MemoryRange(long offset, long size) {
+        this.offset = offset;
+        this.size = size;
+        free = true;
+    }
+
+    /**
+     * Get the offset of the range.
+     * @return long - The offset inside the block.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the size of the range.
+     * @return long - The size of the range.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Check if the range is free.
+     * @return boolean - True if the range is free, false otherwise.
+     */
+    public boolean isFree() {
+        return free;
+    }
+}
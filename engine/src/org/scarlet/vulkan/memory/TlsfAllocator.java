@@ -0,0 +1,398 @@
+package org.scarlet.vulkan.memory;
+
+/**
+ * Two-Level Segregated Fit (TLSF) sub-allocator.
+ * Handles only the bookkeeping of offsets inside a fixed size region, so it does not depend on a GPU.
+ * Allocation and release run in (near) constant time.
+ */
+public class TlsfAllocator {
+    /**
+     * The number of bits used for the second level index.
+     */
+    private static final int SECOND_LEVEL_BITS = 4;
+
+    /**
+     * The number of second level lists per first level list.
+     */
+    private static final int SECOND_LEVEL_COUNT = 1 << SECOND_LEVEL_BITS;
+
+    /**
+     * The number of first level lists.
+     */
+    private static final int FIRST_LEVEL_COUNT = 64 - SECOND_LEVEL_BITS;
+
+    /**
+     * The total size managed by the allocator.
+     */
+    private final long size;
+
+    /**
+     * The heads of the segregated free lists.
+     */
+    private final MemoryRange[][] freeLists;
+
+    /**
+     * Bitmap of the first level lists containing free ranges.
+     */
+    private long firstLevelBitmap;
+
+    /**
+     * Bitmaps of the second level lists containing free ranges.
+     */
+    private final int[] secondLevelBitmaps;
+
+    /**
+     * The number of bytes currently handed out.
+     */
+    private long usedSize;
+
+    /**
+     * The number of live allocations.
+     */
+    private int numberOfAllocations;
+
+    /**
+     * The number of free ranges.
+     */
+    private int numberOfFreeRanges;
+
+    /**
+     * Constructor.
+     * @param size The total size to manage.
+     */
+    public TlsfAllocator(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Allocator size must be positive: " + size);
+        }
+        this.size = size;
+        freeLists = new MemoryRange[FIRST_LEVEL_COUNT][SECOND_LEVEL_COUNT];
+        secondLevelBitmaps = new int[FIRST_LEVEL_COUNT];
+        insertFreeRange(new MemoryRange(0, size));
+    }
+
+    /**
+     * Allocate a range.
+     * @param requestedSize The requested size.
+     * @param alignment The required alignment of the offset. Must be a power of two.
+     * @return MemoryRange - The allocated range, or null if no free range is large enough.
+     */
+    public MemoryRange allocate(long requestedSize, long alignment) {
+        if (requestedSize <= 0) {
+            throw new IllegalArgumentException("Allocation size must be positive: " + requestedSize);
+        }
+        if (alignment <= 0 || (alignment & (alignment - 1)) != 0) {
+            throw new IllegalArgumentException("Alignment must be a power of two: " + alignment);
+        }
+
+        // Reserve enough space to be able to align any free range that is found.
+        long searchSize = requestedSize + alignment - 1;
+        MemoryRange range = findFreeRange(searchSize);
+        if (range == null) {
+            return null;
+        }
+        removeFreeRange(range);
+
+        // Give the alignment padding to the preceding range. It is always in use, otherwise it would have been merged.
+        long alignedOffset = alignUp(range.offset, alignment);
+        long padding = alignedOffset - range.offset;
+        if (padding > 0) {
+            MemoryRange previous = range.previousPhysical;
+            previous.size += padding;
+            range.offset = alignedOffset;
+            range.size -= padding;
+            usedSize += padding;
+        }
+
+        // Return the unused tail to the free lists.
+        if (range.size > requestedSize) {
+            MemoryRange tail = new MemoryRange(range.offset + requestedSize, range.size - requestedSize);
+            range.size = requestedSize;
+            linkAfter(range, tail);
+            insertFreeRange(tail);
+        }
+
+        range.free = false;
+        usedSize += range.size;
+        numberOfAllocations++;
+        return range;
+    }
+
+    /**
+     * Release a range and merge it with its free neighbours.
+     * @param range The range to release.
+     */
+    public void free(MemoryRange range) {
+        if (range.free) {
+            throw new IllegalStateException("Memory range at offset " + range.offset + " is already free.");
+        }
+        range.free = true;
+        usedSize -= range.size;
+        numberOfAllocations--;
+
+        // Merge with the following range.
+        MemoryRange next = range.nextPhysical;
+        if (next != null && next.free) {
+            removeFreeRange(next);
+            range.size += next.size;
+            unlink(next);
+        }
+
+        // Merge with the preceding range.
+        MemoryRange previous = range.previousPhysical;
+        if (previous != null && previous.free) {
+            removeFreeRange(previous);
+            previous.size += range.size;
+            unlink(range);
+            range = previous;
+        }
+
+        insertFreeRange(range);
+    }
+
+    /**
+     * Get the total managed size.
+     * @return long - The total size.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of bytes in use, including alignment padding.
+     * @return long - The used size.
+     */
+    public long getUsedSize() {
+        return usedSize;
+    }
+
+    /**
+     * Get the number of free bytes.
+     * @return long - The free size.
+     */
+    public long getFreeSize() {
+        return size - usedSize;
+    }
+
+    /**
+     * Get the number of live allocations.
+     * @return int - The number of allocations.
+     */
+    public int getNumberOfAllocations() {
+        return numberOfAllocations;
+    }
+
+    /**
+     * Get the number of free ranges.
+     * @return int - The number of free ranges.
+     */
+    public int getNumberOfFreeRanges() {
+        return numberOfFreeRanges;
+    }
+
+    /**
+     * Get the size of the largest free range.
+     * @return long - The largest free range, or 0 if the allocator is full.
+     */
+    public long getLargestFreeRange() {
+        if (firstLevelBitmap == 0) {
+            return 0;
+        }
+        int firstLevel = 63 - Long.numberOfLeadingZeros(firstLevelBitmap);
+        long largest = 0;
+        for (int secondLevel = 0; secondLevel < SECOND_LEVEL_COUNT; secondLevel++) {
+            for (MemoryRange range = freeLists[firstLevel][secondLevel]; range != null; range = range.nextFree) {
+                largest = Math.max(largest, range.size);
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Get the fragmentation of the free space.
+     * Calculated as 1 - (largest free range / total free size).
+     * @return double - 0 when all free space is contiguous, approaching 1 when it is scattered.
+     */
+    public double getFragmentation() {
+        long freeSize = getFreeSize();
+        if (freeSize == 0) {
+            return 0.0;
+        }
+        return 1.0 - (double) getLargestFreeRange() / freeSize;
+    }
+
+    /**
+     * Get the utilization of the managed region.
+     * @return double - The used size as a fraction of the total size.
+     */
+    public double getUtilization() {
+        return (double) usedSize / size;
+    }
+
+    /**
+     * Check if there are no live allocations.
+     * @return boolean - True if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return numberOfAllocations == 0;
+    }
+
+    /**
+     * Find a free range of at least the given size.
+     * @param searchSize The minimum size.
+     * @return MemoryRange - A free range, or null if none is large enough.
+     */
+    private MemoryRange findFreeRange(long searchSize) {
+        if (searchSize > size) {
+            return null;
+        }
+
+        // Round up to the next list so any range found is large enough.
+        long roundedSize = searchSize;
+        if (searchSize >= SECOND_LEVEL_COUNT) {
+            int log = 63 - Long.numberOfLeadingZeros(searchSize);
+            roundedSize = searchSize + (1L << (log - SECOND_LEVEL_BITS)) - 1;
+        }
+        if (roundedSize <= size) {
+            int firstLevel = firstLevelIndex(roundedSize);
+            int secondLevel = secondLevelIndex(roundedSize, firstLevel);
+
+            // Search the remaining second level lists of the first level list.
+            int secondLevelMap = secondLevelBitmaps[firstLevel] & (~0 << secondLevel);
+            if (secondLevelMap == 0 && firstLevel + 1 < FIRST_LEVEL_COUNT) {
+                // Search the larger first level lists.
+                long firstLevelMap = firstLevelBitmap & (~0L << (firstLevel + 1));
+                if (firstLevelMap != 0) {
+                    firstLevel = Long.numberOfTrailingZeros(firstLevelMap);
+                    secondLevelMap = secondLevelBitmaps[firstLevel];
+                }
+            }
+            if (secondLevelMap != 0) {
+                secondLevel = Integer.numberOfTrailingZeros(secondLevelMap);
+                return freeLists[firstLevel][secondLevel];
+            }
+        }
+
+        // Fall back to scanning the list the size itself maps to, which may hold a range that is large enough.
+        int firstLevel = firstLevelIndex(searchSize);
+        int secondLevel = secondLevelIndex(searchSize, firstLevel);
+        for (MemoryRange range = freeLists[firstLevel][secondLevel]; range != null; range = range.nextFree) {
+            if (range.size >= searchSize) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Insert a range into its free list.
+     * @param range The free range.
+     */
+    private void insertFreeRange(MemoryRange range) {
+        int firstLevel = firstLevelIndex(range.size);
+        int secondLevel = secondLevelIndex(range.size, firstLevel);
+        MemoryRange head = freeLists[firstLevel][secondLevel];
+        range.free = true;
+        range.previousFree = null;
+        range.nextFree = head;
+        if (head != null) {
+            head.previousFree = range;
+        }
+        freeLists[firstLevel][secondLevel] = range;
+        firstLevelBitmap |= 1L << firstLevel;
+        secondLevelBitmaps[firstLevel] |= 1 << secondLevel;
+        numberOfFreeRanges++;
+    }
+
+    /**
+     * Remove a range from its free list.
+     * @param range The free range.
+     */
+    private void removeFreeRange(MemoryRange range) {
+        int firstLevel = firstLevelIndex(range.size);
+        int secondLevel = secondLevelIndex(range.size, firstLevel);
+        if (range.previousFree != null) {
+            range.previousFree.nextFree = range.nextFree;
+        }
+        else {
+            freeLists[firstLevel][secondLevel] = range.nextFree;
+        }
+        if (range.nextFree != null) {
+            range.nextFree.previousFree = range.previousFree;
+        }
+        range.previousFree = null;
+        range.nextFree = null;
+
+        // Update the bitmaps if the list is now empty.
+        if (freeLists[firstLevel][secondLevel] == null) {
+            secondLevelBitmaps[firstLevel] &= ~(1 << secondLevel);
+            if (secondLevelBitmaps[firstLevel] == 0) {
+                firstLevelBitmap &= ~(1L << firstLevel);
+            }
+        }
+        numberOfFreeRanges--;
+    }
+
+    /**
+     * Link a range physically after another.
+     * @param range The existing range.
+     * @param next The range to link after it.
+     */
+    private static void linkAfter(MemoryRange range, MemoryRange next) {
+        next.previousPhysical = range;
+        next.nextPhysical = range.nextPhysical;
+        if (range.nextPhysical != null) {
+            range.nextPhysical.previousPhysical = next;
+        }
+        range.nextPhysical = next;
+    }
+
+    /**
+     * Unlink a range from its physical neighbours.
+     * @param range The range to unlink.
+     */
+    private static void unlink(MemoryRange range) {
+        if (range.previousPhysical != null) {
+            range.previousPhysical.nextPhysical = range.nextPhysical;
+        }
+        if (range.nextPhysical != null) {
+            range.nextPhysical.previousPhysical = range.previousPhysical;
+        }
+        range.previousPhysical = null;
+        range.nextPhysical = null;
+    }
+
+    /**
+     * Calculate the first level index of a size.
+     * @param size The size.
+     * @return int - The first level index.
+     */
+    private static int firstLevelIndex(long size) {
+        if (size < SECOND_LEVEL_COUNT) {
+            return 0;
+        }
+        return 63 - Long.numberOfLeadingZeros(size) - SECOND_LEVEL_BITS + 1;
+    }
+
+    /**
+     * Calculate the second level index of a size.
+     * @param size The size.
+     * @param firstLevel The first level index of the size.
+     * @return int - The second level index.
+     */
+    private static int secondLevelIndex(long size, int firstLevel) {
+        if (firstLevel == 0) {
+            return (int) size;
+        }
+        return (int) ((size >>> (firstLevel - 1)) & (SECOND_LEVEL_COUNT - 1));
+    }
+
+    /**
+     * Align a value up to a power of two.
+     * @param value The value.
+     * @param alignment The alignment.
+     * @return long - The aligned value.
+     */
+    public static long alignUp(long value, long alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+}
@@ -0,0 +1,89 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.vulkan.memory.MemoryRange;
+
+/**
+ * The vertex and index ranges of a mesh inside a geometry page.
+ */
+public class GeometryAllocation {
+    /**
+     * The arena that owns the allocation.
+     */
+    private final GeometryArena geometryArena;
+
+    /**
+     * The page holding the ranges.
+     */
+    private final GeometryPage page;
+
+    /**
+     * The vertex range, in vertices.
+     */
+    private final MemoryRange vertexRange;
+
+    /**
+     * The index range, in indices.
+     */
+    private final MemoryRange indexRange;
+
+    /**
+     * Package-private constructor.
+     * @param geometryArena The owning arena.
+     * @param page The geometry page.
+     * @param vertexRange The vertex range.
+     * @param indexRange The index range.
+     */
+    GeometryAllocation(GeometryArena geometryArena, GeometryPage page, MemoryRange vertexRange, MemoryRange indexRange) {
+        this.geometryArena = geometryArena;
+        this.page = page;
+        this.vertexRange = vertexRange;
+        this.indexRange = indexRange;
+    }
+
+    /**
+     * Return the ranges to the arena.
+     */
+    public void free() {
+        geometryArena.free(this);
+    }
+
+    /**
+     * Getter for the geometry page.
+     * @return GeometryPage - The page.
+     */
+    public GeometryPage getPage() {
+        return page;
+    }
+
+    /**
+     * Getter for the value added to every index before fetching a vertex.
+     * @return int - The index of the first vertex.
+     */
+    public int getVertexOffset() {
+        return (int) vertexRange.getOffset();
+    }
+
+    /**
+     * Getter for the first index.
+     * @return int - The index of the first index.
+     */
+    public int getFirstIndex() {
+        return (int) indexRange.getOffset();
+    }
+
+    /**
+     * Getter for the vertex range.
+     * @return MemoryRange - The vertex range.
+     */
+    MemoryRange getVertexRange() {
+        return vertexRange;
+    }
+
+    /**
+     * Getter for the index range.
+     * @return MemoryRange - The index range.
+     */
+    MemoryRange getIndexRange() {
+        return indexRange;
+    }
+}
@@ -0,0 +1,147 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.memory.MemoryRange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Stores the geometry of many meshes in a few large vertex and index buffers.
+ * Meshes are addressed by vertex offset and first index, so a whole page is drawn with a single bind.
+ */
+public class GeometryArena {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The size of a vertex in bytes.
+     */
+    private final int vertexStride;
+
+    /**
+     * The number of vertices a regular page holds.
+     */
+    private final long pageVertexCapacity;
+
+    /**
+     * The number of indices a regular page holds.
+     */
+    private final long pageIndexCapacity;
+
+    /**
+     * The geometry pages.
+     */
+    private final List<GeometryPage> pages;
+
+    /**
+     * The queue families accessing the pages concurrently, or null for exclusive access.
+     */
+    private final int[] queueFamilyIndices;
+
+    /**
+     * The identifier of the next created page.
+     */
+    private int nextPageID;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param vertexStride The size of a vertex in bytes.
+     * @param pageSize The size of the vertex buffer and of the index buffer of a page, in bytes.
+     * @param queueFamilyIndices The queue families accessing the pages concurrently, or null for exclusive access.
+     */
+    public GeometryArena(LogicalDevice logicalDevice, int vertexStride, long pageSize, int[] queueFamilyIndices) {
+        this.logicalDevice = logicalDevice;
+        this.queueFamilyIndices = queueFamilyIndices;
+        this.vertexStride = vertexStride;
+        pageVertexCapacity = pageSize / vertexStride;
+        pageIndexCapacity = pageSize / Constants.INT_LENGTH;
+        pages = new ArrayList<>();
+        EngineLogger.getInstance().log(Level.INFO, "Creating geometry arena. Page capacity: [%d] vertices, [%d] indices.",
+                pageVertexCapacity, pageIndexCapacity);
+    }
+
+    /**
+     * Release all pages.
+     */
+    public synchronized void cleanup() {
+        logStatistics();
+        pages.forEach(GeometryPage::cleanup);
+        pages.clear();
+    }
+
+    /**
+     * Allocate the vertex and index ranges of a mesh.
+     * @param numberOfVertices The number of vertices.
+     * @param numberOfIndices The number of indices.
+     * @return GeometryAllocation - The allocation.
+     */
+    public synchronized GeometryAllocation allocate(long numberOfVertices, long numberOfIndices) {
+        for (GeometryPage page : pages) {
+            MemoryRange[] ranges = page.allocate(numberOfVertices, numberOfIndices);
+            if (ranges != null) {
+                return new GeometryAllocation(this, page, ranges[0], ranges[1]);
+            }
+        }
+
+        // Create a new page, large enough for meshes exceeding the regular page size.
+        EngineLogger.getInstance().log(Level.FINE, "Allocating geometry page.");
+        GeometryPage page = new GeometryPage(logicalDevice, nextPageID++, vertexStride,
+                Math.max(pageVertexCapacity, numberOfVertices),
+                Math.max(pageIndexCapacity, numberOfIndices),
+                queueFamilyIndices);
+        pages.add(page);
+        MemoryRange[] ranges = page.allocate(numberOfVertices, numberOfIndices);
+        return new GeometryAllocation(this, page, ranges[0], ranges[1]);
+    }
+
+    /**
+     * Return the ranges of an allocation to their page.
+     * Empty pages are released, except for the last one, so the ranges must no longer be read by any frame in flight.
+     * @param geometryAllocation The allocation.
+     */
+    synchronized void free(GeometryAllocation geometryAllocation) {
+        GeometryPage page = geometryAllocation.getPage();
+        page.free(geometryAllocation.getVertexRange(), geometryAllocation.getIndexRange());
+        if (page.isEmpty() && pages.size() > 1) {
+            pages.remove(page);
+            page.cleanup();
+        }
+    }
+
+    /**
+     * Get the size of a vertex.
+     * @return int - The vertex stride in bytes.
+     */
+    public int getVertexStride() {
+        return vertexStride;
+    }
+
+    /**
+     * Get the number of pages.
+     * @return int - The number of pages.
+     */
+    public synchronized int getNumberOfPages() {
+        return pages.size();
+    }
+
+    /**
+     * Log the utilization and fragmentation of every page.
+     */
+    public synchronized void logStatistics() {
+        for (GeometryPage page : pages) {
+            EngineLogger.getInstance().log(Level.INFO,
+                    "Geometry page: [%d] mesh(es), vertex utilization [%.3f], index utilization [%.3f], fragmentation [%.3f].",
+                    page.getVertexAllocator().getNumberOfAllocations(),
+                    page.getVertexAllocator().getUtilization(),
+                    page.getIndexAllocator().getUtilization(),
+                    page.getVertexAllocator().getFragmentation());
+        }
+    }
+}
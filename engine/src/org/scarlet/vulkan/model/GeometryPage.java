@@ -0,0 +1,151 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.memory.MemoryRange;
+import org.scarlet.vulkan.memory.TlsfAllocator;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * A pair of large device local vertex and index buffers shared by many meshes.
+ * Vertex ranges are tracked in vertices and index ranges in indices, so offsets can be used directly in draw calls.
+ */
+public class GeometryPage {
+    /**
+     * The page identifier, unique within its arena.
+     */
+    private final int pageID;
+
+    /**
+     * The vertex buffer.
+     */
+    private final VulkanBuffer vertexBuffer;
+
+    /**
+     * The index buffer.
+     */
+    private final VulkanBuffer indexBuffer;
+
+    /**
+     * The vertex range bookkeeping.
+     */
+    private final TlsfAllocator vertexAllocator;
+
+    /**
+     * The index range bookkeeping.
+     */
+    private final TlsfAllocator indexAllocator;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param pageID The page identifier, unique within its arena.
+     * @param vertexStride The size of a vertex in bytes.
+     * @param vertexCapacity The number of vertices the page can hold.
+     * @param indexCapacity The number of indices the page can hold.
+     * @param queueFamilyIndices The queue families accessing the buffers concurrently, or null for exclusive access.
+     */
+    public GeometryPage(LogicalDevice logicalDevice, int pageID, int vertexStride, long vertexCapacity,
+                        long indexCapacity, int[] queueFamilyIndices) {
+        this.pageID = pageID;
+        vertexBuffer = new VulkanBuffer(logicalDevice, vertexCapacity * vertexStride,
+                VK_BUFFER_USAGE_TRANSFER_DST_BIT |
+                        VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+                queueFamilyIndices);
+        indexBuffer = new VulkanBuffer(logicalDevice, indexCapacity * Constants.INT_LENGTH,
+                VK_BUFFER_USAGE_TRANSFER_DST_BIT |
+                        VK_BUFFER_USAGE_INDEX_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+                queueFamilyIndices);
+        vertexAllocator = new TlsfAllocator(vertexCapacity);
+        indexAllocator = new TlsfAllocator(indexCapacity);
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        vertexBuffer.cleanup();
+        indexBuffer.cleanup();
+    }
+
+    /**
+     * Allocate a vertex range and an index range.
+     * @param numberOfVertices The number of vertices.
+     * @param numberOfIndices The number of indices.
+     * @return MemoryRange[] - The vertex and index ranges, or null if the page cannot hold both.
+     */
+    MemoryRange[] allocate(long numberOfVertices, long numberOfIndices) {
+        MemoryRange vertexRange = vertexAllocator.allocate(numberOfVertices, 1);
+        if (vertexRange == null) {
+            return null;
+        }
+        MemoryRange indexRange = indexAllocator.allocate(numberOfIndices, 1);
+        if (indexRange == null) {
+            vertexAllocator.free(vertexRange);
+            return null;
+        }
+        return new MemoryRange[]{vertexRange, indexRange};
+    }
+
+    /**
+     * Return a vertex range and an index range to the page.
+     * @param vertexRange The vertex range.
+     * @param indexRange The index range.
+     */
+    void free(MemoryRange vertexRange, MemoryRange indexRange) {
+        vertexAllocator.free(vertexRange);
+        indexAllocator.free(indexRange);
+    }
+
+    /**
+     * Check if no mesh is stored in the page.
+     * @return boolean - True if the page is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return vertexAllocator.isEmpty();
+    }
+
+    /**
+     * Getter for the page identifier.
+     * @return int - The page identifier, unique within its arena.
+     */
+    public int getPageID() {
+        return pageID;
+    }
+
+    /**
+     * Getter for the vertex buffer.
+     * @return VulkanBuffer - The vertex buffer.
+     */
+    public VulkanBuffer getVertexBuffer() {
+        return vertexBuffer;
+    }
+
+    /**
+     * Getter for the index buffer.
+     * @return VulkanBuffer - The index buffer.
+     */
+    public VulkanBuffer getIndexBuffer() {
+        return indexBuffer;
+    }
+
+    /**
+     * Getter for the vertex range bookkeeping.
+     * @return TlsfAllocator - The vertex allocator.
+     */
+    public TlsfAllocator getVertexAllocator() {
+        return vertexAllocator;
+    }
+
+    /**
+     * Getter for the index range bookkeeping.
+     * @return TlsfAllocator - The index allocator.
+     */
+    public TlsfAllocator getIndexAllocator() {
+        return indexAllocator;
+    }
+}
@@ -0,0 +1,100 @@
+package org.scarlet.vulkan.model;
+
+import org.lwjgl.vulkan.VkPipelineVertexInputStateCreateInfo;
+import org.lwjgl.vulkan.VkVertexInputAttributeDescription;
+import org.lwjgl.vulkan.VkVertexInputBindingDescription;
+import org.scarlet.vulkan.Constants;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Defines how to extract instanced data from two underlying buffers.
+ * The vertex positions are read per vertex from the first binding, and the transform and color of every instance are
+ * read per instance from the second binding. The transform takes one location per column.
+ */
+public class InstancedVertexBufferStructure extends VertexInputStateInformation {
+    /**
+     * The binding of the vertices.
+     */
+    public static final int VERTEX_BINDING = 0;
+
+    /**
+     * The binding of the instances.
+     */
+    public static final int INSTANCE_BINDING = 1;
+
+    /**
+     * The number of attributes.
+     */
+    private static final int NUMBER_OF_ATTRIBUTES = 6;
+
+    /**
+     * The number of columns of the transform of an instance.
+     */
+    private static final int TRANSFORM_COLUMNS = 4;
+
+    /**
+     * The number of floats of an instance: a 4x4 transform followed by a color.
+     */
+    public static final int INSTANCE_COMPONENTS = TRANSFORM_COLUMNS * 4 + 4;
+
+    /**
+     * The size of an instance in bytes.
+     */
+    public static final int INSTANCE_STRIDE = INSTANCE_COMPONENTS * Constants.FLOAT_LENGTH;
+
+    /**
+     * The vertex input attribute description buffer.
+     */
+    private final VkVertexInputAttributeDescription.Buffer vertexInputAttributes;
+
+    /**
+     * The vertex input binding description buffer.
+     */
+    private final VkVertexInputBindingDescription.Buffer vertexInputBindings;
+
+    /**
+     * Constructor.
+     * @param positionFormat The format of the vertex positions.
+     * @param vertexStride The size of a vertex in bytes.
+     */
+    public InstancedVertexBufferStructure(int positionFormat, int vertexStride) {
+        vertexInputAttributes = VkVertexInputAttributeDescription.calloc(NUMBER_OF_ATTRIBUTES);
+        vertexInputBindings = VkVertexInputBindingDescription.calloc(2);
+        vertexInfo = VkPipelineVertexInputStateCreateInfo.calloc();
+
+        vertexInputAttributes.get(0)
+                .binding(VERTEX_BINDING)
+                .location(0)
+                .format(positionFormat)
+                .offset(0);
+        // Transform columns, then color.
+        for (int i = 1; i < NUMBER_OF_ATTRIBUTES; i++) {
+            vertexInputAttributes.get(i)
+                    .binding(INSTANCE_BINDING)
+                    .location(i)
+                    .format(VK_FORMAT_R32G32B32A32_SFLOAT)
+                    .offset((i - 1) * 4 * Constants.FLOAT_LENGTH);
+        }
+        vertexInputBindings.get(0)
+                .binding(VERTEX_BINDING)
+                .stride(vertexStride)
+                .inputRate(VK_VERTEX_INPUT_RATE_VERTEX);
+        vertexInputBindings.get(1)
+                .binding(INSTANCE_BINDING)
+                .stride(INSTANCE_STRIDE)
+                .inputRate(VK_VERTEX_INPUT_RATE_INSTANCE);
+        vertexInfo.sType(VK_STRUCTURE_TYPE_PIPELINE_VERTEX_INPUT_STATE_CREATE_INFO)
+                .pVertexBindingDescriptions(vertexInputBindings)
+                .pVertexAttributeDescriptions(vertexInputAttributes);
+    }
+
+    /**
+     * Free resources.
+     */
+    public void cleanup() {
+        super.cleanup();
+        vertexInputBindings.free();
+        vertexInputAttributes.free();
+    }
+}
\ No newline at end of file
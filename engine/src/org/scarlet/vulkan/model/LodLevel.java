@@ -0,0 +1,43 @@
+package org.scarlet.vulkan.model;
+
+/**
+ * A simplified level of detail of a mesh.
+ * The level reuses the vertices of the mesh and only holds its own indices.
+ */
+public class LodLevel {
+    /**
+     * The triangle indices.
+     */
+    private final int[] indices;
+
+    /**
+     * The geometric error of the level, in model units.
+     */
+    private final float error;
+
+    /**
+     * Constructor.
+     * @param indices The triangle indices.
+     * @param error The geometric error of the level, in model units.
+     */
+    public LodLevel(int[] indices, float error) {
+        this.indices = indices;
+        this.error = error;
+    }
+
+    /**
+     * Get the triangle indices.
+     * @return int[] - The indices.
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * Get the geometric error.
+     * @return float - The error, in model units.
+     */
+    public float getError() {
+        return error;
+    }
+}
\ No newline at end of file
@@ -1,7 +1,15 @@
 package org.scarlet.vulkan.model;
 
+import org.lwjgl.system.MemoryUtil;
+import org.scarlet.vulkan.Constants;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
 /**
- * Contains the arrays storing the vertex and index information.
+ * Contains the vertex and index information.
+ * The data is either stored in Java arrays, or in direct buffers such as memory mapped files.
  */
 public class MeshData {
     /**
@@ -14,6 +22,36 @@ public class MeshData {
      */
     private int[] indices;
 
+    /**
+     * The off-heap vertex data, or null if the data is stored in arrays.
+     */
+    private ByteBuffer vertexData;
+
+    /**
+     * The off-heap index data, or null if the data is stored in arrays.
+     */
+    private ByteBuffer indexData;
+
+    /**
+     * The axis aligned bounds as {minX, minY, minZ, maxX, maxY, maxZ}, or null if unknown.
+     */
+    private float[] bounds;
+
+    /**
+     * The simplified levels of detail, from the finest to the coarsest.
+     */
+    private List<LodLevel> lodLevels = List.of();
+
+    /**
+     * The meshlets, covering the indices in order.
+     */
+    private List<Meshlet> meshlets = List.of();
+
+    /**
+     * The content hash, computed on first use.
+     */
+    private volatile MeshHash contentHash;
+
     /**
      * Constructor.
      * @param vertices The vertex data.
@@ -24,19 +62,206 @@ public class MeshData {
         this.indices = indices;
     }
 
+    /**
+     * Constructor for off-heap data.
+     * The buffers are used from their position to their limit, in native byte order.
+     * @param vertexData The direct buffer holding the vertex data.
+     * @param indexData The direct buffer holding the index data.
+     */
+    public MeshData(ByteBuffer vertexData, ByteBuffer indexData) {
+        if (!vertexData.isDirect() || !indexData.isDirect()) {
+            throw new IllegalArgumentException("Off-heap mesh data must be stored in direct buffers.");
+        }
+        this.vertexData = vertexData.slice().order(ByteOrder.nativeOrder());
+        this.indexData = indexData.slice().order(ByteOrder.nativeOrder());
+    }
+
     /**
      * Retrieve the vertex list.
+     * Off-heap data is copied into a new array.
      * @return float[] - The list of vertices.
      */
     public float[] getVertices() {
-        return vertices;
+        if (vertices != null) {
+            return vertices;
+        }
+        float[] copy = new float[vertexData.remaining() / Constants.FLOAT_LENGTH];
+        vertexData.asFloatBuffer().get(copy);
+        return copy;
     }
 
     /**
      * Retrieve the index list.
+     * Off-heap data is copied into a new array.
      * @return int[] - The list of indices.
      */
     public int[] getIndices() {
-        return indices;
+        if (indices != null) {
+            return indices;
+        }
+        int[] copy = new int[getNumberOfIndices()];
+        indexData.asIntBuffer().get(copy);
+        return copy;
+    }
+
+    /**
+     * Retrieve a single vertex component without copying off-heap data.
+     * @param position The position of the component.
+     * @return float - The component.
+     */
+    public float getVertex(int position) {
+        return vertices != null ? vertices[position] : vertexData.getFloat(position * Constants.FLOAT_LENGTH);
+    }
+
+    /**
+     * Retrieve a single index without copying off-heap data.
+     * @param position The position of the index.
+     * @return int - The index.
+     */
+    public int getIndex(int position) {
+        return indices != null ? indices[position] : indexData.getInt(position * Constants.INT_LENGTH);
+    }
+
+    /**
+     * Retrieve the axis aligned bounds.
+     * @return float[] - The bounds as {minX, minY, minZ, maxX, maxY, maxZ}, or null if unknown.
+     */
+    public float[] getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Set the axis aligned bounds.
+     * @param bounds The bounds as {minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    public void setBounds(float[] bounds) {
+        this.bounds = bounds;
+    }
+
+    /**
+     * Retrieve the content hash of the vertex and index data.
+     * @return MeshHash - The content hash.
+     */
+    public MeshHash getContentHash() {
+        MeshHash hash = contentHash;
+        if (hash == null) {
+            hash = MeshHash.compute(this);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Compute the axis aligned bounds of the vertex positions.
+     * @return float[] - The bounds as {minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    public float[] computeBounds() {
+        int components = VertexBufferStructure.VERTEX_STRIDE / Constants.FLOAT_LENGTH;
+        int numberOfVertices = (int) (getVerticesSize() / VertexBufferStructure.VERTEX_STRIDE);
+        float[] computedBounds = {
+                Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE,
+                -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+            for (int axis = 0; axis < 3; axis++) {
+                float value = getVertex(vertex * components + axis);
+                computedBounds[axis] = Math.min(computedBounds[axis], value);
+                computedBounds[axis + 3] = Math.max(computedBounds[axis + 3], value);
+            }
+        }
+        return computedBounds;
+    }
+
+    /**
+     * Retrieve the simplified levels of detail.
+     * @return List&lt;LodLevel&gt; - The levels, from the finest to the coarsest, empty if none were generated.
+     */
+    public List<LodLevel> getLodLevels() {
+        return lodLevels;
+    }
+
+    /**
+     * Set the simplified levels of detail.
+     * @param lodLevels The levels, from the finest to the coarsest.
+     */
+    public void setLodLevels(List<LodLevel> lodLevels) {
+        this.lodLevels = lodLevels;
+    }
+
+    /**
+     * Retrieve the meshlets.
+     * @return List&lt;Meshlet&gt; - The meshlets, covering the indices in order, empty if none were built.
+     */
+    public List<Meshlet> getMeshlets() {
+        return meshlets;
+    }
+
+    /**
+     * Set the meshlets.
+     * @param meshlets The meshlets, covering the indices in order.
+     */
+    public void setMeshlets(List<Meshlet> meshlets) {
+        this.meshlets = meshlets;
+    }
+
+    /**
+     * Check if the data is stored off-heap.
+     * @return boolean - True if the data is stored in direct buffers, false otherwise.
+     */
+    public boolean isOffHeap() {
+        return vertexData != null;
+    }
+
+    /**
+     * Retrieve the number of indices.
+     * @return int - The number of indices.
+     */
+    public int getNumberOfIndices() {
+        return indices != null ? indices.length : indexData.remaining() / Constants.INT_LENGTH;
+    }
+
+    /**
+     * Retrieve the size of the vertex data.
+     * @return long - The size in bytes.
+     */
+    public long getVerticesSize() {
+        return vertices != null ? (long) vertices.length * Constants.FLOAT_LENGTH : vertexData.remaining();
+    }
+
+    /**
+     * Retrieve the size of the index data.
+     * @return long - The size in bytes.
+     */
+    public long getIndicesSize() {
+        return indices != null ? (long) indices.length * Constants.INT_LENGTH : indexData.remaining();
+    }
+
+    /**
+     * Write a range of the vertex data to an address.
+     * @param address The destination address.
+     * @param offset The offset of the range in bytes.
+     * @param length The length of the range in bytes.
+     */
+    public void writeVertices(long address, long offset, long length) {
+        if (vertices == null) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(vertexData) + offset, address, length);
+            return;
+        }
+        MemoryUtil.memFloatBuffer(address, (int) (length / Constants.FLOAT_LENGTH))
+                .put(vertices, (int) (offset / Constants.FLOAT_LENGTH), (int) (length / Constants.FLOAT_LENGTH));
+    }
+
+    /**
+     * Write a range of the index data to an address.
+     * @param address The destination address.
+     * @param offset The offset of the range in bytes.
+     * @param length The length of the range in bytes.
+     */
+    public void writeIndices(long address, long offset, long length) {
+        if (indices == null) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(indexData) + offset, address, length);
+            return;
+        }
+        MemoryUtil.memIntBuffer(address, (int) (length / Constants.INT_LENGTH))
+                .put(indices, (int) (offset / Constants.INT_LENGTH), (int) (length / Constants.INT_LENGTH));
     }
 }
\ No newline at end of file
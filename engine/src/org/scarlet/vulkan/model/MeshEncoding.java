@@ -0,0 +1,297 @@
+package org.scarlet.vulkan.model;
+
+import org.lwjgl.system.MemoryUtil;
+import org.scarlet.vulkan.Constants;
+
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.VK_INDEX_TYPE_UINT16;
+import static org.lwjgl.vulkan.VK10.VK_INDEX_TYPE_UINT32;
+
+/**
+ * Selects the compact GPU encoding of a mesh and writes its data in that encoding.
+ * Meshes with few enough vertices get 16-bit indices, and vertices are converted to the vertex format of the target
+ * geometry arena. The indices of the mesh and of its levels of detail are stored back to back, padded to whole arena
+ * slots of 4 bytes.
+ */
+public class MeshEncoding {
+    /**
+     * The maximum number of vertices addressable by 16-bit indices.
+     */
+    public static final int MAX_SHORT_INDEX_VERTICES = 1 << 16;
+
+    /**
+     * The size of a 16-bit index in bytes.
+     */
+    private static final int SHORT_LENGTH = 2;
+
+    /**
+     * The half float value of 1, stored in the padding component of quantized positions.
+     */
+    private static final short HALF_ONE = 0x3C00;
+
+    /**
+     * The mesh data.
+     */
+    private final MeshData meshData;
+
+    /**
+     * The size of an encoded vertex in bytes.
+     */
+    private final int vertexStride;
+
+    /**
+     * The number of vertices.
+     */
+    private final long numberOfVertices;
+
+    /**
+     * The Vulkan index type.
+     */
+    private final int indexType;
+
+    /**
+     * The size of an encoded index in bytes.
+     */
+    private final int indexSize;
+
+    /**
+     * The number of indices of the mesh and of every level of detail.
+     */
+    private final int[] levelIndexCounts;
+
+    /**
+     * The first index of the mesh and of every level of detail, relative to the first index of the mesh.
+     */
+    private final int[] levelFirstIndices;
+
+    /**
+     * The total number of indices over every level.
+     */
+    private final long totalNumberOfIndices;
+
+    /**
+     * Constructor.
+     * @param meshData The mesh data, in the VertexBufferStructure format.
+     * @param vertexStride The size of an encoded vertex in bytes, either VertexBufferStructure.VERTEX_STRIDE or
+     *                     QuantizedVertexBufferStructure.VERTEX_STRIDE.
+     */
+    public MeshEncoding(MeshData meshData, int vertexStride) {
+        if (vertexStride != VertexBufferStructure.VERTEX_STRIDE && vertexStride != QuantizedVertexBufferStructure.VERTEX_STRIDE) {
+            throw new IllegalArgumentException("Unsupported vertex stride " + vertexStride + ".");
+        }
+        this.meshData = meshData;
+        this.vertexStride = vertexStride;
+        numberOfVertices = meshData.getVerticesSize() / VertexBufferStructure.VERTEX_STRIDE;
+        if (numberOfVertices <= MAX_SHORT_INDEX_VERTICES) {
+            indexType = VK_INDEX_TYPE_UINT16;
+            indexSize = SHORT_LENGTH;
+        }
+        else {
+            indexType = VK_INDEX_TYPE_UINT32;
+            indexSize = Constants.INT_LENGTH;
+        }
+
+        List<LodLevel> lodLevels = meshData.getLodLevels();
+        levelIndexCounts = new int[lodLevels.size() + 1];
+        levelFirstIndices = new int[lodLevels.size() + 1];
+        levelIndexCounts[0] = meshData.getNumberOfIndices();
+        for (int level = 1; level < levelIndexCounts.length; level++) {
+            levelIndexCounts[level] = lodLevels.get(level - 1).getIndices().length;
+            levelFirstIndices[level] = levelFirstIndices[level - 1] + levelIndexCounts[level - 1];
+        }
+        totalNumberOfIndices = (long) levelFirstIndices[levelIndexCounts.length - 1] + levelIndexCounts[levelIndexCounts.length - 1];
+    }
+
+    /**
+     * Get the mesh data.
+     * @return MeshData - The mesh data.
+     */
+    public MeshData getMeshData() {
+        return meshData;
+    }
+
+    /**
+     * Get the number of vertices.
+     * @return long - The number of vertices.
+     */
+    public long getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    /**
+     * Get the number of 4 byte index slots the encoded indices occupy in the geometry arena.
+     * @return long - The number of slots.
+     */
+    public long getNumberOfIndexSlots() {
+        return (totalNumberOfIndices * indexSize + Constants.INT_LENGTH - 1) / Constants.INT_LENGTH;
+    }
+
+    /**
+     * Get the size of the encoded vertex data.
+     * @return long - The size in bytes.
+     */
+    public long getVerticesSize() {
+        return numberOfVertices * vertexStride;
+    }
+
+    /**
+     * Get the size of the encoded index data, including padding.
+     * @return long - The size in bytes.
+     */
+    public long getIndicesSize() {
+        return getNumberOfIndexSlots() * Constants.INT_LENGTH;
+    }
+
+    /**
+     * Get the Vulkan index type.
+     * @return int - VK_INDEX_TYPE_UINT16 or VK_INDEX_TYPE_UINT32.
+     */
+    public int getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * Get the number of levels, the full resolution mesh being level 0.
+     * @return int - The number of levels.
+     */
+    public int getNumberOfLevels() {
+        return levelIndexCounts.length;
+    }
+
+    /**
+     * Get the first index of a level, relative to the first index of the mesh.
+     * @param level The level.
+     * @return int - The first index, in units of the index type.
+     */
+    public int getLevelFirstIndex(int level) {
+        return levelFirstIndices[level];
+    }
+
+    /**
+     * Get the number of indices of a level.
+     * @param level The level.
+     * @return int - The number of indices.
+     */
+    public int getLevelNumberOfIndices(int level) {
+        return levelIndexCounts[level];
+    }
+
+    /**
+     * Get the geometric error of a level.
+     * @param level The level.
+     * @return float - The error in model units, 0 for the full resolution mesh.
+     */
+    public float getLevelError(int level) {
+        return level == 0 ? 0 : meshData.getLodLevels().get(level - 1).getError();
+    }
+
+    /**
+     * Write a range of the encoded vertex data to an address.
+     * @param address The destination address.
+     * @param offset The offset of the range in bytes. Must be a multiple of 2.
+     * @param length The length of the range in bytes. Must be a multiple of 2.
+     */
+    public void writeVertices(long address, long offset, long length) {
+        if (vertexStride == VertexBufferStructure.VERTEX_STRIDE) {
+            meshData.writeVertices(address, offset, length);
+            return;
+        }
+        int sourceComponents = VertexBufferStructure.VERTEX_STRIDE / Constants.FLOAT_LENGTH;
+        int targetComponents = QuantizedVertexBufferStructure.POSITION_COMPONENTS;
+        long first = offset / QuantizedVertexBufferStructure.HALF_FLOAT_LENGTH;
+        long count = length / QuantizedVertexBufferStructure.HALF_FLOAT_LENGTH;
+        for (long i = 0; i < count; i++) {
+            long component = first + i;
+            int vertex = (int) (component / targetComponents);
+            int axis = (int) (component % targetComponents);
+            short value = axis < sourceComponents
+                    ? toHalf(meshData.getVertex(vertex * sourceComponents + axis))
+                    : HALF_ONE;
+            MemoryUtil.memPutShort(address + i * QuantizedVertexBufferStructure.HALF_FLOAT_LENGTH, value);
+        }
+    }
+
+    /**
+     * Write a range of the encoded index data to an address.
+     * @param address The destination address.
+     * @param offset The offset of the range in bytes. Must be a multiple of 4.
+     * @param length The length of the range in bytes. Must be a multiple of 4.
+     */
+    public void writeIndices(long address, long offset, long length) {
+        if (indexType == VK_INDEX_TYPE_UINT32 && offset + length <= meshData.getIndicesSize()) {
+            meshData.writeIndices(address, offset, length);
+            return;
+        }
+        long first = offset / indexSize;
+        long count = length / indexSize;
+        for (long i = 0; i < count; i++) {
+            int index = getIndex(first + i);
+            if (indexType == VK_INDEX_TYPE_UINT16) {
+                MemoryUtil.memPutShort(address + i * SHORT_LENGTH, (short) index);
+            }
+            else {
+                MemoryUtil.memPutInt(address + i * Constants.INT_LENGTH, index);
+            }
+        }
+    }
+
+    /**
+     * Get an index of the encoded index stream.
+     * @param position The position in the stream.
+     * @return int - The index, or 0 in the padding.
+     */
+    private int getIndex(long position) {
+        for (int level = 0; level < levelIndexCounts.length; level++) {
+            long levelPosition = position - levelFirstIndices[level];
+            if (levelPosition < levelIndexCounts[level]) {
+                return level == 0
+                        ? meshData.getIndex((int) levelPosition)
+                        : meshData.getLodLevels().get(level - 1).getIndices()[(int) levelPosition];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Convert a float to a half float, rounding to nearest even.
+     * @param value The float value.
+     * @return short - The half float bits.
+     */
+    static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int floatExponent = (bits >>> 23) & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+        if (floatExponent == 0xFF) {
+            // Infinity or NaN.
+            return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+        }
+        int exponent = floatExponent - 127 + 15;
+        if (exponent >= 0x1F) {
+            return (short) (sign | 0x7C00);
+        }
+        if (exponent <= 0) {
+            // Subnormal half, or zero.
+            if (exponent < -10) {
+                return (short) sign;
+            }
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int half = mantissa >> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+        // A rounding carry into the exponent is the correct result, up to infinity.
+        int half = (exponent << 10) | (mantissa >> 13);
+        int remainder = mantissa & 0x1FFF;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            half++;
+        }
+        return (short) (sign | half);
+    }
+}
@@ -0,0 +1,124 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.vulkan.Constants;
+
+import java.util.Arrays;
+
+/**
+ * 128-bit hash of the content of a mesh: its vertex bytes, index bytes and vertex layout.
+ * Two independent 64-bit lanes make accidental collisions between distinct meshes negligible.
+ */
+public final class MeshHash {
+    /**
+     * The seed of the first lane.
+     */
+    private static final long SEED_LOW = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The seed of the second lane.
+     */
+    private static final long SEED_HIGH = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The multiplier of the first lane.
+     */
+    private static final long PRIME_LOW = 0x87C37B91114253D5L;
+
+    /**
+     * The multiplier of the second lane.
+     */
+    private static final long PRIME_HIGH = 0x4CF5AD432745937FL;
+
+    /**
+     * The low 64 bits.
+     */
+    private final long low;
+
+    /**
+     * The high 64 bits.
+     */
+    private final long high;
+
+    /**
+     * Compute the hash of a mesh.
+     * @param meshData The mesh data.
+     * @return MeshHash - The content hash.
+     */
+    public static MeshHash compute(MeshData meshData) {
+        long layout = VertexBufferStructure.VERTEX_STRIDE * 31L
+                + Arrays.hashCode(VertexBufferStructure.getAttributeFormats()) * 17L
+                + Arrays.hashCode(VertexBufferStructure.getAttributeOffsets());
+        long low = SEED_LOW ^ layout;
+        long high = SEED_HIGH + layout;
+
+        int numberOfComponents = (int) (meshData.getVerticesSize() / Constants.FLOAT_LENGTH);
+        for (int i = 0; i < numberOfComponents; i++) {
+            int bits = Float.floatToRawIntBits(meshData.getVertex(i));
+            low = Long.rotateLeft((low ^ bits) * PRIME_LOW, 31);
+            high = Long.rotateLeft((high + bits) * PRIME_HIGH, 27);
+        }
+        int numberOfIndices = meshData.getNumberOfIndices();
+        for (int i = 0; i < numberOfIndices; i++) {
+            int index = meshData.getIndex(i);
+            low = Long.rotateLeft((low ^ index) * PRIME_LOW, 31);
+            high = Long.rotateLeft((high + index) * PRIME_HIGH, 27);
+        }
+
+        // The lengths separate the vertex data from the index data.
+        low = mix(low ^ numberOfComponents ^ high);
+        high = mix(high ^ ((long) numberOfIndices << 32) ^ low);
+        return new MeshHash(low, high);
+    }
+
+    /**
+     * Finalization step spreading every input bit over the whole value.
+     * @param value The value.
+     * @return long - The mixed value.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Constructor.
+     * @param low The low 64 bits.
+     * @param high The high 64 bits.
+     */
+    private MeshHash(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Compare with another hash.
+     * @param object The other object.
+     * @return boolean - True if the object is a hash with the same value, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof MeshHash other && low == other.low && high == other.high;
+    }
+
+    /**
+     * Get the hash code.
+     * @return int - The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low);
+    }
+
+    /**
+     * Get the hexadecimal representation.
+     * @return String - The 32 digit hash.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,109 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Shares meshes with identical content between models.
+ * Meshes are published once their data is uploaded, and reference counted so the geometry is freed only when the
+ * last model using it is cleaned up.
+ */
+public class MeshRegistry {
+    /**
+     * The published meshes by content hash.
+     */
+    private final Map<MeshHash, VulkanMesh> meshes;
+
+    /**
+     * The number of bytes not uploaded thanks to shared meshes.
+     */
+    private long savedBytes;
+
+    /**
+     * Constructor.
+     */
+    public MeshRegistry() {
+        meshes = new HashMap<>();
+    }
+
+    /**
+     * Find a mesh with the given content and take a reference to it.
+     * The meshes of the batch being loaded are searched first, since they are not published yet.
+     * @param contentHash The content hash.
+     * @param batchMeshes The meshes created by the current batch, by content hash. Receives the mesh found.
+     * @return VulkanMesh - The shared mesh, or null if none has this content.
+     */
+    public synchronized VulkanMesh acquire(MeshHash contentHash, Map<MeshHash, VulkanMesh> batchMeshes) {
+        VulkanMesh vulkanMesh = batchMeshes.get(contentHash);
+        if (vulkanMesh == null) {
+            vulkanMesh = meshes.get(contentHash);
+            if (vulkanMesh == null) {
+                return null;
+            }
+            batchMeshes.put(contentHash, vulkanMesh);
+        }
+        vulkanMesh.setReferenceCount(vulkanMesh.getReferenceCount() + 1);
+        return vulkanMesh;
+    }
+
+    /**
+     * Make the meshes of a model available for sharing.
+     * Must be called once their data is uploaded. Meshes whose content is already published stay private.
+     * @param vulkanModel The model.
+     */
+    public synchronized void publish(VulkanModel vulkanModel) {
+        for (VulkanMesh vulkanMesh : vulkanModel.getVulkanMeshList()) {
+            if (vulkanMesh.getContentHash() != null && vulkanMesh.getReferenceCount() > 0) {
+                meshes.putIfAbsent(vulkanMesh.getContentHash(), vulkanMesh);
+            }
+        }
+    }
+
+    /**
+     * Drop a reference to a mesh, freeing its geometry when it was the last one.
+     * @param vulkanMesh The mesh.
+     */
+    synchronized void release(VulkanMesh vulkanMesh) {
+        int referenceCount = vulkanMesh.getReferenceCount() - 1;
+        vulkanMesh.setReferenceCount(referenceCount);
+        if (referenceCount == 0) {
+            if (vulkanMesh.getContentHash() != null) {
+                meshes.remove(vulkanMesh.getContentHash(), vulkanMesh);
+            }
+            vulkanMesh.free();
+        }
+    }
+
+    /**
+     * Record the bytes a load did not upload thanks to shared meshes, and log them.
+     * @param modelCount The number of models loaded.
+     * @param sharedMeshes The number of meshes that were shared instead of uploaded.
+     * @param bytes The number of bytes not uploaded.
+     */
+    public synchronized void recordSavings(int modelCount, int sharedMeshes, long bytes) {
+        savedBytes += bytes;
+        if (sharedMeshes > 0) {
+            EngineLogger.getInstance().log(Level.INFO, "Loaded [%d] model(s) sharing [%d] mesh(es), saving [%d] bytes.",
+                    modelCount, sharedMeshes, bytes);
+        }
+    }
+
+    /**
+     * Get the number of published meshes.
+     * @return int - The number of meshes.
+     */
+    public synchronized int getNumberOfMeshes() {
+        return meshes.size();
+    }
+
+    /**
+     * Get the number of bytes not uploaded thanks to shared meshes, since creation.
+     * @return long - The number of bytes.
+     */
+    public synchronized long getSavedBytes() {
+        return savedBytes;
+    }
+}
@@ -0,0 +1,430 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Generates level of detail chains with quadric error metrics (Garland and Heckbert 1997).
+ * Edges are collapsed onto one of their existing vertices, so every level reuses the vertex data of the mesh and
+ * only adds indices. Each pass collapses the cheapest independent edges, rejecting collapses that flip a triangle or
+ * pull a border vertex away from the border.
+ */
+public class MeshSimplifier {
+    /**
+     * The number of coefficients of a symmetric 4x4 quadric.
+     */
+    private static final int QUADRIC_SIZE = 10;
+
+    /**
+     * The minimum relative triangle reduction for a level to be kept.
+     */
+    private static final double MIN_LEVEL_REDUCTION = 0.9;
+
+    /**
+     * Generate the level of detail chains of several meshes in parallel.
+     * @param meshDataList The mesh data.
+     * @param vertexStride The size of a vertex in bytes. Positions are expected at the start of every vertex.
+     * @param numberOfLevels The maximum number of levels to generate per mesh.
+     * @param reduction The fraction of the triangles kept from one level to the next.
+     */
+    public static void generateLevels(List<MeshData> meshDataList, int vertexStride, int numberOfLevels, float reduction) {
+        meshDataList.parallelStream().forEach(meshData -> generateLevels(meshData, vertexStride, numberOfLevels, reduction));
+    }
+
+    /**
+     * Generate the level of detail chain of a mesh.
+     * @param meshData The mesh data. Receives the levels.
+     * @param vertexStride The size of a vertex in bytes. Positions are expected at the start of every vertex.
+     * @param numberOfLevels The maximum number of levels to generate.
+     * @param reduction The fraction of the triangles kept from one level to the next.
+     */
+    public static void generateLevels(MeshData meshData, int vertexStride, int numberOfLevels, float reduction) {
+        int numberOfTriangles = meshData.getNumberOfIndices() / 3;
+        int[] targets = new int[numberOfLevels];
+        int numberOfTargets = 0;
+        double target = numberOfTriangles;
+        for (int level = 0; level < numberOfLevels; level++) {
+            target *= reduction;
+            if (target < 1) {
+                break;
+            }
+            targets[numberOfTargets++] = (int) target;
+        }
+        if (numberOfTargets == 0) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        List<LodLevel> lodLevels = simplify(meshData.getVertices(), vertexStride / Constants.FLOAT_LENGTH,
+                meshData.getIndices(), Arrays.copyOf(targets, numberOfTargets));
+        meshData.setLodLevels(lodLevels);
+
+        StringBuilder report = new StringBuilder();
+        for (LodLevel lodLevel : lodLevels) {
+            int levelTriangles = lodLevel.getIndices().length / 3;
+            report.append(String.format(" [%d (%.1f%%), error %.5f]", levelTriangles,
+                    100.0 * levelTriangles / numberOfTriangles, lodLevel.getError()));
+        }
+        EngineLogger.getInstance().log(Level.FINE, "Generated [%d] level(s) of detail for [%d] triangle(s) in [%.2f] ms:%s",
+                lodLevels.size(), numberOfTriangles, (System.nanoTime() - startTime) / 1_000_000d, report);
+    }
+
+    /**
+     * Simplify a mesh down to a series of triangle counts.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param indices The triangle indices.
+     * @param targetTriangleCounts The triangle count of every level, in decreasing order.
+     * @return List&lt;LodLevel&gt; - The levels reached, possibly fewer than requested.
+     */
+    public static List<LodLevel> simplify(float[] vertices, int components, int[] indices, int[] targetTriangleCounts) {
+        int numberOfVertices = vertices.length / components;
+        double[] quadrics = new double[numberOfVertices * QUADRIC_SIZE];
+        double[] weights = new double[numberOfVertices];
+        computeQuadrics(vertices, components, indices, quadrics, weights);
+
+        List<LodLevel> lodLevels = new ArrayList<>();
+        int[] current = indices;
+        int previousTriangles = indices.length / 3;
+        double maxError = 0;
+        int level = 0;
+        int[] remap = new int[numberOfVertices];
+        boolean[] locked = new boolean[numberOfVertices];
+        while (level < targetTriangleCounts.length) {
+            int numberOfTriangles = current.length / 3;
+            int target = targetTriangleCounts[level];
+
+            // Adjacency and borders of the current mesh.
+            int[] adjacencyOffsets = new int[numberOfVertices + 1];
+            for (int index : current) {
+                adjacencyOffsets[index + 1]++;
+            }
+            for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+                adjacencyOffsets[vertex + 1] += adjacencyOffsets[vertex];
+            }
+            int[] adjacency = new int[current.length];
+            int[] fill = Arrays.copyOf(adjacencyOffsets, numberOfVertices);
+            for (int i = 0; i < current.length; i++) {
+                adjacency[fill[current[i]]++] = i / 3;
+            }
+            long[] directedEdges = new long[current.length];
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+                for (int corner = 0; corner < 3; corner++) {
+                    directedEdges[triangle * 3 + corner] = edgeKey(current[triangle * 3 + corner],
+                            current[triangle * 3 + (corner + 1) % 3]);
+                }
+            }
+            Arrays.sort(directedEdges);
+            boolean[] border = new boolean[numberOfVertices];
+            for (long edge : directedEdges) {
+                int a = (int) (edge >>> 32);
+                int b = (int) edge;
+                if (Arrays.binarySearch(directedEdges, edgeKey(b, a)) < 0) {
+                    border[a] = true;
+                    border[b] = true;
+                }
+            }
+
+            // Candidate collapses, cheapest direction of every undirected edge.
+            long[] undirectedEdges = new long[directedEdges.length];
+            int numberOfEdges = 0;
+            for (long edge : directedEdges) {
+                int a = (int) (edge >>> 32);
+                int b = (int) edge;
+                undirectedEdges[numberOfEdges++] = edgeKey(Math.min(a, b), Math.max(a, b));
+            }
+            Arrays.sort(undirectedEdges, 0, numberOfEdges);
+            int[] collapseFrom = new int[numberOfEdges];
+            int[] collapseTo = new int[numberOfEdges];
+            double[] collapseCost = new double[numberOfEdges];
+            long[] order = new long[numberOfEdges];
+            int numberOfCandidates = 0;
+            for (int e = 0; e < numberOfEdges; e++) {
+                if (e > 0 && undirectedEdges[e] == undirectedEdges[e - 1]) {
+                    continue;
+                }
+                int a = (int) (undirectedEdges[e] >>> 32);
+                int b = (int) undirectedEdges[e];
+                boolean borderEdge = border[a] && border[b] && isBorderEdge(directedEdges, a, b);
+                double costAB = canCollapse(border, borderEdge, a)
+                        ? collapseCost(vertices, components, quadrics, weights, a, b) : Double.MAX_VALUE;
+                double costBA = canCollapse(border, borderEdge, b)
+                        ? collapseCost(vertices, components, quadrics, weights, b, a) : Double.MAX_VALUE;
+                if (costAB == Double.MAX_VALUE && costBA == Double.MAX_VALUE) {
+                    continue;
+                }
+                boolean forward = costAB <= costBA;
+                collapseFrom[numberOfCandidates] = forward ? a : b;
+                collapseTo[numberOfCandidates] = forward ? b : a;
+                collapseCost[numberOfCandidates] = Math.min(costAB, costBA);
+                // Non-negative float bits sort like the floats, the low half keeps the candidate.
+                order[numberOfCandidates] = ((long) Float.floatToIntBits((float) collapseCost[numberOfCandidates]) << 32)
+                        | numberOfCandidates;
+                numberOfCandidates++;
+            }
+            Arrays.sort(order, 0, numberOfCandidates);
+
+            // Collapse the cheapest independent edges.
+            for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+                remap[vertex] = vertex;
+            }
+            Arrays.fill(locked, false);
+            int remainingTriangles = numberOfTriangles;
+            int collapses = 0;
+            for (int c = 0; c < numberOfCandidates && remainingTriangles > target; c++) {
+                int candidate = (int) order[c];
+                int from = collapseFrom[candidate];
+                int to = collapseTo[candidate];
+                if (locked[from] || locked[to]
+                        || flipsTriangle(vertices, components, current, adjacency, adjacencyOffsets, from, to)) {
+                    continue;
+                }
+                remap[from] = to;
+                for (int q = 0; q < QUADRIC_SIZE; q++) {
+                    quadrics[to * QUADRIC_SIZE + q] += quadrics[from * QUADRIC_SIZE + q];
+                }
+                weights[to] += weights[from];
+                maxError = Math.max(maxError, collapseCost[candidate]);
+                collapses++;
+
+                // Triangles holding both vertices collapse, the neighborhood waits for the next pass.
+                for (int a = adjacencyOffsets[from]; a < adjacencyOffsets[from + 1]; a++) {
+                    int triangle = adjacency[a];
+                    if (current[triangle * 3] == to || current[triangle * 3 + 1] == to || current[triangle * 3 + 2] == to) {
+                        remainingTriangles--;
+                    }
+                }
+                lockNeighborhood(current, adjacency, adjacencyOffsets, from, locked);
+                lockNeighborhood(current, adjacency, adjacencyOffsets, to, locked);
+            }
+            if (collapses == 0) {
+                break;
+            }
+
+            // Rebuild the index list without the degenerate triangles.
+            int[] next = new int[current.length];
+            int size = 0;
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+                int a = remap[current[triangle * 3]];
+                int b = remap[current[triangle * 3 + 1]];
+                int c = remap[current[triangle * 3 + 2]];
+                if (a != b && b != c && a != c) {
+                    next[size++] = a;
+                    next[size++] = b;
+                    next[size++] = c;
+                }
+            }
+            current = Arrays.copyOf(next, size);
+
+            int triangles = current.length / 3;
+            while (level < targetTriangleCounts.length && triangles <= targetTriangleCounts[level]) {
+                lodLevels.add(new LodLevel(current, (float) Math.sqrt(maxError)));
+                previousTriangles = triangles;
+                level++;
+            }
+        }
+
+        // Keep the progress made when the mesh could not be simplified down to the next target.
+        int triangles = current.length / 3;
+        if (level < targetTriangleCounts.length && triangles < previousTriangles * MIN_LEVEL_REDUCTION) {
+            lodLevels.add(new LodLevel(current, (float) Math.sqrt(maxError)));
+        }
+        return lodLevels;
+    }
+
+    /**
+     * Accumulate the area weighted plane quadrics of the triangles around every vertex.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param indices The triangle indices.
+     * @param quadrics Receives the quadric of every vertex.
+     * @param weights Receives the total weight of every quadric.
+     */
+    private static void computeQuadrics(float[] vertices, int components, int[] indices, double[] quadrics, double[] weights) {
+        for (int triangle = 0; triangle < indices.length / 3; triangle++) {
+            int p0 = indices[triangle * 3] * components;
+            int p1 = indices[triangle * 3 + 1] * components;
+            int p2 = indices[triangle * 3 + 2] * components;
+            double e1x = vertices[p1] - vertices[p0];
+            double e1y = vertices[p1 + 1] - vertices[p0 + 1];
+            double e1z = vertices[p1 + 2] - vertices[p0 + 2];
+            double e2x = vertices[p2] - vertices[p0];
+            double e2y = vertices[p2 + 1] - vertices[p0 + 1];
+            double e2z = vertices[p2 + 2] - vertices[p0 + 2];
+            double nx = e1y * e2z - e1z * e2y;
+            double ny = e1z * e2x - e1x * e2z;
+            double nz = e1x * e2y - e1y * e2x;
+            double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length == 0) {
+                continue;
+            }
+            double area = length * 0.5;
+            nx /= length;
+            ny /= length;
+            nz /= length;
+            double d = -(nx * vertices[p0] + ny * vertices[p0 + 1] + nz * vertices[p0 + 2]);
+            double[] plane = {
+                    nx * nx, nx * ny, nx * nz, nx * d,
+                    ny * ny, ny * nz, ny * d,
+                    nz * nz, nz * d,
+                    d * d};
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = indices[triangle * 3 + corner];
+                for (int q = 0; q < QUADRIC_SIZE; q++) {
+                    quadrics[vertex * QUADRIC_SIZE + q] += plane[q] * area;
+                }
+                weights[vertex] += area;
+            }
+        }
+    }
+
+    /**
+     * Compute the mean squared distance to the planes of both vertices when one is moved onto the other.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param quadrics The vertex quadrics.
+     * @param weights The quadric weights.
+     * @param from The vertex removed.
+     * @param to The vertex kept.
+     * @return double - The collapse cost.
+     */
+    private static double collapseCost(float[] vertices, int components, double[] quadrics, double[] weights,
+                                       int from, int to) {
+        double weight = weights[from] + weights[to];
+        if (weight == 0) {
+            return 0;
+        }
+        double x = vertices[to * components];
+        double y = vertices[to * components + 1];
+        double z = vertices[to * components + 2];
+        double error = evaluateQuadric(quadrics, from, x, y, z) + evaluateQuadric(quadrics, to, x, y, z);
+        return Math.max(error / weight, 0);
+    }
+
+    /**
+     * Evaluate the quadric of a vertex at a position.
+     * @param quadrics The vertex quadrics.
+     * @param vertex The vertex.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @param z The Z coordinate.
+     * @return double - The weighted sum of the squared distances to the planes of the quadric.
+     */
+    private static double evaluateQuadric(double[] quadrics, int vertex, double x, double y, double z) {
+        int q = vertex * QUADRIC_SIZE;
+        return quadrics[q] * x * x + 2 * quadrics[q + 1] * x * y + 2 * quadrics[q + 2] * x * z + 2 * quadrics[q + 3] * x
+                + quadrics[q + 4] * y * y + 2 * quadrics[q + 5] * y * z + 2 * quadrics[q + 6] * y
+                + quadrics[q + 7] * z * z + 2 * quadrics[q + 8] * z
+                + quadrics[q + 9];
+    }
+
+    /**
+     * Lock every vertex sharing a triangle with a vertex.
+     * @param indices The triangle indices.
+     * @param adjacency The triangles around every vertex.
+     * @param adjacencyOffsets The offset of the triangles of every vertex in the adjacency.
+     * @param vertex The vertex.
+     * @param locked The lock flag of every vertex.
+     */
+    private static void lockNeighborhood(int[] indices, int[] adjacency, int[] adjacencyOffsets, int vertex, boolean[] locked) {
+        for (int a = adjacencyOffsets[vertex]; a < adjacencyOffsets[vertex + 1]; a++) {
+            int triangle = adjacency[a];
+            locked[indices[triangle * 3]] = true;
+            locked[indices[triangle * 3 + 1]] = true;
+            locked[indices[triangle * 3 + 2]] = true;
+        }
+    }
+
+    /**
+     * Check if a vertex may be moved onto another one.
+     * Border vertices only move along the border, so holes and silhouettes keep their outline.
+     * @param border The border flag of every vertex.
+     * @param borderEdge Flag indicating the edge between the vertices is a border edge.
+     * @param from The vertex removed.
+     * @return boolean - True if the collapse is allowed, false otherwise.
+     */
+    private static boolean canCollapse(boolean[] border, boolean borderEdge, int from) {
+        return !border[from] || borderEdge;
+    }
+
+    /**
+     * Check if moving a vertex flips one of its remaining triangles.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param indices The triangle indices.
+     * @param adjacency The triangles around every vertex.
+     * @param adjacencyOffsets The offset of the triangles of every vertex in the adjacency.
+     * @param from The vertex removed.
+     * @param to The vertex kept.
+     * @return boolean - True if a triangle would flip, false otherwise.
+     */
+    private static boolean flipsTriangle(float[] vertices, int components, int[] indices, int[] adjacency,
+                                         int[] adjacencyOffsets, int from, int to) {
+        for (int a = adjacencyOffsets[from]; a < adjacencyOffsets[from + 1]; a++) {
+            int triangle = adjacency[a];
+            int i0 = indices[triangle * 3];
+            int i1 = indices[triangle * 3 + 1];
+            int i2 = indices[triangle * 3 + 2];
+            if (i0 == to || i1 == to || i2 == to) {
+                // The triangle collapses.
+                continue;
+            }
+            double[] before = normal(vertices, components, i0, i1, i2);
+            double[] after = normal(vertices, components, i0 == from ? to : i0, i1 == from ? to : i1, i2 == from ? to : i2);
+            if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compute the unnormalized normal of a triangle.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param i0 The first vertex.
+     * @param i1 The second vertex.
+     * @param i2 The third vertex.
+     * @return double[] - The normal, scaled by twice the triangle area.
+     */
+    private static double[] normal(float[] vertices, int components, int i0, int i1, int i2) {
+        int p0 = i0 * components;
+        int p1 = i1 * components;
+        int p2 = i2 * components;
+        double e1x = vertices[p1] - vertices[p0];
+        double e1y = vertices[p1 + 1] - vertices[p0 + 1];
+        double e1z = vertices[p1 + 2] - vertices[p0 + 2];
+        double e2x = vertices[p2] - vertices[p0];
+        double e2y = vertices[p2 + 1] - vertices[p0 + 1];
+        double e2z = vertices[p2 + 2] - vertices[p0 + 2];
+        return new double[]{e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x};
+    }
+
+    /**
+     * Check if the edge between two vertices is used by a single triangle.
+     * @param directedEdges The sorted directed edges of the mesh.
+     * @param a The first vertex.
+     * @param b The second vertex.
+     * @return boolean - True if the edge is a border edge, false otherwise.
+     */
+    private static boolean isBorderEdge(long[] directedEdges, int a, int b) {
+        boolean forward = Arrays.binarySearch(directedEdges, edgeKey(a, b)) >= 0;
+        boolean backward = Arrays.binarySearch(directedEdges, edgeKey(b, a)) >= 0;
+        return forward != backward;
+    }
+
+    /**
+     * Pack a directed edge into a sortable key.
+     * @param from The start vertex.
+     * @param to The end vertex.
+     * @return long - The key.
+     */
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package org.scarlet.vulkan.model;
+
+/**
+ * A cluster of neighbouring triangles of a mesh, stored as a contiguous range of its indices.
+ * The bounds hold the bounding sphere and the normal cone of the cluster, used to cull it as a whole.
+ */
+public class Meshlet {
+    /**
+     * The maximum number of vertices referenced by a meshlet.
+     */
+    public static final int MAX_VERTICES = 64;
+
+    /**
+     * The maximum number of triangles of a meshlet.
+     */
+    public static final int MAX_TRIANGLES = 124;
+
+    /**
+     * The number of floats of the bounds: {centerX, centerY, centerZ, radius, axisX, axisY, axisZ, cutoff}.
+     */
+    public static final int BOUNDS_SIZE = 8;
+
+    /**
+     * The first index of the meshlet in the indices of the mesh.
+     */
+    private final int firstIndex;
+
+    /**
+     * The number of indices of the meshlet.
+     */
+    private final int numberOfIndices;
+
+    /**
+     * The number of distinct vertices referenced by the meshlet.
+     */
+    private final int numberOfVertices;
+
+    /**
+     * The bounding sphere and normal cone.
+     */
+    private final float[] bounds;
+
+    /**
+     * Constructor.
+     * @param firstIndex The first index of the meshlet in the indices of the mesh.
+     * @param numberOfIndices The number of indices of the meshlet.
+     * @param numberOfVertices The number of distinct vertices referenced by the meshlet.
+     * @param bounds The bounding sphere and normal cone as {centerX, centerY, centerZ, radius, axisX, axisY, axisZ, cutoff}.
+     */
+    public Meshlet(int firstIndex, int numberOfIndices, int numberOfVertices, float[] bounds) {
+        this.firstIndex = firstIndex;
+        this.numberOfIndices = numberOfIndices;
+        this.numberOfVertices = numberOfVertices;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Get the first index.
+     * @return int - The first index of the meshlet in the indices of the mesh.
+     */
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * Get the number of indices.
+     * @return int - The number of indices.
+     */
+    public int getNumberOfIndices() {
+        return numberOfIndices;
+    }
+
+    /**
+     * Get the number of vertices.
+     * @return int - The number of distinct vertices referenced by the meshlet.
+     */
+    public int getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    /**
+     * Get the bounding sphere and normal cone.
+     * The cluster faces away from every camera position p where dot(center - p, axis) &gt;= cutoff * |center - p| + radius.
+     * A cutoff of 1 marks a cone too wide to ever cull.
+     * @return float[] - The bounds as {centerX, centerY, centerZ, radius, axisX, axisY, axisZ, cutoff}.
+     */
+    public float[] getBounds() {
+        return bounds;
+    }
+}
\ No newline at end of file
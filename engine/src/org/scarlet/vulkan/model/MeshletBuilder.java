@@ -0,0 +1,278 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Splits meshes into meshlets of at most 64 vertices and 124 triangles.
+ * Meshlets are grown greedily from a seed triangle, preferring the adjacent triangles adding the fewest new vertices,
+ * then the triangles closest to the meshlet center. A meshlet running out of adjacent triangles continues with the
+ * closest triangle left, so that the pockets left between meshlets do not end up as tiny meshlets. The triangles are
+ * reordered so that every meshlet is a contiguous range of indices, and the next meshlet is seeded next to the previous
+ * one to keep the vertex cache order coherent.
+ */
+public class MeshletBuilder {
+    /**
+     * The minimum cosine between the cone axis and every triangle normal for the normal cone to be usable.
+     */
+    private static final float MIN_CONE_COSINE = 0.1f;
+
+    /**
+     * Split mesh data into meshlets.
+     * @param meshData The mesh data.
+     * @param vertexStride The size of a vertex in bytes. Positions are expected at the start of every vertex.
+     * @return MeshData - The mesh data with its triangles reordered by meshlet, holding the meshlets.
+     */
+    public static MeshData build(MeshData meshData, int vertexStride) {
+        int components = vertexStride / Constants.FLOAT_LENGTH;
+        float[] vertices = meshData.getVertices();
+        int[] indices = meshData.getIndices();
+        int numberOfVertices = vertices.length / components;
+        int numberOfTriangles = indices.length / 3;
+        if (numberOfTriangles == 0) {
+            return meshData;
+        }
+        long startTime = System.nanoTime();
+
+        // Build the triangles adjacent to every vertex.
+        int[] adjacencyOffsets = new int[numberOfVertices + 1];
+        for (int i = 0; i < numberOfTriangles * 3; i++) {
+            adjacencyOffsets[indices[i] + 1]++;
+        }
+        for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+            adjacencyOffsets[vertex + 1] += adjacencyOffsets[vertex];
+        }
+        int[] adjacency = new int[adjacencyOffsets[numberOfVertices]];
+        int[] adjacencyFill = Arrays.copyOf(adjacencyOffsets, numberOfVertices);
+        for (int i = 0; i < numberOfTriangles * 3; i++) {
+            adjacency[adjacencyFill[indices[i]]++] = i / 3;
+        }
+
+        float[] centroids = new float[numberOfTriangles * 3];
+        for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = indices[triangle * 3 + corner] * components;
+                for (int axis = 0; axis < 3; axis++) {
+                    centroids[triangle * 3 + axis] += vertices[vertex + axis] / 3;
+                }
+            }
+        }
+
+        TriangleGrid triangleGrid = new TriangleGrid(centroids, Meshlet.MAX_TRIANGLES);
+
+        boolean[] emitted = new boolean[numberOfTriangles];
+        int[] vertexMeshlet = new int[numberOfVertices];
+        Arrays.fill(vertexMeshlet, -1);
+        int[] candidateMeshlet = new int[numberOfTriangles];
+        Arrays.fill(candidateMeshlet, -1);
+        int[] candidates = new int[numberOfTriangles];
+        int[] meshletIndices = new int[numberOfTriangles * 3];
+        List<Meshlet> meshlets = new ArrayList<>();
+        int written = 0;
+        int nextUnemitted = 0;
+        int seed = 0;
+        while (seed >= 0) {
+            int meshletNumber = meshlets.size();
+            int firstIndex = written;
+            int meshletVertices = 0;
+            int meshletTriangles = 0;
+            int numberOfCandidates = 0;
+            float[] center = new float[3];
+            float[] centroidSum = new float[3];
+            int triangle = seed;
+            while (triangle >= 0) {
+                // Add the triangle and queue the triangles sharing its new vertices.
+                emitted[triangle] = true;
+                meshletTriangles++;
+                for (int corner = 0; corner < 3; corner++) {
+                    int vertex = indices[triangle * 3 + corner];
+                    meshletIndices[written++] = vertex;
+                    if (vertexMeshlet[vertex] != meshletNumber) {
+                        vertexMeshlet[vertex] = meshletNumber;
+                        meshletVertices++;
+                        for (int a = adjacencyOffsets[vertex]; a < adjacencyOffsets[vertex + 1]; a++) {
+                            int neighbour = adjacency[a];
+                            if (!emitted[neighbour] && candidateMeshlet[neighbour] != meshletNumber) {
+                                candidateMeshlet[neighbour] = meshletNumber;
+                                candidates[numberOfCandidates++] = neighbour;
+                            }
+                        }
+                    }
+                }
+                for (int axis = 0; axis < 3; axis++) {
+                    centroidSum[axis] += centroids[triangle * 3 + axis];
+                    center[axis] = centroidSum[axis] / meshletTriangles;
+                }
+                if (meshletTriangles == Meshlet.MAX_TRIANGLES) {
+                    break;
+                }
+
+                // Pick the candidate adding the fewest vertices, then the closest one.
+                triangle = -1;
+                int bestNewVertices = Integer.MAX_VALUE;
+                float bestDistance = Float.MAX_VALUE;
+                int keptCandidates = 0;
+                for (int c = 0; c < numberOfCandidates; c++) {
+                    int candidate = candidates[c];
+                    if (emitted[candidate]) {
+                        continue;
+                    }
+                    candidates[keptCandidates++] = candidate;
+                    int newVertices = 0;
+                    for (int corner = 0; corner < 3; corner++) {
+                        if (vertexMeshlet[indices[candidate * 3 + corner]] != meshletNumber) {
+                            newVertices++;
+                        }
+                    }
+                    if (meshletVertices + newVertices > Meshlet.MAX_VERTICES || newVertices > bestNewVertices) {
+                        continue;
+                    }
+                    float distance = distanceSquared(centroids, candidate * 3, center);
+                    if (newVertices < bestNewVertices || distance < bestDistance) {
+                        triangle = candidate;
+                        bestNewVertices = newVertices;
+                        bestDistance = distance;
+                    }
+                }
+                numberOfCandidates = keptCandidates;
+
+                // Continue with the closest triangle left when the neighbourhood is exhausted, instead of leaving a
+                // small meshlet behind.
+                if (triangle < 0 && numberOfCandidates == 0 && meshletVertices + 3 <= Meshlet.MAX_VERTICES) {
+                    triangle = triangleGrid.findNearest(center, candidate -> !emitted[candidate]);
+                }
+            }
+            meshlets.add(new Meshlet(firstIndex, written - firstIndex, meshletVertices,
+                    computeBounds(vertices, components, meshletIndices, firstIndex, written - firstIndex)));
+
+            // Seed the next meshlet with the closest triangle left next to this one, or the next triangle left.
+            seed = -1;
+            float seedDistance = Float.MAX_VALUE;
+            for (int c = 0; c < numberOfCandidates; c++) {
+                int candidate = candidates[c];
+                if (!emitted[candidate]) {
+                    float distance = distanceSquared(centroids, candidate * 3, center);
+                    if (distance < seedDistance) {
+                        seed = candidate;
+                        seedDistance = distance;
+                    }
+                }
+            }
+            if (seed < 0) {
+                while (nextUnemitted < numberOfTriangles && emitted[nextUnemitted]) {
+                    nextUnemitted++;
+                }
+                seed = nextUnemitted < numberOfTriangles ? nextUnemitted : -1;
+            }
+        }
+
+        EngineLogger.getInstance().log(Level.FINE,
+                "Built [%d] meshlet(s) for [%d] triangle(s) in [%.2f] ms, [%.1f] vertices and [%.1f] triangles per meshlet.",
+                meshlets.size(), numberOfTriangles, (System.nanoTime() - startTime) / 1_000_000d,
+                meshlets.stream().mapToInt(Meshlet::getNumberOfVertices).average().orElse(0),
+                (double) numberOfTriangles / meshlets.size());
+
+        MeshData clustered = new MeshData(vertices, meshletIndices);
+        clustered.setBounds(meshData.getBounds());
+        clustered.setMeshlets(meshlets);
+        return clustered;
+    }
+
+    /**
+     * Compute the bounding sphere and normal cone of a range of triangles.
+     * @param vertices The vertex data.
+     * @param components The number of floats per vertex.
+     * @param indices The triangle indices.
+     * @param firstIndex The first index of the range.
+     * @param numberOfIndices The number of indices of the range.
+     * @return float[] - The bounds as {centerX, centerY, centerZ, radius, axisX, axisY, axisZ, cutoff}.
+     */
+    static float[] computeBounds(float[] vertices, int components, int[] indices, int firstIndex, int numberOfIndices) {
+        float[] bounds = new float[Meshlet.BOUNDS_SIZE];
+
+        // Center the sphere on the axis aligned bounds.
+        float[] minimum = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] maximum = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = firstIndex; i < firstIndex + numberOfIndices; i++) {
+            int vertex = indices[i] * components;
+            for (int axis = 0; axis < 3; axis++) {
+                minimum[axis] = Math.min(minimum[axis], vertices[vertex + axis]);
+                maximum[axis] = Math.max(maximum[axis], vertices[vertex + axis]);
+            }
+        }
+        float radiusSquared = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            bounds[axis] = (minimum[axis] + maximum[axis]) / 2;
+        }
+        for (int i = firstIndex; i < firstIndex + numberOfIndices; i++) {
+            radiusSquared = Math.max(radiusSquared, distanceSquared(vertices, indices[i] * components, bounds));
+        }
+        bounds[3] = (float) Math.sqrt(radiusSquared);
+
+        // Average the unit normals into the cone axis, then widen the cone to the most divergent normal.
+        int numberOfTriangles = numberOfIndices / 3;
+        float[] normals = new float[numberOfTriangles * 3];
+        float[] axisSum = new float[3];
+        for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+            int i = firstIndex + triangle * 3;
+            int p0 = indices[i] * components;
+            int p1 = indices[i + 1] * components;
+            int p2 = indices[i + 2] * components;
+            float e1x = vertices[p1] - vertices[p0];
+            float e1y = vertices[p1 + 1] - vertices[p0 + 1];
+            float e1z = vertices[p1 + 2] - vertices[p0 + 2];
+            float e2x = vertices[p2] - vertices[p0];
+            float e2y = vertices[p2 + 1] - vertices[p0 + 1];
+            float e2z = vertices[p2 + 2] - vertices[p0 + 2];
+            float nx = e1y * e2z - e1z * e2y;
+            float ny = e1z * e2x - e1x * e2z;
+            float nz = e1x * e2y - e1y * e2x;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length > 0) {
+                normals[triangle * 3] = nx / length;
+                normals[triangle * 3 + 1] = ny / length;
+                normals[triangle * 3 + 2] = nz / length;
+                axisSum[0] += normals[triangle * 3];
+                axisSum[1] += normals[triangle * 3 + 1];
+                axisSum[2] += normals[triangle * 3 + 2];
+            }
+        }
+        float axisLength = (float) Math.sqrt(axisSum[0] * axisSum[0] + axisSum[1] * axisSum[1] + axisSum[2] * axisSum[2]);
+        bounds[7] = 1;
+        if (axisLength > 0) {
+            float minimumCosine = 1;
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+                float cosine = (normals[triangle * 3] * axisSum[0] + normals[triangle * 3 + 1] * axisSum[1]
+                        + normals[triangle * 3 + 2] * axisSum[2]) / axisLength;
+                minimumCosine = Math.min(minimumCosine, cosine);
+            }
+            if (minimumCosine > MIN_CONE_COSINE) {
+                bounds[4] = axisSum[0] / axisLength;
+                bounds[5] = axisSum[1] / axisLength;
+                bounds[6] = axisSum[2] / axisLength;
+                // The cluster faces away when the view direction is within 90 degrees minus the cone angle of the axis.
+                bounds[7] = (float) Math.sqrt(1 - minimumCosine * minimumCosine);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Compute the squared distance between a point of an array and a position.
+     * @param points The points.
+     * @param offset The offset of the point in the array.
+     * @param position The position.
+     * @return float - The squared distance.
+     */
+    private static float distanceSquared(float[] points, int offset, float[] position) {
+        float dx = points[offset] - position[0];
+        float dy = points[offset + 1] - position[1];
+        float dz = points[offset + 2] - position[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
\ No newline at end of file
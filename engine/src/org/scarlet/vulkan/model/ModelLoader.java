@@ -0,0 +1,157 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.vulkan.buffer.CommandPool;
+import org.scarlet.vulkan.buffer.StagingRingBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.queue.Queue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Loads models into the geometry arena without blocking the caller.
+ * Model data is prepared on worker threads, then uploaded by a single upload thread that owns the command pool and
+ * the staging ring buffer.
+ */
+public class ModelLoader {
+    /**
+     * The command pool of the upload thread.
+     */
+    private final CommandPool commandPool;
+
+    /**
+     * The queue to submit the uploads to.
+     */
+    private final Queue queue;
+
+    /**
+     * The staging ring buffer of the upload thread.
+     */
+    private final StagingRingBuffer stagingRingBuffer;
+
+    /**
+     * The geometry arena storing the vertex and index data.
+     */
+    private final GeometryArena geometryArena;
+
+    /**
+     * The registry sharing identical meshes.
+     */
+    private final MeshRegistry meshRegistry;
+
+    /**
+     * The upload thread.
+     */
+    private final ExecutorService uploadExecutor;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queue The queue to submit the uploads to.
+     * @param geometryArena The geometry arena.
+     * @param meshRegistry The registry sharing identical meshes.
+     * @param stagingBufferSize The size of the staging ring buffer in bytes.
+     */
+    public ModelLoader(LogicalDevice logicalDevice, Queue queue, GeometryArena geometryArena, MeshRegistry meshRegistry,
+                       long stagingBufferSize) {
+        this.queue = queue;
+        this.geometryArena = geometryArena;
+        this.meshRegistry = meshRegistry;
+        commandPool = new CommandPool(logicalDevice, queue.getQueueFamilyIndex());
+        stagingRingBuffer = new StagingRingBuffer(logicalDevice, stagingBufferSize);
+        uploadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "model-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Wait for the pending uploads and release resources.
+     */
+    public void cleanup() {
+        uploadExecutor.shutdown();
+        try {
+            if (!uploadExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                EngineLogger.getInstance().log(Level.WARNING, "Model uploads did not finish in time.");
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        stagingRingBuffer.cleanup();
+        commandPool.cleanup();
+    }
+
+    /**
+     * Load models asynchronously.
+     * The future completes once the fences of the uploads have signaled, so the models can be drawn right away.
+     * @param modelDataList The list of model data.
+     * @return CompletableFuture&lt;List&lt;VulkanModel&gt;&gt; - The Vulkan models.
+     */
+    public CompletableFuture<List<VulkanModel>> loadModelsAsync(List<ModelData> modelDataList) {
+        List<CompletableFuture<ModelData>> preparedModels = modelDataList.stream()
+                .map(modelData -> CompletableFuture.supplyAsync(() -> prepare(modelData)))
+                .toList();
+        return CompletableFuture.allOf(preparedModels.toArray(CompletableFuture[]::new))
+                .thenApplyAsync(ignored -> VulkanModel.transformModels(
+                        preparedModels.stream().map(CompletableFuture::join).toList(),
+                        commandPool, queue, stagingRingBuffer, geometryArena, meshRegistry), uploadExecutor);
+    }
+
+    /**
+     * Prepare model data for the upload.
+     * Checks that every mesh holds whole vertices and only references its own vertices, then splits the meshes into
+     * meshlets and generates the levels of detail, the bounds and the content hashes used to share identical meshes.
+     * @param modelData The model data.
+     * @return ModelData - The prepared model data.
+     */
+    private ModelData prepare(ModelData modelData) {
+        int vertexStride = VertexBufferStructure.VERTEX_STRIDE;
+        for (MeshData meshData : modelData.getMeshDataList()) {
+            if (meshData.getVerticesSize() % vertexStride != 0) {
+                throw new IllegalArgumentException("Model [" + modelData.getModelID() + "] has a partial vertex.");
+            }
+            long numberOfVertices = meshData.getVerticesSize() / vertexStride;
+            for (int i = 0; i < meshData.getNumberOfIndices(); i++) {
+                int index = meshData.getIndex(i);
+                if (index < 0 || index >= numberOfVertices) {
+                    throw new IllegalArgumentException("Model [" + modelData.getModelID() + "] references vertex "
+                            + index + " of " + numberOfVertices + ".");
+                }
+            }
+        }
+        EngineProperties engineProperties = EngineProperties.getInstance();
+        ModelData preparedModelData = modelData;
+        if (engineProperties.isMeshOptimization()) {
+            // Off-heap meshes are mapped from the mesh cache and are uploaded as they are.
+            List<MeshData> meshDataList = modelData.getMeshDataList().stream()
+                    .map(meshData -> meshData.isOffHeap() ? meshData : MeshOptimizer.optimize(meshData, vertexStride))
+                    .toList();
+            preparedModelData = new ModelData(modelData.getModelID(), meshDataList);
+        }
+        if (engineProperties.isClusterCulling()) {
+            List<MeshData> meshDataList = preparedModelData.getMeshDataList().stream()
+                    .map(meshData -> meshData.isOffHeap() ? meshData : MeshletBuilder.build(meshData, vertexStride))
+                    .toList();
+            preparedModelData = new ModelData(modelData.getModelID(), meshDataList);
+        }
+        if (engineProperties.getLodLevels() > 0) {
+            MeshSimplifier.generateLevels(preparedModelData.getMeshDataList(), vertexStride,
+                    engineProperties.getLodLevels(), engineProperties.getLodReduction());
+        }
+        for (MeshData meshData : preparedModelData.getMeshDataList()) {
+            if (meshData.getBounds() == null) {
+                meshData.setBounds(meshData.computeBounds());
+            }
+            meshData.getContentHash();
+        }
+        return preparedModelData;
+    }
+}
\ No newline at end of file
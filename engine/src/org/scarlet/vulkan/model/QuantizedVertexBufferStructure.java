@@ -0,0 +1,102 @@
+package org.scarlet.vulkan.model;
+
+import org.lwjgl.vulkan.VkPipelineVertexInputStateCreateInfo;
+import org.lwjgl.vulkan.VkVertexInputAttributeDescription;
+import org.lwjgl.vulkan.VkVertexInputBindingDescription;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Defines how to extract quantized data from the underlying buffer.
+ * Positions are stored as half floats, padded to four components since three component half formats are optional.
+ */
+public class QuantizedVertexBufferStructure extends VertexInputStateInformation {
+    /**
+     * The number of attributes.
+     */
+    private static final int NUMBER_OF_ATTRIBUTES = 1;
+
+    /**
+     * The number of stored position components.
+     */
+    public static final int POSITION_COMPONENTS = 4;
+
+    /**
+     * The size of a half float in bytes.
+     */
+    public static final int HALF_FLOAT_LENGTH = 2;
+
+    /**
+     * The size of a vertex in bytes.
+     */
+    public static final int VERTEX_STRIDE = POSITION_COMPONENTS * HALF_FLOAT_LENGTH;
+
+    /**
+     * The format of each attribute, by location.
+     */
+    private static final int[] ATTRIBUTE_FORMATS = {VK_FORMAT_R16G16B16A16_SFLOAT};
+
+    /**
+     * The offset of each attribute inside a vertex, by location.
+     */
+    private static final int[] ATTRIBUTE_OFFSETS = {0};
+
+    /**
+     * The vertex input attribute description buffer.
+     */
+    private final VkVertexInputAttributeDescription.Buffer vertexInputAttributes;
+
+    /**
+     * The vertex input binding description buffer.
+     */
+    private final VkVertexInputBindingDescription.Buffer vertexInputBindings;
+
+    /**
+     * Constructor.
+     */
+    public QuantizedVertexBufferStructure() {
+        vertexInputAttributes = VkVertexInputAttributeDescription.calloc(NUMBER_OF_ATTRIBUTES);
+        vertexInputBindings = VkVertexInputBindingDescription.calloc(1);
+        vertexInfo = VkPipelineVertexInputStateCreateInfo.calloc();
+
+        for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+            vertexInputAttributes.get(i)
+                    .binding(0)
+                    .location(i)
+                    .format(ATTRIBUTE_FORMATS[i])
+                    .offset(ATTRIBUTE_OFFSETS[i]);
+        }
+        vertexInputBindings.get(0)
+                .binding(0)
+                .stride(VERTEX_STRIDE)
+                .inputRate(VK_VERTEX_INPUT_RATE_VERTEX);
+        vertexInfo.sType(VK_STRUCTURE_TYPE_PIPELINE_VERTEX_INPUT_STATE_CREATE_INFO)
+                .pVertexBindingDescriptions(vertexInputBindings)
+                .pVertexAttributeDescriptions(vertexInputAttributes);
+    }
+
+    /**
+     * Free resources.
+     */
+    public void cleanup() {
+        super.cleanup();
+        vertexInputBindings.free();
+        vertexInputAttributes.free();
+    }
+
+    /**
+     * Get the format of each attribute.
+     * @return int[] - The attribute formats, by location.
+     */
+    public static int[] getAttributeFormats() {
+        return ATTRIBUTE_FORMATS.clone();
+    }
+
+    /**
+     * Get the offset of each attribute inside a vertex.
+     * @return int[] - The attribute offsets, by location.
+     */
+    public static int[] getAttributeOffsets() {
+        return ATTRIBUTE_OFFSETS.clone();
+    }
+}
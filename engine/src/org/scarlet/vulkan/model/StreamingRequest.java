@@ -0,0 +1,221 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.vulkan.buffer.UploadSource;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A model waiting to be streamed into the geometry arena.
+ * Holds the copies needed to fill the ranges of its meshes and the position of the next chunk to upload.
+ */
+class StreamingRequest {
+    /**
+     * The model being streamed.
+     */
+    private final VulkanModel vulkanModel;
+
+    /**
+     * Flag indicating if the request is processed before regular requests.
+     */
+    private final boolean urgent;
+
+    /**
+     * The order in which the request was made.
+     */
+    private final long sequenceNumber;
+
+    /**
+     * The future completed when the model is ready to be drawn.
+     */
+    private final CompletableFuture<VulkanModel> future;
+
+    /**
+     * The destination buffers of the copies.
+     */
+    private final List<VulkanBuffer> destinations;
+
+    /**
+     * The offsets in the destination buffers.
+     */
+    private final List<Long> destinationOffsets;
+
+    /**
+     * The sizes of the copies.
+     */
+    private final List<Long> sizes;
+
+    /**
+     * The sources of the copies.
+     */
+    private final List<UploadSource> sources;
+
+    /**
+     * The index of the copy being uploaded.
+     */
+    private int copyIndex;
+
+    /**
+     * The number of bytes of the current copy already uploaded.
+     */
+    private long copyOffset;
+
+    /**
+     * The number of bytes left to upload.
+     */
+    private long remainingBytes;
+
+    /**
+     * The upload submission holding the last chunk of the request.
+     */
+    private long lastSubmission;
+
+    /**
+     * Constructor.
+     * @param vulkanModel The model being streamed.
+     * @param urgent Flag indicating an urgent request.
+     * @param sequenceNumber The order in which the request was made.
+     */
+    StreamingRequest(VulkanModel vulkanModel, boolean urgent, long sequenceNumber) {
+        this.vulkanModel = vulkanModel;
+        this.urgent = urgent;
+        this.sequenceNumber = sequenceNumber;
+        future = new CompletableFuture<>();
+        destinations = new ArrayList<>();
+        destinationOffsets = new ArrayList<>();
+        sizes = new ArrayList<>();
+        sources = new ArrayList<>();
+    }
+
+    /**
+     * Add a copy to the request.
+     * @param destination The destination buffer.
+     * @param destinationOffset The offset in the destination buffer.
+     * @param size The number of bytes to copy.
+     * @param source The source of the data.
+     */
+    void addCopy(VulkanBuffer destination, long destinationOffset, long size, UploadSource source) {
+        if (size == 0) {
+            return;
+        }
+        destinations.add(destination);
+        destinationOffsets.add(destinationOffset);
+        sizes.add(size);
+        sources.add(source);
+        remainingBytes += size;
+    }
+
+    /**
+     * Check if every chunk was uploaded.
+     * @return boolean - True if the request has no chunk left, false otherwise.
+     */
+    boolean isUploaded() {
+        return copyIndex >= sizes.size();
+    }
+
+    /**
+     * Get the size of the next chunk.
+     * @param maxChunkSize The maximum chunk size.
+     * @return long - The size of the next chunk.
+     */
+    long getNextChunkSize(long maxChunkSize) {
+        return Math.min(maxChunkSize, sizes.get(copyIndex) - copyOffset);
+    }
+
+    /**
+     * Get the destination buffer of the next chunk.
+     * @return VulkanBuffer - The destination buffer.
+     */
+    VulkanBuffer getNextDestination() {
+        return destinations.get(copyIndex);
+    }
+
+    /**
+     * Get the offset in the destination buffer of the next chunk.
+     * @return long - The destination offset.
+     */
+    long getNextDestinationOffset() {
+        return destinationOffsets.get(copyIndex) + copyOffset;
+    }
+
+    /**
+     * Get the source of the next chunk.
+     * @return UploadSource - The source, addressed relative to the start of the chunk.
+     */
+    UploadSource getNextSource() {
+        UploadSource source = sources.get(copyIndex);
+        long sourceOffset = copyOffset;
+        return (address, offset, length) -> source.write(address, sourceOffset + offset, length);
+    }
+
+    /**
+     * Move past an uploaded chunk.
+     * @param chunkSize The size of the uploaded chunk.
+     */
+    void advance(long chunkSize) {
+        copyOffset += chunkSize;
+        remainingBytes -= chunkSize;
+        if (copyOffset == sizes.get(copyIndex)) {
+            copyIndex++;
+            copyOffset = 0;
+        }
+    }
+
+    /**
+     * Get the model being streamed.
+     * @return VulkanModel - The model.
+     */
+    VulkanModel getVulkanModel() {
+        return vulkanModel;
+    }
+
+    /**
+     * Check if the request is urgent.
+     * @return boolean - True if urgent, false otherwise.
+     */
+    boolean isUrgent() {
+        return urgent;
+    }
+
+    /**
+     * Get the order in which the request was made.
+     * @return long - The sequence number.
+     */
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Get the future completed when the model is ready to be drawn.
+     * @return CompletableFuture&lt;VulkanModel&gt; - The future.
+     */
+    CompletableFuture<VulkanModel> getFuture() {
+        return future;
+    }
+
+    /**
+     * Get the number of bytes left to upload.
+     * @return long - The number of bytes.
+     */
+    long getRemainingBytes() {
+        return remainingBytes;
+    }
+
+    /**
+     * Get the upload submission holding the last chunk of the request.
+     * @return long - The submission number.
+     */
+    long getLastSubmission() {
+        return lastSubmission;
+    }
+
+    /**
+     * Set the upload submission holding the last chunk of the request.
+     * @param lastSubmission The submission number.
+     */
+    void setLastSubmission(long lastSubmission) {
+        this.lastSubmission = lastSubmission;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,267 @@
+package org.scarlet.vulkan.model;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.buffer.BufferUploader;
+import org.scarlet.vulkan.buffer.CommandPool;
+import org.scarlet.vulkan.buffer.StagingRingBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.queue.Queue;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
+
+/**
+ * Streams models into the geometry arena a few chunks per frame.
+ * Each frame uploads chunks until a byte budget or a time budget is spent, urgent requests first, so large loads
+ * are spread over many frames instead of stalling one.
+ */
+public class StreamingUploadScheduler {
+    /**
+     * The maximum size of a chunk.
+     */
+    private static final long MAX_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * The command pool.
+     */
+    private final CommandPool commandPool;
+
+    /**
+     * The staging ring buffer.
+     */
+    private final StagingRingBuffer stagingRingBuffer;
+
+    /**
+     * The buffer uploader.
+     */
+    private final BufferUploader uploader;
+
+    /**
+     * The geometry arena storing the vertex and index data.
+     */
+    private final GeometryArena geometryArena;
+
+    /**
+     * The registry sharing identical meshes.
+     */
+    private final MeshRegistry meshRegistry;
+
+    /**
+     * The number of bytes that may be uploaded per frame.
+     */
+    private final long frameByteBudget;
+
+    /**
+     * The time that may be spent uploading per frame, in nanoseconds.
+     */
+    private final long frameTimeBudget;
+
+    /**
+     * The requests with chunks left to upload, urgent requests first, then in request order.
+     */
+    private final PriorityQueue<StreamingRequest> pendingRequests;
+
+    /**
+     * The requests whose chunks were all submitted, in submission order.
+     */
+    private final Deque<StreamingRequest> submittedRequests;
+
+    /**
+     * The number of requests made.
+     */
+    private long requestCount;
+
+    /**
+     * The number of bytes uploaded during the last frame.
+     */
+    private long lastFrameBytes;
+
+    /**
+     * The time spent uploading during the last frame, in nanoseconds.
+     */
+    private long lastFrameTime;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queue The queue to submit the uploads to.
+     * @param geometryArena The geometry arena.
+     * @param meshRegistry The registry sharing identical meshes.
+     * @param stagingBufferSize The size of the staging ring buffer in bytes.
+     * @param frameByteBudget The number of bytes that may be uploaded per frame.
+     * @param frameTimeBudget The time that may be spent uploading per frame, in nanoseconds.
+     */
+    public StreamingUploadScheduler(LogicalDevice logicalDevice, Queue queue, GeometryArena geometryArena,
+                                    MeshRegistry meshRegistry, long stagingBufferSize, long frameByteBudget,
+                                    long frameTimeBudget) {
+        EngineLogger.getInstance().log(Level.INFO, "Creating streaming upload scheduler. Budget: [%d] bytes, [%d] ns per frame.",
+                frameByteBudget, frameTimeBudget);
+        this.geometryArena = geometryArena;
+        this.meshRegistry = meshRegistry;
+        this.frameByteBudget = frameByteBudget;
+        this.frameTimeBudget = frameTimeBudget;
+        commandPool = new CommandPool(logicalDevice, queue.getQueueFamilyIndex());
+        stagingRingBuffer = new StagingRingBuffer(logicalDevice, stagingBufferSize);
+        uploader = new BufferUploader(commandPool, queue, stagingRingBuffer);
+        pendingRequests = new PriorityQueue<>(Comparator
+                .comparing((StreamingRequest request) -> !request.isUrgent())
+                .thenComparingLong(StreamingRequest::getSequenceNumber));
+        submittedRequests = new ArrayDeque<>();
+    }
+
+    /**
+     * Wait for the submitted uploads and release resources.
+     * Requests that were not fully uploaded are cancelled.
+     */
+    public synchronized void cleanup() {
+        uploader.finish();
+        completeSubmittedRequests();
+        for (StreamingRequest request : pendingRequests) {
+            request.getVulkanModel().cleanup();
+            request.getFuture().completeExceptionally(new CancellationException("Streaming upload cancelled."));
+        }
+        pendingRequests.clear();
+        stagingRingBuffer.cleanup();
+        commandPool.cleanup();
+    }
+
+    /**
+     * Request a model to be streamed.
+     * The geometry ranges are reserved immediately, the data is uploaded over the next frames.
+     * @param modelData The model data.
+     * @param urgent Flag indicating the model must be uploaded before regular requests.
+     * @return CompletableFuture&lt;VulkanModel&gt; - Completed on the frame thread once the model can be drawn.
+     */
+    public synchronized CompletableFuture<VulkanModel> submit(ModelData modelData, boolean urgent) {
+        VulkanModel vulkanModel = new VulkanModel(modelData.getModelID());
+        StreamingRequest request = new StreamingRequest(vulkanModel, urgent, requestCount++);
+        int vertexStride = geometryArena.getVertexStride();
+        Map<MeshHash, VulkanMesh> requestMeshes = new HashMap<>();
+        int sharedMeshes = 0;
+        long savedBytes = 0;
+        for (MeshData meshData : modelData.getMeshDataList()) {
+            MeshEncoding meshEncoding = new MeshEncoding(meshData, vertexStride);
+            VulkanMesh sharedMesh = meshRegistry.acquire(meshData.getContentHash(), requestMeshes);
+            if (sharedMesh != null) {
+                vulkanModel.getVulkanMeshList().add(sharedMesh);
+                sharedMeshes++;
+                savedBytes += meshEncoding.getVerticesSize() + meshEncoding.getIndicesSize();
+                continue;
+            }
+            GeometryAllocation geometryAllocation = geometryArena.allocate(
+                    meshEncoding.getNumberOfVertices(),
+                    meshEncoding.getNumberOfIndexSlots());
+            GeometryPage page = geometryAllocation.getPage();
+            request.addCopy(page.getVertexBuffer(),
+                    (long) geometryAllocation.getVertexOffset() * vertexStride,
+                    meshEncoding.getVerticesSize(),
+                    meshEncoding::writeVertices);
+            request.addCopy(page.getIndexBuffer(),
+                    (long) geometryAllocation.getFirstIndex() * Constants.INT_LENGTH,
+                    meshEncoding.getIndicesSize(),
+                    meshEncoding::writeIndices);
+            VulkanMesh vulkanMesh = new VulkanMesh(geometryAllocation, meshEncoding, meshRegistry,
+                    meshData.getContentHash());
+            requestMeshes.put(meshData.getContentHash(), vulkanMesh);
+            vulkanModel.getVulkanMeshList().add(vulkanMesh);
+        }
+        meshRegistry.recordSavings(1, sharedMeshes, savedBytes);
+        if (request.isUploaded()) {
+            meshRegistry.publish(vulkanModel);
+            request.getFuture().complete(vulkanModel);
+        }
+        else {
+            pendingRequests.add(request);
+        }
+        return request.getFuture();
+    }
+
+    /**
+     * Complete the requests whose uploads finished and upload the next chunks within the frame budget.
+     * Must be called once per frame, before recording.
+     */
+    public synchronized void processFrame() {
+        long startTime = System.nanoTime();
+        completeSubmittedRequests();
+
+        long frameBytes = 0;
+        while (!pendingRequests.isEmpty() && frameBytes < frameByteBudget
+                && System.nanoTime() - startTime < frameTimeBudget) {
+            StreamingRequest request = pendingRequests.peek();
+            // Chunks hold whole vertex components and indices.
+            long maxChunkSize = Math.min(MAX_CHUNK_SIZE, frameByteBudget - frameBytes) & -Constants.INT_LENGTH;
+            if (maxChunkSize == 0) {
+                break;
+            }
+            long chunkSize = request.getNextChunkSize(maxChunkSize);
+            if (!uploader.tryUpload(request.getNextDestination(), request.getNextDestinationOffset(), chunkSize,
+                    request.getNextSource())) {
+                // The staging ring is full of chunks the GPU has not read yet.
+                break;
+            }
+            request.advance(chunkSize);
+            frameBytes += chunkSize;
+            if (request.isUploaded()) {
+                pendingRequests.poll();
+                request.setLastSubmission(uploader.getRecordingSubmission());
+                submittedRequests.addLast(request);
+            }
+        }
+        uploader.flush();
+
+        lastFrameBytes = frameBytes;
+        lastFrameTime = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Get the number of requests not yet ready to be drawn.
+     * @return int - The queue depth.
+     */
+    public synchronized int getQueueDepth() {
+        return pendingRequests.size() + submittedRequests.size();
+    }
+
+    /**
+     * Get the number of bytes left to upload.
+     * @return long - The number of bytes.
+     */
+    public synchronized long getPendingBytes() {
+        return pendingRequests.stream().mapToLong(StreamingRequest::getRemainingBytes).sum();
+    }
+
+    /**
+     * Get the number of bytes uploaded during the last frame.
+     * @return long - The number of bytes.
+     */
+    public synchronized long getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    /**
+     * Get the time spent uploading during the last frame.
+     * @return long - The time in nanoseconds.
+     */
+    public synchronized long getLastFrameTime() {
+        return lastFrameTime;
+    }
+
+    /**
+     * Complete the requests whose last submission finished.
+     */
+    private void completeSubmittedRequests() {
+        long completedSubmissions = uploader.poll();
+        while (!submittedRequests.isEmpty() && submittedRequests.peekFirst().getLastSubmission() <= completedSubmissions) {
+            StreamingRequest request = submittedRequests.removeFirst();
+            meshRegistry.publish(request.getVulkanModel());
+            request.getFuture().complete(request.getVulkanModel());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package org.scarlet.vulkan.model;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Uniform grid over the centroids of the triangles of a mesh, used to find the triangles closest to a position.
+ */
+class TriangleGrid {
+    /**
+     * The maximum number of cells per triangle.
+     */
+    private static final int MAX_CELLS_PER_TRIANGLE = 2;
+
+    /**
+     * The maximum number of cells along an axis.
+     */
+    private static final int MAX_DIMENSION = 1 << 20;
+
+    /**
+     * The triangle centroids, 3 floats each.
+     */
+    private final float[] centroids;
+
+    /**
+     * The minimum corner of the grid.
+     */
+    private final float[] origin;
+
+    /**
+     * The size of a cell.
+     */
+    private final float cellSize;
+
+    /**
+     * The number of cells along every axis.
+     */
+    private final int[] dimensions;
+
+    /**
+     * The first entry of every cell in the triangle list, followed by the total number of entries.
+     */
+    private final int[] cellOffsets;
+
+    /**
+     * The triangles sorted by cell.
+     */
+    private final int[] cellTriangles;
+
+    /**
+     * Constructor.
+     * The cells are sized to hold about the given number of triangles of a surface spread over the grid.
+     * @param centroids The triangle centroids, 3 floats each.
+     * @param trianglesPerCell The number of triangles per cell aimed for.
+     */
+    TriangleGrid(float[] centroids, int trianglesPerCell) {
+        this.centroids = centroids;
+        int numberOfTriangles = centroids.length / 3;
+        origin = new float[]{Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] extent = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+            for (int axis = 0; axis < 3; axis++) {
+                origin[axis] = Math.min(origin[axis], centroids[triangle * 3 + axis]);
+                extent[axis] = Math.max(extent[axis], centroids[triangle * 3 + axis]);
+            }
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            extent[axis] -= origin[axis];
+        }
+
+        // Grow the cells until the grid stays proportional to the triangle count.
+        float largestExtent = Math.max(extent[0], Math.max(extent[1], extent[2]));
+        float size = Math.max(largestExtent * (float) Math.sqrt((double) trianglesPerCell / numberOfTriangles), Float.MIN_NORMAL);
+        dimensions = new int[3];
+        long numberOfCells;
+        do {
+            numberOfCells = 1;
+            for (int axis = 0; axis < 3; axis++) {
+                dimensions[axis] = (int) Math.min(extent[axis] / size, MAX_DIMENSION) + 1;
+                numberOfCells *= dimensions[axis];
+            }
+            size *= 2;
+        }
+        while (numberOfCells > (long) numberOfTriangles * MAX_CELLS_PER_TRIANGLE + 1);
+        this.cellSize = size / 2;
+
+        cellOffsets = new int[(int) numberOfCells + 1];
+        int[] triangleCells = new int[numberOfTriangles];
+        for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+            triangleCells[triangle] = cellOf(centroids, triangle * 3);
+            cellOffsets[triangleCells[triangle] + 1]++;
+        }
+        for (int cell = 0; cell < numberOfCells; cell++) {
+            cellOffsets[cell + 1] += cellOffsets[cell];
+        }
+        cellTriangles = new int[numberOfTriangles];
+        int[] cellFill = new int[(int) numberOfCells];
+        for (int triangle = 0; triangle < numberOfTriangles; triangle++) {
+            int cell = triangleCells[triangle];
+            cellTriangles[cellOffsets[cell] + cellFill[cell]++] = triangle;
+        }
+    }
+
+    /**
+     * Find the closest accepted triangle in the cells around a position.
+     * @param position The position.
+     * @param accepted The test accepting a triangle.
+     * @return int - The closest accepted triangle, or -1 if none was found in the neighbouring cells.
+     */
+    int findNearest(float[] position, IntPredicate accepted) {
+        int[] center = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            center[axis] = Math.max(0, Math.min(dimensions[axis] - 1, (int) ((position[axis] - origin[axis]) / cellSize)));
+        }
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int x = Math.max(center[0] - 1, 0); x <= Math.min(center[0] + 1, dimensions[0] - 1); x++) {
+            for (int y = Math.max(center[1] - 1, 0); y <= Math.min(center[1] + 1, dimensions[1] - 1); y++) {
+                for (int z = Math.max(center[2] - 1, 0); z <= Math.min(center[2] + 1, dimensions[2] - 1); z++) {
+                    int cell = (x * dimensions[1] + y) * dimensions[2] + z;
+                    for (int entry = cellOffsets[cell]; entry < cellOffsets[cell + 1]; entry++) {
+                        int triangle = cellTriangles[entry];
+                        float dx = centroids[triangle * 3] - position[0];
+                        float dy = centroids[triangle * 3 + 1] - position[1];
+                        float dz = centroids[triangle * 3 + 2] - position[2];
+                        float distance = dx * dx + dy * dy + dz * dz;
+                        if (distance < nearestDistance && accepted.test(triangle)) {
+                            nearest = triangle;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Get the cell holding a point.
+     * @param points The points.
+     * @param offset The offset of the point in the array.
+     * @return int - The cell.
+     */
+    private int cellOf(float[] points, int offset) {
+        int[] coordinates = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            coordinates[axis] = Math.min(dimensions[axis] - 1, (int) ((points[offset + axis] - origin[axis]) / cellSize));
+        }
+        return (coordinates[0] * dimensions[1] + coordinates[1]) * dimensions[2] + coordinates[2];
+    }
+}
\ No newline at end of file
@@ -21,6 +21,21 @@ public class VertexBufferStructure extends VertexInputStateInformation {
      */
     private static final int POSITION_COMPONENTS = 3;
 
+    /**
+     * The size of a vertex in bytes.
+     */
+    public static final int VERTEX_STRIDE = POSITION_COMPONENTS * Constants.FLOAT_LENGTH;
+
+    /**
+     * The format of each attribute, by location.
+     */
+    private static final int[] ATTRIBUTE_FORMATS = {VK_FORMAT_R32G32B32_SFLOAT};
+
+    /**
+     * The offset of each attribute inside a vertex, by location.
+     */
+    private static final int[] ATTRIBUTE_OFFSETS = {0};
+
     /**
      * The vertex input attribute description buffer.
      */
@@ -39,16 +54,16 @@ public class VertexBufferStructure extends VertexInputStateInformation {
         vertexInputBindings = VkVertexInputBindingDescription.calloc(1);
         vertexInfo = VkPipelineVertexInputStateCreateInfo.calloc();
 
-        int i = 0;
-        // Position.
-        vertexInputAttributes.get(i)
-                .binding(0)
-                .location(i)
-                .format(VK_FORMAT_R32G32B32_SFLOAT)
-                .offset(0);
+        for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+            vertexInputAttributes.get(i)
+                    .binding(0)
+                    .location(i)
+                    .format(ATTRIBUTE_FORMATS[i])
+                    .offset(ATTRIBUTE_OFFSETS[i]);
+        }
         vertexInputBindings.get(0)
                 .binding(0)
-                .stride(POSITION_COMPONENTS * Constants.FLOAT_LENGTH)
+                .stride(VERTEX_STRIDE)
                 .inputRate(VK_VERTEX_INPUT_RATE_VERTEX);
         vertexInfo.sType(VK_STRUCTURE_TYPE_PIPELINE_VERTEX_INPUT_STATE_CREATE_INFO)
                 .pVertexBindingDescriptions(vertexInputBindings)
@@ -63,4 +78,20 @@ public class VertexBufferStructure extends VertexInputStateInformation {
         vertexInputBindings.free();
         vertexInputAttributes.free();
     }
+
+    /**
+     * Get the format of each attribute.
+     * @return int[] - The attribute formats, by location.
+     */
+    public static int[] getAttributeFormats() {
+        return ATTRIBUTE_FORMATS.clone();
+    }
+
+    /**
+     * Get the offset of each attribute inside a vertex.
+     * @return int[] - The attribute offsets, by location.
+     */
+    public static int[] getAttributeOffsets() {
+        return ATTRIBUTE_OFFSETS.clone();
+    }
 }
\ No newline at end of file
@@ -1,67 +1,287 @@
 package org.scarlet.vulkan.model;
 
-import org.scarlet.vulkan.buffer.VulkanBuffer;
+import org.scarlet.vulkan.Constants;
+
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.VK_INDEX_TYPE_UINT16;
 
 /**
- * References to the GPU buffers storing the vertex and index information.
+ * References to the ranges of the geometry arena storing the vertex and index information.
  */
 public class VulkanMesh {
     /**
-     * Buffer storing data for the vertices.
+     * The vertex and index ranges.
+     */
+    private GeometryAllocation geometryAllocation;
+
+    /**
+     * The Vulkan index type.
+     */
+    private int indexType;
+
+    /**
+     * The first index of every level of detail, relative to the first index of the mesh.
+     */
+    private int[] levelFirstIndices;
+
+    /**
+     * The number of indices of every level of detail.
+     */
+    private int[] levelIndexCounts;
+
+    /**
+     * The geometric error of every level of detail, in model units.
+     */
+    private float[] levelErrors;
+
+    /**
+     * The bounding sphere as {centerX, centerY, centerZ, radius}, or null if unknown.
+     */
+    private float[] boundingSphere;
+
+    /**
+     * The first index of every cluster of the full resolution mesh, relative to the first index of the mesh.
+     */
+    private int[] clusterFirstIndices;
+
+    /**
+     * The number of indices of every cluster.
+     */
+    private int[] clusterIndexCounts;
+
+    /**
+     * The bounding sphere and normal cone of every cluster, {@link Meshlet#BOUNDS_SIZE} floats each.
+     */
+    private float[] clusterBounds;
+
+    /**
+     * The registry sharing the mesh, or null if the mesh is not shared.
      */
-    private VulkanBuffer vertexBuffer;
+    private MeshRegistry meshRegistry;
 
     /**
-     * Buffer storing data for the indices.
+     * The content hash, or null if the mesh is not shared.
      */
-    private VulkanBuffer indexBuffer;
+    private MeshHash contentHash;
 
     /**
-     * The total number of indices.
+     * The number of models using the mesh. Guarded by the mesh registry.
      */
-    private int numberOfIndices;
+    private int referenceCount;
 
     /**
      * Constructor.
-     * @param vertexBuffer The vertex buffer.
-     * @param indexBuffer The index buffer.
-     * @param numberOfIndices The number of indices.
+     * @param geometryAllocation The vertex and index ranges.
+     * @param meshEncoding The encoding of the mesh data stored in the ranges.
+     */
+    public VulkanMesh(GeometryAllocation geometryAllocation, MeshEncoding meshEncoding) {
+        this(geometryAllocation, meshEncoding, null, null);
+    }
+
+    /**
+     * Constructor for a mesh shared through a mesh registry.
+     * @param geometryAllocation The vertex and index ranges.
+     * @param meshEncoding The encoding of the mesh data stored in the ranges.
+     * @param meshRegistry The mesh registry, or null if the mesh is not shared.
+     * @param contentHash The content hash of the mesh data, or null if the mesh is not shared.
      */
-    public VulkanMesh(VulkanBuffer vertexBuffer, VulkanBuffer indexBuffer, int numberOfIndices) {
-        this.vertexBuffer = vertexBuffer;
-        this.indexBuffer = indexBuffer;
-        this.numberOfIndices = numberOfIndices;
+    public VulkanMesh(GeometryAllocation geometryAllocation, MeshEncoding meshEncoding,
+                      MeshRegistry meshRegistry, MeshHash contentHash) {
+        this.geometryAllocation = geometryAllocation;
+        this.meshRegistry = meshRegistry;
+        this.contentHash = contentHash;
+        indexType = meshEncoding.getIndexType();
+        int numberOfLevels = meshEncoding.getNumberOfLevels();
+        levelFirstIndices = new int[numberOfLevels];
+        levelIndexCounts = new int[numberOfLevels];
+        levelErrors = new float[numberOfLevels];
+        for (int level = 0; level < numberOfLevels; level++) {
+            levelFirstIndices[level] = meshEncoding.getLevelFirstIndex(level);
+            levelIndexCounts[level] = meshEncoding.getLevelNumberOfIndices(level);
+            levelErrors[level] = meshEncoding.getLevelError(level);
+        }
+        float[] bounds = meshEncoding.getMeshData().getBounds();
+        if (bounds != null) {
+            float extentX = bounds[3] - bounds[0];
+            float extentY = bounds[4] - bounds[1];
+            float extentZ = bounds[5] - bounds[2];
+            boundingSphere = new float[]{
+                    (bounds[0] + bounds[3]) / 2, (bounds[1] + bounds[4]) / 2, (bounds[2] + bounds[5]) / 2,
+                    (float) Math.sqrt(extentX * extentX + extentY * extentY + extentZ * extentZ) / 2};
+        }
+        List<Meshlet> meshlets = meshEncoding.getMeshData().getMeshlets();
+        clusterFirstIndices = new int[meshlets.size()];
+        clusterIndexCounts = new int[meshlets.size()];
+        clusterBounds = new float[meshlets.size() * Meshlet.BOUNDS_SIZE];
+        for (int cluster = 0; cluster < meshlets.size(); cluster++) {
+            Meshlet meshlet = meshlets.get(cluster);
+            clusterFirstIndices[cluster] = meshlet.getFirstIndex();
+            clusterIndexCounts[cluster] = meshlet.getNumberOfIndices();
+            System.arraycopy(meshlet.getBounds(), 0, clusterBounds, cluster * Meshlet.BOUNDS_SIZE, Meshlet.BOUNDS_SIZE);
+        }
+        referenceCount = 1;
     }
 
     /**
      * Release resources.
+     * A shared mesh only frees its geometry once every model using it released it.
      */
     public void cleanup() {
-        vertexBuffer.cleanup();
-        indexBuffer.cleanup();
+        if (meshRegistry != null) {
+            meshRegistry.release(this);
+        }
+        else {
+            free();
+        }
+    }
+
+    /**
+     * Free the vertex and index ranges.
+     */
+    void free() {
+        geometryAllocation.free();
+    }
+
+    /**
+     * Getter for the geometry page holding the vertex and index buffers.
+     * @return GeometryPage - The geometry page.
+     */
+    public GeometryPage getPage() {
+        return geometryAllocation.getPage();
+    }
+
+    /**
+     * Getter for the value added to every index before fetching a vertex.
+     * @return int - The vertex offset.
+     */
+    public int getVertexOffset() {
+        return geometryAllocation.getVertexOffset();
     }
 
     /**
-     * Getter for the vertex buffer.
-     * @return VulkanBuffer - The vertex buffer.
+     * Getter for the first index of the full resolution mesh, in units of the index type.
+     * @return int - The first index.
      */
-    public VulkanBuffer getVertexBuffer() {
-        return vertexBuffer;
+    public int getFirstIndex() {
+        return getFirstIndex(0);
     }
 
     /**
-     * Getter for the index buffer.
-     * @return VulkanBuffer - The index buffer.
+     * Getter for the first index of a level of detail, in units of the index type.
+     * @param level The level, 0 being the full resolution mesh.
+     * @return int - The first index.
      */
-    public VulkanBuffer getIndexBuffer() {
-        return indexBuffer;
+    public int getFirstIndex(int level) {
+        int indicesPerSlot = indexType == VK_INDEX_TYPE_UINT16 ? Constants.INT_LENGTH / 2 : 1;
+        return geometryAllocation.getFirstIndex() * indicesPerSlot + levelFirstIndices[level];
     }
 
     /**
-     * Getter for the number of indices.
+     * Getter for the number of indices of the full resolution mesh.
      * @return int - The number of indices.
      */
     public int getNumberOfIndices() {
-        return numberOfIndices;
+        return levelIndexCounts[0];
+    }
+
+    /**
+     * Getter for the number of indices of a level of detail.
+     * @param level The level, 0 being the full resolution mesh.
+     * @return int - The number of indices.
+     */
+    public int getNumberOfIndices(int level) {
+        return levelIndexCounts[level];
+    }
+
+    /**
+     * Getter for the number of levels of detail.
+     * @return int - The number of levels, including the full resolution mesh.
+     */
+    public int getNumberOfLevels() {
+        return levelIndexCounts.length;
+    }
+
+    /**
+     * Getter for the geometric error of a level of detail.
+     * @param level The level, 0 being the full resolution mesh.
+     * @return float - The error in model units.
+     */
+    public float getLevelError(int level) {
+        return levelErrors[level];
+    }
+
+    /**
+     * Getter for the bounding sphere.
+     * @return float[] - The sphere as {centerX, centerY, centerZ, radius}, or null if unknown.
+     */
+    public float[] getBoundingSphere() {
+        return boundingSphere;
+    }
+
+    /**
+     * Getter for the number of clusters of the full resolution mesh.
+     * @return int - The number of clusters, 0 if the mesh was not split.
+     */
+    public int getNumberOfClusters() {
+        return clusterIndexCounts.length;
+    }
+
+    /**
+     * Getter for the first index of a cluster, in units of the index type.
+     * @param cluster The cluster.
+     * @return int - The first index.
+     */
+    public int getClusterFirstIndex(int cluster) {
+        return getFirstIndex(0) + clusterFirstIndices[cluster];
+    }
+
+    /**
+     * Getter for the number of indices of a cluster.
+     * @param cluster The cluster.
+     * @return int - The number of indices.
+     */
+    public int getClusterNumberOfIndices(int cluster) {
+        return clusterIndexCounts[cluster];
+    }
+
+    /**
+     * Getter for the bounds of the clusters.
+     * @return float[] - The bounding sphere and normal cone of every cluster, laid out as in {@link Meshlet#getBounds()}.
+     */
+    public float[] getClusterBounds() {
+        return clusterBounds;
+    }
+
+    /**
+     * Getter for the index type.
+     * @return int - The Vulkan index type.
+     */
+    public int getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * Getter for the content hash.
+     * @return MeshHash - The content hash, or null if the mesh is not shared.
+     */
+    public MeshHash getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Getter for the number of models using the mesh.
+     * @return int - The reference count.
+     */
+    int getReferenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * Setter for the number of models using the mesh.
+     * @param referenceCount The reference count.
+     */
+    void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package org.scarlet.vulkan.pipeline;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.*;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.descriptor.DescriptorSetLayout;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.shader.ShaderModule;
+import org.scarlet.vulkan.shader.ShaderProgram;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Representation of a compute pipeline, running the single compute shader of a shader program.
+ */
+public class ComputePipeline {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * Handle to the pipeline.
+     */
+    private final long vkPipeline;
+
+    /**
+     * Handle to the pipeline layout.
+     */
+    private final long vkPipelineLayout;
+
+    /**
+     * Constructor.
+     * @param pipelineCache The pipeline cache.
+     * @param shaderProgram The shader program, holding a compute shader.
+     * @param descriptorSetLayout The layout of the descriptor set 0 of the shader.
+     */
+    public ComputePipeline(PipelineCache pipelineCache, ShaderProgram shaderProgram,
+                           DescriptorSetLayout descriptorSetLayout) {
+        EngineLogger.getInstance().log(Level.INFO, "Creating compute pipeline.");
+        logicalDevice = pipelineCache.getLogicalDevice();
+        ShaderModule[] shaderModules = shaderProgram.getShaderModules();
+        if (shaderModules.length != 1 || shaderModules[0].getShaderStage() != VK_SHADER_STAGE_COMPUTE_BIT) {
+            throw new IllegalArgumentException("A compute pipeline requires a single compute shader.");
+        }
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            LongBuffer lp = stack.mallocLong(1);
+            ByteBuffer main = stack.UTF8("main");
+
+            // Create the pipeline layout.
+            VkPipelineLayoutCreateInfo pPipelineLayoutCreateInfo =
+                    VkPipelineLayoutCreateInfo.calloc(stack)
+                            .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
+                            .pSetLayouts(stack.longs(descriptorSetLayout.getDescriptorSetLayout()));
+            vkCheck(vkCreatePipelineLayout(logicalDevice.getDevice(), pPipelineLayoutCreateInfo, null, lp),
+                    "Failed to create compute pipeline layout.");
+            vkPipelineLayout = lp.get(0);
+
+            // Create the pipeline.
+            VkComputePipelineCreateInfo.Buffer pipeline = VkComputePipelineCreateInfo.calloc(1, stack)
+                    .sType(VK_STRUCTURE_TYPE_COMPUTE_PIPELINE_CREATE_INFO)
+                    .stage(stage -> stage
+                            .sType(VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO)
+                            .stage(VK_SHADER_STAGE_COMPUTE_BIT)
+                            .module(shaderModules[0].getHandle())
+                            .pName(main))
+                    .layout(vkPipelineLayout);
+            vkCheck(vkCreateComputePipelines(logicalDevice.getDevice(), pipelineCache.getVkPipelineCache(), pipeline, null, lp),
+                    "Error creating compute pipeline.");
+            vkPipeline = lp.get(0);
+        }
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        EngineLogger.getInstance().log(Level.INFO, "Destroying compute pipeline.");
+        vkDestroyPipelineLayout(logicalDevice.getDevice(), vkPipelineLayout, null);
+        vkDestroyPipeline(logicalDevice.getDevice(), vkPipeline, null);
+    }
+
+    /**
+     * Get the pipeline handle.
+     * @return long - The pipeline handle.
+     */
+    public long getPipeline() {
+        return vkPipeline;
+    }
+
+    /**
+     * Get the pipeline layout.
+     * @return long - The pipeline layout handle.
+     */
+    public long getPipelineLayout() {
+        return vkPipelineLayout;
+    }
+}
\ No newline at end of file
@@ -73,8 +73,8 @@ public class Pipeline {
                     VkPipelineRasterizationStateCreateInfo.calloc(stack)
                             .sType(VK_STRUCTURE_TYPE_PIPELINE_RASTERIZATION_STATE_CREATE_INFO)
                             .polygonMode(VK_POLYGON_MODE_FILL)
-                            .cullMode(VK_CULL_MODE_NONE)
-                            .frontFace(VK_FRONT_FACE_CLOCKWISE)
+                            .cullMode(pipelineCreationInformation.isBackfaceCulling() ? VK_CULL_MODE_BACK_BIT : VK_CULL_MODE_NONE)
+                            .frontFace(VK_FRONT_FACE_COUNTER_CLOCKWISE)
                             .lineWidth(1.0f);
 
             // Set up the multi-sampling.
@@ -110,6 +110,13 @@ public class Pipeline {
             VkPipelineLayoutCreateInfo pPipelineLayoutCreateInfo =
                     VkPipelineLayoutCreateInfo.calloc(stack)
                             .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO);
+            if (pipelineCreationInformation.getPushConstantsSize() > 0) {
+                VkPushConstantRange.Buffer pushConstantRanges = VkPushConstantRange.calloc(1, stack)
+                        .stageFlags(VK_SHADER_STAGE_VERTEX_BIT)
+                        .offset(0)
+                        .size(pipelineCreationInformation.getPushConstantsSize());
+                pPipelineLayoutCreateInfo.pPushConstantRanges(pushConstantRanges);
+            }
             vkCheck(vkCreatePipelineLayout(logicalDevice.getDevice(), pPipelineLayoutCreateInfo, null, lp),
                     "Failed to create pipeline layout.");
             vkPipelineLayout = lp.get(0);
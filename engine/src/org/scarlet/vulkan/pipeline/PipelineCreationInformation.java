@@ -27,6 +27,16 @@ public class PipelineCreationInformation {
      */
     private final VertexInputStateInformation vertexInputStateInformation;
 
+    /**
+     * The size of the vertex shader push constants in bytes.
+     */
+    private final int pushConstantsSize;
+
+    /**
+     * Flag indicating if back facing triangles are culled.
+     */
+    private final boolean backfaceCulling;
+
     /**
      * Constructor.
      * @param vkRenderPass The render pass.
@@ -35,10 +45,27 @@ public class PipelineCreationInformation {
      * @param vertexInputStateInformation The vertex input state information.
      */
     public PipelineCreationInformation(long vkRenderPass, ShaderProgram shaderProgram, int numberOfColorAttachments, VertexInputStateInformation vertexInputStateInformation) {
+        this(vkRenderPass, shaderProgram, numberOfColorAttachments, vertexInputStateInformation, 0, false);
+    }
+
+    /**
+     * Constructor.
+     * @param vkRenderPass The render pass.
+     * @param shaderProgram The shader program.
+     * @param numberOfColorAttachments The number of color attachments.
+     * @param vertexInputStateInformation The vertex input state information.
+     * @param pushConstantsSize The size of the vertex shader push constants in bytes, or 0 for none.
+     * @param backfaceCulling Flag indicating if back facing triangles are culled.
+     */
+    public PipelineCreationInformation(long vkRenderPass, ShaderProgram shaderProgram, int numberOfColorAttachments,
+                                       VertexInputStateInformation vertexInputStateInformation, int pushConstantsSize,
+                                       boolean backfaceCulling) {
         this.vkRenderPass = vkRenderPass;
         this.shaderProgram = shaderProgram;
         this.numberOfColorAttachments = numberOfColorAttachments;
         this.vertexInputStateInformation = vertexInputStateInformation;
+        this.pushConstantsSize = pushConstantsSize;
+        this.backfaceCulling = backfaceCulling;
     }
 
     /**
@@ -79,4 +106,20 @@ public class PipelineCreationInformation {
     public VertexInputStateInformation getVertexInputStateInformation() {
         return vertexInputStateInformation;
     }
+
+    /**
+     * Get the size of the vertex shader push constants.
+     * @return int - The size in bytes, or 0 for none.
+     */
+    public int getPushConstantsSize() {
+        return pushConstantsSize;
+    }
+
+    /**
+     * Get the back face culling flag.
+     * @return boolean - The flag indicating if back facing triangles are culled.
+     */
+    public boolean isBackfaceCulling() {
+        return backfaceCulling;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package org.scarlet.vulkan.queue;
 
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.KHRSwapchain;
+import org.lwjgl.vulkan.VkPresentInfoKHR;
 import org.lwjgl.vulkan.VkQueue;
 import org.lwjgl.vulkan.VkSubmitInfo;
 import org.scarlet.EngineLogger;
@@ -10,6 +12,8 @@ import org.scarlet.vulkan.device.LogicalDevice;
 
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import static org.lwjgl.vulkan.VK10.*;
@@ -17,8 +21,14 @@ import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
 
 /**
  * Representation of a Vulkan queue.
+ * Access to a Vulkan queue is synchronized, since several Queue objects may wrap the same Vulkan queue.
  */
 public class Queue {
+    /**
+     * The locks guarding each Vulkan queue, by queue handle.
+     */
+    private static final Map<Long, Object> QUEUE_LOCKS = new ConcurrentHashMap<>();
+
     /**
      * The queue family index.
      */
@@ -29,6 +39,11 @@ public class Queue {
      */
     private final VkQueue queue;
 
+    /**
+     * The lock guarding the Vulkan queue.
+     */
+    private final Object lock;
+
     /**
      * Constructor.
      * @param device The logical device.
@@ -43,6 +58,7 @@ public class Queue {
             vkGetDeviceQueue(device.getDevice(), queueFamilyIndex, queueIndex, pQueue);
             long queueHandle = pQueue.get(0);
             queue = new VkQueue(queueHandle, device.getDevice());
+            lock = QUEUE_LOCKS.computeIfAbsent(queueHandle, handle -> new Object());
         }
     }
 
@@ -69,17 +85,42 @@ public class Queue {
             else {
                 submitInfo.waitSemaphoreCount(0);
             }
-            long fenceHandle = fence != null ? fence.getFence() : VK_NULL_HANDLE;
+            submit(submitInfo, fence);
+        }
+    }
+
+    /**
+     * Submits a sequence of semaphores or command buffers described by a submit information, which a caller
+     * submitting every frame allocates once and patches.
+     * @param submitInfo - The submit information.
+     * @param fence - The fence.
+     */
+    public void submit(VkSubmitInfo submitInfo, Fence fence) {
+        long fenceHandle = fence != null ? fence.getFence() : VK_NULL_HANDLE;
+        synchronized (lock) {
             vkCheck(vkQueueSubmit(queue, submitInfo, fenceHandle),
                     "Failed to submit command to queue.");
         }
     }
 
+    /**
+     * Queue images for presentation.
+     * @param presentInfo The presentation information.
+     * @return int - The result of the presentation.
+     */
+    public int present(VkPresentInfoKHR presentInfo) {
+        synchronized (lock) {
+            return KHRSwapchain.vkQueuePresentKHR(queue, presentInfo);
+        }
+    }
+
     /**
      * Wait for the queue to become idle.
      */
     public void waitIdle() {
-        vkQueueWaitIdle(queue);
+        synchronized (lock) {
+            vkQueueWaitIdle(queue);
+        }
     }
 
     /**
@@ -0,0 +1,83 @@
+package org.scarlet.vulkan.queue;
+
+import org.lwjgl.vulkan.VkQueueFamilyProperties;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.device.PhysicalDevice;
+
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Queue for submitting transfer tasks.
+ * Uses a transfer-only queue family when the device has one, otherwise the graphics queue family.
+ */
+public class TransferQueue extends Queue {
+    /**
+     * Get the queue family index.
+     * Prefers a family without graphics and compute support, which usually maps to a dedicated DMA engine.
+     * @param device The logical device.
+     * @return int - The queue family index.
+     */
+    private static int getTransferQueueFamilyIndex(LogicalDevice device) {
+        int transferIndex = -1;
+        int asyncIndex = -1;
+        int graphicsIndex = -1;
+        PhysicalDevice physicalDevice = device.getPhysicalDevice();
+        VkQueueFamilyProperties.Buffer queueFamilyPropertiesBuffer = physicalDevice.getQueueFamilyProperties();
+        int numberOfQueueFamilies = queueFamilyPropertiesBuffer.capacity();
+        for (int i = 0; i < numberOfQueueFamilies; i++) {
+            int queueFlags = queueFamilyPropertiesBuffer.get(i).queueFlags();
+            boolean graphics = (queueFlags & VK_QUEUE_GRAPHICS_BIT) != 0;
+            boolean compute = (queueFlags & VK_QUEUE_COMPUTE_BIT) != 0;
+            boolean transfer = (queueFlags & VK_QUEUE_TRANSFER_BIT) != 0;
+            if (transfer && !graphics && !compute && transferIndex < 0) {
+                transferIndex = i;
+            }
+            else if (transfer && !graphics && asyncIndex < 0) {
+                asyncIndex = i;
+            }
+            else if (graphics && graphicsIndex < 0) {
+                graphicsIndex = i;
+            }
+        }
+
+        if (transferIndex >= 0) {
+            return transferIndex;
+        }
+        if (asyncIndex >= 0) {
+            return asyncIndex;
+        }
+        if (graphicsIndex < 0) {
+            throw new RuntimeException("Failed to get transfer queue family index.");
+        }
+        EngineLogger.getInstance().log(Level.INFO, "No dedicated transfer queue family, using the graphics queue family.");
+        return graphicsIndex;
+    }
+
+    /**
+     * Flag indicating if the queue belongs to a family without graphics support.
+     */
+    private final boolean dedicated;
+
+    /**
+     * Constructor.
+     * @param device The logical device.
+     * @param queueIndex The index of the queue within the queue family.
+     */
+    public TransferQueue(LogicalDevice device, int queueIndex) {
+        super(device, getTransferQueueFamilyIndex(device), queueIndex);
+        dedicated = (device.getPhysicalDevice().getQueueFamilyProperties().get(getQueueFamilyIndex()).queueFlags()
+                & VK_QUEUE_GRAPHICS_BIT) == 0;
+    }
+
+    /**
+     * Check if the queue belongs to a family without graphics support.
+     * Resources written by the queue and read by the graphics queue must then be shared between the families.
+     * @return boolean - True if the queue family is dedicated to transfers, false otherwise.
+     */
+    public boolean isDedicated() {
+        return dedicated;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.scarlet.vulkan.model.Meshlet;
+import org.scarlet.vulkan.model.VulkanMesh;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Culls meshes and their clusters on the CPU, emitting the index ranges left visible into a draw list.
+ * Meshes and clusters are tested against the view frustum with their bounding spheres. Clusters are also tested
+ * against the camera with their normal cones when back faces are culled, as a cluster facing away would only
+ * produce culled triangles.
+ * Meshes may be culled from several recording threads once the culler is updated.
+ */
+public class ClusterCuller {
+    /**
+     * Flag indicating if clusters are culled, rather than only whole meshes.
+     */
+    private final boolean clusterCulling;
+
+    /**
+     * Flag indicating if clusters facing away from the camera are culled.
+     */
+    private final boolean coneCulling;
+
+    /**
+     * The view frustum of the frame.
+     */
+    private final FrustumIntersection frustumIntersection;
+
+    /**
+     * The camera position of the frame.
+     */
+    private final Vector3f cameraPosition;
+
+    /**
+     * The number of clusters tested during the frame.
+     */
+    private final LongAdder testedClusters;
+
+    /**
+     * The number of clusters emitted during the frame.
+     */
+    private final LongAdder visibleClusters;
+
+    /**
+     * The number of meshes culled entirely during the frame.
+     */
+    private final LongAdder culledMeshes;
+
+    /**
+     * The number of triangles emitted during the frame.
+     */
+    private final LongAdder emittedTriangles;
+
+    /**
+     * Constructor.
+     * @param clusterCulling Flag indicating if clusters are culled, rather than only whole meshes.
+     * @param coneCulling Flag indicating if clusters facing away from the camera are culled.
+     */
+    public ClusterCuller(boolean clusterCulling, boolean coneCulling) {
+        this.clusterCulling = clusterCulling;
+        this.coneCulling = coneCulling;
+        frustumIntersection = new FrustumIntersection();
+        cameraPosition = new Vector3f();
+        testedClusters = new LongAdder();
+        visibleClusters = new LongAdder();
+        culledMeshes = new LongAdder();
+        emittedTriangles = new LongAdder();
+    }
+
+    /**
+     * Start a frame.
+     * @param viewProjectionMatrix The view projection matrix of the frame.
+     * @param cameraPosition The camera position of the frame.
+     */
+    public void update(Matrix4fc viewProjectionMatrix, Vector3fc cameraPosition) {
+        frustumIntersection.set(viewProjectionMatrix);
+        this.cameraPosition.set(cameraPosition);
+        testedClusters.reset();
+        visibleClusters.reset();
+        culledMeshes.reset();
+        emittedTriangles.reset();
+    }
+
+    /**
+     * Emit the visible index ranges of a mesh.
+     * Clusters only split the full resolution mesh, so coarser levels are emitted whole once the mesh is visible.
+     * @param vulkanMesh The mesh.
+     * @param level The level of detail drawn.
+     * @param drawList The draw list receiving the index ranges.
+     */
+    public void cull(VulkanMesh vulkanMesh, int level, DrawList drawList) {
+        float[] boundingSphere = vulkanMesh.getBoundingSphere();
+        if (boundingSphere != null && !frustumIntersection.testSphere(
+                boundingSphere[0], boundingSphere[1], boundingSphere[2], boundingSphere[3])) {
+            culledMeshes.increment();
+            return;
+        }
+        int vertexOffset = vulkanMesh.getVertexOffset();
+        int numberOfClusters = vulkanMesh.getNumberOfClusters();
+        if (!clusterCulling || level > 0 || numberOfClusters == 0) {
+            drawList.add(vulkanMesh.getFirstIndex(level), vulkanMesh.getNumberOfIndices(level), vertexOffset);
+            emittedTriangles.add(vulkanMesh.getNumberOfIndices(level) / 3);
+            return;
+        }
+
+        float[] clusterBounds = vulkanMesh.getClusterBounds();
+        testedClusters.add(numberOfClusters);
+        int visible = 0;
+        int triangles = 0;
+        for (int cluster = 0; cluster < numberOfClusters; cluster++) {
+            int bounds = cluster * Meshlet.BOUNDS_SIZE;
+            float centerX = clusterBounds[bounds];
+            float centerY = clusterBounds[bounds + 1];
+            float centerZ = clusterBounds[bounds + 2];
+            float radius = clusterBounds[bounds + 3];
+            if (!frustumIntersection.testSphere(centerX, centerY, centerZ, radius)) {
+                continue;
+            }
+            if (coneCulling) {
+                float viewX = centerX - cameraPosition.x;
+                float viewY = centerY - cameraPosition.y;
+                float viewZ = centerZ - cameraPosition.z;
+                float viewDistance = (float) Math.sqrt(viewX * viewX + viewY * viewY + viewZ * viewZ);
+                float alignment = viewX * clusterBounds[bounds + 4] + viewY * clusterBounds[bounds + 5]
+                        + viewZ * clusterBounds[bounds + 6];
+                if (alignment >= clusterBounds[bounds + 7] * viewDistance + radius) {
+                    continue;
+                }
+            }
+            int numberOfIndices = vulkanMesh.getClusterNumberOfIndices(cluster);
+            drawList.add(vulkanMesh.getClusterFirstIndex(cluster), numberOfIndices, vertexOffset);
+            visible++;
+            triangles += numberOfIndices / 3;
+        }
+        visibleClusters.add(visible);
+        emittedTriangles.add(triangles);
+    }
+
+    /**
+     * Get the number of clusters tested since the start of the frame.
+     * @return long - The number of clusters.
+     */
+    public long getTestedClusters() {
+        return testedClusters.sum();
+    }
+
+    /**
+     * Get the number of clusters emitted since the start of the frame.
+     * @return long - The number of clusters.
+     */
+    public long getVisibleClusters() {
+        return visibleClusters.sum();
+    }
+
+    /**
+     * Get the number of meshes culled entirely since the start of the frame.
+     * @return long - The number of meshes.
+     */
+    public long getCulledMeshes() {
+        return culledMeshes.sum();
+    }
+
+    /**
+     * Get the number of triangles emitted since the start of the frame.
+     * @return long - The number of triangles.
+     */
+    public long getEmittedTriangles() {
+        return emittedTriangles.sum();
+    }
+}
\ No newline at end of file
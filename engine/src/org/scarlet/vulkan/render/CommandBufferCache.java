@@ -0,0 +1,118 @@
+package org.scarlet.vulkan.render;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the generation of the commands recorded for every swap chain image, so a command buffer is submitted again
+ * as is while the inputs it was recorded with stay the same.
+ */
+public class CommandBufferCache {
+    /**
+     * The generation of the commands, incremented whenever an input of the recording changes.
+     */
+    private long generation;
+
+    /**
+     * The generation of the model list the commands were last recorded with.
+     */
+    private long modelGeneration;
+
+    /**
+     * The width of the extent the commands were last recorded with.
+     */
+    private int recordedWidth;
+
+    /**
+     * The height of the extent the commands were last recorded with.
+     */
+    private int recordedHeight;
+
+    /**
+     * The generation of the commands recorded in every command buffer, by swap chain image.
+     */
+    private final long[] recordedGenerations;
+
+    /**
+     * The number of frames submitting the commands recorded for a previous frame.
+     */
+    private long hits;
+
+    /**
+     * The number of frames recording their commands.
+     */
+    private long misses;
+
+    /**
+     * Constructor.
+     * @param numberOfImages The number of swap chain images.
+     */
+    public CommandBufferCache(int numberOfImages) {
+        modelGeneration = -1;
+        recordedGenerations = new long[numberOfImages];
+        Arrays.fill(recordedGenerations, -1);
+    }
+
+    /**
+     * Start a new generation of commands, so every frame records its commands again.
+     */
+    public void invalidate() {
+        generation++;
+    }
+
+    /**
+     * Start a new generation of commands if the model list or the extent changed.
+     * @param modelGeneration The generation of the model list.
+     * @param width The width of the extent.
+     * @param height The height of the extent.
+     * @return boolean - True if the model list changed, false otherwise.
+     */
+    public boolean update(long modelGeneration, int width, int height) {
+        boolean modelsChanged = modelGeneration != this.modelGeneration;
+        if (modelsChanged || width != recordedWidth || height != recordedHeight) {
+            this.modelGeneration = modelGeneration;
+            recordedWidth = width;
+            recordedHeight = height;
+            generation++;
+        }
+        return modelsChanged;
+    }
+
+    /**
+     * Check whether the command buffer of a swap chain image holds the commands of the current generation, counting
+     * a hit or a miss.
+     * @param image The swap chain image.
+     * @return boolean - True if the command buffer can be submitted again, false if it must be recorded.
+     */
+    public boolean isRecorded(int image) {
+        if (recordedGenerations[image] == generation) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Mark the command buffer of a swap chain image as holding the commands of the current generation.
+     * @param image The swap chain image.
+     */
+    public void markRecorded(int image) {
+        recordedGenerations[image] = generation;
+    }
+
+    /**
+     * Get the number of frames that submitted the commands recorded for a previous frame.
+     * @return long - The number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of frames that recorded their commands.
+     * @return long - The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,448 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector3fc;
+import org.joml.Vector4f;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkMemoryBarrier;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+import org.scarlet.vulkan.descriptor.DescriptorPool;
+import org.scarlet.vulkan.descriptor.DescriptorSet;
+import org.scarlet.vulkan.descriptor.DescriptorSetLayout;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.model.GeometryPage;
+import org.scarlet.vulkan.model.VulkanMesh;
+import org.scarlet.vulkan.model.VulkanModel;
+import org.scarlet.vulkan.pipeline.ComputePipeline;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+import static org.lwjgl.system.MemoryUtil.memPutInt;
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * The buffers culling the meshes of a frame in flight on the GPU, and the batches of meshes sharing their bindings.
+ * The meshes are uploaded as objects, holding their bounding sphere and levels of detail, whenever the models of the
+ * frame change. The culling shader then writes a draw command per visible object, either compacted at the start of
+ * the range of its batch and counted, or in place with no instance when the object is culled.
+ * The buffers are only written once the previous submission of the frame completed.
+ */
+public class CullingFrame {
+    /**
+     * The size of an object, in bytes.
+     */
+    public static final int OBJECT_SIZE = 32;
+
+    /**
+     * The size of a level of detail, in bytes.
+     */
+    public static final int LEVEL_SIZE = 16;
+
+    /**
+     * The size of the view, in bytes.
+     */
+    public static final int VIEW_SIZE = 128;
+
+    /**
+     * The number of objects culled by a workgroup of the culling shader.
+     */
+    public static final int WORKGROUP_SIZE = 64;
+
+    /**
+     * The largest number of levels of detail of an object.
+     */
+    private static final int MAX_LEVELS = 0xFF;
+
+    /**
+     * The smallest number of objects and levels the buffers hold.
+     */
+    private static final int MIN_CAPACITY = 256;
+
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The descriptor set of the culling shader.
+     */
+    private final DescriptorSet descriptorSet;
+
+    /**
+     * The view buffer, holding the frustum planes and camera of the frame.
+     */
+    private final VulkanBuffer viewBuffer;
+
+    /**
+     * The address of the mapped view buffer.
+     */
+    private final long viewMemory;
+
+    /**
+     * The object buffer.
+     */
+    private VulkanBuffer objectBuffer;
+
+    /**
+     * The address of the mapped object buffer.
+     */
+    private long objectMemory;
+
+    /**
+     * The level of detail buffer.
+     */
+    private VulkanBuffer levelBuffer;
+
+    /**
+     * The address of the mapped level of detail buffer.
+     */
+    private long levelMemory;
+
+    /**
+     * The draw command buffer, written by the culling shader.
+     */
+    private VulkanBuffer drawCommandBuffer;
+
+    /**
+     * The buffer counting the visible objects of every batch, written by the culling shader.
+     */
+    private VulkanBuffer countBuffer;
+
+    /**
+     * The number of objects the buffers hold.
+     */
+    private int objectCapacity;
+
+    /**
+     * The number of levels of detail the level buffer holds.
+     */
+    private int levelCapacity;
+
+    /**
+     * The meshes of the models, in model order, while the objects are built.
+     */
+    private final List<VulkanMesh> meshes;
+
+    /**
+     * The indices of the meshes grouped by bindings, while the objects are built.
+     */
+    private final RenderQueue renderQueue;
+
+    /**
+     * The geometry page bound by every batch.
+     */
+    private final List<GeometryPage> batchPages;
+
+    /**
+     * The index type of every batch.
+     */
+    private int[] batchIndexTypes;
+
+    /**
+     * The first object of every batch.
+     */
+    private int[] batchFirstObjects;
+
+    /**
+     * The number of objects of every batch.
+     */
+    private int[] batchSizes;
+
+    /**
+     * The number of batches.
+     */
+    private int numberOfBatches;
+
+    /**
+     * The number of objects.
+     */
+    private int numberOfObjects;
+
+    /**
+     * The generation of the model list the objects were built from.
+     */
+    private long modelGeneration;
+
+    /**
+     * The frustum plane being written.
+     */
+    private final Vector4f frustumPlane;
+
+    /**
+     * The memory barrier of the culling, patched by every recording.
+     */
+    private final VkMemoryBarrier.Buffer memoryBarrier;
+
+    /**
+     * The descriptor set bound by the culling.
+     */
+    private final LongBuffer descriptorSets;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param descriptorPool The descriptor pool.
+     * @param descriptorSetLayout The layout of the descriptor set of the culling shader.
+     */
+    public CullingFrame(LogicalDevice logicalDevice, DescriptorPool descriptorPool,
+                        DescriptorSetLayout descriptorSetLayout) {
+        this.logicalDevice = logicalDevice;
+        descriptorSet = new DescriptorSet(descriptorPool, descriptorSetLayout);
+        viewBuffer = new VulkanBuffer(logicalDevice, VIEW_SIZE,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        viewMemory = viewBuffer.map();
+        descriptorSet.updateBuffer(2, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, viewBuffer);
+        meshes = new ArrayList<>();
+        renderQueue = new RenderQueue();
+        batchPages = new ArrayList<>();
+        frustumPlane = new Vector4f();
+        memoryBarrier = VkMemoryBarrier.calloc(1)
+                .sType(VK_STRUCTURE_TYPE_MEMORY_BARRIER);
+        descriptorSets = MemoryUtil.memAllocLong(1).put(0, descriptorSet.getDescriptorSet());
+        modelGeneration = -1;
+        createObjectBuffers(MIN_CAPACITY);
+        createLevelBuffer(MIN_CAPACITY);
+    }
+
+    /**
+     * Release resources. The device must not use the buffers anymore.
+     */
+    public void cleanup() {
+        viewBuffer.unMap();
+        viewBuffer.cleanup();
+        destroyObjectBuffers();
+        levelBuffer.unMap();
+        levelBuffer.cleanup();
+        memoryBarrier.free();
+        MemoryUtil.memFree(descriptorSets);
+    }
+
+    /**
+     * Create the buffers holding an entry per object, and point the descriptor set to them.
+     * @param capacity The number of objects.
+     */
+    private void createObjectBuffers(int capacity) {
+        objectCapacity = capacity;
+        objectBuffer = new VulkanBuffer(logicalDevice, (long) capacity * OBJECT_SIZE,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        objectMemory = objectBuffer.map();
+        drawCommandBuffer = new VulkanBuffer(logicalDevice, (long) capacity * IndirectDrawBuffer.COMMAND_SIZE,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_INDIRECT_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT);
+        // A batch holds at least one object, so there are never more counts than objects.
+        countBuffer = new VulkanBuffer(logicalDevice, (long) capacity * Integer.BYTES,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_INDIRECT_BUFFER_BIT | VK_BUFFER_USAGE_TRANSFER_DST_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT);
+        batchIndexTypes = new int[capacity];
+        batchFirstObjects = new int[capacity];
+        batchSizes = new int[capacity];
+        descriptorSet.updateBuffer(0, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, objectBuffer);
+        descriptorSet.updateBuffer(3, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, drawCommandBuffer);
+        descriptorSet.updateBuffer(4, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, countBuffer);
+    }
+
+    /**
+     * Destroy the buffers holding an entry per object.
+     */
+    private void destroyObjectBuffers() {
+        objectBuffer.unMap();
+        objectBuffer.cleanup();
+        drawCommandBuffer.cleanup();
+        countBuffer.cleanup();
+    }
+
+    /**
+     * Create the level of detail buffer, and point the descriptor set to it.
+     * @param capacity The number of levels.
+     */
+    private void createLevelBuffer(int capacity) {
+        levelCapacity = capacity;
+        levelBuffer = new VulkanBuffer(logicalDevice, (long) capacity * LEVEL_SIZE,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        levelMemory = levelBuffer.map();
+        descriptorSet.updateBuffer(1, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, levelBuffer);
+    }
+
+    /**
+     * Upload the meshes of the models as objects, grouped into batches sharing their bindings, unless the models are
+     * the ones the objects were built from.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelGeneration The generation of the list of Vulkan models.
+     */
+    public void update(List<VulkanModel> vulkanModelList, long modelGeneration) {
+        if (modelGeneration == this.modelGeneration) {
+            return;
+        }
+        this.modelGeneration = modelGeneration;
+        meshes.clear();
+        renderQueue.clear();
+        int numberOfLevels = 0;
+        for (VulkanModel vulkanModel : vulkanModelList) {
+            for (VulkanMesh mesh : vulkanModel.getVulkanMeshList()) {
+                int geometry = mesh.getPage().getPageID() << 1 | (mesh.getIndexType() == VK_INDEX_TYPE_UINT32 ? 1 : 0);
+                renderQueue.add(RenderQueue.createKey(0, 0, 0, geometry, 0.0f), meshes.size());
+                meshes.add(mesh);
+                numberOfLevels += Math.min(mesh.getNumberOfLevels(), MAX_LEVELS);
+            }
+        }
+        renderQueue.sort();
+        if (meshes.size() > objectCapacity) {
+            destroyObjectBuffers();
+            createObjectBuffers(Math.max(meshes.size(), objectCapacity * 2));
+        }
+        if (numberOfLevels > levelCapacity) {
+            levelBuffer.unMap();
+            levelBuffer.cleanup();
+            createLevelBuffer(Math.max(numberOfLevels, levelCapacity * 2));
+        }
+
+        batchPages.clear();
+        numberOfBatches = 0;
+        numberOfObjects = meshes.size();
+        int level = 0;
+        for (int object = 0; object < numberOfObjects; object++) {
+            VulkanMesh mesh = meshes.get(renderQueue.getItem(object));
+            if (numberOfBatches == 0 || mesh.getPage() != batchPages.get(numberOfBatches - 1)
+                    || mesh.getIndexType() != batchIndexTypes[numberOfBatches - 1]) {
+                batchPages.add(mesh.getPage());
+                batchIndexTypes[numberOfBatches] = mesh.getIndexType();
+                batchFirstObjects[numberOfBatches] = object;
+                batchSizes[numberOfBatches] = 0;
+                numberOfBatches++;
+            }
+            int batch = numberOfBatches - 1;
+            batchSizes[batch]++;
+
+            int levels = Math.min(mesh.getNumberOfLevels(), MAX_LEVELS);
+            float[] boundingSphere = mesh.getBoundingSphere();
+            long address = objectMemory + (long) object * OBJECT_SIZE;
+            memPutFloat(address, boundingSphere != null ? boundingSphere[0] : 0.0f);
+            memPutFloat(address + 4, boundingSphere != null ? boundingSphere[1] : 0.0f);
+            memPutFloat(address + 8, boundingSphere != null ? boundingSphere[2] : 0.0f);
+            memPutFloat(address + 12, boundingSphere != null ? boundingSphere[3] : -1.0f);
+            memPutInt(address + 16, mesh.getVertexOffset());
+            memPutInt(address + 20, level << 8 | levels);
+            memPutInt(address + 24, batch);
+            memPutInt(address + 28, batchFirstObjects[batch]);
+            for (int i = 0; i < levels; i++) {
+                long levelAddress = levelMemory + (long) level * LEVEL_SIZE;
+                memPutInt(levelAddress, mesh.getFirstIndex(i));
+                memPutInt(levelAddress + 4, mesh.getNumberOfIndices(i));
+                memPutFloat(levelAddress + 8, mesh.getLevelError(i));
+                memPutInt(levelAddress + 12, 0);
+                level++;
+            }
+        }
+        meshes.clear();
+    }
+
+    /**
+     * Write the view the objects are culled against.
+     * @param viewProjectionMatrix The view projection matrix of the frame.
+     * @param cameraPosition The camera position of the frame.
+     * @param pixelScale The number of pixels covered by one unit at a distance of one unit.
+     * @param zNear The distance to the near plane.
+     * @param pixelError The screen space error allowed when selecting the levels of detail, in pixels.
+     * @param compact Flag indicating if the visible objects are compacted and counted.
+     */
+    public void writeView(Matrix4fc viewProjectionMatrix, Vector3fc cameraPosition, float pixelScale, float zNear,
+                          float pixelError, boolean compact) {
+        for (int plane = 0; plane < 6; plane++) {
+            viewProjectionMatrix.frustumPlane(plane, frustumPlane);
+            long address = viewMemory + (long) plane * 4 * Float.BYTES;
+            memPutFloat(address, frustumPlane.x);
+            memPutFloat(address + 4, frustumPlane.y);
+            memPutFloat(address + 8, frustumPlane.z);
+            memPutFloat(address + 12, frustumPlane.w);
+        }
+        memPutFloat(viewMemory + 96, cameraPosition.x());
+        memPutFloat(viewMemory + 100, cameraPosition.y());
+        memPutFloat(viewMemory + 104, cameraPosition.z());
+        memPutFloat(viewMemory + 108, pixelScale);
+        memPutFloat(viewMemory + 112, zNear);
+        memPutFloat(viewMemory + 116, pixelError);
+        memPutInt(viewMemory + 120, numberOfObjects);
+        memPutInt(viewMemory + 124, compact ? 1 : 0);
+    }
+
+    /**
+     * Record the culling of the objects, outside a render pass, followed by the barrier making the draw commands
+     * readable by the indirect draws.
+     * @param commandBuffer The command buffer.
+     * @param computePipeline The culling pipeline.
+     * @param compact Flag indicating if the visible objects are compacted and counted.
+     */
+    public void recordCulling(VkCommandBuffer commandBuffer, ComputePipeline computePipeline, boolean compact) {
+        if (numberOfObjects == 0) {
+            return;
+        }
+        if (compact) {
+            vkCmdFillBuffer(commandBuffer, countBuffer.getBuffer(), 0, (long) numberOfBatches * Integer.BYTES, 0);
+            memoryBarrier.srcAccessMask(VK_ACCESS_TRANSFER_WRITE_BIT)
+                    .dstAccessMask(VK_ACCESS_SHADER_READ_BIT | VK_ACCESS_SHADER_WRITE_BIT);
+            vkCmdPipelineBarrier(commandBuffer, VK_PIPELINE_STAGE_TRANSFER_BIT, VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    0, memoryBarrier, null, null);
+        }
+        vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, computePipeline.getPipeline());
+        vkCmdBindDescriptorSets(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, computePipeline.getPipelineLayout(),
+                0, descriptorSets, null);
+        vkCmdDispatch(commandBuffer, (numberOfObjects + WORKGROUP_SIZE - 1) / WORKGROUP_SIZE, 1, 1);
+        memoryBarrier.srcAccessMask(VK_ACCESS_SHADER_WRITE_BIT)
+                .dstAccessMask(VK_ACCESS_INDIRECT_COMMAND_READ_BIT);
+        vkCmdPipelineBarrier(commandBuffer, VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT, VK_PIPELINE_STAGE_DRAW_INDIRECT_BIT,
+                0, memoryBarrier, null, null);
+    }
+
+    /**
+     * Record the indirect draws of every batch, inside the render pass, once the pipeline is bound.
+     * @param commandRecorder The recorder of the command buffer.
+     * @param compact Flag indicating if the visible objects were compacted and counted.
+     * @param maxDrawCount The largest number of commands drawn by an indirect draw without a count.
+     */
+    public void recordDraws(CommandRecorder commandRecorder, boolean compact, int maxDrawCount) {
+        long commands = drawCommandBuffer.getBuffer();
+        for (int batch = 0; batch < numberOfBatches; batch++) {
+            GeometryPage page = batchPages.get(batch);
+            commandRecorder.bindVertexBuffer(0, page.getVertexBuffer().getBuffer(), 0);
+            commandRecorder.bindIndexBuffer(page.getIndexBuffer().getBuffer(), 0, batchIndexTypes[batch]);
+            long offset = (long) batchFirstObjects[batch] * IndirectDrawBuffer.COMMAND_SIZE;
+            int size = batchSizes[batch];
+            if (compact) {
+                commandRecorder.drawIndexedIndirectCount(commands, offset, countBuffer.getBuffer(),
+                        (long) batch * Integer.BYTES, size, IndirectDrawBuffer.COMMAND_SIZE);
+                continue;
+            }
+            for (int command = 0; command < size; command += maxDrawCount) {
+                commandRecorder.drawIndexedIndirect(commands, offset + (long) command * IndirectDrawBuffer.COMMAND_SIZE,
+                        Math.min(maxDrawCount, size - command), IndirectDrawBuffer.COMMAND_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Get the number of objects.
+     * @return int - The number of objects culled by the frame.
+     */
+    public int getNumberOfObjects() {
+        return numberOfObjects;
+    }
+
+    /**
+     * Get the number of batches.
+     * @return int - The number of batches, each drawn by its own indirect draws.
+     */
+    public int getNumberOfBatches() {
+        return numberOfBatches;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.scarlet.vulkan.render;
+
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.model.GeometryPage;
+import org.scarlet.vulkan.model.VulkanMesh;
+
+/**
+ * Records a draw per visible index range of the meshes of a slice.
+ * Every mesh is drawn at the level of detail selected for it, and only its clusters left visible by the cluster culler
+ * are drawn.
+ */
+public class DirectDrawRecorder implements SliceRecorder {
+    /**
+     * The meshes of the frame.
+     */
+    private final MeshQueue meshQueue;
+
+    /**
+     * The level of detail selector.
+     */
+    private final LodSelector lodSelector;
+
+    /**
+     * The mesh and cluster culler.
+     */
+    private final ClusterCuller clusterCuller;
+
+    /**
+     * The state of the draws.
+     */
+    private final DrawState drawState;
+
+    /**
+     * The pipeline of the draws.
+     */
+    private final ReloadablePipeline pipeline;
+
+    /**
+     * Constructor.
+     * @param meshQueue The meshes of the frame.
+     * @param lodSelector The level of detail selector.
+     * @param clusterCuller The mesh and cluster culler.
+     * @param drawState The state of the draws.
+     * @param pipeline The pipeline of the draws.
+     */
+    public DirectDrawRecorder(MeshQueue meshQueue, LodSelector lodSelector, ClusterCuller clusterCuller,
+                              DrawState drawState, ReloadablePipeline pipeline) {
+        this.meshQueue = meshQueue;
+        this.lodSelector = lodSelector;
+        this.clusterCuller = clusterCuller;
+        this.drawState = drawState;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void recordSlice(CommandRecorder commandRecorder, int first, int last, DrawList drawList) {
+        drawState.record(commandRecorder, pipeline.getPipeline());
+        for (int i = first; i < last; i++) {
+            VulkanMesh mesh = meshQueue.getMesh(i);
+            GeometryPage page = mesh.getPage();
+            // The command recorder drops the binds of the buffers shared with the previous mesh.
+            commandRecorder.bindVertexBuffer(0, page.getVertexBuffer().getBuffer(), 0);
+            commandRecorder.bindIndexBuffer(page.getIndexBuffer().getBuffer(), 0, mesh.getIndexType());
+            drawList.clear();
+            clusterCuller.cull(mesh, lodSelector.selectLevel(mesh), drawList);
+            for (int draw = 0; draw < drawList.size(); draw++) {
+                commandRecorder.drawIndexed(drawList.getNumberOfIndices(draw), 1,
+                        drawList.getFirstIndex(draw), drawList.getVertexOffset(draw), 0);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package org.scarlet.vulkan.render;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of indexed draws sharing the bound vertex and index buffers.
+ * A draw continuing the index range of the previous one is merged into it.
+ */
+public class DrawList {
+    /**
+     * The initial capacity of the list.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The first index of every draw.
+     */
+    private int[] firstIndices;
+
+    /**
+     * The number of indices of every draw.
+     */
+    private int[] indexCounts;
+
+    /**
+     * The vertex offset of every draw.
+     */
+    private int[] vertexOffsets;
+
+    /**
+     * The number of draws.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public DrawList() {
+        firstIndices = new int[INITIAL_CAPACITY];
+        indexCounts = new int[INITIAL_CAPACITY];
+        vertexOffsets = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add a draw.
+     * @param firstIndex The first index.
+     * @param numberOfIndices The number of indices.
+     * @param vertexOffset The value added to every index before fetching a vertex.
+     */
+    public void add(int firstIndex, int numberOfIndices, int vertexOffset) {
+        if (size > 0 && vertexOffsets[size - 1] == vertexOffset
+                && firstIndices[size - 1] + indexCounts[size - 1] == firstIndex) {
+            indexCounts[size - 1] += numberOfIndices;
+            return;
+        }
+        if (size == firstIndices.length) {
+            firstIndices = Arrays.copyOf(firstIndices, size * 2);
+            indexCounts = Arrays.copyOf(indexCounts, size * 2);
+            vertexOffsets = Arrays.copyOf(vertexOffsets, size * 2);
+        }
+        firstIndices[size] = firstIndex;
+        indexCounts[size] = numberOfIndices;
+        vertexOffsets[size] = vertexOffset;
+        size++;
+    }
+
+    /**
+     * Remove every draw.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Get the number of draws.
+     * @return int - The number of draws.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the first index of a draw.
+     * @param draw The draw.
+     * @return int - The first index.
+     */
+    public int getFirstIndex(int draw) {
+        return firstIndices[draw];
+    }
+
+    /**
+     * Get the number of indices of a draw.
+     * @param draw The draw.
+     * @return int - The number of indices.
+     */
+    public int getNumberOfIndices(int draw) {
+        return indexCounts[draw];
+    }
+
+    /**
+     * Get the vertex offset of a draw.
+     * @param draw The draw.
+     * @return int - The value added to every index before fetching a vertex.
+     */
+    public int getVertexOffset(int draw) {
+        return vertexOffsets[draw];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkExtent2D;
+import org.scarlet.vulkan.Constants;
+import org.scarlet.vulkan.Scene;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.pipeline.Pipeline;
+import org.scarlet.vulkan.surface.SwapChain;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_VERTEX_BIT;
+
+/**
+ * The state every draw of a frame needs: a pipeline, the view projection matrix pushed as constants, and the viewport
+ * and scissor covering the swap chain extent. It is recorded again at the start of every secondary command buffer,
+ * since a secondary command buffer inherits none of it.
+ */
+public class DrawState {
+    /**
+     * The size of the push constants holding the view projection matrix.
+     */
+    public static final int PUSH_CONSTANTS_SIZE = 16 * Constants.FLOAT_LENGTH;
+
+    /**
+     * Swap chain.
+     */
+    private final SwapChain swapChain;
+
+    /**
+     * The view projection matrix of the frame.
+     */
+    private final Matrix4f viewProjectionMatrix;
+
+    /**
+     * The view projection matrix computed from the scene, compared with the one of the frame.
+     */
+    private final Matrix4f sceneViewProjectionMatrix;
+
+    /**
+     * The push constants, holding the view projection matrix of the frame.
+     */
+    private final ByteBuffer pushConstants;
+
+    /**
+     * Constructor.
+     * @param swapChain The swap chain.
+     */
+    public DrawState(SwapChain swapChain) {
+        this.swapChain = swapChain;
+        viewProjectionMatrix = new Matrix4f();
+        sceneViewProjectionMatrix = new Matrix4f();
+        pushConstants = MemoryUtil.memAlloc(PUSH_CONSTANTS_SIZE);
+        viewProjectionMatrix.get(pushConstants);
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        MemoryUtil.memFree(pushConstants);
+    }
+
+    /**
+     * Compute the view projection matrix of the scene, writing it to the push constants if it changed.
+     * @param scene The scene.
+     * @return boolean - True if the view projection matrix changed, false otherwise.
+     */
+    public boolean update(Scene scene) {
+        scene.getProjection().getProjectionMatrix().mul(scene.getCamera().getViewMatrix(), sceneViewProjectionMatrix);
+        if (sceneViewProjectionMatrix.equals(viewProjectionMatrix)) {
+            return false;
+        }
+        viewProjectionMatrix.set(sceneViewProjectionMatrix);
+        viewProjectionMatrix.get(pushConstants);
+        return true;
+    }
+
+    /**
+     * Record a pipeline, the push constants and the dynamic state the draws need.
+     * @param commandRecorder The recorder of the command buffer, inside the render pass.
+     * @param pipeline The pipeline.
+     */
+    public void record(CommandRecorder commandRecorder, Pipeline pipeline) {
+        VkExtent2D swapChainExtent = swapChain.getSwapChainExtent();
+        int width = swapChainExtent.width();
+        int height = swapChainExtent.height();
+
+        commandRecorder.bindPipeline(pipeline);
+        commandRecorder.pushConstants(VK_SHADER_STAGE_VERTEX_BIT, 0, pushConstants);
+        commandRecorder.setViewport(0, height, width, -height, 0.0f, 0.1f);
+        commandRecorder.setScissor(0, 0, width, height);
+    }
+
+    /**
+     * Get the view projection matrix of the frame.
+     * @return Matrix4fc - The view projection matrix.
+     */
+    public Matrix4fc getViewProjectionMatrix() {
+        return viewProjectionMatrix;
+    }
+}
\ No newline at end of file
@@ -1,28 +1,31 @@
 package org.scarlet.vulkan.render;
 
+import org.joml.Vector3f;
+import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
-import org.lwjgl.util.shaderc.Shaderc;
+import org.lwjgl.system.MemoryUtil;
 import org.lwjgl.vulkan.*;
 import org.scarlet.EngineProperties;
+import org.scarlet.asset.FileWatcher;
+import org.scarlet.vulkan.Scene;
 import org.scarlet.vulkan.buffer.CommandBuffer;
-import org.scarlet.vulkan.buffer.CommandPool;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.buffer.FrameCommandAllocator;
+import org.scarlet.vulkan.buffer.InheritanceInformation;
 import org.scarlet.vulkan.concurrent.Fence;
 import org.scarlet.vulkan.concurrent.SyncSemaphores;
 import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.model.QuantizedVertexBufferStructure;
 import org.scarlet.vulkan.model.VertexBufferStructure;
-import org.scarlet.vulkan.model.VulkanMesh;
 import org.scarlet.vulkan.model.VulkanModel;
-import org.scarlet.vulkan.pipeline.Pipeline;
 import org.scarlet.vulkan.pipeline.PipelineCache;
-import org.scarlet.vulkan.pipeline.PipelineCreationInformation;
 import org.scarlet.vulkan.queue.Queue;
-import org.scarlet.vulkan.shader.ShaderCompiler;
-import org.scarlet.vulkan.shader.ShaderModuleData;
-import org.scarlet.vulkan.shader.ShaderProgram;
 import org.scarlet.vulkan.surface.ImageView;
 import org.scarlet.vulkan.surface.SwapChain;
 
+import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -30,6 +33,8 @@ import static org.lwjgl.vulkan.VK10.*;
 
 /**
  * Forward rendering implementation.
+ * The structures passed to Vulkan every frame are allocated once per swap chain image and only patched, so recording,
+ * beginning the render pass and submitting a frame allocate nothing on the heap.
  */
 public class ForwardRenderActivity {
     /**
@@ -37,21 +42,11 @@ public class ForwardRenderActivity {
      */
     private static final String FRAGMENT_SHADER_FILE_GLSL = "resources/shaders/fwd_fragment.glsl";
 
-    /**
-     * Fragment shader SPV location.
-     */
-    private static final String FRAGMENT_SHADER_FILE_SPV = FRAGMENT_SHADER_FILE_GLSL + ".spv";
-
     /**
      * Vertex shader location.
      */
     private static final String VERTEX_SHADER_FILE_GLSL = "resources/shaders/fwd_vertex.glsl";
 
-    /**
-     * Vertex shader SPV location.
-     */
-    private static final String VERTEX_SHADER_FILE_SPV = VERTEX_SHADER_FILE_GLSL + ".spv";
-
     /**
      * Swap chain.
      */
@@ -68,7 +63,12 @@ public class ForwardRenderActivity {
     private final SwapChainRenderPass renderPass;
 
     /**
-     * The command buffers.
+     * The allocator of the command buffers of the frames in flight.
+     */
+    private final FrameCommandAllocator frameCommandAllocator;
+
+    /**
+     * The command buffers last recorded, by swap chain image.
      */
     private final CommandBuffer[] commandBuffers;
 
@@ -78,23 +78,156 @@ public class ForwardRenderActivity {
     private final Fence[] fences;
 
     /**
-     * The shader program.
+     * The inheritance information of the secondary command buffers, by swap chain image.
+     */
+    private final InheritanceInformation[] inheritanceInformations;
+
+    /**
+     * The recorder of the draws into secondary command buffers, or null if they are recorded into the primary
+     * command buffer.
+     */
+    private final SecondaryCommandRecorder secondaryCommandRecorder;
+
+    /**
+     * The state of the draws.
+     */
+    private final DrawState drawState;
+
+    /**
+     * The meshes of the frame, in drawing order.
+     */
+    private final MeshQueue meshQueue;
+
+    /**
+     * The recorder of the indirect draws of the meshes, or null if the draws are recorded directly.
+     */
+    private final IndirectDrawRecorder indirectDrawRecorder;
+
+    /**
+     * The recorder of the draws of the meshes of every frame.
+     */
+    private final SliceRecorder drawRecorder;
+
+    /**
+     * The forward pipeline.
+     */
+    private final ReloadablePipeline pipeline;
+
+    /**
+     * The level of detail selector.
+     */
+    private final LodSelector lodSelector;
+
+    /**
+     * The mesh and cluster culler.
+     */
+    private final ClusterCuller clusterCuller;
+
+    /**
+     * The visible index ranges of the meshes, when recording into the primary command buffer.
+     */
+    private final DrawList drawList;
+
+    /**
+     * The command recorder, when recording into the primary command buffer.
+     */
+    private final CommandRecorder commandRecorder;
+
+    /**
+     * The buffers of indirect draw commands, or null if the draws are recorded directly.
+     */
+    private final IndirectDrawBuffer indirectDrawBuffer;
+
+    /**
+     * The culler of the meshes on the GPU, or null if they are culled on the CPU.
+     */
+    private final GpuCuller gpuCuller;
+
+    /**
+     * The recorder of the instanced draws, or null if instancing is disabled.
+     */
+    private final InstancedDrawRecorder instancedDrawRecorder;
+
+    /**
+     * The models drawn once, being the models without instances in the frame.
+     */
+    private final List<VulkanModel> drawnModels;
+
+    /**
+     * The generation of the list of models drawn once.
+     */
+    private long drawnModelGeneration;
+
+    /**
+     * The number of redundant calls skipped while recording the last recorded frame.
+     */
+    private int skippedCalls;
+
+    /**
+     * The generations of the commands recorded in the command buffers.
+     */
+    private final CommandBufferCache commandBufferCache;
+
+    /**
+     * The clear values of the render pass, shared by every swap chain image.
+     */
+    private final VkClearValue.Buffer clearValues;
+
+    /**
+     * The render pass begin information, by swap chain image.
+     */
+    private final VkRenderPassBeginInfo[] renderPassBeginInfos;
+
+    /**
+     * The extent of the render area of every render pass begin information, patched when the extent changes.
+     */
+    private final VkExtent2D[] renderAreaExtents;
+
+    /**
+     * The command buffers submitted, by swap chain image, patched when a frame is recorded into a new command buffer.
+     */
+    private final PointerBuffer submittedCommandBuffers;
+
+    /**
+     * The image acquisition semaphores waited for by the submissions, by swap chain image.
+     */
+    private final LongBuffer waitSemaphores;
+
+    /**
+     * The stages waiting for the image acquisition semaphores, by swap chain image.
      */
-    private final ShaderProgram shaderProgram;
+    private final IntBuffer waitStageMasks;
 
     /**
-     * The pipeline.
+     * The render complete semaphores signaled by the submissions, by swap chain image.
      */
-    private final Pipeline pipeline;
+    private final LongBuffer signalSemaphores;
+
+    /**
+     * The submit information, by swap chain image.
+     */
+    private final VkSubmitInfo[] submitInfos;
 
     /**
      * Constructor.
      * @param swapChain The swap chain.
-     * @param commandPool The command pool.
+     * @param frameCommandAllocator The allocator of the command buffers of the frames in flight.
      * @param pipelineCache The pipeline cache.
+     * @param frameRetirementQueue The queue destroying the replaced resources once the frames in flight retired.
      */
-    public ForwardRenderActivity(SwapChain swapChain, CommandPool commandPool, PipelineCache pipelineCache) {
+    public ForwardRenderActivity(SwapChain swapChain, FrameCommandAllocator frameCommandAllocator,
+                                 PipelineCache pipelineCache, FrameRetirementQueue frameRetirementQueue) {
         this.swapChain = swapChain;
+        this.frameCommandAllocator = frameCommandAllocator;
+        EngineProperties engineProperties = EngineProperties.getInstance();
+        lodSelector = new LodSelector(engineProperties.getLodPixelError());
+        clusterCuller = new ClusterCuller(engineProperties.isClusterCulling(), engineProperties.isBackfaceCulling());
+        drawList = new DrawList();
+        commandRecorder = new CommandRecorder();
+        drawState = new DrawState(swapChain);
+        meshQueue = new MeshQueue();
+        drawnModels = new ArrayList<>();
+        int queueFamilyIndex = frameCommandAllocator.getQueueFamilyIndex();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             LogicalDevice logicalDevice = swapChain.getLogicalDevice();
             VkExtent2D swapChainExtent = swapChain.getSwapChainExtent();
@@ -105,34 +238,87 @@ public class ForwardRenderActivity {
 
             LongBuffer attachments = stack.mallocLong(1);
             frameBuffers = new FrameBuffer[numberOfImages];
+            inheritanceInformations = new InheritanceInformation[numberOfImages];
             for (int i = 0; i < numberOfImages; i++) {
                 attachments.put(0, imageViews[i].getImageView());
                 frameBuffers[i] = new FrameBuffer(
                         logicalDevice, swapChainExtent.width(), swapChainExtent.height(),
                         attachments, renderPass.getRenderPass());
+                inheritanceInformations[i] = new InheritanceInformation(
+                        renderPass.getRenderPass(), frameBuffers[i].getFrameBuffer(), 0);
             }
-
-            EngineProperties engineProperties = EngineProperties.getInstance();
-            if (engineProperties.isShaderRecompilation()) {
-                ShaderCompiler.compileShaderIfChanged(VERTEX_SHADER_FILE_GLSL, Shaderc.shaderc_glsl_vertex_shader);
-                ShaderCompiler.compileShaderIfChanged(FRAGMENT_SHADER_FILE_GLSL, Shaderc.shaderc_glsl_fragment_shader);
-            }
-            shaderProgram = new ShaderProgram(logicalDevice, new ShaderModuleData[]{
-                    new ShaderModuleData(VK_SHADER_STAGE_VERTEX_BIT, VERTEX_SHADER_FILE_SPV),
-                    new ShaderModuleData(VK_SHADER_STAGE_FRAGMENT_BIT, FRAGMENT_SHADER_FILE_SPV)
-            });
-            PipelineCreationInformation pipelineCreationInformation = new PipelineCreationInformation(
-                    renderPass.getRenderPass(), shaderProgram, 1, new VertexBufferStructure()
-            );
-            pipeline = new Pipeline(pipelineCache, pipelineCreationInformation);
-            pipelineCreationInformation.cleanup();
+            int recordingThreads = engineProperties.getRecordingThreads();
+            secondaryCommandRecorder = recordingThreads > 1
+                    ? new SecondaryCommandRecorder(logicalDevice, queueFamilyIndex, recordingThreads, numberOfImages)
+                    : null;
+            indirectDrawBuffer = engineProperties.isIndirectDraws()
+                    ? new IndirectDrawBuffer(logicalDevice, engineProperties.getIndirectDrawCapacity(), numberOfImages)
+                    : null;
+            gpuCuller = engineProperties.isGpuCulling()
+                    ? new GpuCuller(logicalDevice, pipelineCache, queueFamilyIndex, numberOfImages,
+                            engineProperties.getLodPixelError())
+                    : null;
+
+            pipeline = new ReloadablePipeline(logicalDevice, pipelineCache, frameRetirementQueue,
+                    renderPass.getRenderPass(), VERTEX_SHADER_FILE_GLSL, FRAGMENT_SHADER_FILE_GLSL,
+                    () -> engineProperties.isVertexQuantization()
+                            ? new QuantizedVertexBufferStructure()
+                            : new VertexBufferStructure(),
+                    DrawState.PUSH_CONSTANTS_SIZE);
+            DirectDrawRecorder directDrawRecorder = new DirectDrawRecorder(meshQueue, lodSelector, clusterCuller,
+                    drawState, pipeline);
+            indirectDrawRecorder = indirectDrawBuffer != null
+                    ? new IndirectDrawRecorder(meshQueue, lodSelector, clusterCuller, drawState, pipeline,
+                            indirectDrawBuffer)
+                    : null;
+            drawRecorder = indirectDrawRecorder != null ? indirectDrawRecorder : directDrawRecorder;
+            instancedDrawRecorder = engineProperties.isInstancing()
+                    ? new InstancedDrawRecorder(logicalDevice, pipelineCache, frameRetirementQueue,
+                            renderPass.getRenderPass(), drawState, numberOfImages)
+                    : null;
 
             commandBuffers = new CommandBuffer[numberOfImages];
             fences = new Fence[numberOfImages];
+            commandBufferCache = new CommandBufferCache(numberOfImages);
             for (int i = 0; i < numberOfImages; i++) {
-                commandBuffers[i] = new CommandBuffer(commandPool, true, false);
+                commandBuffers[i] = frameCommandAllocator.allocate(i, true);
                 fences[i] = new Fence(logicalDevice, true);
             }
+
+            clearValues = VkClearValue.calloc(1);
+            clearValues.color()
+                    .float32(0, 0.5f)
+                    .float32(1, 0.7f)
+                    .float32(2, 0.9f)
+                    .float32(3, 1);
+            renderPassBeginInfos = new VkRenderPassBeginInfo[numberOfImages];
+            renderAreaExtents = new VkExtent2D[numberOfImages];
+            submittedCommandBuffers = MemoryUtil.memAllocPointer(numberOfImages);
+            waitSemaphores = MemoryUtil.memAllocLong(numberOfImages);
+            waitStageMasks = MemoryUtil.memAllocInt(numberOfImages);
+            signalSemaphores = MemoryUtil.memAllocLong(numberOfImages);
+            submitInfos = new VkSubmitInfo[numberOfImages];
+            SyncSemaphores[] syncSemaphoresList = swapChain.getSyncSemaphoresList();
+            for (int i = 0; i < numberOfImages; i++) {
+                renderPassBeginInfos[i] = VkRenderPassBeginInfo.calloc()
+                        .sType(VK_STRUCTURE_TYPE_RENDER_PASS_BEGIN_INFO)
+                        .renderPass(renderPass.getRenderPass())
+                        .pClearValues(clearValues)
+                        .framebuffer(frameBuffers[i].getFrameBuffer());
+                renderAreaExtents[i] = renderPassBeginInfos[i].renderArea().extent();
+
+                submittedCommandBuffers.put(i, commandBuffers[i].getCommandBuffer());
+                waitSemaphores.put(i, syncSemaphoresList[i].getImageAcquisitionSemaphore().getSemaphore());
+                waitStageMasks.put(i, VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT);
+                signalSemaphores.put(i, syncSemaphoresList[i].getRenderCompleteSemaphore().getSemaphore());
+                submitInfos[i] = VkSubmitInfo.calloc()
+                        .sType(VK_STRUCTURE_TYPE_SUBMIT_INFO)
+                        .pCommandBuffers(submittedCommandBuffers.slice(i, 1))
+                        .waitSemaphoreCount(1)
+                        .pWaitSemaphores(waitSemaphores.slice(i, 1))
+                        .pWaitDstStageMask(waitStageMasks.slice(i, 1))
+                        .pSignalSemaphores(signalSemaphores.slice(i, 1));
+            }
         }
     }
 
@@ -141,11 +327,54 @@ public class ForwardRenderActivity {
      */
     public void cleanup() {
         pipeline.cleanup();
-        shaderProgram.cleanup();
+        if (instancedDrawRecorder != null) {
+            instancedDrawRecorder.cleanup();
+        }
         Arrays.stream(frameBuffers).forEach(FrameBuffer::cleanup);
         renderPass.cleanup();
-        Arrays.stream(commandBuffers).forEach(CommandBuffer::cleanup);
         Arrays.stream(fences).forEach(Fence::cleanup);
+        if (secondaryCommandRecorder != null) {
+            secondaryCommandRecorder.cleanup();
+        }
+        if (indirectDrawBuffer != null) {
+            indirectDrawBuffer.cleanup();
+        }
+        if (gpuCuller != null) {
+            gpuCuller.cleanup();
+        }
+        commandRecorder.cleanup();
+        Arrays.stream(renderPassBeginInfos).forEach(VkRenderPassBeginInfo::free);
+        Arrays.stream(submitInfos).forEach(VkSubmitInfo::free);
+        clearValues.free();
+        MemoryUtil.memFree(submittedCommandBuffers);
+        MemoryUtil.memFree(waitSemaphores);
+        MemoryUtil.memFree(waitStageMasks);
+        MemoryUtil.memFree(signalSemaphores);
+        drawState.cleanup();
+    }
+
+    /**
+     * Watch the GLSL shaders, rebuilding the pipeline whenever one of them changes.
+     * @param fileWatcher The file watcher.
+     */
+    public void watchShaders(FileWatcher fileWatcher) {
+        pipeline.watchShaders(fileWatcher);
+        if (instancedDrawRecorder != null) {
+            instancedDrawRecorder.watchShaders(fileWatcher);
+        }
+    }
+
+    /**
+     * Swap in the pipeline built from reloaded shaders, if any. Called at a frame boundary.
+     */
+    public void swapReloadedPipeline() {
+        boolean swapped = pipeline.swapReloadedPipeline();
+        if (instancedDrawRecorder != null && instancedDrawRecorder.swapReloadedPipeline()) {
+            swapped = true;
+        }
+        if (swapped) {
+            commandBufferCache.invalidate();
+        }
     }
 
     /**
@@ -153,87 +382,172 @@ public class ForwardRenderActivity {
      * @param queue The queue to submit to.
      */
     public void submit(Queue queue) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            int frameNumber = swapChain.getCurrentFrame();
-            CommandBuffer commandBuffer = commandBuffers[frameNumber];
-            Fence currentFence = fences[frameNumber];
-            SyncSemaphores syncSemaphores = swapChain.getSyncSemaphoresList()[frameNumber];
-            queue.submit(stack.pointers(commandBuffer.getCommandBuffer()),
-                    stack.longs(syncSemaphores.getImageAcquisitionSemaphore().getSemaphore()),
-                    stack.ints(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
-                    stack.longs(syncSemaphores.getRenderCompleteSemaphore().getSemaphore()),
-                    currentFence);
+        int frameNumber = swapChain.getCurrentFrame();
+        queue.submit(submitInfos[frameNumber], fences[frameNumber]);
+    }
+
+    /**
+     * Record the command buffer of the current frame, unless the one recorded with the same inputs can be submitted
+     * again.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelGeneration The generation of the list of Vulkan models, changed whenever the list changes.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     * @param scene The scene.
+     */
+    public void recordCommandBuffer(List<VulkanModel> vulkanModelList, long modelGeneration,
+                                    InstanceBatcher instanceBatcher, Scene scene) {
+        VkExtent2D swapChainExtent = swapChain.getSwapChainExtent();
+        int width = swapChainExtent.width();
+        int height = swapChainExtent.height();
+        int index = swapChain.getCurrentFrame();
+
+        Fence fence = fences[index];
+
+        fence.fenceWait();
+        fence.reset();
+
+        boolean drawnModelsChanged = commandBufferCache.update(modelGeneration, width, height);
+        // The previous submission of the frame completed, so its instance buffer can be rewritten.
+        if (instancedDrawRecorder != null
+                && instancedDrawRecorder.update(index, vulkanModelList, modelGeneration, instanceBatcher)) {
+            drawnModelsChanged = true;
+            commandBufferCache.invalidate();
+        }
+        if (drawnModelsChanged) {
+            updateDrawnModels(vulkanModelList, instanceBatcher);
+        }
+        if (drawState.update(scene)) {
+            commandBufferCache.invalidate();
+        }
+        if (commandBufferCache.isRecorded(index)) {
+            return;
+        }
+
+        // The previous submission of the frame completed, so its command buffers can be reset together.
+        frameCommandAllocator.beginFrame(index);
+        CommandBuffer commandBuffer = frameCommandAllocator.allocate(index, true);
+        commandBuffers[index] = commandBuffer;
+        submittedCommandBuffers.put(index, commandBuffer.getCommandBuffer());
+        VkRenderPassBeginInfo renderPassBeginInfo = renderPassBeginInfos[index];
+        renderAreaExtents[index].set(width, height);
+
+        commandBuffer.beginRecording();
+        VkCommandBuffer commandBufferHandle = commandBuffer.getCommandBuffer();
+        if (gpuCuller != null) {
+            gpuCuller.prepare(index, drawnModels, drawnModelGeneration, drawState.getViewProjectionMatrix(), scene);
+            gpuCuller.recordCulling(commandBufferHandle, index);
+            vkCmdBeginRenderPass(commandBufferHandle, renderPassBeginInfo, VK_SUBPASS_CONTENTS_INLINE);
+            commandRecorder.begin(commandBuffer);
+            drawState.record(commandRecorder, pipeline.getPipeline());
+            gpuCuller.recordDraws(commandRecorder, index);
+            recordInstancedDraws(index, instanceBatcher);
+            skippedCalls = commandRecorder.getSkippedCalls();
         }
+        else if (secondaryCommandRecorder != null) {
+            prepareFrame(index, drawnModels, scene);
+            vkCmdBeginRenderPass(commandBufferHandle, renderPassBeginInfo, VK_SUBPASS_CONTENTS_SECONDARY_COMMAND_BUFFERS);
+            secondaryCommandRecorder.record(commandBufferHandle, index, inheritanceInformations[index],
+                    meshQueue.size(), drawRecorder);
+            skippedCalls = secondaryCommandRecorder.getSkippedCalls();
+            if (instancedDrawRecorder != null && instancedDrawRecorder.recordSecondary(commandBufferHandle,
+                    frameCommandAllocator, inheritanceInformations[index], commandRecorder, index, instanceBatcher)) {
+                skippedCalls += commandRecorder.getSkippedCalls();
+            }
+        }
+        else {
+            prepareFrame(index, drawnModels, scene);
+            vkCmdBeginRenderPass(commandBufferHandle, renderPassBeginInfo, VK_SUBPASS_CONTENTS_INLINE);
+            commandRecorder.begin(commandBuffer);
+            drawRecorder.recordSlice(commandRecorder, 0, meshQueue.size(), drawList);
+            recordInstancedDraws(index, instanceBatcher);
+            skippedCalls = commandRecorder.getSkippedCalls();
+        }
+        vkCmdEndRenderPass(commandBufferHandle);
+        commandBuffer.endRecording();
+        commandBufferCache.markRecorded(index);
     }
 
     /**
-     * Retrieve and clear the command buffer for the current swap chain image.
-     * Create the render pass information and start recording.
+     * Collect the models drawn once, leaving out the models drawn through their instances.
      * @param vulkanModelList The list of Vulkan models.
+     * @param instanceBatcher The batcher of the instances of the frame.
      */
-    public void recordCommandBuffer(List<VulkanModel> vulkanModelList) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            VkExtent2D swapChainExtent = swapChain.getSwapChainExtent();
-            int width = swapChainExtent.width();
-            int height = swapChainExtent.height();
-            int index = swapChain.getCurrentFrame();
+    private void updateDrawnModels(List<VulkanModel> vulkanModelList, InstanceBatcher instanceBatcher) {
+        drawnModels.clear();
+        for (int i = 0; i < vulkanModelList.size(); i++) {
+            VulkanModel vulkanModel = vulkanModelList.get(i);
+            if (instancedDrawRecorder == null || !instanceBatcher.hasInstances(vulkanModel.getModelID())) {
+                drawnModels.add(vulkanModel);
+            }
+        }
+        drawnModelGeneration++;
+    }
 
-            Fence fence = fences[index];
-            CommandBuffer commandBuffer = commandBuffers[index];
-            FrameBuffer frameBuffer = frameBuffers[index];
+    /**
+     * Update the level of detail selector and the cluster culler from the scene and the view projection matrix, and
+     * collect the meshes of the frame into the mesh queue.
+     * @param frame The frame in flight being recorded.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param scene The scene.
+     */
+    private void prepareFrame(int frame, List<VulkanModel> vulkanModelList, Scene scene) {
+        Vector3f cameraPosition = scene.getCamera().getPosition();
+        lodSelector.update(scene);
+        clusterCuller.update(drawState.getViewProjectionMatrix(), cameraPosition);
+        meshQueue.prepare(vulkanModelList, cameraPosition);
+        if (indirectDrawRecorder != null) {
+            indirectDrawRecorder.setFrame(frame);
+        }
+    }
 
-            fence.fenceWait();
-            fence.reset();
+    /**
+     * Record the instanced draws of the frame into the command buffer being recorded, if instancing is enabled.
+     * @param frame The frame in flight.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     */
+    private void recordInstancedDraws(int frame, InstanceBatcher instanceBatcher) {
+        if (instancedDrawRecorder != null) {
+            instancedDrawRecorder.record(commandRecorder, frame, instanceBatcher);
+        }
+    }
 
-            commandBuffer.reset();
-            VkClearValue.Buffer clearValues = VkClearValue.calloc(1, stack);
-            clearValues.apply(0, v -> v.color()
-                    .float32(0, 0.5f)
-                    .float32(1, 0.7f)
-                    .float32(2, 0.9f)
-                    .float32(3, 1));
+    /**
+     * Get the number of frames that submitted the commands recorded for a previous frame.
+     * @return long - The number of command buffer cache hits.
+     */
+    public long getCommandBufferHits() {
+        return commandBufferCache.getHits();
+    }
 
-            VkRenderPassBeginInfo renderPassBeginInfo = VkRenderPassBeginInfo.calloc(stack)
-                    .sType(VK_STRUCTURE_TYPE_RENDER_PASS_BEGIN_INFO)
-                    .renderPass(renderPass.getRenderPass())
-                    .pClearValues(clearValues)
-                    .renderArea(a -> a.extent().set(width, height))
-                    .framebuffer(frameBuffer.getFrameBuffer());
+    /**
+     * Get the number of frames that recorded their commands.
+     * @return long - The number of command buffer cache misses.
+     */
+    public long getCommandBufferMisses() {
+        return commandBufferCache.getMisses();
+    }
 
-            commandBuffer.beginRecording();
-            VkCommandBuffer commandBufferHandle = commandBuffer.getCommandBuffer();
-            vkCmdBeginRenderPass(commandBufferHandle, renderPassBeginInfo, VK_SUBPASS_CONTENTS_INLINE);
+    /**
+     * Get the number of redundant binds and dynamic state changes skipped while recording the last recorded frame.
+     * @return int - The number of skipped calls.
+     */
+    public int getSkippedCalls() {
+        return skippedCalls;
+    }
 
-            vkCmdBindPipeline(commandBufferHandle, VK_PIPELINE_BIND_POINT_GRAPHICS, pipeline.getPipeline());
-
-            VkViewport.Buffer viewport = VkViewport.calloc(1, stack)
-                    .x(0)
-                    .y(height)
-                    .height(-height)
-                    .width(width)
-                    .minDepth(0.0f)
-                    .maxDepth(0.1f);
-            vkCmdSetViewport(commandBufferHandle, 0, viewport);
-
-            VkRect2D.Buffer scissor = VkRect2D.calloc(1, stack)
-                    .extent(it -> it.width(width).height(height))
-                    .offset(it -> it.x(0).y(0));
-            vkCmdSetScissor(commandBufferHandle, 0, scissor);
-
-            LongBuffer offsets = stack.mallocLong(1);
-            offsets.put(0, 0L);
-            LongBuffer vertexBuffer = stack.mallocLong(1);
-            for (VulkanModel vulkanModel : vulkanModelList) {
-                for (VulkanMesh mesh : vulkanModel.getVulkanMeshList()) {
-                    vertexBuffer.put(0, mesh.getVertexBuffer().getBuffer());
-                    vkCmdBindVertexBuffers(commandBufferHandle, 0, vertexBuffer, offsets);
-                    vkCmdBindIndexBuffer(commandBufferHandle, mesh.getIndexBuffer().getBuffer(), 0, VK_INDEX_TYPE_UINT32);
-                    vkCmdDrawIndexed(commandBufferHandle, mesh.getNumberOfIndices(), 1, 0, 0, 0);
-                }
-            }
+    /**
+     * Get the level of detail selector.
+     * @return LodSelector - The selector, holding the triangle counts of the last recorded frame.
+     */
+    public LodSelector getLodSelector() {
+        return lodSelector;
+    }
 
-            vkCmdEndRenderPass(commandBufferHandle);
-            commandBuffer.endRecording();
-        }
+    /**
+     * Get the cluster culler.
+     * @return ClusterCuller - The culler, holding the cluster counts of the last recorded frame.
+     */
+    public ClusterCuller getClusterCuller() {
+        return clusterCuller;
     }
 }
\ No newline at end of file
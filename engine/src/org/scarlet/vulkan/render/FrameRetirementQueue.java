@@ -0,0 +1,78 @@
+package org.scarlet.vulkan.render;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Defers the destruction of replaced resources until the frames that may still use them retired.
+ * A resource retired during a frame is destroyed once as many frames as there are frames in flight were started
+ * after it, each frame waiting for the fence of the frame recorded with the same swap chain image.
+ */
+public class FrameRetirementQueue {
+    /**
+     * The number of frames in flight.
+     */
+    private final int framesInFlight;
+
+    /**
+     * The destruction of the retired resources, oldest first.
+     */
+    private final Deque<Runnable> retiredResources;
+
+    /**
+     * The frame number each resource was retired at.
+     */
+    private final Deque<Long> retirementFrames;
+
+    /**
+     * The number of the current frame.
+     */
+    private long frameNumber;
+
+    /**
+     * Constructor.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public FrameRetirementQueue(int framesInFlight) {
+        this.framesInFlight = framesInFlight;
+        retiredResources = new ArrayDeque<>();
+        retirementFrames = new ArrayDeque<>();
+    }
+
+    /**
+     * Destroy every retired resource. The device must be idle.
+     */
+    public void cleanup() {
+        retiredResources.forEach(Runnable::run);
+        retiredResources.clear();
+        retirementFrames.clear();
+    }
+
+    /**
+     * Start a frame, destroying the resources no frame in flight uses anymore.
+     */
+    public void processFrame() {
+        frameNumber++;
+        while (!retirementFrames.isEmpty() && retirementFrames.peekFirst() + framesInFlight < frameNumber) {
+            retirementFrames.removeFirst();
+            retiredResources.removeFirst().run();
+        }
+    }
+
+    /**
+     * Retire a replaced resource.
+     * @param destruction The destruction of the resource, run once the frames in flight retired.
+     */
+    public void retire(Runnable destruction) {
+        retiredResources.addLast(destruction);
+        retirementFrames.addLast(frameNumber);
+    }
+
+    /**
+     * Get the number of resources waiting for their destruction.
+     * @return int - The number of resources.
+     */
+    public int getNumberOfRetiredResources() {
+        return retiredResources.size();
+    }
+}
\ No newline at end of file
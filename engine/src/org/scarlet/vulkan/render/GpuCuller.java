@@ -0,0 +1,186 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Matrix4fc;
+import org.lwjgl.util.shaderc.Shaderc;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.vulkan.Projection;
+import org.scarlet.vulkan.Scene;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.descriptor.DescriptorPool;
+import org.scarlet.vulkan.descriptor.DescriptorSetLayout;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.device.PhysicalDevice;
+import org.scarlet.vulkan.model.VulkanModel;
+import org.scarlet.vulkan.pipeline.ComputePipeline;
+import org.scarlet.vulkan.pipeline.PipelineCache;
+import org.scarlet.vulkan.shader.ShaderCompiler;
+import org.scarlet.vulkan.shader.ShaderModuleData;
+import org.scarlet.vulkan.shader.ShaderProgram;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Culls the meshes of a frame against the view frustum on the GPU, and selects their levels of detail, so the CPU
+ * neither tests nor uploads a draw per mesh every frame.
+ * A compute shader reads the objects and the view from storage buffers, and writes the draw commands of the visible
+ * objects into an indirect command buffer. With the KHR draw indirect count extension, the commands of every batch
+ * are compacted with an atomic counter and drawn with a single indirect draw reading the count. Otherwise every
+ * object keeps its command, with no instance when culled.
+ */
+public class GpuCuller {
+    /**
+     * Compute shader location.
+     */
+    private static final String COMPUTE_SHADER_FILE_GLSL = "resources/shaders/cull_compute.glsl";
+
+    /**
+     * Compute shader SPV location.
+     */
+    private static final String COMPUTE_SHADER_FILE_SPV = COMPUTE_SHADER_FILE_GLSL + ".spv";
+
+    /**
+     * The number of storage buffers of the culling shader: the objects, the levels of detail, the view, the draw
+     * commands and the counts.
+     */
+    private static final int NUMBER_OF_BINDINGS = 5;
+
+    /**
+     * The descriptor set layout of the culling shader.
+     */
+    private final DescriptorSetLayout descriptorSetLayout;
+
+    /**
+     * The descriptor pool.
+     */
+    private final DescriptorPool descriptorPool;
+
+    /**
+     * The culling shader program.
+     */
+    private final ShaderProgram shaderProgram;
+
+    /**
+     * The culling pipeline.
+     */
+    private final ComputePipeline computePipeline;
+
+    /**
+     * The culling buffers, by frame in flight.
+     */
+    private final CullingFrame[] cullingFrames;
+
+    /**
+     * Flag indicating if the visible objects are compacted and counted.
+     */
+    private final boolean compact;
+
+    /**
+     * The largest number of commands drawn by an indirect draw without a count.
+     */
+    private final int maxDrawCount;
+
+    /**
+     * The screen space error allowed when selecting the levels of detail, in pixels.
+     */
+    private final float pixelError;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param pipelineCache The pipeline cache.
+     * @param queueFamilyIndex The queue family index the culling is submitted to.
+     * @param framesInFlight The number of frames in flight.
+     * @param pixelError The screen space error allowed when selecting the levels of detail, in pixels.
+     */
+    public GpuCuller(LogicalDevice logicalDevice, PipelineCache pipelineCache, int queueFamilyIndex,
+                     int framesInFlight, float pixelError) {
+        PhysicalDevice physicalDevice = logicalDevice.getPhysicalDevice();
+        if ((physicalDevice.getQueueFamilyProperties().get(queueFamilyIndex).queueFlags() & VK_QUEUE_COMPUTE_BIT) == 0) {
+            throw new RuntimeException("The graphics queue family does not support compute.");
+        }
+        this.pixelError = pixelError;
+        compact = logicalDevice.isDrawIndirectCount();
+        maxDrawCount = physicalDevice.getDeviceFeatures().multiDrawIndirect()
+                ? (int) Math.min(Integer.toUnsignedLong(physicalDevice.getDeviceProperties().limits().maxDrawIndirectCount()), Integer.MAX_VALUE)
+                : 1;
+        EngineLogger.getInstance().log(Level.INFO, "Creating GPU culler, draw indirect count [%b].", compact);
+
+        if (EngineProperties.getInstance().isShaderRecompilation()) {
+            ShaderCompiler.compileShaderIfChanged(COMPUTE_SHADER_FILE_GLSL, Shaderc.shaderc_glsl_compute_shader);
+        }
+        shaderProgram = new ShaderProgram(logicalDevice, new ShaderModuleData[]{
+                new ShaderModuleData(VK_SHADER_STAGE_COMPUTE_BIT, COMPUTE_SHADER_FILE_SPV)
+        });
+        descriptorSetLayout = new DescriptorSetLayout(logicalDevice, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER,
+                NUMBER_OF_BINDINGS, VK_SHADER_STAGE_COMPUTE_BIT);
+        descriptorPool = new DescriptorPool(logicalDevice, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER,
+                NUMBER_OF_BINDINGS * framesInFlight, framesInFlight);
+        computePipeline = new ComputePipeline(pipelineCache, shaderProgram, descriptorSetLayout);
+        cullingFrames = new CullingFrame[framesInFlight];
+        for (int i = 0; i < framesInFlight; i++) {
+            cullingFrames[i] = new CullingFrame(logicalDevice, descriptorPool, descriptorSetLayout);
+        }
+    }
+
+    /**
+     * Release resources. The device must not use them anymore.
+     */
+    public void cleanup() {
+        Arrays.stream(cullingFrames).forEach(CullingFrame::cleanup);
+        computePipeline.cleanup();
+        descriptorPool.cleanup();
+        descriptorSetLayout.cleanup();
+        shaderProgram.cleanup();
+    }
+
+    /**
+     * Prepare the culling of a frame, uploading the meshes if the models changed, and writing the view.
+     * The previous submission of the frame must have completed.
+     * @param frame The frame in flight.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelGeneration The generation of the list of Vulkan models.
+     * @param viewProjectionMatrix The view projection matrix of the frame.
+     * @param scene The scene.
+     */
+    public void prepare(int frame, List<VulkanModel> vulkanModelList, long modelGeneration,
+                        Matrix4fc viewProjectionMatrix, Scene scene) {
+        CullingFrame cullingFrame = cullingFrames[frame];
+        cullingFrame.update(vulkanModelList, modelGeneration);
+        Projection projection = scene.getProjection();
+        cullingFrame.writeView(viewProjectionMatrix, scene.getCamera().getPosition(), projection.getPixelScale(),
+                projection.getZNear(), pixelError, compact);
+    }
+
+    /**
+     * Record the culling of a frame, outside a render pass.
+     * @param commandBuffer The command buffer.
+     * @param frame The frame in flight.
+     */
+    public void recordCulling(VkCommandBuffer commandBuffer, int frame) {
+        cullingFrames[frame].recordCulling(commandBuffer, computePipeline, compact);
+    }
+
+    /**
+     * Record the indirect draws of a frame, inside the render pass, once the pipeline is bound.
+     * @param commandRecorder The recorder of the command buffer.
+     * @param frame The frame in flight.
+     */
+    public void recordDraws(CommandRecorder commandRecorder, int frame) {
+        cullingFrames[frame].recordDraws(commandRecorder, compact, maxDrawCount);
+    }
+
+    /**
+     * Get the number of objects culled by a frame.
+     * @param frame The frame in flight.
+     * @return int - The number of objects.
+     */
+    public int getNumberOfObjects(int frame) {
+        return cullingFrames[frame].getNumberOfObjects();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package org.scarlet.vulkan.render;
+
+import org.lwjgl.vulkan.VkDrawIndexedIndirectCommand;
+import org.lwjgl.vulkan.VkPhysicalDeviceFeatures;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.device.PhysicalDevice;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+
+import static org.lwjgl.system.MemoryUtil.memPutInt;
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Persistently mapped buffers of indexed indirect draw commands, one per frame in flight.
+ * The commands of a frame are written straight into the coherent memory of its buffer while the frame is recorded,
+ * and batches of consecutive commands are submitted with a single indirect draw when the device supports multi draw
+ * indirect. The buffer of a frame is only rewritten once the previous submission of that frame completed.
+ */
+public class IndirectDrawBuffer {
+    /**
+     * The size of an indexed indirect draw command, in bytes.
+     */
+    public static final int COMMAND_SIZE = VkDrawIndexedIndirectCommand.SIZEOF;
+
+    /**
+     * The command buffers, by frame in flight.
+     */
+    private final VulkanBuffer[] buffers;
+
+    /**
+     * The addresses of the mapped command buffers, by frame in flight.
+     */
+    private final long[] mappedMemories;
+
+    /**
+     * The number of commands of every buffer.
+     */
+    private final int capacity;
+
+    /**
+     * Flag indicating if several commands can be drawn by a single indirect draw.
+     */
+    private final boolean multiDrawIndirect;
+
+    /**
+     * Flag indicating if the commands can start at an instance other than zero.
+     */
+    private final boolean firstInstance;
+
+    /**
+     * The largest number of commands drawn by a single indirect draw.
+     */
+    private final int maxDrawCount;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param capacity The number of commands of every buffer.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public IndirectDrawBuffer(LogicalDevice logicalDevice, int capacity, int framesInFlight) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The indirect draw capacity must be positive.");
+        }
+        PhysicalDevice physicalDevice = logicalDevice.getPhysicalDevice();
+        VkPhysicalDeviceFeatures features = physicalDevice.getDeviceFeatures();
+        this.capacity = capacity;
+        multiDrawIndirect = features.multiDrawIndirect();
+        firstInstance = features.drawIndirectFirstInstance();
+        // The limit is an unsigned integer, commonly the largest one.
+        maxDrawCount = multiDrawIndirect
+                ? (int) Math.min(Integer.toUnsignedLong(physicalDevice.getDeviceProperties().limits().maxDrawIndirectCount()), Integer.MAX_VALUE)
+                : 1;
+        EngineLogger.getInstance().log(Level.INFO, "Creating indirect draw buffers of [%d] commands, multi draw indirect [%b].",
+                capacity, multiDrawIndirect);
+        buffers = new VulkanBuffer[framesInFlight];
+        mappedMemories = new long[framesInFlight];
+        for (int i = 0; i < framesInFlight; i++) {
+            buffers[i] = new VulkanBuffer(logicalDevice, (long) capacity * COMMAND_SIZE,
+                    VK_BUFFER_USAGE_INDIRECT_BUFFER_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                            VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+            mappedMemories[i] = buffers[i].map();
+        }
+    }
+
+    /**
+     * Release resources. The device must not read the buffers anymore.
+     */
+    public void cleanup() {
+        Arrays.stream(buffers).forEach(buffer -> {
+            buffer.unMap();
+            buffer.cleanup();
+        });
+    }
+
+    /**
+     * Write a command, drawing a single instance.
+     * The instance index of the command is the command itself where supported, so a shader can find the data of
+     * its draw from gl_InstanceIndex, and zero otherwise.
+     * @param frame The frame in flight.
+     * @param command The command.
+     * @param indexCount The number of indices.
+     * @param firstIndex The first index.
+     * @param vertexOffset The value added to every index before fetching a vertex.
+     */
+    public void write(int frame, int command, int indexCount, int firstIndex, int vertexOffset) {
+        long address = mappedMemories[frame] + (long) command * COMMAND_SIZE;
+        memPutInt(address + VkDrawIndexedIndirectCommand.INDEXCOUNT, indexCount);
+        memPutInt(address + VkDrawIndexedIndirectCommand.INSTANCECOUNT, 1);
+        memPutInt(address + VkDrawIndexedIndirectCommand.FIRSTINDEX, firstIndex);
+        memPutInt(address + VkDrawIndexedIndirectCommand.VERTEXOFFSET, vertexOffset);
+        memPutInt(address + VkDrawIndexedIndirectCommand.FIRSTINSTANCE, firstInstance ? command : 0);
+    }
+
+    /**
+     * Record the indirect draws of a range of written commands, with as few draws as the device allows.
+     * @param commandRecorder The recorder of the command buffer.
+     * @param frame The frame in flight.
+     * @param firstCommand The first command.
+     * @param numberOfCommands The number of commands.
+     */
+    public void draw(CommandRecorder commandRecorder, int frame, int firstCommand, int numberOfCommands) {
+        long buffer = buffers[frame].getBuffer();
+        int lastCommand = firstCommand + numberOfCommands;
+        for (int command = firstCommand; command < lastCommand; command += maxDrawCount) {
+            commandRecorder.drawIndexedIndirect(buffer, (long) command * COMMAND_SIZE,
+                    Math.min(maxDrawCount, lastCommand - command), COMMAND_SIZE);
+        }
+    }
+
+    /**
+     * Get the number of commands of every buffer.
+     * @return int - The number of commands.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the multi draw indirect support.
+     * @return boolean - True if a batch of commands is drawn by a single indirect draw.
+     */
+    public boolean isMultiDrawIndirect() {
+        return multiDrawIndirect;
+    }
+}
\ No newline at end of file
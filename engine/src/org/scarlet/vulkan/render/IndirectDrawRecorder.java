@@ -0,0 +1,123 @@
+package org.scarlet.vulkan.render;
+
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.model.GeometryPage;
+import org.scarlet.vulkan.model.VulkanMesh;
+
+/**
+ * Writes the visible index ranges of the meshes of a slice to the indirect draw buffer of the frame, and draws the
+ * commands sharing their bindings as one batch.
+ * Every slice writes to its own range of the buffer, in proportion to its number of meshes. The draws overflowing the
+ * range are recorded directly.
+ */
+public class IndirectDrawRecorder implements SliceRecorder {
+    /**
+     * The meshes of the frame.
+     */
+    private final MeshQueue meshQueue;
+
+    /**
+     * The level of detail selector.
+     */
+    private final LodSelector lodSelector;
+
+    /**
+     * The mesh and cluster culler.
+     */
+    private final ClusterCuller clusterCuller;
+
+    /**
+     * The state of the draws.
+     */
+    private final DrawState drawState;
+
+    /**
+     * The pipeline of the draws.
+     */
+    private final ReloadablePipeline pipeline;
+
+    /**
+     * The buffers of indirect draw commands.
+     */
+    private final IndirectDrawBuffer indirectDrawBuffer;
+
+    /**
+     * The frame in flight being recorded.
+     */
+    private int frame;
+
+    /**
+     * Constructor.
+     * @param meshQueue The meshes of the frame.
+     * @param lodSelector The level of detail selector.
+     * @param clusterCuller The mesh and cluster culler.
+     * @param drawState The state of the draws.
+     * @param pipeline The pipeline of the draws.
+     * @param indirectDrawBuffer The buffers of indirect draw commands.
+     */
+    public IndirectDrawRecorder(MeshQueue meshQueue, LodSelector lodSelector, ClusterCuller clusterCuller,
+                                DrawState drawState, ReloadablePipeline pipeline, IndirectDrawBuffer indirectDrawBuffer) {
+        this.meshQueue = meshQueue;
+        this.lodSelector = lodSelector;
+        this.clusterCuller = clusterCuller;
+        this.drawState = drawState;
+        this.pipeline = pipeline;
+        this.indirectDrawBuffer = indirectDrawBuffer;
+    }
+
+    /**
+     * Set the frame in flight whose indirect draw buffer the next slices write to.
+     * @param frame The frame in flight, whose previous submission completed.
+     */
+    public void setFrame(int frame) {
+        this.frame = frame;
+    }
+
+    @Override
+    public void recordSlice(CommandRecorder commandRecorder, int first, int last, DrawList drawList) {
+        drawState.record(commandRecorder, pipeline.getPipeline());
+        if (last <= first) {
+            return;
+        }
+        long capacity = indirectDrawBuffer.getCapacity();
+        int command = (int) (capacity * first / meshQueue.size());
+        int lastCommand = (int) (capacity * last / meshQueue.size());
+        int batchStart = command;
+        GeometryPage batchPage = null;
+        int batchIndexType = -1;
+        for (int i = first; i < last; i++) {
+            VulkanMesh mesh = meshQueue.getMesh(i);
+            GeometryPage page = mesh.getPage();
+            if (page != batchPage || mesh.getIndexType() != batchIndexType) {
+                // The pending commands were written for the bindings about to be replaced.
+                if (command > batchStart) {
+                    indirectDrawBuffer.draw(commandRecorder, frame, batchStart, command - batchStart);
+                    batchStart = command;
+                }
+                batchPage = page;
+                batchIndexType = mesh.getIndexType();
+            }
+            commandRecorder.bindVertexBuffer(0, page.getVertexBuffer().getBuffer(), 0);
+            commandRecorder.bindIndexBuffer(page.getIndexBuffer().getBuffer(), 0, mesh.getIndexType());
+            drawList.clear();
+            clusterCuller.cull(mesh, lodSelector.selectLevel(mesh), drawList);
+            for (int draw = 0; draw < drawList.size(); draw++) {
+                if (command < lastCommand) {
+                    indirectDrawBuffer.write(frame, command, drawList.getNumberOfIndices(draw),
+                            drawList.getFirstIndex(draw), drawList.getVertexOffset(draw));
+                    command++;
+                    continue;
+                }
+                if (command > batchStart) {
+                    indirectDrawBuffer.draw(commandRecorder, frame, batchStart, command - batchStart);
+                    batchStart = command;
+                }
+                commandRecorder.drawIndexed(drawList.getNumberOfIndices(draw), 1,
+                        drawList.getFirstIndex(draw), drawList.getVertexOffset(draw), 0);
+            }
+        }
+        if (command > batchStart) {
+            indirectDrawBuffer.draw(commandRecorder, frame, batchStart, command - batchStart);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector4fc;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.model.InstancedVertexBufferStructure;
+import org.scarlet.vulkan.model.VulkanModel;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Groups the instances added during a frame by model, so every mesh of a model is drawn once for all its instances.
+ * The groups are laid out one after the other in the instance buffer of the frame, in the order their first instance
+ * was added. The layout, the groups and their number of instances, only changes the recorded commands when it differs
+ * from the previous frame, while the instance data is written again every frame.
+ * The groups are kept from frame to frame, so a steady set of models allocates nothing.
+ */
+public class InstanceBatcher {
+    /**
+     * The groups, by model ID.
+     */
+    private final Map<String, InstanceGroup> groupsByModel;
+
+    /**
+     * The groups with instances, in the order their first instance was added.
+     */
+    private final List<InstanceGroup> groups;
+
+    /**
+     * The groups of the last layout.
+     */
+    private final List<InstanceGroup> layoutGroups;
+
+    /**
+     * The number of instances of every group of the last layout.
+     */
+    private int[] layoutSizes;
+
+    /**
+     * The generation of the model list the groups were resolved with.
+     */
+    private long modelGeneration;
+
+    /**
+     * Constructor.
+     */
+    public InstanceBatcher() {
+        groupsByModel = new HashMap<>();
+        groups = new ArrayList<>();
+        layoutGroups = new ArrayList<>();
+        layoutSizes = new int[0];
+        modelGeneration = -1;
+    }
+
+    /**
+     * Add an instance of a model to the frame.
+     * @param modelID The model ID.
+     * @param transform The transform of the instance.
+     * @param color The color of the instance.
+     */
+    public void add(String modelID, Matrix4fc transform, Vector4fc color) {
+        InstanceGroup group = groupsByModel.get(modelID);
+        if (group == null) {
+            group = new InstanceGroup(modelID);
+            groupsByModel.put(modelID, group);
+        }
+        if (group.size() == 0) {
+            groups.add(group);
+        }
+        group.add(transform, color);
+    }
+
+    /**
+     * Remove every instance, once the frame was rendered.
+     */
+    public void clear() {
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).clear();
+        }
+        groups.clear();
+    }
+
+    /**
+     * Lay the groups out in the instance buffer, and find their models.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelGeneration The generation of the list of Vulkan models.
+     * @param capacity The number of instances of the instance buffer, the instances beyond it being dropped.
+     * @return boolean - True if the layout differs from the previous one, false otherwise.
+     */
+    public boolean updateLayout(List<VulkanModel> vulkanModelList, long modelGeneration, int capacity) {
+        boolean changed = groups.size() != layoutGroups.size();
+        for (int i = 0; !changed && i < groups.size(); i++) {
+            changed = groups.get(i) != layoutGroups.get(i) || groups.get(i).size() != layoutSizes[i];
+        }
+        if (!changed && modelGeneration == this.modelGeneration) {
+            return false;
+        }
+        this.modelGeneration = modelGeneration;
+        layoutGroups.clear();
+        layoutGroups.addAll(groups);
+        if (layoutSizes.length < groups.size()) {
+            layoutSizes = new int[groups.size()];
+        }
+        int firstInstance = 0;
+        int droppedInstances = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            InstanceGroup group = groups.get(i);
+            layoutSizes[i] = group.size();
+            group.setVulkanModel(findModel(vulkanModelList, group.getModelID()));
+            int numberOfDrawnInstances = Math.min(group.size(), capacity - firstInstance);
+            group.place(firstInstance, numberOfDrawnInstances);
+            firstInstance += numberOfDrawnInstances;
+            droppedInstances += group.size() - numberOfDrawnInstances;
+        }
+        if (droppedInstances > 0) {
+            EngineLogger.getInstance().log(Level.WARNING, "Dropped [%d] instance(s) beyond the capacity of [%d] instances.",
+                    droppedInstances, capacity);
+        }
+        return true;
+    }
+
+    /**
+     * Find a model by ID.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelID The model ID.
+     * @return VulkanModel - The model, or null if it is not loaded.
+     */
+    private static VulkanModel findModel(List<VulkanModel> vulkanModelList, String modelID) {
+        for (int i = 0; i < vulkanModelList.size(); i++) {
+            if (vulkanModelList.get(i).getModelID().equals(modelID)) {
+                return vulkanModelList.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write the data of the drawn instances of every group to mapped memory, at the place of the group, with a bulk
+     * copy per group.
+     * @param instanceData The view of the mapped instance buffer of the frame.
+     */
+    public void write(FloatBuffer instanceData) {
+        for (int i = 0; i < groups.size(); i++) {
+            InstanceGroup group = groups.get(i);
+            int numberOfFloats = group.getNumberOfDrawnInstances() * InstancedVertexBufferStructure.INSTANCE_COMPONENTS;
+            instanceData.put(group.getFirstInstance() * InstancedVertexBufferStructure.INSTANCE_COMPONENTS,
+                    group.getInstances(), 0, numberOfFloats);
+        }
+    }
+
+    /**
+     * Check if a model has instances in the frame, in which case it is only drawn through its instances.
+     * @param modelID The model ID.
+     * @return boolean - True if the model has instances, false otherwise.
+     */
+    public boolean hasInstances(String modelID) {
+        InstanceGroup group = groupsByModel.get(modelID);
+        return group != null && group.size() > 0;
+    }
+
+    /**
+     * Get the number of groups with instances in the frame.
+     * @return int - The number of groups.
+     */
+    public int getNumberOfGroups() {
+        return groups.size();
+    }
+
+    /**
+     * Get a group with instances in the frame.
+     * @param group The group, in the order its first instance was added.
+     * @return InstanceGroup - The group.
+     */
+    public InstanceGroup getGroup(int group) {
+        return groups.get(group);
+    }
+}
\ No newline at end of file
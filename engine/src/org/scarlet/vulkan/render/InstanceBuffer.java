@@ -0,0 +1,95 @@
+package org.scarlet.vulkan.render;
+
+import org.lwjgl.system.MemoryUtil;
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.buffer.VulkanBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.model.InstancedVertexBufferStructure;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Persistently mapped vertex buffers of instance data, one per frame in flight, read per instance by the instanced
+ * pipeline. The instances of a frame are written straight into the coherent memory of its buffer, once the previous
+ * submission of that frame completed.
+ */
+public class InstanceBuffer {
+    /**
+     * The instance buffers, by frame in flight.
+     */
+    private final VulkanBuffer[] buffers;
+
+    /**
+     * The views of the mapped instance buffers, by frame in flight, created once so writing a frame allocates nothing.
+     */
+    private final FloatBuffer[] mappedInstances;
+
+    /**
+     * The number of instances of every buffer.
+     */
+    private final int capacity;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param capacity The number of instances of every buffer.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public InstanceBuffer(LogicalDevice logicalDevice, int capacity, int framesInFlight) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The instance capacity must be positive.");
+        }
+        this.capacity = capacity;
+        EngineLogger.getInstance().log(Level.INFO, "Creating instance buffers of [%d] instances.", capacity);
+        buffers = new VulkanBuffer[framesInFlight];
+        mappedInstances = new FloatBuffer[framesInFlight];
+        for (int i = 0; i < framesInFlight; i++) {
+            buffers[i] = new VulkanBuffer(logicalDevice, (long) capacity * InstancedVertexBufferStructure.INSTANCE_STRIDE,
+                    VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT |
+                            VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+            mappedInstances[i] = MemoryUtil.memFloatBuffer(buffers[i].map(),
+                    capacity * InstancedVertexBufferStructure.INSTANCE_COMPONENTS);
+        }
+    }
+
+    /**
+     * Release resources. The device must not read the buffers anymore.
+     */
+    public void cleanup() {
+        Arrays.stream(buffers).forEach(buffer -> {
+            buffer.unMap();
+            buffer.cleanup();
+        });
+    }
+
+    /**
+     * Write the instances of a frame, laid out by the batcher.
+     * @param frame The frame in flight.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     */
+    public void write(int frame, InstanceBatcher instanceBatcher) {
+        instanceBatcher.write(mappedInstances[frame]);
+    }
+
+    /**
+     * Get the instance buffer of a frame.
+     * @param frame The frame in flight.
+     * @return long - The handle to the buffer.
+     */
+    public long getBuffer(int frame) {
+        return buffers[frame].getBuffer();
+    }
+
+    /**
+     * Get the number of instances of every buffer.
+     * @return int - The number of instances.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector4fc;
+import org.scarlet.vulkan.model.InstancedVertexBufferStructure;
+import org.scarlet.vulkan.model.VulkanModel;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of the instances of a model added during a frame, every instance holding a transform and a color.
+ * The instances are drawn from a contiguous range of the instance buffer of the frame, starting at the first instance
+ * assigned to the group. The list keeps its capacity from frame to frame.
+ */
+public class InstanceGroup {
+    /**
+     * The initial number of instances of the list.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The ID of the instanced model.
+     */
+    private final String modelID;
+
+    /**
+     * The instance data, as a column major transform followed by a color per instance.
+     */
+    private float[] instances;
+
+    /**
+     * The number of instances.
+     */
+    private int size;
+
+    /**
+     * The instanced model, or null if it is not loaded.
+     */
+    private VulkanModel vulkanModel;
+
+    /**
+     * The first instance of the group in the instance buffer.
+     */
+    private int firstInstance;
+
+    /**
+     * The number of instances drawn, lower than the number of instances when the instance buffer is full.
+     */
+    private int numberOfDrawnInstances;
+
+    /**
+     * Constructor.
+     * @param modelID The ID of the instanced model.
+     */
+    public InstanceGroup(String modelID) {
+        this.modelID = modelID;
+        instances = new float[INITIAL_CAPACITY * InstancedVertexBufferStructure.INSTANCE_COMPONENTS];
+    }
+
+    /**
+     * Add an instance.
+     * @param transform The transform of the instance.
+     * @param color The color of the instance.
+     */
+    public void add(Matrix4fc transform, Vector4fc color) {
+        int offset = size * InstancedVertexBufferStructure.INSTANCE_COMPONENTS;
+        if (offset == instances.length) {
+            instances = Arrays.copyOf(instances, offset * 2);
+        }
+        transform.get(instances, offset);
+        offset += InstancedVertexBufferStructure.INSTANCE_COMPONENTS - 4;
+        instances[offset] = color.x();
+        instances[offset + 1] = color.y();
+        instances[offset + 2] = color.z();
+        instances[offset + 3] = color.w();
+        size++;
+    }
+
+    /**
+     * Remove every instance.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Get the number of instances.
+     * @return int - The number of instances.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the instance data.
+     * @return float[] - The instance data, as a column major transform followed by a color per instance.
+     */
+    public float[] getInstances() {
+        return instances;
+    }
+
+    /**
+     * Get the ID of the instanced model.
+     * @return String - The model ID.
+     */
+    public String getModelID() {
+        return modelID;
+    }
+
+    /**
+     * Get the instanced model.
+     * @return VulkanModel - The model, or null if it is not loaded.
+     */
+    public VulkanModel getVulkanModel() {
+        return vulkanModel;
+    }
+
+    /**
+     * Set the instanced model.
+     * @param vulkanModel The model, or null if it is not loaded.
+     */
+    public void setVulkanModel(VulkanModel vulkanModel) {
+        this.vulkanModel = vulkanModel;
+    }
+
+    /**
+     * Get the first instance of the group in the instance buffer.
+     * @return int - The first instance.
+     */
+    public int getFirstInstance() {
+        return firstInstance;
+    }
+
+    /**
+     * Get the number of instances drawn.
+     * @return int - The number of drawn instances.
+     */
+    public int getNumberOfDrawnInstances() {
+        return numberOfDrawnInstances;
+    }
+
+    /**
+     * Place the group in the instance buffer.
+     * @param firstInstance The first instance of the group in the instance buffer.
+     * @param numberOfDrawnInstances The number of instances drawn.
+     */
+    public void place(int firstInstance, int numberOfDrawnInstances) {
+        this.firstInstance = firstInstance;
+        this.numberOfDrawnInstances = numberOfDrawnInstances;
+    }
+}
\ No newline at end of file
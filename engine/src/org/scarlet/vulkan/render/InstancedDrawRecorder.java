@@ -0,0 +1,183 @@
+package org.scarlet.vulkan.render;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.scarlet.EngineProperties;
+import org.scarlet.asset.FileWatcher;
+import org.scarlet.vulkan.buffer.CommandBuffer;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.buffer.FrameCommandAllocator;
+import org.scarlet.vulkan.buffer.InheritanceInformation;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.model.GeometryPage;
+import org.scarlet.vulkan.model.InstancedVertexBufferStructure;
+import org.scarlet.vulkan.model.QuantizedVertexBufferStructure;
+import org.scarlet.vulkan.model.VertexBufferStructure;
+import org.scarlet.vulkan.model.VulkanMesh;
+import org.scarlet.vulkan.model.VulkanModel;
+import org.scarlet.vulkan.pipeline.PipelineCache;
+
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.vkCmdExecuteCommands;
+
+/**
+ * Records a draw per mesh of every instanced model, for all the instances of the model, reading the data of the
+ * instances from the instance buffer of the frame. The meshes are drawn at full resolution.
+ */
+public class InstancedDrawRecorder {
+    /**
+     * Instanced vertex shader location.
+     */
+    private static final String INSTANCED_VERTEX_SHADER_FILE_GLSL = "resources/shaders/inst_vertex.glsl";
+
+    /**
+     * Instanced fragment shader location.
+     */
+    private static final String INSTANCED_FRAGMENT_SHADER_FILE_GLSL = "resources/shaders/inst_fragment.glsl";
+
+    /**
+     * The state of the draws.
+     */
+    private final DrawState drawState;
+
+    /**
+     * The buffers of instance data, by frame in flight.
+     */
+    private final InstanceBuffer instanceBuffer;
+
+    /**
+     * The pipeline reading the vertices of the meshes and the data of the instances.
+     */
+    private final ReloadablePipeline pipeline;
+
+    /**
+     * The secondary command buffer of the instanced draws, executed from the primary command buffer.
+     */
+    private final PointerBuffer secondaryCommandBuffers;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param pipelineCache The pipeline cache.
+     * @param frameRetirementQueue The queue destroying the replaced pipelines once the frames in flight retired.
+     * @param renderPass The render pass the instances are drawn in.
+     * @param drawState The state of the draws.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public InstancedDrawRecorder(LogicalDevice logicalDevice, PipelineCache pipelineCache,
+                                 FrameRetirementQueue frameRetirementQueue, long renderPass, DrawState drawState,
+                                 int framesInFlight) {
+        this.drawState = drawState;
+        EngineProperties engineProperties = EngineProperties.getInstance();
+        instanceBuffer = new InstanceBuffer(logicalDevice, engineProperties.getInstanceCapacity(), framesInFlight);
+        pipeline = new ReloadablePipeline(logicalDevice, pipelineCache, frameRetirementQueue, renderPass,
+                INSTANCED_VERTEX_SHADER_FILE_GLSL, INSTANCED_FRAGMENT_SHADER_FILE_GLSL,
+                () -> engineProperties.isVertexQuantization()
+                        ? new InstancedVertexBufferStructure(QuantizedVertexBufferStructure.getAttributeFormats()[0],
+                                QuantizedVertexBufferStructure.VERTEX_STRIDE)
+                        : new InstancedVertexBufferStructure(VertexBufferStructure.getAttributeFormats()[0],
+                                VertexBufferStructure.VERTEX_STRIDE),
+                DrawState.PUSH_CONSTANTS_SIZE);
+        secondaryCommandBuffers = MemoryUtil.memAllocPointer(1);
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        pipeline.cleanup();
+        instanceBuffer.cleanup();
+        MemoryUtil.memFree(secondaryCommandBuffers);
+    }
+
+    /**
+     * Watch the instanced GLSL shaders, rebuilding the pipeline whenever one of them changes.
+     * @param fileWatcher The file watcher.
+     */
+    public void watchShaders(FileWatcher fileWatcher) {
+        pipeline.watchShaders(fileWatcher);
+    }
+
+    /**
+     * Swap in the pipeline built from reloaded shaders, if any. Called at a frame boundary.
+     * @return boolean - True if the pipeline was replaced, false otherwise.
+     */
+    public boolean swapReloadedPipeline() {
+        return pipeline.swapReloadedPipeline();
+    }
+
+    /**
+     * Lay out the instances of the frame and write them to its instance buffer.
+     * @param frame The frame in flight, whose previous submission completed.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param modelGeneration The generation of the list of Vulkan models.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     * @return boolean - True if the layout of the instances changed, false otherwise.
+     */
+    public boolean update(int frame, List<VulkanModel> vulkanModelList, long modelGeneration,
+                          InstanceBatcher instanceBatcher) {
+        boolean layoutChanged = instanceBatcher.updateLayout(vulkanModelList, modelGeneration,
+                instanceBuffer.getCapacity());
+        instanceBuffer.write(frame, instanceBatcher);
+        return layoutChanged;
+    }
+
+    /**
+     * Record the instanced draws of the frame.
+     * @param commandRecorder The recorder of the command buffer, inside the render pass.
+     * @param frame The frame in flight.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     */
+    public void record(CommandRecorder commandRecorder, int frame, InstanceBatcher instanceBatcher) {
+        if (instanceBatcher.getNumberOfGroups() == 0) {
+            return;
+        }
+        drawState.record(commandRecorder, pipeline.getPipeline());
+        commandRecorder.bindVertexBuffer(InstancedVertexBufferStructure.INSTANCE_BINDING, instanceBuffer.getBuffer(frame), 0);
+        for (int i = 0; i < instanceBatcher.getNumberOfGroups(); i++) {
+            InstanceGroup group = instanceBatcher.getGroup(i);
+            VulkanModel vulkanModel = group.getVulkanModel();
+            if (vulkanModel == null || group.getNumberOfDrawnInstances() == 0) {
+                continue;
+            }
+            List<VulkanMesh> vulkanMeshList = vulkanModel.getVulkanMeshList();
+            for (int j = 0; j < vulkanMeshList.size(); j++) {
+                VulkanMesh mesh = vulkanMeshList.get(j);
+                GeometryPage page = mesh.getPage();
+                commandRecorder.bindVertexBuffer(InstancedVertexBufferStructure.VERTEX_BINDING,
+                        page.getVertexBuffer().getBuffer(), 0);
+                commandRecorder.bindIndexBuffer(page.getIndexBuffer().getBuffer(), 0, mesh.getIndexType());
+                commandRecorder.drawIndexed(mesh.getNumberOfIndices(), group.getNumberOfDrawnInstances(),
+                        mesh.getFirstIndex(), mesh.getVertexOffset(), group.getFirstInstance());
+            }
+        }
+    }
+
+    /**
+     * Record the instanced draws of the frame into a secondary command buffer executed from the primary command
+     * buffer, inline draws not being allowed in a sub-pass of secondary command buffers.
+     * @param primaryCommandBuffer The primary command buffer, inside the render pass.
+     * @param frameCommandAllocator The allocator of the command buffers of the frames in flight.
+     * @param inheritanceInformation The inheritance information of the secondary command buffer.
+     * @param commandRecorder The recorder of the secondary command buffer.
+     * @param frame The frame in flight.
+     * @param instanceBatcher The batcher of the instances of the frame.
+     * @return boolean - True if instances were recorded, false if the frame has none.
+     */
+    public boolean recordSecondary(VkCommandBuffer primaryCommandBuffer, FrameCommandAllocator frameCommandAllocator,
+                                   InheritanceInformation inheritanceInformation, CommandRecorder commandRecorder,
+                                   int frame, InstanceBatcher instanceBatcher) {
+        if (instanceBatcher.getNumberOfGroups() == 0) {
+            return false;
+        }
+        CommandBuffer commandBuffer = frameCommandAllocator.allocate(frame, false);
+        commandBuffer.beginRecording(inheritanceInformation);
+        commandRecorder.begin(commandBuffer);
+        record(commandRecorder, frame, instanceBatcher);
+        commandBuffer.endRecording();
+        vkCmdExecuteCommands(primaryCommandBuffer, secondaryCommandBuffers.put(0, commandBuffer.getCommandBuffer()));
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Vector3f;
+import org.scarlet.vulkan.Projection;
+import org.scarlet.vulkan.Scene;
+import org.scarlet.vulkan.model.VulkanMesh;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Selects the level of detail of every draw from its projected screen space error.
+ * The error of a level, in model units, is projected at the distance of the closest point of the bounding sphere of
+ * the mesh, and the coarsest level whose projected error stays under the threshold is drawn.
+ * Levels may be selected from several recording threads once the selector is updated.
+ */
+public class LodSelector {
+    /**
+     * The screen space error allowed, in pixels.
+     */
+    private final float pixelError;
+
+    /**
+     * The camera position of the frame.
+     */
+    private final Vector3f cameraPosition;
+
+    /**
+     * The number of pixels covered by one unit at a distance of one unit.
+     */
+    private float pixelScale;
+
+    /**
+     * The distance to the near plane.
+     */
+    private float zNear;
+
+    /**
+     * The number of triangles selected during the frame.
+     */
+    private final LongAdder selectedTriangles;
+
+    /**
+     * The number of triangles of the full resolution meshes drawn during the frame.
+     */
+    private final LongAdder fullTriangles;
+
+    /**
+     * Constructor.
+     * @param pixelError The screen space error allowed, in pixels.
+     */
+    public LodSelector(float pixelError) {
+        this.pixelError = pixelError;
+        cameraPosition = new Vector3f();
+        selectedTriangles = new LongAdder();
+        fullTriangles = new LongAdder();
+    }
+
+    /**
+     * Start a frame with the camera and projection of a scene.
+     * @param scene The scene.
+     */
+    public void update(Scene scene) {
+        Projection projection = scene.getProjection();
+        cameraPosition.set(scene.getCamera().getPosition());
+        pixelScale = projection.getPixelScale();
+        zNear = projection.getZNear();
+        selectedTriangles.reset();
+        fullTriangles.reset();
+    }
+
+    /**
+     * Select the level of detail of a mesh.
+     * @param vulkanMesh The mesh.
+     * @return int - The level, 0 being the full resolution mesh.
+     */
+    public int selectLevel(VulkanMesh vulkanMesh) {
+        int level = 0;
+        float[] boundingSphere = vulkanMesh.getBoundingSphere();
+        if (boundingSphere != null) {
+            float distance = Math.max(cameraPosition.distance(boundingSphere[0], boundingSphere[1], boundingSphere[2])
+                    - boundingSphere[3], zNear);
+            float errorScale = pixelScale / distance;
+            while (level + 1 < vulkanMesh.getNumberOfLevels()
+                    && vulkanMesh.getLevelError(level + 1) * errorScale <= pixelError) {
+                level++;
+            }
+        }
+        selectedTriangles.add(vulkanMesh.getNumberOfIndices(level) / 3);
+        fullTriangles.add(vulkanMesh.getNumberOfIndices() / 3);
+        return level;
+    }
+
+    /**
+     * Get the number of triangles selected since the start of the frame.
+     * @return long - The number of triangles.
+     */
+    public long getSelectedTriangles() {
+        return selectedTriangles.sum();
+    }
+
+    /**
+     * Get the number of triangles the full resolution meshes would have drawn since the start of the frame.
+     * @return long - The number of triangles.
+     */
+    public long getFullTriangles() {
+        return fullTriangles.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.scarlet.vulkan.render;
+
+import org.joml.Vector3fc;
+import org.scarlet.vulkan.model.VulkanMesh;
+import org.scarlet.vulkan.model.VulkanModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.VK_INDEX_TYPE_UINT32;
+
+/**
+ * The meshes of a frame, in drawing order.
+ * The meshes are sorted by their render queue keys, built from their layer, pipeline, material, geometry buffers and
+ * depth, so meshes sharing state are drawn together.
+ */
+public class MeshQueue {
+    /**
+     * The render queue layer of the opaque meshes.
+     */
+    private static final int OPAQUE_LAYER = 0;
+
+    /**
+     * The render queue identifier of the forward pipeline, the only pipeline drawn for now.
+     */
+    private static final int FORWARD_PIPELINE = 0;
+
+    /**
+     * The render queue identifier of the material of the meshes, which have no material yet.
+     */
+    private static final int DEFAULT_MATERIAL = 0;
+
+    /**
+     * The meshes of the frame, in model order.
+     */
+    private final List<VulkanMesh> meshes;
+
+    /**
+     * The indices of the meshes of the frame, in drawing order.
+     */
+    private final RenderQueue renderQueue;
+
+    /**
+     * Constructor.
+     */
+    public MeshQueue() {
+        meshes = new ArrayList<>();
+        renderQueue = new RenderQueue();
+    }
+
+    /**
+     * Collect the meshes of the models and sort them.
+     * @param vulkanModelList The list of Vulkan models.
+     * @param cameraPosition The camera position, the depth of a mesh being measured from it.
+     */
+    public void prepare(List<VulkanModel> vulkanModelList, Vector3fc cameraPosition) {
+        meshes.clear();
+        renderQueue.clear();
+        // Indexed loops, since an iterator per model would be allocated every recorded frame.
+        for (int model = 0; model < vulkanModelList.size(); model++) {
+            List<VulkanMesh> vulkanMeshList = vulkanModelList.get(model).getVulkanMeshList();
+            for (int i = 0; i < vulkanMeshList.size(); i++) {
+                VulkanMesh mesh = vulkanMeshList.get(i);
+                // Meshes sharing a page and an index type share their bindings.
+                int geometry = mesh.getPage().getPageID() << 1 | (mesh.getIndexType() == VK_INDEX_TYPE_UINT32 ? 1 : 0);
+                float[] boundingSphere = mesh.getBoundingSphere();
+                float depth = boundingSphere != null
+                        ? cameraPosition.distance(boundingSphere[0], boundingSphere[1], boundingSphere[2]) - boundingSphere[3]
+                        : 0.0f;
+                renderQueue.add(RenderQueue.createKey(OPAQUE_LAYER, FORWARD_PIPELINE, DEFAULT_MATERIAL, geometry, depth),
+                        meshes.size());
+                meshes.add(mesh);
+            }
+        }
+        renderQueue.sort();
+    }
+
+    /**
+     * Get the number of meshes of the frame.
+     * @return int - The number of meshes.
+     */
+    public int size() {
+        return meshes.size();
+    }
+
+    /**
+     * Get a mesh of the frame.
+     * @param draw The position of the mesh in drawing order.
+     * @return VulkanMesh - The mesh.
+     */
+    public VulkanMesh getMesh(int draw) {
+        return meshes.get(renderQueue.getItem(draw));
+    }
+}
\ No newline at end of file
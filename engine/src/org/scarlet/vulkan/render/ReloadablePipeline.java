@@ -0,0 +1,234 @@
+package org.scarlet.vulkan.render;
+
+import org.lwjgl.util.shaderc.Shaderc;
+import org.scarlet.EngineLogger;
+import org.scarlet.EngineProperties;
+import org.scarlet.asset.FileWatcher;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.model.VertexInputStateInformation;
+import org.scarlet.vulkan.pipeline.Pipeline;
+import org.scarlet.vulkan.pipeline.PipelineCache;
+import org.scarlet.vulkan.pipeline.PipelineCreationInformation;
+import org.scarlet.vulkan.shader.ShaderCompiler;
+import org.scarlet.vulkan.shader.ShaderModuleData;
+import org.scarlet.vulkan.shader.ShaderProgram;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Graphics pipeline built from a vertex and a fragment GLSL shader, rebuilt on the watcher thread whenever one of them
+ * changes. The rebuilt pipeline is swapped in at a frame boundary, and the replaced one is destroyed once the frames in
+ * flight retired.
+ */
+public class ReloadablePipeline {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The pipeline cache.
+     */
+    private final PipelineCache pipelineCache;
+
+    /**
+     * The queue destroying the replaced pipelines once the frames in flight retired.
+     */
+    private final FrameRetirementQueue frameRetirementQueue;
+
+    /**
+     * The render pass the pipeline draws in.
+     */
+    private final long renderPass;
+
+    /**
+     * The vertex shader location.
+     */
+    private final String vertexShaderFile;
+
+    /**
+     * The fragment shader location.
+     */
+    private final String fragmentShaderFile;
+
+    /**
+     * The supplier of the vertex input state of every built pipeline.
+     */
+    private final Supplier<VertexInputStateInformation> vertexInputStateSupplier;
+
+    /**
+     * The size of the push constants, in bytes.
+     */
+    private final int pushConstantsSize;
+
+    /**
+     * The shader program.
+     */
+    private ShaderProgram shaderProgram;
+
+    /**
+     * The pipeline.
+     */
+    private Pipeline pipeline;
+
+    /**
+     * Lock guarding the pipeline built from reloaded shaders.
+     */
+    private final Object reloadLock;
+
+    /**
+     * The shader program of the pipeline waiting to be swapped in, or null.
+     */
+    private ShaderProgram reloadedShaderProgram;
+
+    /**
+     * The pipeline built from reloaded shaders waiting to be swapped in, or null.
+     */
+    private Pipeline reloadedPipeline;
+
+    /**
+     * Constructor. The shaders are compiled first when shader recompilation is enabled.
+     * @param logicalDevice The logical device.
+     * @param pipelineCache The pipeline cache.
+     * @param frameRetirementQueue The queue destroying the replaced pipelines once the frames in flight retired.
+     * @param renderPass The render pass the pipeline draws in.
+     * @param vertexShaderFile The vertex shader location.
+     * @param fragmentShaderFile The fragment shader location.
+     * @param vertexInputStateSupplier The supplier of the vertex input state of every built pipeline.
+     * @param pushConstantsSize The size of the push constants, in bytes.
+     */
+    public ReloadablePipeline(LogicalDevice logicalDevice, PipelineCache pipelineCache,
+                              FrameRetirementQueue frameRetirementQueue, long renderPass, String vertexShaderFile,
+                              String fragmentShaderFile, Supplier<VertexInputStateInformation> vertexInputStateSupplier,
+                              int pushConstantsSize) {
+        this.logicalDevice = logicalDevice;
+        this.pipelineCache = pipelineCache;
+        this.frameRetirementQueue = frameRetirementQueue;
+        this.renderPass = renderPass;
+        this.vertexShaderFile = vertexShaderFile;
+        this.fragmentShaderFile = fragmentShaderFile;
+        this.vertexInputStateSupplier = vertexInputStateSupplier;
+        this.pushConstantsSize = pushConstantsSize;
+        reloadLock = new Object();
+        if (EngineProperties.getInstance().isShaderRecompilation()) {
+            compileShaders();
+        }
+        shaderProgram = createShaderProgram();
+        pipeline = createPipeline(shaderProgram);
+    }
+
+    /**
+     * Release resources.
+     */
+    public void cleanup() {
+        synchronized (reloadLock) {
+            if (reloadedPipeline != null) {
+                reloadedPipeline.cleanup();
+                reloadedShaderProgram.cleanup();
+            }
+        }
+        pipeline.cleanup();
+        shaderProgram.cleanup();
+    }
+
+    /**
+     * Compile the changed shaders.
+     */
+    private void compileShaders() {
+        ShaderCompiler.compileShaderIfChanged(vertexShaderFile, Shaderc.shaderc_glsl_vertex_shader);
+        ShaderCompiler.compileShaderIfChanged(fragmentShaderFile, Shaderc.shaderc_glsl_fragment_shader);
+    }
+
+    /**
+     * Create the shader program from the compiled shaders.
+     * @return ShaderProgram - The shader program.
+     */
+    private ShaderProgram createShaderProgram() {
+        return new ShaderProgram(logicalDevice, new ShaderModuleData[]{
+                new ShaderModuleData(VK_SHADER_STAGE_VERTEX_BIT, vertexShaderFile + ".spv"),
+                new ShaderModuleData(VK_SHADER_STAGE_FRAGMENT_BIT, fragmentShaderFile + ".spv")
+        });
+    }
+
+    /**
+     * Create the pipeline.
+     * @param shaderProgram The shader program.
+     * @return Pipeline - The pipeline.
+     */
+    private Pipeline createPipeline(ShaderProgram shaderProgram) {
+        PipelineCreationInformation pipelineCreationInformation = new PipelineCreationInformation(
+                renderPass, shaderProgram, 1, vertexInputStateSupplier.get(), pushConstantsSize,
+                EngineProperties.getInstance().isBackfaceCulling()
+        );
+        Pipeline createdPipeline = new Pipeline(pipelineCache, pipelineCreationInformation);
+        pipelineCreationInformation.cleanup();
+        return createdPipeline;
+    }
+
+    /**
+     * Watch the GLSL shaders, rebuilding the pipeline on the watcher thread whenever one of them changes.
+     * The rebuilt pipeline is swapped in by {@link #swapReloadedPipeline()}.
+     * @param fileWatcher The file watcher.
+     */
+    public void watchShaders(FileWatcher fileWatcher) {
+        fileWatcher.watch(Path.of(vertexShaderFile), path -> reloadShaders());
+        fileWatcher.watch(Path.of(fragmentShaderFile), path -> reloadShaders());
+    }
+
+    /**
+     * Recompile the changed shaders and build a pipeline from them.
+     * A shader failing to compile leaves the current pipeline in place.
+     */
+    private void reloadShaders() {
+        long startTime = System.nanoTime();
+        compileShaders();
+        ShaderProgram createdShaderProgram = createShaderProgram();
+        Pipeline createdPipeline = createPipeline(createdShaderProgram);
+        synchronized (reloadLock) {
+            // A pipeline never swapped in was never recorded, so it can be destroyed right away.
+            if (reloadedPipeline != null) {
+                reloadedPipeline.cleanup();
+                reloadedShaderProgram.cleanup();
+            }
+            reloadedShaderProgram = createdShaderProgram;
+            reloadedPipeline = createdPipeline;
+        }
+        EngineLogger.getInstance().log(Level.INFO, "Rebuilt the pipeline of [%s] in [%.2f] ms.",
+                vertexShaderFile, (System.nanoTime() - startTime) / 1_000_000d);
+    }
+
+    /**
+     * Swap in the pipeline built from reloaded shaders, if any. Called at a frame boundary.
+     * @return boolean - True if the pipeline was replaced, false otherwise.
+     */
+    public boolean swapReloadedPipeline() {
+        synchronized (reloadLock) {
+            if (reloadedPipeline == null) {
+                return false;
+            }
+            Pipeline replacedPipeline = pipeline;
+            ShaderProgram replacedShaderProgram = shaderProgram;
+            frameRetirementQueue.retire(() -> {
+                replacedPipeline.cleanup();
+                replacedShaderProgram.cleanup();
+            });
+            pipeline = reloadedPipeline;
+            shaderProgram = reloadedShaderProgram;
+            reloadedPipeline = null;
+            reloadedShaderProgram = null;
+            return true;
+        }
+    }
+
+    /**
+     * Get the pipeline to record.
+     * @return Pipeline - The pipeline.
+     */
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,211 @@
+package org.scarlet.vulkan.render;
+
+import java.util.Arrays;
+
+/**
+ * Queue of draws ordered by 64-bit sort keys.
+ * The key packs, from the most significant bits, the layer, the pipeline, the material, the geometry and the depth
+ * of a draw, so sorting the keys groups the draws sharing state and orders every group front to back:
+ * <pre>
+ * bits 60-63 layer, 48-59 pipeline, 32-47 material, 20-31 geometry, 0-19 depth
+ * </pre>
+ * Draws are sorted with an LSD radix sort over bytes, into preallocated arrays reused from frame to frame, so a frame
+ * allocates nothing once the queue reached its largest size. Bytes shared by every key, such as the layer and
+ * pipeline of a scene drawn with a single pipeline, are skipped.
+ */
+public class RenderQueue {
+    /**
+     * The number of bits of the layer.
+     */
+    public static final int LAYER_BITS = 4;
+
+    /**
+     * The number of bits of the pipeline.
+     */
+    public static final int PIPELINE_BITS = 12;
+
+    /**
+     * The number of bits of the material.
+     */
+    public static final int MATERIAL_BITS = 16;
+
+    /**
+     * The number of bits of the geometry.
+     */
+    public static final int GEOMETRY_BITS = 12;
+
+    /**
+     * The number of bits of the depth.
+     */
+    public static final int DEPTH_BITS = 20;
+
+    /**
+     * The initial capacity of the queue.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The number of bits sorted by a radix sort pass.
+     */
+    private static final int RADIX_BITS = 8;
+
+    /**
+     * The number of buckets of a radix sort pass.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * The number of radix sort passes covering a key.
+     */
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    /**
+     * The sort keys.
+     */
+    private long[] keys;
+
+    /**
+     * The item of every draw, such as the index of its mesh.
+     */
+    private int[] items;
+
+    /**
+     * The keys scattered by a radix sort pass.
+     */
+    private long[] sortedKeys;
+
+    /**
+     * The items scattered by a radix sort pass.
+     */
+    private int[] sortedItems;
+
+    /**
+     * The bucket counts, then offsets, of every radix sort pass.
+     */
+    private final int[] histograms;
+
+    /**
+     * The number of draws.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public RenderQueue() {
+        keys = new long[INITIAL_CAPACITY];
+        items = new int[INITIAL_CAPACITY];
+        sortedKeys = new long[INITIAL_CAPACITY];
+        sortedItems = new int[INITIAL_CAPACITY];
+        histograms = new int[PASSES * RADIX];
+    }
+
+    /**
+     * Create a sort key. Every field is truncated to its number of bits.
+     * @param layer The layer, drawn in increasing order.
+     * @param pipeline The pipeline identifier.
+     * @param material The material identifier.
+     * @param geometry The geometry identifier, such as the vertex and index buffers of the draw.
+     * @param depth The distance of the draw to the camera, negative distances counting as zero.
+     * @return long - The sort key.
+     */
+    public static long createKey(int layer, int pipeline, int material, int geometry, float depth) {
+        // The bits of a positive float grow with its value, so its top bits make an ordered depth.
+        int depthBits = Float.floatToRawIntBits(Math.max(depth, 0.0f)) >>> (Integer.SIZE - 1 - DEPTH_BITS);
+        return (long) (layer & ((1 << LAYER_BITS) - 1)) << (Long.SIZE - LAYER_BITS)
+                | (long) (pipeline & ((1 << PIPELINE_BITS) - 1)) << (MATERIAL_BITS + GEOMETRY_BITS + DEPTH_BITS)
+                | (long) (material & ((1 << MATERIAL_BITS) - 1)) << (GEOMETRY_BITS + DEPTH_BITS)
+                | (long) (geometry & ((1 << GEOMETRY_BITS) - 1)) << DEPTH_BITS
+                | depthBits;
+    }
+
+    /**
+     * Add a draw.
+     * @param key The sort key.
+     * @param item The item of the draw.
+     */
+    public void add(long key, int item) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            items = Arrays.copyOf(items, capacity);
+            sortedKeys = new long[capacity];
+            sortedItems = new int[capacity];
+        }
+        keys[size] = key;
+        items[size] = item;
+        size++;
+    }
+
+    /**
+     * Remove every draw.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sort the draws by increasing key, compared as unsigned. Draws sharing a key keep their insertion order.
+     */
+    public void sort() {
+        Arrays.fill(histograms, 0);
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                histograms[pass * RADIX + ((int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1))]++;
+            }
+        }
+        for (int pass = 0; pass < PASSES; pass++) {
+            int histogram = pass * RADIX;
+            int shift = pass * RADIX_BITS;
+            // Every key sharing this byte leaves the order unchanged.
+            if (size == 0 || histograms[histogram + ((int) (keys[0] >>> shift) & (RADIX - 1))] == size) {
+                continue;
+            }
+            int offset = 0;
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                int count = histograms[histogram + bucket];
+                histograms[histogram + bucket] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                long key = keys[i];
+                int position = histograms[histogram + ((int) (key >>> shift) & (RADIX - 1))]++;
+                sortedKeys[position] = key;
+                sortedItems[position] = items[i];
+            }
+            long[] swappedKeys = keys;
+            keys = sortedKeys;
+            sortedKeys = swappedKeys;
+            int[] swappedItems = items;
+            items = sortedItems;
+            sortedItems = swappedItems;
+        }
+    }
+
+    /**
+     * Get the number of draws.
+     * @return int - The number of draws.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the sort key of a draw.
+     * @param draw The draw, in sorted order once sorted.
+     * @return long - The sort key.
+     */
+    public long getKey(int draw) {
+        return keys[draw];
+    }
+
+    /**
+     * Get the item of a draw.
+     * @param draw The draw, in sorted order once sorted.
+     * @return int - The item.
+     */
+    public int getItem(int draw) {
+        return items[draw];
+    }
+}
\ No newline at end of file
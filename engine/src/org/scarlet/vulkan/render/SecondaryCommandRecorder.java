@@ -0,0 +1,217 @@
+package org.scarlet.vulkan.render;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.scarlet.vulkan.buffer.CommandBuffer;
+import org.scarlet.vulkan.buffer.CommandRecorder;
+import org.scarlet.vulkan.buffer.FrameCommandAllocator;
+import org.scarlet.vulkan.buffer.InheritanceInformation;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.util.Arrays;
+
+import static org.lwjgl.vulkan.VK10.vkCmdExecuteCommands;
+
+/**
+ * Records the draws of a frame into secondary command buffers on several threads.
+ * The items of the frame are split into contiguous slices, one per thread. The calling thread records the first slice
+ * while the workers record the others, and the primary command buffer then executes the secondary buffers in order.
+ * Every slice has its own frame command allocator, since a pool must not be used by two threads at once, and its own
+ * draw list. Recording a slice resets the pool of its frame as a whole. The workers are started once and parked between
+ * frames, so dispatching a frame allocates nothing.
+ */
+public class SecondaryCommandRecorder {
+    /**
+     * The number of threads recording a frame, including the calling thread.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The command allocators, by slice.
+     */
+    private final FrameCommandAllocator[] commandAllocators;
+
+    /**
+     * The secondary command buffers last recorded, by frame in flight and slice.
+     */
+    private final CommandBuffer[][] commandBuffers;
+
+    /**
+     * The draw lists, by slice.
+     */
+    private final DrawList[] drawLists;
+
+    /**
+     * The command recorders, by slice.
+     */
+    private final CommandRecorder[] commandRecorders;
+
+    /**
+     * The worker threads recording every slice but the first.
+     */
+    private final SliceWorkers sliceWorkers;
+
+    /**
+     * The secondary command buffers executed from the primary command buffer.
+     */
+    private final PointerBuffer secondaryCommandBuffers;
+
+    /**
+     * The frame in flight being recorded.
+     */
+    private int frame;
+
+    /**
+     * The inheritance information of the frame being recorded.
+     */
+    private InheritanceInformation inheritanceInformation;
+
+    /**
+     * The number of items of the frame being recorded.
+     */
+    private int numberOfItems;
+
+    /**
+     * The number of slices of the frame being recorded.
+     */
+    private int numberOfSlices;
+
+    /**
+     * The recorder of the slices of the frame being recorded.
+     */
+    private SliceRecorder sliceRecorder;
+
+    /**
+     * The time spent recording the secondary buffers of the last frame, in nanoseconds.
+     */
+    private long recordingTime;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queueFamilyIndex The queue family index the primary command buffers are submitted to.
+     * @param numberOfThreads The number of threads recording a frame, including the calling thread.
+     * @param framesInFlight The number of frames in flight.
+     */
+    public SecondaryCommandRecorder(LogicalDevice logicalDevice, int queueFamilyIndex, int numberOfThreads,
+                                    int framesInFlight) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("At least one recording thread is required.");
+        }
+        this.numberOfThreads = numberOfThreads;
+        commandAllocators = new FrameCommandAllocator[numberOfThreads];
+        commandBuffers = new CommandBuffer[framesInFlight][numberOfThreads];
+        drawLists = new DrawList[numberOfThreads];
+        commandRecorders = new CommandRecorder[numberOfThreads];
+        for (int slice = 0; slice < numberOfThreads; slice++) {
+            commandAllocators[slice] = new FrameCommandAllocator(logicalDevice, queueFamilyIndex, framesInFlight);
+            drawLists[slice] = new DrawList();
+            commandRecorders[slice] = new CommandRecorder();
+        }
+        secondaryCommandBuffers = MemoryUtil.memAllocPointer(numberOfThreads);
+        sliceWorkers = new SliceWorkers("command-recorder", numberOfThreads - 1, this::recordSlice);
+    }
+
+    /**
+     * Stop the workers and free the command buffers and pools. The device must not use them anymore.
+     */
+    public void cleanup() {
+        sliceWorkers.cleanup();
+        Arrays.stream(commandAllocators).forEach(FrameCommandAllocator::cleanup);
+        Arrays.stream(commandRecorders).forEach(CommandRecorder::cleanup);
+        MemoryUtil.memFree(secondaryCommandBuffers);
+    }
+
+    /**
+     * Record the items of a frame into secondary command buffers, and execute them from the primary command buffer.
+     * The primary command buffer must be inside a render pass begun with secondary command buffer contents.
+     * @param primaryCommandBuffer The primary command buffer.
+     * @param frame The frame in flight, whose previous submission completed.
+     * @param inheritanceInformation The render pass, sub-pass and frame buffer of the primary command buffer.
+     * @param numberOfItems The number of items.
+     * @param sliceRecorder The recorder of the slices.
+     */
+    public void record(VkCommandBuffer primaryCommandBuffer, int frame, InheritanceInformation inheritanceInformation,
+                       int numberOfItems, SliceRecorder sliceRecorder) {
+        int recordedSlices = recordSecondaries(frame, inheritanceInformation, numberOfItems, sliceRecorder);
+        if (recordedSlices == 0) {
+            return;
+        }
+        secondaryCommandBuffers.clear();
+        for (int slice = 0; slice < recordedSlices; slice++) {
+            secondaryCommandBuffers.put(slice, commandBuffers[frame][slice].getCommandBuffer());
+        }
+        vkCmdExecuteCommands(primaryCommandBuffer, secondaryCommandBuffers.limit(recordedSlices));
+    }
+
+    /**
+     * Record the items of a frame into secondary command buffers, returning once every slice is recorded.
+     * @param frame The frame in flight, whose previous submission completed.
+     * @param inheritanceInformation The render pass, sub-pass and frame buffer the buffers are executed in.
+     * @param numberOfItems The number of items.
+     * @param sliceRecorder The recorder of the slices.
+     * @return int - The number of recorded secondary command buffers, at most one per item.
+     */
+    public int recordSecondaries(int frame, InheritanceInformation inheritanceInformation, int numberOfItems,
+                                 SliceRecorder sliceRecorder) {
+        long startTime = System.nanoTime();
+        this.frame = frame;
+        this.inheritanceInformation = inheritanceInformation;
+        this.numberOfItems = numberOfItems;
+        this.sliceRecorder = sliceRecorder;
+        numberOfSlices = Math.min(numberOfThreads, numberOfItems);
+        try {
+            sliceWorkers.run(numberOfSlices);
+        }
+        finally {
+            this.sliceRecorder = null;
+        }
+        recordingTime = System.nanoTime() - startTime;
+        return numberOfSlices;
+    }
+
+    /**
+     * Record a slice of the frame into its secondary command buffer.
+     * @param slice The slice.
+     */
+    private void recordSlice(int slice) {
+        int first = (int) ((long) numberOfItems * slice / numberOfSlices);
+        int last = (int) ((long) numberOfItems * (slice + 1) / numberOfSlices);
+        commandAllocators[slice].beginFrame(frame);
+        CommandBuffer commandBuffer = commandAllocators[slice].allocate(frame, false);
+        commandBuffers[frame][slice] = commandBuffer;
+        commandBuffer.beginRecording(inheritanceInformation);
+        commandRecorders[slice].begin(commandBuffer);
+        sliceRecorder.recordSlice(commandRecorders[slice], first, last, drawLists[slice]);
+        commandBuffer.endRecording();
+    }
+
+    /**
+     * Get the number of threads recording a frame.
+     * @return int - The number of threads, including the calling thread.
+     */
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Get the number of redundant calls the command recorders skipped in the last frame.
+     * @return int - The number of skipped calls.
+     */
+    public int getSkippedCalls() {
+        int skippedCalls = 0;
+        for (int slice = 0; slice < numberOfSlices; slice++) {
+            skippedCalls += commandRecorders[slice].getSkippedCalls();
+        }
+        return skippedCalls;
+    }
+
+    /**
+     * Get the time spent recording the secondary command buffers of the last frame.
+     * @return long - The time, in nanoseconds.
+     */
+    public long getRecordingTime() {
+        return recordingTime;
+    }
+}
\ No newline at end of file
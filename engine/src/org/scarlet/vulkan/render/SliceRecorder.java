@@ -0,0 +1,18 @@
+package org.scarlet.vulkan.render;
+
+import org.scarlet.vulkan.buffer.CommandRecorder;
+
+/**
+ * Records the commands of a slice of the items of a frame into a secondary command buffer.
+ */
+@FunctionalInterface
+public interface SliceRecorder {
+    /**
+     * Record a slice. Called concurrently for the slices of a frame, each with its own command recorder and draw list.
+     * @param commandRecorder The recorder of the secondary command buffer, recording inside the render pass.
+     * @param first The first item of the slice.
+     * @param last The item following the last item of the slice.
+     * @param drawList The draw list of the recording thread.
+     */
+    void recordSlice(CommandRecorder commandRecorder, int first, int last, DrawList drawList);
+}
\ No newline at end of file
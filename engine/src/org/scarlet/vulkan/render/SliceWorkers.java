@@ -0,0 +1,158 @@
+package org.scarlet.vulkan.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * Worker threads running the slices of a frame, started once and parked between frames.
+ * The calling thread runs the first slice and every worker the slice following its index, so dispatching a frame
+ * allocates nothing: the workers are woken by a new round number and report back through a countdown.
+ * Every worker takes part in every round, even without a slice to run, so a worker never misses a round.
+ */
+public class SliceWorkers {
+    /**
+     * The task run for every slice, given the index of the slice.
+     */
+    private final IntConsumer sliceTask;
+
+    /**
+     * The worker threads, the worker at index i running slice i + 1.
+     */
+    private final Thread[] workers;
+
+    /**
+     * The failure of every slice in the current round, or null.
+     */
+    private final Throwable[] failures;
+
+    /**
+     * The number of workers that have not finished the current round.
+     */
+    private final AtomicInteger pendingWorkers;
+
+    /**
+     * The number of the current round, incremented to wake the workers.
+     */
+    private volatile long round;
+
+    /**
+     * True until the workers are stopped.
+     */
+    private volatile boolean running;
+
+    /**
+     * The number of slices of the current round, published by the round number.
+     */
+    private int numberOfSlices;
+
+    /**
+     * The thread waiting for the current round, published by the round number.
+     */
+    private Thread dispatcher;
+
+    /**
+     * Constructor. Starts the workers.
+     * @param name The name of the worker threads, followed by the slice of every worker.
+     * @param numberOfWorkers The number of workers, besides the calling thread.
+     * @param sliceTask The task run for every slice, given the index of the slice.
+     */
+    public SliceWorkers(String name, int numberOfWorkers, IntConsumer sliceTask) {
+        this.sliceTask = sliceTask;
+        workers = new Thread[numberOfWorkers];
+        failures = new Throwable[numberOfWorkers + 1];
+        pendingWorkers = new AtomicInteger();
+        running = true;
+        for (int i = 0; i < numberOfWorkers; i++) {
+            int slice = i + 1;
+            workers[i] = new Thread(() -> work(slice), name + "-" + slice);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Stop the workers. They finish the current round first.
+     */
+    public void cleanup() {
+        running = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Run the slices of a round, returning once every slice ran.
+     * @param numberOfSlices The number of slices, at most the number of workers plus one.
+     * @throws RuntimeException If a slice failed, once every slice finished. An error of the first slice is rethrown
+     *                          as is.
+     */
+    public void run(int numberOfSlices) {
+        if (numberOfSlices > workers.length + 1) {
+            throw new IllegalArgumentException("Cannot run " + numberOfSlices + " slices on "
+                    + (workers.length + 1) + " threads.");
+        }
+        this.numberOfSlices = numberOfSlices;
+        dispatcher = Thread.currentThread();
+        pendingWorkers.set(workers.length);
+        round++;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        try {
+            if (numberOfSlices > 0) {
+                sliceTask.accept(0);
+            }
+        }
+        catch (Throwable ex) {
+            failures[0] = ex;
+        }
+        // Wait for every worker, even after a failure, so no slice is still running when this returns.
+        while (pendingWorkers.get() != 0) {
+            LockSupport.park(this);
+        }
+        Throwable callerFailure = failures[0];
+        failures[0] = null;
+        RuntimeException failure = callerFailure instanceof RuntimeException ex ? ex : null;
+        for (int slice = 1; slice < failures.length; slice++) {
+            if (failures[slice] != null && failure == null) {
+                failure = new RuntimeException("Failed to record slice " + slice + ".", failures[slice]);
+            }
+            failures[slice] = null;
+        }
+        if (callerFailure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Run the slice of a worker in every round until the workers are stopped.
+     * @param slice The slice of the worker.
+     */
+    private void work(int slice) {
+        long finishedRound = 0;
+        while (true) {
+            while (running && round == finishedRound) {
+                LockSupport.park(this);
+            }
+            if (!running) {
+                return;
+            }
+            finishedRound = round;
+            if (slice < numberOfSlices) {
+                try {
+                    sliceTask.accept(slice);
+                }
+                catch (Throwable ex) {
+                    failures[slice] = ex;
+                }
+            }
+            if (pendingWorkers.decrementAndGet() == 0) {
+                LockSupport.unpark(dispatcher);
+            }
+        }
+    }
+}
\ No newline at end of file
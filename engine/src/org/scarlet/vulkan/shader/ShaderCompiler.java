@@ -3,11 +3,12 @@ package org.scarlet.vulkan.shader;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.util.shaderc.Shaderc;
 import org.scarlet.EngineLogger;
+import org.scarlet.asset.VirtualFileSystem;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import static java.util.logging.Level.INFO;
@@ -24,16 +25,17 @@ public class ShaderCompiler {
     public static void compileShaderIfChanged(String glslShaderFile, int shaderType) {
         byte[] compiledShader;
         try {
-            File glslFile = new File(glslShaderFile);
-            File spirvFile = new File(glslFile + ".spv");
-            if (!spirvFile.exists() || glslFile.lastModified() > spirvFile.lastModified()) {
-                EngineLogger.getInstance().log(INFO, "Compiling [%s] to [%s].", glslFile.getPath(), spirvFile.getPath());
-                String shaderCode = new String(Files.readAllBytes(glslFile.toPath()));
+            VirtualFileSystem fileSystem = VirtualFileSystem.getInstance();
+            String spirvFile = glslShaderFile + ".spv";
+            long glslLastModified = fileSystem.getLastModified(glslShaderFile);
+            if (!fileSystem.exists(spirvFile) || glslLastModified > fileSystem.getLastModified(spirvFile)) {
+                EngineLogger.getInstance().log(INFO, "Compiling [%s] to [%s].", glslShaderFile, spirvFile);
+                String shaderCode = fileSystem.readString(glslShaderFile);
                 compiledShader = compileShader(shaderCode, shaderType);
-                Files.write(spirvFile.toPath(), compiledShader);
+                Files.write(Path.of(spirvFile), compiledShader);
             }
             else {
-                EngineLogger.getInstance().log(INFO, "Shader [%s] already compiled. Loading compiled version: [%s].", glslFile.getPath(), spirvFile.getPath());
+                EngineLogger.getInstance().log(INFO, "Shader [%s] already compiled. Loading compiled version: [%s].", glslShaderFile, spirvFile);
             }
         } catch (IOException ex) {
             throw new RuntimeException(ex);
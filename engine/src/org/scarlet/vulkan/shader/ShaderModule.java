@@ -36,10 +36,22 @@ public class ShaderModule {
      * @param code The shader code.
      */
     public ShaderModule(LogicalDevice logicalDevice, int shaderStage, byte[] code) {
+        this(logicalDevice, shaderStage, ByteBuffer.wrap(code));
+    }
+
+    /**
+     * Constructor.
+     * A direct buffer, such as an asset read from the virtual file system, is passed to Vulkan without copy.
+     * @param logicalDevice The logical device.
+     * @param shaderStage The shader stage.
+     * @param code The shader code, between its position and limit.
+     */
+    public ShaderModule(LogicalDevice logicalDevice, int shaderStage, ByteBuffer code) {
         this.logicalDevice = logicalDevice;
         this.shaderStage = shaderStage;
         try (MemoryStack stack = MemoryStack.stackPush()) {
-            ByteBuffer pCode = stack.malloc(code.length).put(0, code);
+            ByteBuffer pCode = code.isDirect() ? code
+                    : stack.malloc(code.remaining()).put(0, code, code.position(), code.remaining());
             VkShaderModuleCreateInfo moduleCreateInfo = VkShaderModuleCreateInfo.calloc(stack)
                     .sType(VK_STRUCTURE_TYPE_SHADER_MODULE_CREATE_INFO)
                     .pCode(pCode);
@@ -1,12 +1,9 @@
 package org.scarlet.vulkan.shader;
 
-import org.scarlet.EngineLogger;
+import org.scarlet.asset.VirtualFileSystem;
 import org.scarlet.vulkan.device.LogicalDevice;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.util.logging.Level;
+import java.nio.ByteBuffer;
 
 /**
  * Groups a set of shader modules under a single class.
@@ -23,16 +20,11 @@ public class ShaderProgram {
      * @param data The shader module data list.
      */
     public ShaderProgram(LogicalDevice device, ShaderModuleData[] data) {
-        try {
-            int numberOfModules = data != null ? data.length : 0;
-            shaderModules = new ShaderModule[numberOfModules];
-            for (int i = 0; i < numberOfModules; i++) {
-                byte[] moduleContents = Files.readAllBytes(new File(data[i].getShaderSPIRVFile()).toPath());
-                shaderModules[i] = new ShaderModule(device, data[i].getShaderStage(), moduleContents);
-            }
-        } catch (IOException ex) {
-            EngineLogger.getInstance().log(Level.SEVERE, "Error reading shader files.", ex);
-            throw new RuntimeException(ex);
+        int numberOfModules = data != null ? data.length : 0;
+        shaderModules = new ShaderModule[numberOfModules];
+        for (int i = 0; i < numberOfModules; i++) {
+            ByteBuffer moduleContents = VirtualFileSystem.getInstance().read(data[i].getShaderSPIRVFile());
+            shaderModules[i] = new ShaderModule(device, data[i].getShaderStage(), moduleContents);
         }
     }
 
@@ -59,6 +59,31 @@ public class SwapChain {
      */
     private int currentFrame;
 
+    /**
+     * The index of the acquired image, written by the acquisition.
+     */
+    private final IntBuffer acquiredImageIndex;
+
+    /**
+     * The render complete semaphores waited for by the presentations, by image.
+     */
+    private final LongBuffer presentWaitSemaphores;
+
+    /**
+     * The swap chain presented to.
+     */
+    private final LongBuffer presentSwapChains;
+
+    /**
+     * The indices of the presented images, by image.
+     */
+    private final IntBuffer presentImageIndices;
+
+    /**
+     * The presentation information, by image, allocated once since nothing in it changes from frame to frame.
+     */
+    private final VkPresentInfoKHR[] presentInfos;
+
     /**
      * Constructor.
      * @param device The logical device.
@@ -116,6 +141,22 @@ public class SwapChain {
             }
             currentFrame = 0;
         }
+        acquiredImageIndex = MemoryUtil.memAllocInt(1);
+        int numberOfImages = imageViews.length;
+        presentWaitSemaphores = MemoryUtil.memAllocLong(numberOfImages);
+        presentSwapChains = MemoryUtil.memAllocLong(1).put(0, swapChain);
+        presentImageIndices = MemoryUtil.memAllocInt(numberOfImages);
+        presentInfos = new VkPresentInfoKHR[numberOfImages];
+        for (int i = 0; i < numberOfImages; i++) {
+            presentWaitSemaphores.put(i, syncSemaphoresList[i].getRenderCompleteSemaphore().getSemaphore());
+            presentImageIndices.put(i, i);
+            presentInfos[i] = VkPresentInfoKHR.calloc()
+                    .sType(KHRSwapchain.VK_STRUCTURE_TYPE_PRESENT_INFO_KHR)
+                    .pWaitSemaphores(presentWaitSemaphores.slice(i, 1))
+                    .swapchainCount(1)
+                    .pSwapchains(presentSwapChains)
+                    .pImageIndices(presentImageIndices.slice(i, 1));
+        }
     }
 
     /**
@@ -126,6 +167,11 @@ public class SwapChain {
         Arrays.stream(imageViews).forEach(ImageView::cleanup);
         Arrays.stream(syncSemaphoresList).forEach(SyncSemaphores::cleanup);
         KHRSwapchain.vkDestroySwapchainKHR(logicalDevice.getDevice(), swapChain, null);
+        Arrays.stream(presentInfos).forEach(VkPresentInfoKHR::free);
+        MemoryUtil.memFree(acquiredImageIndex);
+        MemoryUtil.memFree(presentWaitSemaphores);
+        MemoryUtil.memFree(presentSwapChains);
+        MemoryUtil.memFree(presentImageIndices);
     }
 
     /**
@@ -216,23 +262,20 @@ public class SwapChain {
      */
     public boolean acquireNextImage() {
         boolean resize = false;
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            IntBuffer intBuffer = stack.mallocInt(1);
-            int error = KHRSwapchain.vkAcquireNextImageKHR(
-                    logicalDevice.getDevice(), swapChain, ~0L,
-                    syncSemaphoresList[currentFrame].getImageAcquisitionSemaphore().getSemaphore(),
-                    MemoryUtil.NULL, intBuffer);
-            if (error == KHRSwapchain.VK_ERROR_OUT_OF_DATE_KHR) {
-                resize = true;
-            }
-            else if (error == KHRSwapchain.VK_SUBOPTIMAL_KHR) {
-                // Not optimal, but swap chain can still be used.
-            }
-            else if (error != VK_SUCCESS) {
-                throw new RuntimeException("Failed to acquire image: " + error);
-            }
-            currentFrame = intBuffer.get(0);
+        int error = KHRSwapchain.vkAcquireNextImageKHR(
+                logicalDevice.getDevice(), swapChain, ~0L,
+                syncSemaphoresList[currentFrame].getImageAcquisitionSemaphore().getSemaphore(),
+                MemoryUtil.NULL, acquiredImageIndex);
+        if (error == KHRSwapchain.VK_ERROR_OUT_OF_DATE_KHR) {
+            resize = true;
+        }
+        else if (error == KHRSwapchain.VK_SUBOPTIMAL_KHR) {
+            // Not optimal, but swap chain can still be used.
+        }
+        else if (error != VK_SUCCESS) {
+            throw new RuntimeException("Failed to acquire image: " + error);
         }
+        currentFrame = acquiredImageIndex.get(0);
         return resize;
     }
 
@@ -243,23 +286,15 @@ public class SwapChain {
      */
     public boolean presentImage(Queue queue) {
         boolean resize = false;
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            VkPresentInfoKHR presentInfo = VkPresentInfoKHR.calloc(stack)
-                    .sType(KHRSwapchain.VK_STRUCTURE_TYPE_PRESENT_INFO_KHR)
-                    .pWaitSemaphores(stack.longs(syncSemaphoresList[currentFrame].getRenderCompleteSemaphore().getSemaphore()))
-                    .swapchainCount(1)
-                    .pSwapchains(stack.longs(swapChain))
-                    .pImageIndices(stack.ints(currentFrame));
-            int error = KHRSwapchain.vkQueuePresentKHR(queue.getQueue(), presentInfo);
-            if (error == KHRSwapchain.VK_ERROR_OUT_OF_DATE_KHR) {
-                resize = true;
-            }
-            else if (error == KHRSwapchain.VK_SUBOPTIMAL_KHR) {
-                // Not optimal, but swap chain can still be used.
-            }
-            else if (error != VK_SUCCESS) {
-                throw new RuntimeException("Failed to present KHR: " + error);
-            }
+        int error = queue.present(presentInfos[currentFrame]);
+        if (error == KHRSwapchain.VK_ERROR_OUT_OF_DATE_KHR) {
+            resize = true;
+        }
+        else if (error == KHRSwapchain.VK_SUBOPTIMAL_KHR) {
+            // Not optimal, but swap chain can still be used.
+        }
+        else if (error != VK_SUCCESS) {
+            throw new RuntimeException("Failed to present KHR: " + error);
         }
         currentFrame = (currentFrame + 1) % imageViews.length;
         return resize;
@@ -0,0 +1,225 @@
+package org.scarlet.vulkan.texture;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * The BC block compressed formats, and a CPU decoder of the BC1 to BC5 formats for devices without BC support.
+ * A block covers 4x4 texels. The decoded texels of a block are stored row by row.
+ */
+class BlockCompression {
+    /**
+     * The width and height of a block, in texels.
+     */
+    static final int BLOCK_SIZE = 4;
+
+    /**
+     * The number of texels of a block.
+     */
+    private static final int BLOCK_TEXELS = BLOCK_SIZE * BLOCK_SIZE;
+
+    /**
+     * The size of a BC1 colour block or of a BC4 channel block, in bytes.
+     */
+    private static final int HALF_BLOCK_BYTES = 8;
+
+    /**
+     * Check if a format is a BC block compressed format.
+     * @param format The Vulkan format.
+     * @return boolean - True if the format is one of the BC1 to BC7 formats.
+     */
+    static boolean isBlockCompressed(int format) {
+        return format >= VK_FORMAT_BC1_RGB_UNORM_BLOCK && format <= VK_FORMAT_BC7_SRGB_BLOCK;
+    }
+
+    /**
+     * Get the size of a block.
+     * @param format The BC Vulkan format.
+     * @return int - The size of a block, in bytes.
+     */
+    static int getBlockBytes(int format) {
+        return switch (format) {
+            case VK_FORMAT_BC1_RGB_UNORM_BLOCK, VK_FORMAT_BC1_RGB_SRGB_BLOCK,
+                    VK_FORMAT_BC1_RGBA_UNORM_BLOCK, VK_FORMAT_BC1_RGBA_SRGB_BLOCK,
+                    VK_FORMAT_BC4_UNORM_BLOCK, VK_FORMAT_BC4_SNORM_BLOCK -> HALF_BLOCK_BYTES;
+            default -> HALF_BLOCK_BYTES * 2;
+        };
+    }
+
+    /**
+     * Check if the blocks of a format can be decoded on the CPU.
+     * @param format The Vulkan format.
+     * @return boolean - True for the unsigned BC1 to BC5 formats.
+     */
+    static boolean isDecodable(int format) {
+        return format >= VK_FORMAT_BC1_RGB_UNORM_BLOCK && format <= VK_FORMAT_BC5_UNORM_BLOCK
+                && format != VK_FORMAT_BC4_SNORM_BLOCK;
+    }
+
+    /**
+     * Get the uncompressed format the blocks of a format are decoded to.
+     * @param format The decodable Vulkan format.
+     * @return int - The uncompressed Vulkan format.
+     */
+    static int getDecodedFormat(int format) {
+        return switch (format) {
+            case VK_FORMAT_BC1_RGB_SRGB_BLOCK, VK_FORMAT_BC1_RGBA_SRGB_BLOCK,
+                    VK_FORMAT_BC2_SRGB_BLOCK, VK_FORMAT_BC3_SRGB_BLOCK -> VK_FORMAT_R8G8B8A8_SRGB;
+            case VK_FORMAT_BC4_UNORM_BLOCK -> VK_FORMAT_R8_UNORM;
+            case VK_FORMAT_BC5_UNORM_BLOCK -> VK_FORMAT_R8G8_UNORM;
+            default -> VK_FORMAT_R8G8B8A8_UNORM;
+        };
+    }
+
+    /**
+     * Get the size of a decoded texel.
+     * @param format The decodable Vulkan format.
+     * @return int - The size of a texel of the decoded format, in bytes.
+     */
+    static int getDecodedTexelSize(int format) {
+        return switch (format) {
+            case VK_FORMAT_BC4_UNORM_BLOCK -> 1;
+            case VK_FORMAT_BC5_UNORM_BLOCK -> 2;
+            default -> 4;
+        };
+    }
+
+    /**
+     * Decode a block.
+     * @param format The decodable Vulkan format.
+     * @param source The compressed data.
+     * @param offset The offset of the block in the compressed data.
+     * @param texels The 16 decoded texels, of the size of the decoded format each.
+     */
+    static void decodeBlock(int format, ByteBuffer source, int offset, byte[] texels) {
+        switch (format) {
+            case VK_FORMAT_BC1_RGB_UNORM_BLOCK, VK_FORMAT_BC1_RGB_SRGB_BLOCK ->
+                    decodeColours(source, offset, true, false, texels);
+            case VK_FORMAT_BC1_RGBA_UNORM_BLOCK, VK_FORMAT_BC1_RGBA_SRGB_BLOCK ->
+                    decodeColours(source, offset, true, true, texels);
+            case VK_FORMAT_BC2_UNORM_BLOCK, VK_FORMAT_BC2_SRGB_BLOCK -> {
+                decodeColours(source, offset + HALF_BLOCK_BYTES, false, false, texels);
+                long alphas = readLong(source, offset, HALF_BLOCK_BYTES);
+                for (int texel = 0; texel < BLOCK_TEXELS; texel++) {
+                    texels[texel * 4 + 3] = (byte) (((alphas >>> (texel * 4)) & 0xF) * 17);
+                }
+            }
+            case VK_FORMAT_BC3_UNORM_BLOCK, VK_FORMAT_BC3_SRGB_BLOCK -> {
+                decodeColours(source, offset + HALF_BLOCK_BYTES, false, false, texels);
+                decodeChannel(source, offset, texels, 3, 4);
+            }
+            case VK_FORMAT_BC4_UNORM_BLOCK -> decodeChannel(source, offset, texels, 0, 1);
+            case VK_FORMAT_BC5_UNORM_BLOCK -> {
+                decodeChannel(source, offset, texels, 0, 2);
+                decodeChannel(source, offset + HALF_BLOCK_BYTES, texels, 1, 2);
+            }
+            default -> throw new IllegalArgumentException("Format " + format + " can not be decoded.");
+        }
+    }
+
+    /**
+     * Decode a BC1 colour block to RGBA texels.
+     * @param source The compressed data.
+     * @param offset The offset of the colour block.
+     * @param threeColours Flag indicating if a first colour not greater than the second selects the three colour mode,
+     *                     as in BC1 but not in BC2 and BC3.
+     * @param punchThrough Flag indicating if the three colour mode encodes transparent black rather than opaque black.
+     * @param texels The decoded RGBA texels.
+     */
+    private static void decodeColours(ByteBuffer source, int offset, boolean threeColours, boolean punchThrough,
+                                      byte[] texels) {
+        int colour0 = (int) readLong(source, offset, 2);
+        int colour1 = (int) readLong(source, offset + 2, 2);
+        int indices = (int) readLong(source, offset + 4, 4);
+        int[] palette = new int[4];
+        palette[0] = expandColour(colour0);
+        palette[1] = expandColour(colour1);
+        boolean fourColours = colour0 > colour1 || !threeColours;
+        for (int channel = 0; channel < 24; channel += 8) {
+            int value0 = (palette[0] >>> channel) & 0xFF;
+            int value1 = (palette[1] >>> channel) & 0xFF;
+            if (fourColours) {
+                palette[2] |= ((2 * value0 + value1 + 1) / 3) << channel;
+                palette[3] |= ((value0 + 2 * value1 + 1) / 3) << channel;
+            }
+            else {
+                palette[2] |= ((value0 + value1 + 1) / 2) << channel;
+            }
+        }
+        palette[0] |= 0xFF000000;
+        palette[1] |= 0xFF000000;
+        palette[2] |= 0xFF000000;
+        if (fourColours || !punchThrough) {
+            palette[3] |= 0xFF000000;
+        }
+        for (int texel = 0; texel < BLOCK_TEXELS; texel++) {
+            int colour = palette[(indices >>> (texel * 2)) & 0x3];
+            texels[texel * 4] = (byte) colour;
+            texels[texel * 4 + 1] = (byte) (colour >>> 8);
+            texels[texel * 4 + 2] = (byte) (colour >>> 16);
+            texels[texel * 4 + 3] = (byte) (colour >>> 24);
+        }
+    }
+
+    /**
+     * Decode a BC4 channel block into one channel of the texels.
+     * @param source The compressed data.
+     * @param offset The offset of the channel block.
+     * @param texels The decoded texels.
+     * @param channel The channel written.
+     * @param texelSize The size of a decoded texel, in bytes.
+     */
+    private static void decodeChannel(ByteBuffer source, int offset, byte[] texels, int channel, int texelSize) {
+        int value0 = source.get(offset) & 0xFF;
+        int value1 = source.get(offset + 1) & 0xFF;
+        long indices = readLong(source, offset + 2, 6);
+        int[] palette = new int[8];
+        palette[0] = value0;
+        palette[1] = value1;
+        if (value0 > value1) {
+            for (int step = 1; step < 7; step++) {
+                palette[step + 1] = ((7 - step) * value0 + step * value1 + 3) / 7;
+            }
+        }
+        else {
+            for (int step = 1; step < 5; step++) {
+                palette[step + 1] = ((5 - step) * value0 + step * value1 + 2) / 5;
+            }
+            palette[6] = 0;
+            palette[7] = 0xFF;
+        }
+        for (int texel = 0; texel < BLOCK_TEXELS; texel++) {
+            texels[texel * texelSize + channel] = (byte) palette[(int) ((indices >>> (texel * 3)) & 0x7)];
+        }
+    }
+
+    /**
+     * Expand an RGB 565 colour to 8 bits per channel.
+     * @param colour The 565 colour.
+     * @return int - The colour, red in the lowest byte.
+     */
+    private static int expandColour(int colour) {
+        int red = (colour >>> 11) & 0x1F;
+        int green = (colour >>> 5) & 0x3F;
+        int blue = colour & 0x1F;
+        return ((red << 3) | (red >>> 2))
+                | ((green << 2) | (green >>> 4)) << 8
+                | ((blue << 3) | (blue >>> 2)) << 16;
+    }
+
+    /**
+     * Read a little endian unsigned integer.
+     * @param source The data.
+     * @param offset The offset of the integer.
+     * @param numberOfBytes The size of the integer, at most 8 bytes.
+     * @return long - The integer.
+     */
+    private static long readLong(ByteBuffer source, int offset, int numberOfBytes) {
+        long value = 0;
+        for (int i = numberOfBytes - 1; i >= 0; i--) {
+            value = (value << 8) | (source.get(offset + i) & 0xFF);
+        }
+        return value;
+    }
+}
\ No newline at end of file
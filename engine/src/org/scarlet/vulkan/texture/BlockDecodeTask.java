@@ -0,0 +1,108 @@
+package org.scarlet.vulkan.texture;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task decoding a range of block rows of a BC compressed mip level.
+ * The range is split in two until it holds few enough blocks to be decoded by a single task.
+ */
+class BlockDecodeTask extends RecursiveAction {
+    /**
+     * The serialization version of the task.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of blocks under which a range is decoded without splitting it.
+     */
+    private static final int BLOCKS_PER_TASK = 4096;
+
+    /**
+     * The BC Vulkan format.
+     */
+    private final int format;
+
+    /**
+     * The compressed mip level.
+     */
+    private final ByteBuffer source;
+
+    /**
+     * The decoded mip level.
+     */
+    private final ByteBuffer destination;
+
+    /**
+     * The width of the mip level, in texels.
+     */
+    private final int width;
+
+    /**
+     * The height of the mip level, in texels.
+     */
+    private final int height;
+
+    /**
+     * The first block row of the range.
+     */
+    private final int firstRow;
+
+    /**
+     * The block row after the range.
+     */
+    private final int endRow;
+
+    /**
+     * Constructor.
+     * @param format The BC Vulkan format.
+     * @param source The compressed mip level.
+     * @param destination The decoded mip level.
+     * @param width The width of the mip level, in texels.
+     * @param height The height of the mip level, in texels.
+     * @param firstRow The first block row of the range.
+     * @param endRow The block row after the range.
+     */
+    BlockDecodeTask(int format, ByteBuffer source, ByteBuffer destination, int width, int height,
+                    int firstRow, int endRow) {
+        this.format = format;
+        this.source = source;
+        this.destination = destination;
+        this.width = width;
+        this.height = height;
+        this.firstRow = firstRow;
+        this.endRow = endRow;
+    }
+
+    /**
+     * Decode the range.
+     */
+    @Override
+    protected void compute() {
+        int blocksPerRow = (width + BlockCompression.BLOCK_SIZE - 1) / BlockCompression.BLOCK_SIZE;
+        if (endRow - firstRow > 1 && (long) (endRow - firstRow) * blocksPerRow > BLOCKS_PER_TASK) {
+            int middleRow = firstRow + (endRow - firstRow) / 2;
+            invokeAll(new BlockDecodeTask(format, source, destination, width, height, firstRow, middleRow),
+                    new BlockDecodeTask(format, source, destination, width, height, middleRow, endRow));
+            return;
+        }
+        int blockBytes = BlockCompression.getBlockBytes(format);
+        int texelSize = BlockCompression.getDecodedTexelSize(format);
+        byte[] texels = new byte[BlockCompression.BLOCK_SIZE * BlockCompression.BLOCK_SIZE * texelSize];
+        for (int row = firstRow; row < endRow; row++) {
+            for (int column = 0; column < blocksPerRow; column++) {
+                BlockCompression.decodeBlock(format, source, (row * blocksPerRow + column) * blockBytes, texels);
+                // Copy the texels of the block inside the mip level, clipping the blocks overhanging its edges.
+                int x = column * BlockCompression.BLOCK_SIZE;
+                int y = row * BlockCompression.BLOCK_SIZE;
+                int rowLength = Math.min(BlockCompression.BLOCK_SIZE, width - x) * texelSize;
+                for (int blockY = 0; blockY < BlockCompression.BLOCK_SIZE && y + blockY < height; blockY++) {
+                    destination.put(((y + blockY) * width + x) * texelSize, texels,
+                            blockY * BlockCompression.BLOCK_SIZE * texelSize, rowLength);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
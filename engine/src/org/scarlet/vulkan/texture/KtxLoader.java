@@ -0,0 +1,338 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.util.ktx.ktxTexture;
+import org.lwjgl.util.ktx.ktxTexture2;
+import org.scarlet.EngineLogger;
+import org.scarlet.asset.VirtualFileSystem;
+import org.scarlet.vulkan.Constants;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import static org.lwjgl.util.ktx.KTX.*;
+
+/**
+ * Loads KTX2 textures, keeping BC compressed data compressed when the device samples BC formats.
+ * Basis Universal payloads are transcoded by libktx to a BC format, or to RGBA when BC is not supported. BC payloads
+ * on a device without BC support are decoded on the CPU, the block rows of every mip level being split across the
+ * fork/join common pool.
+ */
+public class KtxLoader {
+    /**
+     * The KHR data format transfer function of sRGB encoded data.
+     */
+    private static final int KHR_DF_TRANSFER_SRGB = 2;
+
+    /**
+     * Lock guarding the first transcoding, which initializes the tables of the Basis Universal transcoder.
+     */
+    private static final Object TRANSCODER_LOCK = new Object();
+
+    /**
+     * Flag indicating if the tables of the Basis Universal transcoder are initialized.
+     */
+    private static volatile boolean transcoderInitialized;
+
+    /**
+     * Flag indicating if the device samples BC compressed formats.
+     */
+    private final boolean blockCompressionSupported;
+
+    /**
+     * The number of textures loaded.
+     */
+    private final LongAdder numberOfTextures;
+
+    /**
+     * The number of bytes read from the KTX2 files.
+     */
+    private final LongAdder sourceBytes;
+
+    /**
+     * The number of bytes of texture data produced.
+     */
+    private final LongAdder decodedBytes;
+
+    /**
+     * The time spent transcoding and decoding, in nanoseconds, summed over the loading threads.
+     */
+    private final LongAdder decodeTime;
+
+    /**
+     * Constructor.
+     * @param blockCompressionSupported Flag indicating if the device samples BC compressed formats, as reported by
+     *                                  the textureCompressionBC feature of the physical device.
+     */
+    public KtxLoader(boolean blockCompressionSupported) {
+        this.blockCompressionSupported = blockCompressionSupported;
+        numberOfTextures = new LongAdder();
+        sourceBytes = new LongAdder();
+        decodedBytes = new LongAdder();
+        decodeTime = new LongAdder();
+    }
+
+    /**
+     * Load a KTX2 file.
+     * Only 2D textures with a single layer and face are supported by the texture path.
+     * @param path The path to the KTX2 file.
+     * @return TextureData - The texture data, with the mip levels stored in the file.
+     */
+    public TextureData load(String path) {
+        long startTime = System.nanoTime();
+        ByteBuffer fileData = VirtualFileSystem.getInstance().read(path);
+        long readTime = System.nanoTime();
+        int fileSize = fileData.remaining();
+
+        TextureData textureData;
+        String decodePath;
+        ktxTexture2 texture = null;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer textureBuffer = stack.mallocPointer(1);
+            int result = ktxTexture2_CreateFromMemory(fileData, KTX_TEXTURE_CREATE_LOAD_IMAGE_DATA_BIT, textureBuffer);
+            if (result != KTX_SUCCESS) {
+                throw new RuntimeException("Failed to load texture [" + path + "]: " + ktxErrorString(result));
+            }
+            texture = ktxTexture2.create(textureBuffer.get(0));
+            if (texture.numDimensions() != 2 || texture.numLayers() != 1 || texture.numFaces() != 1) {
+                throw new RuntimeException("Texture [" + path + "] is not a 2D texture with a single layer and face.");
+            }
+
+            if (ktxTexture2_NeedsTranscoding(texture)) {
+                transcode(texture, path);
+                decodePath = "transcoded";
+            }
+            else {
+                decodePath = "direct";
+            }
+            int format = texture.vkFormat();
+            if (texture.isCompressed() && !BlockCompression.isBlockCompressed(format)) {
+                throw new RuntimeException("Texture [" + path + "] uses the unsupported compressed format " + format + ".");
+            }
+            if (BlockCompression.isBlockCompressed(format) && !blockCompressionSupported) {
+                if (!BlockCompression.isDecodable(format)) {
+                    throw new RuntimeException("Texture [" + path + "] uses the format " + format
+                            + " which can not be decoded without BC support.");
+                }
+                textureData = new TextureData(path, texture.baseWidth(), texture.baseHeight(),
+                        BlockCompression.getDecodedFormat(format), 1, BlockCompression.getDecodedTexelSize(format),
+                        decodeLevels(texture, stack));
+                decodePath = "decoded";
+            }
+            else if (BlockCompression.isBlockCompressed(format)) {
+                textureData = new TextureData(path, texture.baseWidth(), texture.baseHeight(), format,
+                        BlockCompression.BLOCK_SIZE, BlockCompression.getBlockBytes(format), copyLevels(texture, stack));
+            }
+            else {
+                textureData = new TextureData(path, texture.baseWidth(), texture.baseHeight(), format, 1,
+                        ktxTexture_GetElementSize(ktxTexture.create(texture.address())), copyLevels(texture, stack));
+            }
+        }
+        finally {
+            if (texture != null) {
+                ktxTexture_Destroy(ktxTexture.create(texture.address()));
+            }
+        }
+
+        long endTime = System.nanoTime();
+        long dataSize = textureData.getChainSize(0);
+        numberOfTextures.increment();
+        sourceBytes.add(fileSize);
+        decodedBytes.add(dataSize);
+        decodeTime.add(endTime - readTime);
+        EngineLogger.getInstance().log(Level.FINE,
+                "Loaded KTX2 texture [%s] of [%d]x[%d] with [%d] mip level(s), [%s], read in [%.2f] ms, decoded in [%.2f] ms at [%.1f] MB/s.",
+                path, textureData.getWidth(), textureData.getHeight(), textureData.getNumberOfMipLevels(), decodePath,
+                (readTime - startTime) / 1_000_000d, (endTime - readTime) / 1_000_000d,
+                dataSize * 1_000_000_000d / Math.max(1, endTime - readTime) / Constants.MEBIBYTE);
+        return textureData;
+    }
+
+    /**
+     * Load KTX2 files in parallel on the fork/join common pool.
+     * @param paths The paths to the KTX2 files.
+     * @return List&lt;TextureData&gt; - The texture data, in the order of the paths.
+     */
+    public List<TextureData> loadAll(List<String> paths) {
+        long startTime = System.nanoTime();
+        List<ForkJoinTask<TextureData>> tasks = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> load(path)));
+        }
+        List<TextureData> textureDataList = new ArrayList<>(paths.size());
+        RuntimeException failure = null;
+        for (ForkJoinTask<TextureData> task : tasks) {
+            try {
+                textureDataList.add(task.join());
+            }
+            catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            textureDataList.forEach(TextureData::cleanup);
+            throw failure;
+        }
+        long dataSize = textureDataList.stream().mapToLong(textureData -> textureData.getChainSize(0)).sum();
+        long duration = System.nanoTime() - startTime;
+        EngineLogger.getInstance().log(Level.FINE, "Loaded [%d] KTX2 texture(s) of [%.2f] MB in [%.2f] ms at [%.1f] MB/s.",
+                paths.size(), dataSize / (double) Constants.MEBIBYTE, duration / 1_000_000d,
+                dataSize * 1_000_000_000d / Math.max(1, duration) / Constants.MEBIBYTE);
+        return textureDataList;
+    }
+
+    /**
+     * Transcode a Basis Universal texture to the best format the device samples.
+     * Single channel and two channel linear data go to BC4 and BC5, everything else to BC7, or to RGBA without BC
+     * support.
+     * @param texture The texture, transcoded in place.
+     * @param path The path of the texture, for error reporting.
+     */
+    private void transcode(ktxTexture2 texture, String path) {
+        int targetFormat = KTX_TTF_RGBA32;
+        if (blockCompressionSupported) {
+            int numberOfComponents = ktxTexture2_GetNumComponents(texture);
+            boolean srgb = ktxTexture2_GetOETF(texture) == KHR_DF_TRANSFER_SRGB;
+            if (numberOfComponents == 1 && !srgb) {
+                targetFormat = KTX_TTF_BC4_R;
+            }
+            else if (numberOfComponents == 2 && !srgb) {
+                targetFormat = KTX_TTF_BC5_RG;
+            }
+            else {
+                targetFormat = KTX_TTF_BC7_RGBA;
+            }
+        }
+        int result = transcodeBasis(texture, targetFormat);
+        if (result != KTX_SUCCESS) {
+            throw new RuntimeException("Failed to transcode texture [" + path + "] to "
+                    + ktxTranscodeFormatString(targetFormat) + ": " + ktxErrorString(result));
+        }
+    }
+
+    /**
+     * Transcode a Basis Universal texture.
+     * The first transcoding builds the shared tables of the transcoder alone, the following ones run concurrently.
+     * @param texture The texture, transcoded in place.
+     * @param targetFormat The libktx transcode format.
+     * @return int - The libktx result code.
+     */
+    private static int transcodeBasis(ktxTexture2 texture, int targetFormat) {
+        if (!transcoderInitialized) {
+            synchronized (TRANSCODER_LOCK) {
+                if (!transcoderInitialized) {
+                    int result = ktxTexture2_TranscodeBasis(texture, targetFormat, 0);
+                    transcoderInitialized = true;
+                    return result;
+                }
+            }
+        }
+        return ktxTexture2_TranscodeBasis(texture, targetFormat, 0);
+    }
+
+    /**
+     * Copy the mip levels of a texture.
+     * @param texture The texture.
+     * @param stack The memory stack.
+     * @return ByteBuffer[] - The mip levels, allocated with MemoryUtil.
+     */
+    private static ByteBuffer[] copyLevels(ktxTexture2 texture, MemoryStack stack) {
+        ByteBuffer[] mipLevels = new ByteBuffer[texture.numLevels()];
+        for (int level = 0; level < mipLevels.length; level++) {
+            ByteBuffer source = getLevel(texture, level, stack);
+            mipLevels[level] = MemoryUtil.memAlloc(source.remaining());
+            MemoryUtil.memCopy(source, mipLevels[level]);
+        }
+        return mipLevels;
+    }
+
+    /**
+     * Decode the BC compressed mip levels of a texture, all levels being decoded in parallel.
+     * @param texture The texture.
+     * @param stack The memory stack.
+     * @return ByteBuffer[] - The decoded mip levels, allocated with MemoryUtil.
+     */
+    private static ByteBuffer[] decodeLevels(ktxTexture2 texture, MemoryStack stack) {
+        int format = texture.vkFormat();
+        int texelSize = BlockCompression.getDecodedTexelSize(format);
+        ByteBuffer[] mipLevels = new ByteBuffer[texture.numLevels()];
+        List<BlockDecodeTask> tasks = new ArrayList<>(mipLevels.length);
+        for (int level = 0; level < mipLevels.length; level++) {
+            int width = Math.max(1, texture.baseWidth() >> level);
+            int height = Math.max(1, texture.baseHeight() >> level);
+            mipLevels[level] = MemoryUtil.memAlloc(width * height * texelSize);
+            int numberOfRows = (height + BlockCompression.BLOCK_SIZE - 1) / BlockCompression.BLOCK_SIZE;
+            tasks.add(new BlockDecodeTask(format, getLevel(texture, level, stack), mipLevels[level], width, height,
+                    0, numberOfRows));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return mipLevels;
+    }
+
+    /**
+     * Get the data of a mip level of a texture.
+     * @param texture The texture.
+     * @param level The mip level.
+     * @param stack The memory stack.
+     * @return ByteBuffer - A view of the mip level in the texture data.
+     */
+    private static ByteBuffer getLevel(ktxTexture2 texture, int level, MemoryStack stack) {
+        ktxTexture baseTexture = ktxTexture.create(texture.address());
+        PointerBuffer offsetBuffer = stack.mallocPointer(1);
+        int result = ktxTexture_GetImageOffset(baseTexture, level, 0, 0, offsetBuffer);
+        if (result != KTX_SUCCESS) {
+            throw new RuntimeException("Failed to locate mip level " + level + ": " + ktxErrorString(result));
+        }
+        return MemoryUtil.memSlice(texture.pData(), (int) offsetBuffer.get(0),
+                (int) ktxTexture_GetImageSize(baseTexture, level));
+    }
+
+    /**
+     * Get the number of textures loaded.
+     * @return long - The number of textures.
+     */
+    public long getNumberOfTextures() {
+        return numberOfTextures.sum();
+    }
+
+    /**
+     * Get the number of bytes read from the KTX2 files.
+     * @return long - The number of bytes.
+     */
+    public long getSourceBytes() {
+        return sourceBytes.sum();
+    }
+
+    /**
+     * Get the number of bytes of texture data produced.
+     * @return long - The number of bytes.
+     */
+    public long getDecodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    /**
+     * Get the time spent transcoding and decoding, summed over the loading threads.
+     * @return long - The time, in nanoseconds.
+     */
+    public long getDecodeTime() {
+        return decodeTime.sum();
+    }
+
+    /**
+     * Get the decode throughput, the texture data produced per second spent transcoding and decoding.
+     * @return double - The throughput, in mebibytes per second.
+     */
+    public double getThroughput() {
+        return getDecodedBytes() * 1_000_000_000d / Math.max(1, getDecodeTime()) / Constants.MEBIBYTE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package org.scarlet.vulkan.texture;
+
+import org.scarlet.vulkan.surface.ImageView;
+
+/**
+ * A texture whose mip levels are streamed by the texture streamer.
+ * The smallest mip levels, the tail, stay resident while the texture is loaded. The finer mip levels are made resident
+ * while the texture is visible and requests them, and are evicted again when it has not been visible for a while.
+ */
+public class Texture {
+    /**
+     * The texture data.
+     */
+    private final TextureData textureData;
+
+    /**
+     * The largest mip level of the tail.
+     */
+    private final int tailMipLevel;
+
+    /**
+     * The image holding the resident mip levels, or null until the tail is uploaded.
+     */
+    private TextureImage textureImage;
+
+    /**
+     * The first mip level the resident mip levels are being changed to.
+     */
+    private int targetMipLevel;
+
+    /**
+     * The finest mip level requested while the texture was last visible.
+     */
+    private int requestedMipLevel;
+
+    /**
+     * The last frame the texture was visible, or -1 if it never was.
+     */
+    private long lastVisibleFrame;
+
+    /**
+     * The upload changing the resident mip levels, or null if none.
+     */
+    private TextureUpload pendingUpload;
+
+    /**
+     * Flag indicating if the texture was unloaded.
+     */
+    private boolean released;
+
+    /**
+     * Constructor.
+     * @param textureData The texture data.
+     * @param tailMipLevel The largest mip level of the tail.
+     */
+    Texture(TextureData textureData, int tailMipLevel) {
+        this.textureData = textureData;
+        this.tailMipLevel = tailMipLevel;
+        targetMipLevel = tailMipLevel;
+        requestedMipLevel = tailMipLevel;
+        lastVisibleFrame = -1;
+    }
+
+    /**
+     * Select the mip level matching the size of the texture on screen.
+     * @param screenWidth The width covered by the texture on screen, in pixels.
+     * @param screenHeight The height covered by the texture on screen, in pixels.
+     * @return int - The finest mip level that is not larger than its size on screen.
+     */
+    public int selectMipLevel(float screenWidth, float screenHeight) {
+        double scale = Math.min(textureData.getWidth() / (double) Math.max(screenWidth, 1),
+                textureData.getHeight() / (double) Math.max(screenHeight, 1));
+        int mipLevel = scale <= 1 ? 0 : (int) Math.floor(Math.log(scale) / Math.log(2));
+        return Math.min(mipLevel, textureData.getNumberOfMipLevels() - 1);
+    }
+
+    /**
+     * Get the texture ID.
+     * @return String - The texture ID.
+     */
+    public String getTextureID() {
+        return textureData.getTextureID();
+    }
+
+    /**
+     * Check if the texture can be sampled.
+     * @return boolean - True once the tail is resident, false otherwise.
+     */
+    public boolean isReady() {
+        return textureImage != null;
+    }
+
+    /**
+     * Get the view over the resident mip levels.
+     * The view changes when mip levels are streamed in or evicted, so it should be fetched every frame.
+     * @return ImageView - The image view, or null until the texture is ready.
+     */
+    public ImageView getImageView() {
+        return textureImage != null ? textureImage.getImageView() : null;
+    }
+
+    /**
+     * Get the finest resident mip level.
+     * @return int - The mip level, or the number of mip levels until the texture is ready.
+     */
+    public int getResidentMipLevel() {
+        return textureImage != null ? textureImage.getFirstMipLevel() : textureData.getNumberOfMipLevels();
+    }
+
+    /**
+     * Get the largest mip level of the tail.
+     * @return int - The mip level.
+     */
+    public int getTailMipLevel() {
+        return tailMipLevel;
+    }
+
+    /**
+     * Get the finest mip level requested while the texture was last visible.
+     * @return int - The mip level.
+     */
+    public int getRequestedMipLevel() {
+        return requestedMipLevel;
+    }
+
+    /**
+     * Get the last frame the texture was visible.
+     * @return long - The frame number, or -1 if the texture never was visible.
+     */
+    public long getLastVisibleFrame() {
+        return lastVisibleFrame;
+    }
+
+    /**
+     * Get the texture data.
+     * @return TextureData - The texture data.
+     */
+    TextureData getTextureData() {
+        return textureData;
+    }
+
+    /**
+     * Get the image holding the resident mip levels.
+     * @return TextureImage - The image, or null until the tail is uploaded.
+     */
+    TextureImage getTextureImage() {
+        return textureImage;
+    }
+
+    /**
+     * Set the image holding the resident mip levels.
+     * @param textureImage The image.
+     * @return TextureImage - The image previously holding the resident mip levels, or null if none.
+     */
+    TextureImage setTextureImage(TextureImage textureImage) {
+        TextureImage previousImage = this.textureImage;
+        this.textureImage = textureImage;
+        return previousImage;
+    }
+
+    /**
+     * Get the first mip level the resident mip levels are being changed to.
+     * @return int - The mip level.
+     */
+    int getTargetMipLevel() {
+        return targetMipLevel;
+    }
+
+    /**
+     * Set the first mip level the resident mip levels are being changed to.
+     * @param targetMipLevel The mip level.
+     */
+    void setTargetMipLevel(int targetMipLevel) {
+        this.targetMipLevel = targetMipLevel;
+    }
+
+    /**
+     * Record the texture as visible.
+     * @param frame The frame number.
+     * @param mipLevel The finest mip level needed.
+     */
+    void setVisible(long frame, int mipLevel) {
+        if (lastVisibleFrame != frame) {
+            requestedMipLevel = mipLevel;
+        }
+        else {
+            requestedMipLevel = Math.min(requestedMipLevel, mipLevel);
+        }
+        lastVisibleFrame = frame;
+    }
+
+    /**
+     * Get the upload changing the resident mip levels.
+     * @return TextureUpload - The upload, or null if none.
+     */
+    TextureUpload getPendingUpload() {
+        return pendingUpload;
+    }
+
+    /**
+     * Set the upload changing the resident mip levels.
+     * @param pendingUpload The upload, or null if none.
+     */
+    void setPendingUpload(TextureUpload pendingUpload) {
+        this.pendingUpload = pendingUpload;
+    }
+
+    /**
+     * Check if the texture was unloaded.
+     * @return boolean - True if the texture was unloaded, false otherwise.
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Mark the texture as unloaded.
+     */
+    void setReleased() {
+        released = true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Contains the mip chain of a texture in host memory.
+ * Every mip level is stored tightly packed, row of blocks after row of blocks, in a buffer allocated with MemoryUtil.
+ * Uncompressed formats use blocks of a single texel.
+ */
+public class TextureData {
+    /**
+     * The texture ID.
+     */
+    private final String textureID;
+
+    /**
+     * The width of the first mip level.
+     */
+    private final int width;
+
+    /**
+     * The height of the first mip level.
+     */
+    private final int height;
+
+    /**
+     * The Vulkan format.
+     */
+    private final int format;
+
+    /**
+     * The width and height of a block, in texels.
+     */
+    private final int blockSize;
+
+    /**
+     * The size of a block, in bytes.
+     */
+    private final int blockBytes;
+
+    /**
+     * The mip levels, from the largest to the smallest.
+     */
+    private final ByteBuffer[] mipLevels;
+
+    /**
+     * Constructor.
+     * @param textureID The texture ID.
+     * @param width The width of the first mip level.
+     * @param height The height of the first mip level.
+     * @param format The Vulkan format.
+     * @param blockSize The width and height of a block, in texels.
+     * @param blockBytes The size of a block, in bytes.
+     * @param mipLevels The mip levels, from the largest to the smallest, allocated with MemoryUtil.
+     */
+    public TextureData(String textureID, int width, int height, int format, int blockSize, int blockBytes,
+                       ByteBuffer[] mipLevels) {
+        this.textureID = textureID;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.blockSize = blockSize;
+        this.blockBytes = blockBytes;
+        this.mipLevels = mipLevels;
+        for (int level = 0; level < mipLevels.length; level++) {
+            if (mipLevels[level].remaining() < getMipSize(level)) {
+                throw new IllegalArgumentException("Texture [" + textureID + "] mip level " + level + " holds "
+                        + mipLevels[level].remaining() + " of " + getMipSize(level) + " bytes.");
+            }
+        }
+    }
+
+    /**
+     * Free the mip levels.
+     */
+    public void cleanup() {
+        for (ByteBuffer mipLevel : mipLevels) {
+            MemoryUtil.memFree(mipLevel);
+        }
+    }
+
+    /**
+     * Get the texture ID.
+     * @return String - The texture ID.
+     */
+    public String getTextureID() {
+        return textureID;
+    }
+
+    /**
+     * Get the width of the first mip level.
+     * @return int - The width in texels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the first mip level.
+     * @return int - The height in texels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the format.
+     * @return int - The Vulkan format.
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the width and height of a block.
+     * @return int - The block size in texels.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Get the number of mip levels.
+     * @return int - The number of mip levels.
+     */
+    public int getNumberOfMipLevels() {
+        return mipLevels.length;
+    }
+
+    /**
+     * Get the data of a mip level.
+     * @param level The mip level.
+     * @return ByteBuffer - The data.
+     */
+    public ByteBuffer getMipLevel(int level) {
+        return mipLevels[level];
+    }
+
+    /**
+     * Get the width of a mip level.
+     * @param level The mip level.
+     * @return int - The width in texels.
+     */
+    public int getMipWidth(int level) {
+        return Math.max(1, width >> level);
+    }
+
+    /**
+     * Get the height of a mip level.
+     * @param level The mip level.
+     * @return int - The height in texels.
+     */
+    public int getMipHeight(int level) {
+        return Math.max(1, height >> level);
+    }
+
+    /**
+     * Get the size of a row of blocks of a mip level.
+     * @param level The mip level.
+     * @return long - The size in bytes.
+     */
+    public long getRowSize(int level) {
+        return (long) ((getMipWidth(level) + blockSize - 1) / blockSize) * blockBytes;
+    }
+
+    /**
+     * Get the number of rows of blocks of a mip level.
+     * @param level The mip level.
+     * @return int - The number of rows.
+     */
+    public int getNumberOfRows(int level) {
+        return (getMipHeight(level) + blockSize - 1) / blockSize;
+    }
+
+    /**
+     * Get the size of a mip level.
+     * @param level The mip level.
+     * @return long - The size in bytes.
+     */
+    public long getMipSize(int level) {
+        return getRowSize(level) * getNumberOfRows(level);
+    }
+
+    /**
+     * Get the size of the mip chain starting at a mip level.
+     * @param firstLevel The first mip level.
+     * @return long - The size in bytes of the mip levels from the first level to the smallest one.
+     */
+    public long getChainSize(int firstLevel) {
+        long size = 0;
+        for (int level = firstLevel; level < mipLevels.length; level++) {
+            size += getMipSize(level);
+        }
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package org.scarlet.vulkan.texture;
+
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.surface.ImageView;
+import org.scarlet.vulkan.surface.ImageViewData;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * The image and view holding the resident part of the mip chain of a texture.
+ * The image only holds the mip levels from its first mip level to the smallest one, so the mip levels that are not
+ * resident take no device memory.
+ */
+public class TextureImage {
+    /**
+     * The image.
+     */
+    private final VulkanImage vulkanImage;
+
+    /**
+     * The view over every mip level of the image.
+     */
+    private final ImageView imageView;
+
+    /**
+     * The mip level of the texture stored in the first mip level of the image.
+     */
+    private final int firstMipLevel;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param textureData The texture data.
+     * @param firstMipLevel The first mip level of the texture held by the image.
+     * @param queueFamilyIndices The queue families accessing the image concurrently, or null for exclusive access.
+     */
+    public TextureImage(LogicalDevice logicalDevice, TextureData textureData, int firstMipLevel, int[] queueFamilyIndices) {
+        this.firstMipLevel = firstMipLevel;
+        int mipLevels = textureData.getNumberOfMipLevels() - firstMipLevel;
+        vulkanImage = new VulkanImage(logicalDevice,
+                textureData.getMipWidth(firstMipLevel), textureData.getMipHeight(firstMipLevel),
+                textureData.getFormat(), mipLevels,
+                VK_IMAGE_USAGE_TRANSFER_DST_BIT | VK_IMAGE_USAGE_SAMPLED_BIT, queueFamilyIndices);
+        imageView = new ImageView(logicalDevice, vulkanImage.getImage(), new ImageViewData()
+                .format(textureData.getFormat())
+                .aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                .mipLevels(mipLevels));
+    }
+
+    /**
+     * Release the resources.
+     */
+    public void cleanup() {
+        imageView.cleanup();
+        vulkanImage.cleanup();
+    }
+
+    /**
+     * Get the image.
+     * @return VulkanImage - The image.
+     */
+    public VulkanImage getVulkanImage() {
+        return vulkanImage;
+    }
+
+    /**
+     * Get the image view.
+     * @return ImageView - The view over every mip level of the image.
+     */
+    public ImageView getImageView() {
+        return imageView;
+    }
+
+    /**
+     * Get the first mip level.
+     * @return int - The mip level of the texture stored in the first mip level of the image.
+     */
+    public int getFirstMipLevel() {
+        return firstMipLevel;
+    }
+}
\ No newline at end of file
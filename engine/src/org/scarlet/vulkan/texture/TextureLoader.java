@@ -0,0 +1,146 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.scarlet.EngineLogger;
+import org.scarlet.asset.VirtualFileSystem;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.logging.Level;
+
+import static org.lwjgl.stb.STBImage.*;
+import static org.lwjgl.vulkan.VK10.VK_FORMAT_R8G8B8A8_SRGB;
+import static org.lwjgl.vulkan.VK10.VK_FORMAT_R8G8B8A8_UNORM;
+
+/**
+ * Loads images into RGBA textures with a full mip chain.
+ * The mip levels are generated with a box filter, averaging colour textures in linear space.
+ */
+public class TextureLoader {
+    /**
+     * The number of channels of a texel.
+     */
+    private static final int CHANNELS = 4;
+
+    /**
+     * The number of entries of the table encoding linear values.
+     */
+    private static final int LINEAR_STEPS = 4096;
+
+    /**
+     * The linear value of every sRGB encoded byte.
+     */
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+
+    /**
+     * The sRGB encoded byte of linear values quantized to LINEAR_STEPS steps.
+     */
+    private static final byte[] LINEAR_TO_SRGB = new byte[LINEAR_STEPS];
+
+    static {
+        for (int value = 0; value < SRGB_TO_LINEAR.length; value++) {
+            double encoded = value / 255.0;
+            SRGB_TO_LINEAR[value] = (float) (encoded <= 0.04045
+                    ? encoded / 12.92
+                    : Math.pow((encoded + 0.055) / 1.055, 2.4));
+        }
+        for (int step = 0; step < LINEAR_STEPS; step++) {
+            double linear = step / (double) (LINEAR_STEPS - 1);
+            double encoded = linear <= 0.0031308
+                    ? linear * 12.92
+                    : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+            LINEAR_TO_SRGB[step] = (byte) Math.round(encoded * 255);
+        }
+    }
+
+    /**
+     * Load an image file.
+     * @param path The path to the image file.
+     * @param srgb Flag indicating if the image holds sRGB encoded colours rather than linear data.
+     * @return TextureData - The texture data, with every mip level down to 1x1.
+     */
+    public static TextureData load(String path, boolean srgb) {
+        long startTime = System.nanoTime();
+        int width;
+        int height;
+        ByteBuffer baseLevel;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer widthBuffer = stack.mallocInt(1);
+            IntBuffer heightBuffer = stack.mallocInt(1);
+            IntBuffer channelsBuffer = stack.mallocInt(1);
+            ByteBuffer fileData = VirtualFileSystem.getInstance().read(path);
+            ByteBuffer pixels = stbi_load_from_memory(fileData, widthBuffer, heightBuffer, channelsBuffer, CHANNELS);
+            if (pixels == null) {
+                throw new RuntimeException("Failed to load texture [" + path + "]: " + stbi_failure_reason());
+            }
+            width = widthBuffer.get(0);
+            height = heightBuffer.get(0);
+            baseLevel = MemoryUtil.memAlloc(pixels.remaining());
+            MemoryUtil.memCopy(pixels, baseLevel);
+            stbi_image_free(pixels);
+        }
+
+        TextureData textureData = new TextureData(path, width, height,
+                srgb ? VK_FORMAT_R8G8B8A8_SRGB : VK_FORMAT_R8G8B8A8_UNORM, 1, CHANNELS,
+                generateMipChain(baseLevel, width, height, srgb));
+        EngineLogger.getInstance().log(Level.FINE, "Loaded texture [%s] of [%d]x[%d] with [%d] mip level(s) in [%.2f] ms.",
+                path, width, height, textureData.getNumberOfMipLevels(), (System.nanoTime() - startTime) / 1_000_000d);
+        return textureData;
+    }
+
+    /**
+     * Generate the mip chain of an RGBA image.
+     * Every texel of a mip level averages the 2x2 texels of the previous level covering it, clamped at the edges of
+     * odd sized levels.
+     * @param baseLevel The first mip level, allocated with MemoryUtil.
+     * @param width The width of the first mip level.
+     * @param height The height of the first mip level.
+     * @param srgb Flag indicating if the colour channels are sRGB encoded.
+     * @return ByteBuffer[] - The mip levels, starting with the first mip level, allocated with MemoryUtil.
+     */
+    public static ByteBuffer[] generateMipChain(ByteBuffer baseLevel, int width, int height, boolean srgb) {
+        int numberOfLevels = 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+        ByteBuffer[] mipLevels = new ByteBuffer[numberOfLevels];
+        mipLevels[0] = baseLevel;
+        for (int level = 1; level < numberOfLevels; level++) {
+            int sourceWidth = Math.max(1, width >> (level - 1));
+            int sourceHeight = Math.max(1, height >> (level - 1));
+            int levelWidth = Math.max(1, width >> level);
+            int levelHeight = Math.max(1, height >> level);
+            ByteBuffer source = mipLevels[level - 1];
+            ByteBuffer destination = MemoryUtil.memAlloc(levelWidth * levelHeight * CHANNELS);
+            for (int y = 0; y < levelHeight; y++) {
+                int y0 = Math.min(y * 2, sourceHeight - 1);
+                int y1 = Math.min(y * 2 + 1, sourceHeight - 1);
+                for (int x = 0; x < levelWidth; x++) {
+                    int x0 = Math.min(x * 2, sourceWidth - 1);
+                    int x1 = Math.min(x * 2 + 1, sourceWidth - 1);
+                    int texel00 = (y0 * sourceWidth + x0) * CHANNELS;
+                    int texel01 = (y0 * sourceWidth + x1) * CHANNELS;
+                    int texel10 = (y1 * sourceWidth + x0) * CHANNELS;
+                    int texel11 = (y1 * sourceWidth + x1) * CHANNELS;
+                    int destinationTexel = (y * levelWidth + x) * CHANNELS;
+                    for (int channel = 0; channel < CHANNELS; channel++) {
+                        int value00 = Byte.toUnsignedInt(source.get(texel00 + channel));
+                        int value01 = Byte.toUnsignedInt(source.get(texel01 + channel));
+                        int value10 = Byte.toUnsignedInt(source.get(texel10 + channel));
+                        int value11 = Byte.toUnsignedInt(source.get(texel11 + channel));
+                        byte average;
+                        if (srgb && channel < CHANNELS - 1) {
+                            float linear = (SRGB_TO_LINEAR[value00] + SRGB_TO_LINEAR[value01]
+                                    + SRGB_TO_LINEAR[value10] + SRGB_TO_LINEAR[value11]) / 4;
+                            average = LINEAR_TO_SRGB[Math.round(linear * (LINEAR_STEPS - 1))];
+                        }
+                        else {
+                            average = (byte) ((value00 + value01 + value10 + value11 + 2) / 4);
+                        }
+                        destination.put(destinationTexel + channel, average);
+                    }
+                }
+            }
+            mipLevels[level] = destination;
+        }
+        return mipLevels;
+    }
+}
\ No newline at end of file
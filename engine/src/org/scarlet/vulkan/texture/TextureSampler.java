@@ -0,0 +1,67 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkSamplerCreateInfo;
+import org.scarlet.vulkan.device.LogicalDevice;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Trilinear sampler for streamed textures.
+ * The level of detail is not clamped, so sampling falls back to the coarsest resident mip level covered by the view.
+ */
+public class TextureSampler {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The handle to the sampler.
+     */
+    private final long sampler;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param addressMode The address mode of every texture coordinate.
+     */
+    public TextureSampler(LogicalDevice logicalDevice, int addressMode) {
+        this.logicalDevice = logicalDevice;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkSamplerCreateInfo samplerCreateInfo = VkSamplerCreateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_SAMPLER_CREATE_INFO)
+                    .magFilter(VK_FILTER_LINEAR)
+                    .minFilter(VK_FILTER_LINEAR)
+                    .mipmapMode(VK_SAMPLER_MIPMAP_MODE_LINEAR)
+                    .addressModeU(addressMode)
+                    .addressModeV(addressMode)
+                    .addressModeW(addressMode)
+                    .minLod(0.0f)
+                    .maxLod(VK_LOD_CLAMP_NONE)
+                    .borderColor(VK_BORDER_COLOR_INT_OPAQUE_BLACK);
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkCreateSampler(logicalDevice.getDevice(), samplerCreateInfo, null, longBuffer),
+                    "Failed to create sampler.");
+            sampler = longBuffer.get(0);
+        }
+    }
+
+    /**
+     * Release the resources.
+     */
+    public void cleanup() {
+        vkDestroySampler(logicalDevice.getDevice(), sampler, null);
+    }
+
+    /**
+     * Get the handle to the sampler.
+     * @return long - The sampler handle.
+     */
+    public long getSampler() {
+        return sampler;
+    }
+}
\ No newline at end of file
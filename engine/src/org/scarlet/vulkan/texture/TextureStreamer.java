@@ -0,0 +1,445 @@
+package org.scarlet.vulkan.texture;
+
+import org.scarlet.EngineLogger;
+import org.scarlet.vulkan.buffer.BufferUploader;
+import org.scarlet.vulkan.buffer.CommandPool;
+import org.scarlet.vulkan.buffer.StagingRingBuffer;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.queue.Queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Streams the mip levels of textures under a device memory budget.
+ * A loaded texture first gets its tail, the mip levels no larger than the tail size, so it can be drawn within a few
+ * frames. The finer mip levels are streamed in one at a time while the texture is visible and requests them. When the
+ * budget is reached, the least recently visible textures are evicted back to their tail. A change of the resident mip
+ * levels uploads them into a new image, swapped in once the upload completed, while the previous image is destroyed
+ * once the frames in flight stopped using it.
+ */
+public class TextureStreamer {
+    /**
+     * The maximum size of a chunk.
+     */
+    private static final long MAX_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * The maximum number of mip level changes waiting to be uploaded.
+     */
+    private static final int MAX_PENDING_UPLOADS = 4;
+
+    /**
+     * The order of the textures needing a finer mip level, the blurriest first.
+     */
+    private static final Comparator<Texture> BLURRIEST_FIRST = Comparator.comparingInt((Texture texture) ->
+            texture.getRequestedMipLevel() - texture.getTargetMipLevel());
+
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The command pool.
+     */
+    private final CommandPool commandPool;
+
+    /**
+     * The staging ring buffer.
+     */
+    private final StagingRingBuffer stagingRingBuffer;
+
+    /**
+     * The buffer uploader.
+     */
+    private final BufferUploader uploader;
+
+    /**
+     * The queue families accessing the images concurrently, or null for exclusive access.
+     */
+    private final int[] queueFamilyIndices;
+
+    /**
+     * The device memory budget of the textures, in bytes.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The number of bytes that may be uploaded per frame.
+     */
+    private final long frameByteBudget;
+
+    /**
+     * The largest width or height of the mip levels of the tail.
+     */
+    private final int tailSize;
+
+    /**
+     * The number of frames an image may still be used by after it was replaced.
+     */
+    private final int framesInFlight;
+
+    /**
+     * The loaded textures.
+     */
+    private final List<Texture> textures;
+
+    /**
+     * The textures needing a finer mip level, reused by every frame.
+     */
+    private final List<Texture> candidates;
+
+    /**
+     * The uploads with chunks left to upload, in request order.
+     */
+    private final Deque<TextureUpload> pendingUploads;
+
+    /**
+     * The uploads whose chunks were all submitted, in submission order.
+     */
+    private final Deque<TextureUpload> submittedUploads;
+
+    /**
+     * The replaced images, in replacement order.
+     */
+    private final Deque<TextureImage> retiredImages;
+
+    /**
+     * The frame every replaced image was replaced in.
+     */
+    private final Deque<Long> retirementFrames;
+
+    /**
+     * The current frame number.
+     */
+    private long frameNumber;
+
+    /**
+     * The size of the mip levels resident or being made resident, in bytes.
+     */
+    private long committedBytes;
+
+    /**
+     * The number of textures evicted.
+     */
+    private long evictionCount;
+
+    /**
+     * The number of bytes uploaded during the last frame.
+     */
+    private long lastFrameBytes;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param queue The queue to submit the uploads to.
+     * @param queueFamilyIndices The queue families accessing the images concurrently, or null for exclusive access.
+     * @param stagingBufferSize The size of the staging ring buffer in bytes.
+     * @param memoryBudget The device memory budget of the textures, in bytes.
+     * @param frameByteBudget The number of bytes that may be uploaded per frame.
+     * @param tailSize The largest width or height of the mip levels that stay resident.
+     * @param framesInFlight The number of frames an image may still be used by after it was replaced.
+     */
+    public TextureStreamer(LogicalDevice logicalDevice, Queue queue, int[] queueFamilyIndices, long stagingBufferSize,
+                           long memoryBudget, long frameByteBudget, int tailSize, int framesInFlight) {
+        EngineLogger.getInstance().log(Level.INFO, "Creating texture streamer. Budget: [%d] bytes, [%d] bytes per frame.",
+                memoryBudget, frameByteBudget);
+        this.logicalDevice = logicalDevice;
+        this.queueFamilyIndices = queueFamilyIndices;
+        this.memoryBudget = memoryBudget;
+        this.frameByteBudget = frameByteBudget;
+        this.tailSize = tailSize;
+        this.framesInFlight = framesInFlight;
+        commandPool = new CommandPool(logicalDevice, queue.getQueueFamilyIndex());
+        stagingRingBuffer = new StagingRingBuffer(logicalDevice, stagingBufferSize);
+        uploader = new BufferUploader(commandPool, queue, stagingRingBuffer);
+        textures = new ArrayList<>();
+        candidates = new ArrayList<>();
+        pendingUploads = new ArrayDeque<>();
+        submittedUploads = new ArrayDeque<>();
+        retiredImages = new ArrayDeque<>();
+        retirementFrames = new ArrayDeque<>();
+    }
+
+    /**
+     * Wait for the submitted uploads and release resources, including the data of every texture.
+     * Must be called once the device stopped using the images.
+     */
+    public synchronized void cleanup() {
+        uploader.finish();
+        for (TextureUpload upload : submittedUploads) {
+            upload.getTextureImage().cleanup();
+        }
+        for (TextureUpload upload : pendingUploads) {
+            upload.getTextureImage().cleanup();
+        }
+        submittedUploads.clear();
+        pendingUploads.clear();
+        retiredImages.forEach(TextureImage::cleanup);
+        retiredImages.clear();
+        retirementFrames.clear();
+        for (Texture texture : textures) {
+            if (texture.getTextureImage() != null) {
+                texture.getTextureImage().cleanup();
+            }
+            texture.getTextureData().cleanup();
+        }
+        textures.clear();
+        stagingRingBuffer.cleanup();
+        commandPool.cleanup();
+    }
+
+    /**
+     * Load a texture.
+     * The tail is uploaded first, before any other upload. The streamer takes ownership of the texture data.
+     * @param textureData The texture data.
+     * @return Texture - The texture, ready to be sampled once its tail is uploaded.
+     */
+    public synchronized Texture load(TextureData textureData) {
+        int tailMipLevel = textureData.getNumberOfMipLevels() - 1;
+        for (int level = 0; level < textureData.getNumberOfMipLevels(); level++) {
+            if (Math.max(textureData.getMipWidth(level), textureData.getMipHeight(level)) <= tailSize) {
+                tailMipLevel = level;
+                break;
+            }
+        }
+        Texture texture = new Texture(textureData, tailMipLevel);
+        textures.add(texture);
+        committedBytes += textureData.getChainSize(tailMipLevel);
+        TextureUpload upload = new TextureUpload(texture,
+                new TextureImage(logicalDevice, textureData, tailMipLevel, queueFamilyIndices));
+        texture.setPendingUpload(upload);
+        pendingUploads.addFirst(upload);
+        return texture;
+    }
+
+    /**
+     * Unload a texture.
+     * Its images are destroyed once the frames in flight stopped using them.
+     * @param texture The texture.
+     */
+    public synchronized void unload(Texture texture) {
+        if (!textures.remove(texture)) {
+            return;
+        }
+        texture.setReleased();
+        committedBytes -= texture.getTextureData().getChainSize(texture.getTargetMipLevel());
+        TextureUpload upload = texture.getPendingUpload();
+        if (upload != null && pendingUploads.remove(upload)) {
+            // The chunks already submitted may still be written, so the image waits for the frames in flight too.
+            retire(upload.getTextureImage());
+        }
+        TextureImage textureImage = texture.setTextureImage(null);
+        if (textureImage != null) {
+            retire(textureImage);
+        }
+        if (upload == null || !submittedUploads.contains(upload)) {
+            texture.getTextureData().cleanup();
+        }
+    }
+
+    /**
+     * Record a texture as visible during the current frame.
+     * @param texture The texture.
+     * @param mipLevel The finest mip level needed, such as selected by Texture.selectMipLevel.
+     */
+    public synchronized void markVisible(Texture texture, int mipLevel) {
+        texture.setVisible(frameNumber, Math.max(0, Math.min(mipLevel, texture.getTailMipLevel())));
+    }
+
+    /**
+     * Swap in the completed uploads, schedule the mip level changes and upload the next chunks within the frame budget.
+     * Must be called once per frame, before recording.
+     */
+    public synchronized void processFrame() {
+        frameNumber++;
+        completeSubmittedUploads();
+        destroyRetiredImages();
+        scheduleUploads();
+
+        long frameBytes = 0;
+        while (!pendingUploads.isEmpty() && frameBytes < frameByteBudget) {
+            TextureUpload upload = pendingUploads.peekFirst();
+            long chunkSize = upload.uploadChunk(uploader, Math.min(MAX_CHUNK_SIZE, frameByteBudget - frameBytes));
+            if (chunkSize == 0) {
+                // The staging ring is full of chunks the GPU has not read yet.
+                break;
+            }
+            frameBytes += chunkSize;
+            if (upload.isUploaded()) {
+                pendingUploads.removeFirst();
+                upload.setLastSubmission(uploader.getRecordingSubmission());
+                submittedUploads.addLast(upload);
+            }
+        }
+        uploader.flush();
+        lastFrameBytes = frameBytes;
+    }
+
+    /**
+     * Get the number of loaded textures.
+     * @return int - The number of textures.
+     */
+    public synchronized int getNumberOfTextures() {
+        return textures.size();
+    }
+
+    /**
+     * Get the size of the mip levels resident or being made resident.
+     * @return long - The size in bytes.
+     */
+    public synchronized long getCommittedBytes() {
+        return committedBytes;
+    }
+
+    /**
+     * Get the device memory budget.
+     * @return long - The budget in bytes.
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Get the number of textures evicted back to their tail.
+     * @return long - The number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the number of bytes uploaded during the last frame.
+     * @return long - The number of bytes.
+     */
+    public synchronized long getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    /**
+     * Get the number of bytes left to upload.
+     * @return long - The number of bytes.
+     */
+    public synchronized long getPendingBytes() {
+        return pendingUploads.stream().mapToLong(TextureUpload::getRemainingBytes).sum();
+    }
+
+    /**
+     * Swap in the images whose upload completed.
+     */
+    private void completeSubmittedUploads() {
+        long completedSubmissions = uploader.poll();
+        while (!submittedUploads.isEmpty() && submittedUploads.peekFirst().getLastSubmission() <= completedSubmissions) {
+            TextureUpload upload = submittedUploads.removeFirst();
+            Texture texture = upload.getTexture();
+            if (texture.isReleased()) {
+                upload.getTextureImage().cleanup();
+                texture.getTextureData().cleanup();
+                continue;
+            }
+            texture.setPendingUpload(null);
+            TextureImage previousImage = texture.setTextureImage(upload.getTextureImage());
+            if (previousImage != null) {
+                retire(previousImage);
+            }
+        }
+    }
+
+    /**
+     * Destroy the replaced images no frame in flight can use anymore.
+     */
+    private void destroyRetiredImages() {
+        while (!retirementFrames.isEmpty() && retirementFrames.peekFirst() + framesInFlight < frameNumber) {
+            retirementFrames.removeFirst();
+            retiredImages.removeFirst().cleanup();
+        }
+    }
+
+    /**
+     * Retire a replaced image.
+     * @param textureImage The image.
+     */
+    private void retire(TextureImage textureImage) {
+        retiredImages.addLast(textureImage);
+        retirementFrames.addLast(frameNumber);
+    }
+
+    /**
+     * Schedule one finer mip level for the visible textures that need it, the blurriest first, evicting the least
+     * recently visible textures when the budget is reached.
+     */
+    private void scheduleUploads() {
+        long previousFrame = frameNumber - 1;
+        // Collected into a reused list with indexed loops, since this runs every frame.
+        candidates.clear();
+        for (int i = 0; i < textures.size(); i++) {
+            Texture texture = textures.get(i);
+            if (texture.getPendingUpload() == null
+                    && texture.getLastVisibleFrame() == previousFrame
+                    && texture.getRequestedMipLevel() < texture.getTargetMipLevel()) {
+                candidates.add(texture);
+            }
+        }
+        candidates.sort(BLURRIEST_FIRST);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (pendingUploads.size() >= MAX_PENDING_UPLOADS) {
+                break;
+            }
+            Texture texture = candidates.get(i);
+            TextureData textureData = texture.getTextureData();
+            int targetMipLevel = texture.getTargetMipLevel() - 1;
+            long additionalBytes = textureData.getMipSize(targetMipLevel);
+            if (committedBytes + additionalBytes > memoryBudget && !evict(additionalBytes, previousFrame)) {
+                break;
+            }
+            changeResidency(texture, targetMipLevel);
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Evict the least recently visible textures back to their tail until some bytes fit in the budget.
+     * Textures visible during the last frame are never evicted.
+     * @param bytes The number of bytes to fit in the budget.
+     * @param previousFrame The last frame.
+     * @return boolean - True if the bytes fit in the budget, false if not enough textures could be evicted.
+     */
+    private boolean evict(long bytes, long previousFrame) {
+        List<Texture> evictable = textures.stream()
+                .filter(texture -> texture.getPendingUpload() == null
+                        && texture.getLastVisibleFrame() < previousFrame
+                        && texture.getTargetMipLevel() < texture.getTailMipLevel())
+                .sorted(Comparator.comparingLong(Texture::getLastVisibleFrame))
+                .toList();
+        for (Texture texture : evictable) {
+            if (committedBytes + bytes <= memoryBudget) {
+                break;
+            }
+            EngineLogger.getInstance().log(Level.FINE, "Evicting texture [%s] from mip level [%d] to [%d].",
+                    texture.getTextureID(), texture.getTargetMipLevel(), texture.getTailMipLevel());
+            changeResidency(texture, texture.getTailMipLevel());
+            evictionCount++;
+        }
+        return committedBytes + bytes <= memoryBudget;
+    }
+
+    /**
+     * Upload the mip levels of a texture from a new first mip level into a new image.
+     * @param texture The texture.
+     * @param targetMipLevel The new first resident mip level.
+     */
+    private void changeResidency(Texture texture, int targetMipLevel) {
+        TextureData textureData = texture.getTextureData();
+        committedBytes += textureData.getChainSize(targetMipLevel) - textureData.getChainSize(texture.getTargetMipLevel());
+        texture.setTargetMipLevel(targetMipLevel);
+        TextureUpload upload = new TextureUpload(texture,
+                new TextureImage(logicalDevice, textureData, targetMipLevel, queueFamilyIndices));
+        texture.setPendingUpload(upload);
+        pendingUploads.addLast(upload);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkBufferImageCopy;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkImageMemoryBarrier;
+import org.scarlet.vulkan.buffer.BufferUploader;
+import org.scarlet.vulkan.buffer.StagingRingBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Upload of a part of the mip chain of a texture into a new image, in chunks of rows.
+ * The image is moved to the transfer destination layout before the first chunk and to the shader read layout after
+ * the last one.
+ */
+class TextureUpload {
+    /**
+     * The texture.
+     */
+    private final Texture texture;
+
+    /**
+     * The image receiving the mip levels.
+     */
+    private final TextureImage textureImage;
+
+    /**
+     * The mip level of the texture being uploaded.
+     */
+    private int mipLevel;
+
+    /**
+     * The next row of blocks of the mip level to upload.
+     */
+    private int nextRow;
+
+    /**
+     * Flag indicating if the transition to the transfer destination layout was recorded.
+     */
+    private boolean started;
+
+    /**
+     * The number of bytes left to upload.
+     */
+    private long remainingBytes;
+
+    /**
+     * The uploader submission holding the last chunk.
+     */
+    private long lastSubmission;
+
+    /**
+     * Constructor.
+     * @param texture The texture.
+     * @param textureImage The image receiving the mip levels, from its first mip level to the smallest one.
+     */
+    TextureUpload(Texture texture, TextureImage textureImage) {
+        this.texture = texture;
+        this.textureImage = textureImage;
+        mipLevel = textureImage.getFirstMipLevel();
+        remainingBytes = texture.getTextureData().getChainSize(mipLevel);
+    }
+
+    /**
+     * Upload the next chunk.
+     * @param uploader The uploader.
+     * @param maxChunkSize The maximum size of the chunk. A single row of blocks is uploaded if it is larger.
+     * @return long - The number of bytes uploaded, 0 if the staging ring has no room for the chunk.
+     */
+    long uploadChunk(BufferUploader uploader, long maxChunkSize) {
+        TextureData textureData = texture.getTextureData();
+        long rowSize = textureData.getRowSize(mipLevel);
+        int numberOfRows = textureData.getNumberOfRows(mipLevel);
+        int chunkRows = (int) Math.max(1, Math.min(numberOfRows - nextRow, maxChunkSize / rowSize));
+        long chunkSize = chunkRows * rowSize;
+        long sourceAddress = MemoryUtil.memAddress(textureData.getMipLevel(mipLevel)) + nextRow * rowSize;
+        long stagingOffset = uploader.tryStage(chunkSize,
+                (address, offset, length) -> MemoryUtil.memCopy(sourceAddress + offset, address, length));
+        if (stagingOffset == StagingRingBuffer.NO_SPACE) {
+            return 0;
+        }
+
+        VkCommandBuffer commandBuffer = uploader.getRecordingCommandBuffer().getCommandBuffer();
+        if (!started) {
+            recordTransition(commandBuffer, VK_IMAGE_LAYOUT_UNDEFINED, VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL,
+                    0, VK_ACCESS_TRANSFER_WRITE_BIT,
+                    VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, VK_PIPELINE_STAGE_TRANSFER_BIT);
+            started = true;
+        }
+        int blockSize = textureData.getBlockSize();
+        int imageLevel = mipLevel - textureImage.getFirstMipLevel();
+        int offsetY = nextRow * blockSize;
+        int width = textureData.getMipWidth(mipLevel);
+        int height = Math.min(chunkRows * blockSize, textureData.getMipHeight(mipLevel) - offsetY);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkBufferImageCopy.Buffer region = VkBufferImageCopy.calloc(1, stack)
+                    .bufferOffset(stagingOffset)
+                    .bufferRowLength(0)
+                    .bufferImageHeight(0)
+                    .imageSubresource(it -> it
+                            .aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                            .mipLevel(imageLevel)
+                            .baseArrayLayer(0)
+                            .layerCount(1))
+                    .imageOffset(it -> it.x(0).y(offsetY).z(0))
+                    .imageExtent(it -> it.width(width).height(height).depth(1));
+            vkCmdCopyBufferToImage(commandBuffer, uploader.getStagingBuffer().getBuffer(),
+                    textureImage.getVulkanImage().getImage(), VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL, region);
+        }
+
+        nextRow += chunkRows;
+        if (nextRow == numberOfRows) {
+            mipLevel++;
+            nextRow = 0;
+        }
+        remainingBytes -= chunkSize;
+        if (isUploaded()) {
+            // The image is only handed to the renderer once the fence of the upload signalled, so no later stage waits.
+            recordTransition(commandBuffer, VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL,
+                    VK_ACCESS_TRANSFER_WRITE_BIT, 0,
+                    VK_PIPELINE_STAGE_TRANSFER_BIT, VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT);
+        }
+        return chunkSize;
+    }
+
+    /**
+     * Check if every chunk was uploaded.
+     * @return boolean - True if every chunk was uploaded, false otherwise.
+     */
+    boolean isUploaded() {
+        return mipLevel == texture.getTextureData().getNumberOfMipLevels();
+    }
+
+    /**
+     * Get the texture.
+     * @return Texture - The texture.
+     */
+    Texture getTexture() {
+        return texture;
+    }
+
+    /**
+     * Get the image receiving the mip levels.
+     * @return TextureImage - The image.
+     */
+    TextureImage getTextureImage() {
+        return textureImage;
+    }
+
+    /**
+     * Get the number of bytes left to upload.
+     * @return long - The number of bytes.
+     */
+    long getRemainingBytes() {
+        return remainingBytes;
+    }
+
+    /**
+     * Get the uploader submission holding the last chunk.
+     * @return long - The submission number.
+     */
+    long getLastSubmission() {
+        return lastSubmission;
+    }
+
+    /**
+     * Set the uploader submission holding the last chunk.
+     * @param lastSubmission The submission number.
+     */
+    void setLastSubmission(long lastSubmission) {
+        this.lastSubmission = lastSubmission;
+    }
+
+    /**
+     * Record a layout transition of every mip level of the image.
+     * @param commandBuffer The command buffer.
+     * @param oldLayout The current layout.
+     * @param newLayout The new layout.
+     * @param sourceAccessMask The accesses made available.
+     * @param destinationAccessMask The accesses the data is made visible to.
+     * @param sourceStageMask The stages waited for.
+     * @param destinationStageMask The stages waiting.
+     */
+    private void recordTransition(VkCommandBuffer commandBuffer, int oldLayout, int newLayout,
+                                  int sourceAccessMask, int destinationAccessMask,
+                                  int sourceStageMask, int destinationStageMask) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkImageMemoryBarrier.Buffer barrier = VkImageMemoryBarrier.calloc(1, stack)
+                    .sType(VK_STRUCTURE_TYPE_IMAGE_MEMORY_BARRIER)
+                    .oldLayout(oldLayout)
+                    .newLayout(newLayout)
+                    .srcQueueFamilyIndex(VK_QUEUE_FAMILY_IGNORED)
+                    .dstQueueFamilyIndex(VK_QUEUE_FAMILY_IGNORED)
+                    .image(textureImage.getVulkanImage().getImage())
+                    .srcAccessMask(sourceAccessMask)
+                    .dstAccessMask(destinationAccessMask)
+                    .subresourceRange(it -> it
+                            .aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                            .baseMipLevel(0)
+                            .levelCount(textureImage.getVulkanImage().getMipLevels())
+                            .baseArrayLayer(0)
+                            .layerCount(1));
+            vkCmdPipelineBarrier(commandBuffer, sourceStageMask, destinationStageMask, 0, null, null, barrier);
+        }
+    }
+}
\ No newline at end of file
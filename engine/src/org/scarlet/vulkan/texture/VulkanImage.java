@@ -0,0 +1,166 @@
+package org.scarlet.vulkan.texture;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkImageCreateInfo;
+import org.lwjgl.vulkan.VkMemoryRequirements;
+import org.scarlet.vulkan.device.LogicalDevice;
+import org.scarlet.vulkan.memory.MemoryAllocation;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.*;
+import static org.scarlet.vulkan.VulkanUtilities.vkCheck;
+
+/**
+ * Two dimensional image in Vulkan, with optimal tiling and device local memory taken from the memory allocator.
+ */
+public class VulkanImage {
+    /**
+     * The logical device.
+     */
+    private final LogicalDevice logicalDevice;
+
+    /**
+     * The handle to the image.
+     */
+    private final long image;
+
+    /**
+     * The memory allocation backing the image.
+     */
+    private final MemoryAllocation memoryAllocation;
+
+    /**
+     * The width of the first mip level.
+     */
+    private final int width;
+
+    /**
+     * The height of the first mip level.
+     */
+    private final int height;
+
+    /**
+     * The format.
+     */
+    private final int format;
+
+    /**
+     * The number of mip levels.
+     */
+    private final int mipLevels;
+
+    /**
+     * The size of the memory backing the image.
+     */
+    private final long memorySize;
+
+    /**
+     * Constructor.
+     * @param logicalDevice The logical device.
+     * @param width The width of the first mip level.
+     * @param height The height of the first mip level.
+     * @param format The format.
+     * @param mipLevels The number of mip levels.
+     * @param usage The image usage flags.
+     * @param queueFamilyIndices The queue families accessing the image concurrently, or null for exclusive access.
+     */
+    public VulkanImage(LogicalDevice logicalDevice, int width, int height, int format, int mipLevels, int usage,
+                       int[] queueFamilyIndices) {
+        this.logicalDevice = logicalDevice;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.mipLevels = mipLevels;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            VkImageCreateInfo imageCreateInfo = VkImageCreateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_IMAGE_CREATE_INFO)
+                    .imageType(VK_IMAGE_TYPE_2D)
+                    .format(format)
+                    .extent(it -> it.width(width).height(height).depth(1))
+                    .mipLevels(mipLevels)
+                    .arrayLayers(1)
+                    .samples(VK_SAMPLE_COUNT_1_BIT)
+                    .tiling(VK_IMAGE_TILING_OPTIMAL)
+                    .usage(usage)
+                    .sharingMode(VK_SHARING_MODE_EXCLUSIVE)
+                    .initialLayout(VK_IMAGE_LAYOUT_UNDEFINED);
+            if (queueFamilyIndices != null && queueFamilyIndices.length > 1) {
+                imageCreateInfo.sharingMode(VK_SHARING_MODE_CONCURRENT)
+                        .pQueueFamilyIndices(stack.ints(queueFamilyIndices));
+            }
+            LongBuffer longBuffer = stack.mallocLong(1);
+            vkCheck(vkCreateImage(logicalDevice.getDevice(), imageCreateInfo, null, longBuffer),
+                    "Failed to create image.");
+            image = longBuffer.get(0);
+
+            VkMemoryRequirements memoryRequirements = VkMemoryRequirements.malloc(stack);
+            vkGetImageMemoryRequirements(logicalDevice.getDevice(), image, memoryRequirements);
+
+            memoryAllocation = logicalDevice.getMemoryAllocator().allocate(memoryRequirements,
+                    VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT, false);
+            memorySize = memoryRequirements.size();
+
+            vkCheck(vkBindImageMemory(logicalDevice.getDevice(), image,
+                            memoryAllocation.getMemory(), memoryAllocation.getOffset()),
+                    "Failed to bind the image memory.");
+        }
+    }
+
+    /**
+     * Release the resources.
+     * The memory range is returned to the allocator.
+     */
+    public void cleanup() {
+        vkDestroyImage(logicalDevice.getDevice(), image, null);
+        memoryAllocation.free();
+    }
+
+    /**
+     * Get the handle to the image.
+     * @return long - The image handle.
+     */
+    public long getImage() {
+        return image;
+    }
+
+    /**
+     * Get the width of the first mip level.
+     * @return int - The width in texels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the first mip level.
+     * @return int - The height in texels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the format.
+     * @return int - The Vulkan format.
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the number of mip levels.
+     * @return int - The number of mip levels.
+     */
+    public int getMipLevels() {
+        return mipLevels;
+    }
+
+    /**
+     * Get the size of the memory backing the image.
+     * @return long - The size in bytes.
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+#version 450
+
+layout(local_size_x = 64) in;
+
+struct CullObject {
+    // The bounding sphere, a negative radius marking an object always drawn at full resolution.
+    vec4 boundingSphere;
+    int vertexOffset;
+    // The first level in the level buffer, shifted left by 8 bits, and the number of levels.
+    uint levels;
+    uint batch;
+    uint batchFirstObject;
+};
+
+struct Level {
+    uint firstIndex;
+    uint indexCount;
+    float error;
+    uint padding;
+};
+
+struct DrawCommand {
+    uint indexCount;
+    uint instanceCount;
+    uint firstIndex;
+    int vertexOffset;
+    uint firstInstance;
+};
+
+layout(std430, set = 0, binding = 0) readonly buffer Objects {
+    CullObject objects[];
+};
+
+layout(std430, set = 0, binding = 1) readonly buffer Levels {
+    Level levels[];
+};
+
+layout(std430, set = 0, binding = 2) readonly buffer View {
+    vec4 frustumPlanes[6];
+    // The camera position, and the number of pixels covered by one unit at a distance of one unit.
+    vec4 camera;
+    float zNear;
+    float pixelError;
+    uint objectCount;
+    // Non zero to compact the visible objects of every batch and count them, zero to write every object in place.
+    uint compact;
+} view;
+
+layout(std430, set = 0, binding = 3) writeonly buffer Commands {
+    DrawCommand commands[];
+};
+
+layout(std430, set = 0, binding = 4) buffer Counts {
+    uint counts[];
+};
+
+void main()
+{
+    uint objectIndex = gl_GlobalInvocationID.x;
+    if (objectIndex >= view.objectCount) {
+        return;
+    }
+    CullObject object = objects[objectIndex];
+    vec4 sphere = object.boundingSphere;
+    uint firstLevel = object.levels >> 8;
+    uint numberOfLevels = object.levels & 0xFFu;
+
+    bool visible = true;
+    uint level = 0;
+    if (sphere.w >= 0.0) {
+        for (int plane = 0; plane < 6; plane++) {
+            if (dot(view.frustumPlanes[plane].xyz, sphere.xyz) + view.frustumPlanes[plane].w < -sphere.w) {
+                visible = false;
+            }
+        }
+        float distanceToSphere = max(distance(view.camera.xyz, sphere.xyz) - sphere.w, view.zNear);
+        float errorScale = view.camera.w / distanceToSphere;
+        while (level + 1 < numberOfLevels && levels[firstLevel + level + 1].error * errorScale <= view.pixelError) {
+            level++;
+        }
+    }
+
+    uint slot = objectIndex;
+    if (view.compact != 0) {
+        if (!visible) {
+            return;
+        }
+        slot = object.batchFirstObject + atomicAdd(counts[object.batch], 1);
+    }
+    Level drawnLevel = levels[firstLevel + level];
+    commands[slot].indexCount = drawnLevel.indexCount;
+    commands[slot].instanceCount = visible ? 1 : 0;
+    commands[slot].firstIndex = drawnLevel.firstIndex;
+    commands[slot].vertexOffset = object.vertexOffset;
+    commands[slot].firstInstance = 0;
+}
\ No newline at end of file
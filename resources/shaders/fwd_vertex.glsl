@@ -2,7 +2,11 @@
 
 layout(location = 0) in vec3 entityPos;
 
+layout(push_constant) uniform PushConstants {
+    mat4 viewProjection;
+} pushConstants;
+
 void main()
 {
-    gl_Position = vec4(entityPos, 1);
+    gl_Position = pushConstants.viewProjection * vec4(entityPos, 1);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+#version 450
+
+layout(location = 0) in vec3 entityPos;
+layout(location = 1) in mat4 instanceTransform;
+layout(location = 5) in vec4 instanceColor;
+
+layout(location = 0) out vec4 color;
+
+layout(push_constant) uniform PushConstants {
+    mat4 viewProjection;
+} pushConstants;
+
+void main()
+{
+    color = instanceColor;
+    gl_Position = pushConstants.viewProjection * instanceTransform * vec4(entityPos, 1);
+}
\ No newline at end of file